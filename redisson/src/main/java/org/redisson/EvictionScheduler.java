@@ -15,16 +15,24 @@
  */
 package org.redisson;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Deque;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.redisson.api.RFuture;
 import org.redisson.client.codec.LongCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.command.CommandBatchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,6 +45,12 @@ import io.netty.util.internal.PlatformDependent;
  * Deletes expired entries in time interval between 5 seconds to 2 hours.
  * It analyzes deleted amount of expired keys
  * and 'tune' next execution delay depending on it.
+ * <p>
+ * Due tasks of all objects are executed by single sweeper in batches per Redis node.
+ * <p>
+ * Only one Redisson instance deletes expired entries of each object.
+ * It holds lease stored in Redis and prolongs it on each execution, 
+ * other instances take over cleanup only after lease has expired.
  *
  * @author Nikita Koksharov
  *
@@ -45,43 +59,81 @@ public class EvictionScheduler {
 
     private static final Logger log = LoggerFactory.getLogger(EvictionScheduler.class);
 
-    public class RedissonCacheTask implements Runnable {
+    public class RedissonCacheTask implements Runnable, Comparable<RedissonCacheTask> {
 
         final String name;
         final String timeoutSetName;
         final String maxIdleSetName;
+        final String lastAccessSetName;
         final boolean multimap;
         final Deque<Integer> sizeHistory = new LinkedList<Integer>();
+        final AtomicBoolean running = new AtomicBoolean();
         int delay = 10;
+        volatile long nextRunTime;
 
         final int minDelay = 1;
         final int maxDelay = 2*60*60;
         final int keysLimit = 300;
 
-        public RedissonCacheTask(String name, String timeoutSetName, String maxIdleSetName, boolean multimap) {
+        public RedissonCacheTask(String name, String timeoutSetName, String maxIdleSetName, String lastAccessSetName, boolean multimap) {
             this.name = name;
             this.timeoutSetName = timeoutSetName;
             this.maxIdleSetName = maxIdleSetName;
+            this.lastAccessSetName = lastAccessSetName;
             this.multimap = multimap;
         }
 
         public void schedule() {
-            executor.getConnectionManager().getGroup().schedule(this, delay, TimeUnit.SECONDS);
+            schedule(delay);
+        }
+        
+        void schedule(int delay) {
+            nextRunTime = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(delay);
+            queue.add(this);
+            scheduleSweep(nextRunTime);
         }
 
+        @Override
+        public int compareTo(RedissonCacheTask o) {
+            long diff = nextRunTime - o.nextRunTime;
+            if (diff < 0) {
+                return -1;
+            }
+            if (diff > 0) {
+                return 1;
+            }
+            return 0;
+        }
+        
         @Override
         public void run() {
-            RFuture<Integer> future = cleanupExpiredEntires(name, timeoutSetName, maxIdleSetName, keysLimit, multimap);
+            run(executor);
+        }
+        
+        void run(CommandAsyncExecutor executor) {
+            running.set(true);
+            // lease should last until next execution even if delay has been increased
+            long leaseTime = TimeUnit.SECONDS.toMillis(delay*2 + 10);
+            RFuture<Integer> future = cleanupExpiredEntires(executor, name, timeoutSetName, maxIdleSetName, lastAccessSetName, keysLimit, multimap, leaseTime);
 
             future.addListener(new FutureListener<Integer>() {
                 @Override
                 public void operationComplete(Future<Integer> future) throws Exception {
+                    if (!running.compareAndSet(true, false)) {
+                        return;
+                    }
+                    
                     if (!future.isSuccess()) {
                         schedule();
                         return;
                     }
 
                     Integer size = future.getNow();
+                    if (size < 0) {
+                        // lease is held by another instance, check it again once it expires
+                        schedule(-size);
+                        return;
+                    }
 
                     if (sizeHistory.size() == 2) {
                         if (sizeHistory.peekFirst() > sizeHistory.peekLast()
@@ -112,11 +164,22 @@ public class EvictionScheduler {
                 }
             });
         }
+        
+        void onBatchFailure() {
+            if (running.compareAndSet(true, false)) {
+                schedule();
+            }
+        }
 
     }
 
     private final ConcurrentMap<String, RedissonCacheTask> tasks = PlatformDependent.newConcurrentHashMap();
     private final CommandAsyncExecutor executor;
+    private final String id = UUID.randomUUID().toString();
+    
+    private final Queue<RedissonCacheTask> queue = new PriorityBlockingQueue<RedissonCacheTask>();
+    private final AtomicLong nextSweepTime = new AtomicLong(Long.MAX_VALUE);
+    private final int sweepBatchSize = 1000;
 
     private final ConcurrentMap<String, Long> lastExpiredTime = PlatformDependent.newConcurrentHashMap();
     private final int expireTaskExecutionDelay = 1000;
@@ -126,8 +189,86 @@ public class EvictionScheduler {
         this.executor = executor;
     }
 
+    private void scheduleSweep(long time) {
+        while (true) {
+            long currentTime = nextSweepTime.get();
+            if (currentTime <= time) {
+                return;
+            }
+            if (nextSweepTime.compareAndSet(currentTime, time)) {
+                break;
+            }
+        }
+        
+        long delay = Math.max(0, time - System.currentTimeMillis());
+        executor.getConnectionManager().getGroup().schedule(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    sweep();
+                } catch (Exception e) {
+                    log.error("Can't execute eviction tasks", e);
+                }
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    /*
+     * Cleanup scripts of all due tasks are sent in batches. 
+     * Each batch is split by Redis node and sent as single pipeline per node, 
+     * so amount of timers and requests doesn't depend on amount of cache objects.
+     */
+    private void sweep() {
+        nextSweepTime.set(Long.MAX_VALUE);
+        long now = System.currentTimeMillis();
+        List<RedissonCacheTask> dueTasks = new ArrayList<RedissonCacheTask>();
+        while (true) {
+            RedissonCacheTask task = queue.poll();
+            if (task == null) {
+                break;
+            }
+            if (task.nextRunTime > now) {
+                queue.add(task);
+                scheduleSweep(task.nextRunTime);
+                break;
+            }
+            
+            dueTasks.add(task);
+            if (dueTasks.size() == sweepBatchSize) {
+                executeBatch(dueTasks);
+                dueTasks = new ArrayList<RedissonCacheTask>();
+            }
+        }
+        
+        if (!dueTasks.isEmpty()) {
+            executeBatch(dueTasks);
+        }
+    }
+
+    private void executeBatch(final List<RedissonCacheTask> dueTasks) {
+        CommandBatchService batch = new CommandBatchService(executor.getConnectionManager());
+        for (RedissonCacheTask task : dueTasks) {
+            task.run(batch);
+        }
+        
+        RFuture<List<?>> future = batch.executeAsync();
+        future.addListener(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (future.isSuccess()) {
+                    return;
+                }
+                
+                log.warn("Can't execute eviction tasks batch", future.cause());
+                for (RedissonCacheTask task : dueTasks) {
+                    task.onBatchFailure();
+                }
+            }
+        });
+    }
+
     public void scheduleCleanMultimap(String name, String timeoutSetName) {
-        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, null, true);
+        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, null, null, true);
         RedissonCacheTask prevTask = tasks.putIfAbsent(name, task);
         if (prevTask == null) {
             task.schedule();
@@ -135,7 +276,7 @@ public class EvictionScheduler {
     }
     
     public void schedule(String name, String timeoutSetName) {
-        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, null, false);
+        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, null, null, false);
         RedissonCacheTask prevTask = tasks.putIfAbsent(name, task);
         if (prevTask == null) {
             task.schedule();
@@ -146,8 +287,8 @@ public class EvictionScheduler {
         schedule(name, null);
     }
 
-    public void schedule(String name, String timeoutSetName, String maxIdleSetName) {
-        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, maxIdleSetName, false);
+    public void schedule(String name, String timeoutSetName, String maxIdleSetName, String lastAccessSetName) {
+        RedissonCacheTask task = new RedissonCacheTask(name, timeoutSetName, maxIdleSetName, lastAccessSetName, false);
         RedissonCacheTask prevTask = tasks.putIfAbsent(name, task);
         if (prevTask == null) {
             task.schedule();
@@ -170,7 +311,7 @@ public class EvictionScheduler {
             return;
         }
 
-        RFuture<Integer> future = cleanupExpiredEntires(name, timeoutSetName, null, valuesAmountToClean, false);
+        RFuture<Integer> future = cleanupExpiredEntires(executor, name, timeoutSetName, null, null, valuesAmountToClean, false, 0);
 
         future.addListener(new FutureListener<Integer>() {
             @Override
@@ -190,10 +331,29 @@ public class EvictionScheduler {
         });
     }
 
-    private RFuture<Integer> cleanupExpiredEntires(String name, String timeoutSetName, String maxIdleSetName, int keysLimit, boolean multimap) {
+    static String getLeaseName(String name) {
+        return "redisson__eviction__lease__{" + name + "}";
+    }
+    
+    /*
+     * Lease is checked only if leaseTime is defined. 
+     * Negative result means that lease is held by another instance 
+     * and contains its remaining time to live in seconds.
+     */
+    private RFuture<Integer> cleanupExpiredEntires(CommandAsyncExecutor executor, String name, String timeoutSetName, String maxIdleSetName, String lastAccessSetName, int keysLimit, boolean multimap, long leaseTime) {
+        String acquireLease = 
+                "if ARGV[4] ~= '0' then "
+                  + "local owner = redis.call('get', KEYS[#KEYS]); "
+                  + "if owner ~= false and owner ~= ARGV[3] then "
+                      + "return -math.max(1, math.ceil(redis.call('pttl', KEYS[#KEYS]) / 1000)); "
+                  + "end; "
+                  + "redis.call('set', KEYS[#KEYS], ARGV[3], 'px', ARGV[4]); "
+              + "end; ";
+        
         if (multimap) {
             return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
-                    "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
+                    acquireLease
+                  + "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
                   + "if #expiredKeys > 0 then "
                       + "redis.call('zrem', KEYS[2], unpack(expiredKeys)); "
                       
@@ -208,39 +368,46 @@ public class EvictionScheduler {
                       + "redis.call('hdel', KEYS[1], unpack(expiredKeys)); "
                   + "end; "
                   + "return #expiredKeys;",
-                  Arrays.<Object>asList(name, timeoutSetName), System.currentTimeMillis(), keysLimit);
+                  Arrays.<Object>asList(name, timeoutSetName, getLeaseName(name)), System.currentTimeMillis(), keysLimit, id, leaseTime);
         }
         
         if (maxIdleSetName != null) {
             return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
-                    "local expiredKeys1 = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
+                    acquireLease
+                  + "local expiredKeys1 = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
                   + "if #expiredKeys1 > 0 then "
+                      + "redis.call('zrem', KEYS[4], unpack(expiredKeys1)); "
                       + "redis.call('zrem', KEYS[3], unpack(expiredKeys1)); "
                       + "redis.call('zrem', KEYS[2], unpack(expiredKeys1)); "
                       + "redis.call('hdel', KEYS[1], unpack(expiredKeys1)); "
                   + "end; "
                   + "local expiredKeys2 = redis.call('zrangebyscore', KEYS[3], 0, ARGV[1], 'limit', 0, ARGV[2]); "
                   + "if #expiredKeys2 > 0 then "
+                      + "redis.call('zrem', KEYS[4], unpack(expiredKeys2)); "
                       + "redis.call('zrem', KEYS[3], unpack(expiredKeys2)); "
                       + "redis.call('zrem', KEYS[2], unpack(expiredKeys2)); "
                       + "redis.call('hdel', KEYS[1], unpack(expiredKeys2)); "
                   + "end; "
                   + "return #expiredKeys1 + #expiredKeys2;",
-                  Arrays.<Object>asList(name, timeoutSetName, maxIdleSetName), System.currentTimeMillis(), keysLimit);
+                  Arrays.<Object>asList(name, timeoutSetName, maxIdleSetName, lastAccessSetName, getLeaseName(name)), System.currentTimeMillis(), keysLimit, id, leaseTime);
         }
         
         if (timeoutSetName == null) {
-            return executor.writeAsync(name, LongCodec.INSTANCE, RedisCommands.ZREMRANGEBYSCORE, name, 0, System.currentTimeMillis());
+            return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
+                    acquireLease
+                  + "return redis.call('zremrangebyscore', KEYS[1], 0, ARGV[1]);",
+                  Arrays.<Object>asList(name, getLeaseName(name)), System.currentTimeMillis(), keysLimit, id, leaseTime);
         }
         
         return executor.evalWriteAsync(name, LongCodec.INSTANCE, RedisCommands.EVAL_INTEGER,
-                "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
+                acquireLease
+              + "local expiredKeys = redis.call('zrangebyscore', KEYS[2], 0, ARGV[1], 'limit', 0, ARGV[2]); "
               + "if #expiredKeys > 0 then "
                   + "redis.call('zrem', KEYS[2], unpack(expiredKeys)); "
                   + "redis.call('hdel', KEYS[1], unpack(expiredKeys)); "
               + "end; "
               + "return #expiredKeys;",
-              Arrays.<Object>asList(name, timeoutSetName), System.currentTimeMillis(), keysLimit);
+              Arrays.<Object>asList(name, timeoutSetName, getLeaseName(name)), System.currentTimeMillis(), keysLimit, id, leaseTime);
     }
 
 }
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.redisson.api.RFuture;
+import org.redisson.command.CommandAsyncExecutor;
+
+/**
+ * Window of list elements loaded by LRANGE command. 
+ * Used by list iterators instead of LINDEX command per element.
+ * Next window is loaded in background once iterator moved forward into current window.
+ * <p>
+ * View is weakly consistent: loaded elements aren't updated on concurrent changes
+ * made by other clients. Changes made through iterator are applied to loaded window.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <V> value type
+ */
+abstract class ListRangeWindow<V> {
+
+    private final CommandAsyncExecutor commandExecutor;
+    private final int chunkSize;
+    
+    private int start;
+    private List<V> values = Collections.emptyList();
+    
+    private int nextStart;
+    private RFuture<List<V>> nextValues;
+    
+    ListRangeWindow(CommandAsyncExecutor commandExecutor, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize should be positive");
+        }
+        this.commandExecutor = commandExecutor;
+        this.chunkSize = chunkSize;
+    }
+    
+    /**
+     * Returns element by index or <code>null</code> if index is out of list bounds.
+     * 
+     * @param index - element index
+     * @return element
+     */
+    V get(int index) {
+        if (index < 0) {
+            return null;
+        }
+        
+        if (!contains(index)) {
+            if (nextValues != null && index >= nextStart && index < nextStart + chunkSize) {
+                load(nextStart, nextValues);
+            } else {
+                int from = index;
+                if (index < start) {
+                    // moving backward
+                    from = Math.max(0, index - chunkSize + 1);
+                }
+                load(from, rangeAsync(from, from + chunkSize - 1));
+            }
+            
+            if (!contains(index)) {
+                return null;
+            }
+            
+            if (index == start && values.size() == chunkSize) {
+                nextStart = start + chunkSize;
+                nextValues = rangeAsync(nextStart, nextStart + chunkSize - 1);
+            }
+        }
+        return values.get(index - start);
+    }
+
+    private void load(int from, RFuture<List<V>> future) {
+        nextValues = null;
+        values = new ArrayList<V>(commandExecutor.get(future));
+        start = from;
+    }
+    
+    private boolean contains(int index) {
+        return index >= start && index < start + values.size();
+    }
+    
+    void removed(int index) {
+        nextValues = null;
+        if (contains(index)) {
+            values.remove(index - start);
+        } else if (index < start) {
+            start--;
+        }
+    }
+    
+    void added(int index, V value) {
+        nextValues = null;
+        if (index >= start && index <= start + values.size()) {
+            values.add(index - start, value);
+        } else if (index < start) {
+            start++;
+        }
+    }
+    
+    void set(int index, V value) {
+        if (contains(index)) {
+            values.set(index - start, value);
+        }
+    }
+
+    /**
+     * Loads elements in range
+     * 
+     * @param from - start index, inclusive
+     * @param to - end index, inclusive
+     * @return elements
+     */
+    abstract RFuture<List<V>> rangeAsync(int from, int to);
+    
+}
@@ -0,0 +1,189 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.redisson.api.MapOptions;
+import org.redisson.api.map.MapWriter;
+import org.redisson.connection.ConnectionManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Write-behind buffer of map changes.
+ * <p>
+ * Changes are coalesced by key and passed to {@link MapWriter} in batches
+ * once batch size has been reached or write-behind delay has elapsed.
+ * Pending changes are also flushed during Redisson shutdown.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+class MapWriteBehindBuffer<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(MapWriteBehindBuffer.class);
+    
+    private static final Object DELETED = new Object();
+    
+    private final ConnectionManager connectionManager;
+    private final Executor executor;
+    private final MapWriter<K, V> writer;
+    private final int batchSize;
+    private final long delay;
+    
+    private final Map<K, Object> changes = new LinkedHashMap<K, Object>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Object flushLock = new Object();
+    private final Object listenerLock = new Object();
+    private boolean shutdownListenerAdded;
+    
+    private final Runnable flushTask = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+    
+    private final FutureListener<Boolean> shutdownListener = new FutureListener<Boolean>() {
+        @Override
+        public void operationComplete(Future<Boolean> future) throws Exception {
+            flush();
+        }
+    };
+    
+    MapWriteBehindBuffer(ConnectionManager connectionManager, MapOptions<K, V> options) {
+        this.connectionManager = connectionManager;
+        if (options.getWriteBehindExecutor() != null) {
+            this.executor = options.getWriteBehindExecutor();
+        } else {
+            this.executor = connectionManager.getExecutor();
+        }
+        this.writer = options.getWriter();
+        this.batchSize = options.getWriteBehindBatchSize();
+        this.delay = options.getWriteBehindDelayInMillis();
+    }
+    
+    void add(MapWriterTask<K, V> task) {
+        int size;
+        synchronized (changes) {
+            for (Entry<K, V> entry : task.getEntries().entrySet()) {
+                // moved to the end of queue to keep order of changes
+                changes.remove(entry.getKey());
+                changes.put(entry.getKey(), entry.getValue());
+            }
+            for (K key : task.getDeletedKeys()) {
+                changes.remove(key);
+                changes.put(key, DELETED);
+            }
+            size = changes.size();
+        }
+        
+        // listener is held only while there are pending changes
+        // to avoid leaking map instances through shutdown promise
+        synchronized (listenerLock) {
+            if (!shutdownListenerAdded) {
+                shutdownListenerAdded = true;
+                connectionManager.getShutdownPromise().addListener(shutdownListener);
+            }
+        }
+        
+        if (size >= batchSize) {
+            executor.execute(flushTask);
+        } else {
+            scheduleFlush();
+        }
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        
+        connectionManager.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                flushScheduled.set(false);
+                executor.execute(flushTask);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+    
+    void flush() {
+        flushChanges();
+        
+        synchronized (listenerLock) {
+            synchronized (changes) {
+                if (shutdownListenerAdded && changes.isEmpty()) {
+                    shutdownListenerAdded = false;
+                    connectionManager.getShutdownPromise().removeListener(shutdownListener);
+                }
+            }
+        }
+    }
+    
+    private void flushChanges() {
+        synchronized (flushLock) {
+            while (true) {
+                Map<K, V> entries = new LinkedHashMap<K, V>();
+                List<K> deletedKeys = new ArrayList<K>();
+                synchronized (changes) {
+                    Iterator<Entry<K, Object>> iterator = changes.entrySet().iterator();
+                    for (int i = 0; i < batchSize && iterator.hasNext(); i++) {
+                        Entry<K, Object> entry = iterator.next();
+                        if (entry.getValue() == DELETED) {
+                            deletedKeys.add(entry.getKey());
+                        } else {
+                            entries.put(entry.getKey(), (V) entry.getValue());
+                        }
+                        iterator.remove();
+                    }
+                }
+                
+                if (entries.isEmpty() && deletedKeys.isEmpty()) {
+                    return;
+                }
+                
+                try {
+                    if (!entries.isEmpty()) {
+                        writer.write(entries);
+                    }
+                    if (!deletedKeys.isEmpty()) {
+                        writer.delete(deletedKeys);
+                    }
+                } catch (Exception e) {
+                    log.error("Unable to write " + entries.keySet() + " and delete " + deletedKeys + " entries using MapWriter", e);
+                }
+            }
+        }
+    }
+    
+}
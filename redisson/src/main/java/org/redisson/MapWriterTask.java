@@ -0,0 +1,93 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.redisson.api.map.MapWriter;
+
+/**
+ * Change of map entries which should be passed to {@link MapWriter}
+ * once the map operation has been completed.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+class MapWriterTask<K, V> {
+
+    /**
+     * Operation result which is required to apply the change.
+     */
+    enum Condition {ALWAYS, NULL_RESULT, NOT_NULL_RESULT, TRUE_RESULT};
+    
+    private final Map<K, V> entries;
+    private final Collection<K> deletedKeys;
+    private final Condition condition;
+    
+    private MapWriterTask(Map<K, V> entries, Collection<K> deletedKeys, Condition condition) {
+        this.entries = entries;
+        this.deletedKeys = deletedKeys;
+        this.condition = condition;
+    }
+    
+    static <K, V> MapWriterTask<K, V> write(K key, V value, Condition condition) {
+        return new MapWriterTask<K, V>(Collections.singletonMap(key, value), Collections.<K>emptyList(), condition);
+    }
+
+    static <K, V> MapWriterTask<K, V> write(Map<? extends K, ? extends V> map) {
+        return new MapWriterTask<K, V>(new LinkedHashMap<K, V>(map), Collections.<K>emptyList(), Condition.ALWAYS);
+    }
+
+    static <K, V> MapWriterTask<K, V> delete(Collection<K> keys, Condition condition) {
+        return new MapWriterTask<K, V>(Collections.<K, V>emptyMap(), keys, condition);
+    }
+    
+    Map<K, V> getEntries() {
+        return entries;
+    }
+    
+    Collection<K> getDeletedKeys() {
+        return deletedKeys;
+    }
+    
+    boolean isApplicable(Object result) {
+        switch (condition) {
+        case NULL_RESULT:
+            return result == null;
+        case NOT_NULL_RESULT:
+            return result != null;
+        case TRUE_RESULT:
+            return Boolean.TRUE.equals(result);
+        default:
+            return true;
+        }
+    }
+    
+    void execute(MapWriter<K, V> writer) {
+        if (!entries.isEmpty()) {
+            writer.write(entries);
+        }
+        if (!deletedKeys.isEmpty()) {
+            writer.delete(deletedKeys);
+        }
+    }
+    
+}
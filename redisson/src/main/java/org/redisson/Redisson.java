@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 
 import org.redisson.api.ClusterNodesGroup;
 import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.MapOptions;
 import org.redisson.api.Node;
 import org.redisson.api.NodesGroup;
 import org.redisson.api.RAtomicDouble;
@@ -32,11 +33,16 @@ import org.redisson.api.RBlockingQueue;
 import org.redisson.api.RBloomFilter;
 import org.redisson.api.RBoundedBlockingQueue;
 import org.redisson.api.RBucket;
+import org.redisson.api.RBufferedHyperLogLog;
 import org.redisson.api.RBuckets;
+import org.redisson.api.RClusteredBloomFilter;
 import org.redisson.api.RCountDownLatch;
+import org.redisson.api.RCountingBloomFilter;
 import org.redisson.api.RDeque;
+import org.redisson.api.RDoubleAdder;
 import org.redisson.api.RGeo;
 import org.redisson.api.RHyperLogLog;
+import org.redisson.api.RIdGenerator;
 import org.redisson.api.RKeys;
 import org.redisson.api.RLexSortedSet;
 import org.redisson.api.RList;
@@ -44,13 +50,16 @@ import org.redisson.api.RListMultimap;
 import org.redisson.api.RListMultimapCache;
 import org.redisson.api.RLiveObjectService;
 import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RLocalCachedMapCache;
 import org.redisson.api.RLock;
+import org.redisson.api.RLongAdder;
 import org.redisson.api.RMap;
 import org.redisson.api.RMapCache;
 import org.redisson.api.RPatternTopic;
 import org.redisson.api.RQueue;
 import org.redisson.api.RReadWriteLock;
 import org.redisson.api.RRemoteService;
+import org.redisson.api.RScalableBloomFilter;
 import org.redisson.api.RScheduledExecutorService;
 import org.redisson.api.RScoredSortedSet;
 import org.redisson.api.RScript;
@@ -64,6 +73,7 @@ import org.redisson.api.RSortedSet;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.RedissonReactiveClient;
+import org.redisson.api.SortKeyEncoder;
 import org.redisson.client.codec.Codec;
 import org.redisson.command.CommandExecutor;
 import org.redisson.command.CommandSyncService;
@@ -100,6 +110,7 @@ public class Redisson implements RedissonClient {
     protected final ResolverProvider resolverProvider;
     protected final Config config;
     protected final SemaphorePubSub semaphorePubSub = new SemaphorePubSub();
+    protected final ConcurrentMap<String, RedissonBaseAdder.SharedListener> adderListeners = PlatformDependent.newConcurrentHashMap();
 
     protected final UUID id = UUID.randomUUID();
 
@@ -214,6 +225,21 @@ public class Redisson implements RedissonClient {
         return new RedissonHyperLogLog<V>(codec, commandExecutor, name);
     }
 
+    @Override
+    public <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name) {
+        return new RedissonBufferedHyperLogLog<V>(commandExecutor, name, 1000);
+    }
+
+    @Override
+    public <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name, Codec codec) {
+        return getBufferedHyperLogLog(name, codec, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name, Codec codec, long flushInterval, TimeUnit unit) {
+        return new RedissonBufferedHyperLogLog<V>(codec, commandExecutor, name, unit.toMillis(flushInterval));
+    }
+
     @Override
     public <V> RList<V> getList(String name) {
         return new RedissonList<V>(commandExecutor, name);
@@ -235,13 +261,23 @@ public class Redisson implements RedissonClient {
     }
 
     @Override
-    public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, LocalCachedMapOptions options) {
-        return new RedissonLocalCachedMap<K, V>(this, commandExecutor, name, options);
+    public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, LocalCachedMapOptions<? super K, ? super V> options) {
+        return new RedissonLocalCachedMap<K, V>(this, commandExecutor, name, (LocalCachedMapOptions<K, V>) options);
     }
 
     @Override
-    public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, Codec codec, LocalCachedMapOptions options) {
-        return new RedissonLocalCachedMap<K, V>(this, codec, commandExecutor, name, options);
+    public <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, Codec codec, LocalCachedMapOptions<? super K, ? super V> options) {
+        return new RedissonLocalCachedMap<K, V>(this, codec, commandExecutor, name, (LocalCachedMapOptions<K, V>) options);
+    }
+
+    @Override
+    public <K, V> RLocalCachedMapCache<K, V> getLocalCachedMapCache(String name, LocalCachedMapOptions<? super K, ? super V> options) {
+        return new RedissonLocalCachedMapCache<K, V>(this, evictionScheduler, commandExecutor, name, (LocalCachedMapOptions<K, V>) options);
+    }
+
+    @Override
+    public <K, V> RLocalCachedMapCache<K, V> getLocalCachedMapCache(String name, Codec codec, LocalCachedMapOptions<? super K, ? super V> options) {
+        return new RedissonLocalCachedMapCache<K, V>(this, codec, evictionScheduler, commandExecutor, name, (LocalCachedMapOptions<K, V>) options);
     }
 
     @Override
@@ -299,11 +335,31 @@ public class Redisson implements RedissonClient {
         return new RedissonMapCache<K, V>(codec, evictionScheduler, commandExecutor, name);
     }
 
+    @Override
+    public <K, V> RMapCache<K, V> getMapCache(String name, MapOptions<K, V> options) {
+        return new RedissonMapCache<K, V>(evictionScheduler, commandExecutor, name, options);
+    }
+
+    @Override
+    public <K, V> RMapCache<K, V> getMapCache(String name, Codec codec, MapOptions<K, V> options) {
+        return new RedissonMapCache<K, V>(codec, evictionScheduler, commandExecutor, name, options);
+    }
+
     @Override
     public <K, V> RMap<K, V> getMap(String name, Codec codec) {
         return new RedissonMap<K, V>(codec, commandExecutor, name);
     }
 
+    @Override
+    public <K, V> RMap<K, V> getMap(String name, MapOptions<K, V> options) {
+        return new RedissonMap<K, V>(commandExecutor, name, options);
+    }
+
+    @Override
+    public <K, V> RMap<K, V> getMap(String name, Codec codec, MapOptions<K, V> options) {
+        return new RedissonMap<K, V>(codec, commandExecutor, name, options);
+    }
+
     @Override
     public RLock getLock(String name) {
         return new RedissonLock(commandExecutor, name, id);
@@ -374,6 +430,16 @@ public class Redisson implements RedissonClient {
         return new RedissonSortedSet<V>(codec, commandExecutor, name, this);
     }
 
+    @Override
+    public <V> RSortedSet<V> getSortedSet(String name, SortKeyEncoder<? super V> sortKeyEncoder) {
+        return new RedissonSortKeySortedSet<V>(commandExecutor, name, sortKeyEncoder);
+    }
+
+    @Override
+    public <V> RSortedSet<V> getSortedSet(String name, Codec codec, SortKeyEncoder<? super V> sortKeyEncoder) {
+        return new RedissonSortKeySortedSet<V>(codec, commandExecutor, name, sortKeyEncoder);
+    }
+
     @Override
     public <V> RScoredSortedSet<V> getScoredSortedSet(String name) {
         return new RedissonScoredSortedSet<V>(commandExecutor, name);
@@ -469,6 +535,31 @@ public class Redisson implements RedissonClient {
         return new RedissonAtomicDouble(commandExecutor, name);
     }
 
+    @Override
+    public RIdGenerator getIdGenerator(String name) {
+        return new RedissonIdGenerator(commandExecutor, name);
+    }
+
+    @Override
+    public RLongAdder getLongAdder(String name) {
+        return getLongAdder(name, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public RLongAdder getLongAdder(String name, long flushInterval, TimeUnit unit) {
+        return new RedissonLongAdder(commandExecutor, name, this, adderListeners, unit.toMillis(flushInterval));
+    }
+
+    @Override
+    public RDoubleAdder getDoubleAdder(String name) {
+        return getDoubleAdder(name, 1, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public RDoubleAdder getDoubleAdder(String name, long flushInterval, TimeUnit unit) {
+        return new RedissonDoubleAdder(commandExecutor, name, this, adderListeners, unit.toMillis(flushInterval));
+    }
+
     @Override
     public RCountDownLatch getCountDownLatch(String name) {
         return new RedissonCountDownLatch(commandExecutor, name, id);
@@ -499,6 +590,36 @@ public class Redisson implements RedissonClient {
         return new RedissonBloomFilter<V>(codec, commandExecutor, name);
     }
 
+    @Override
+    public <V> RClusteredBloomFilter<V> getClusteredBloomFilter(String name) {
+        return new RedissonClusteredBloomFilter<V>(commandExecutor, name);
+    }
+
+    @Override
+    public <V> RClusteredBloomFilter<V> getClusteredBloomFilter(String name, Codec codec) {
+        return new RedissonClusteredBloomFilter<V>(codec, commandExecutor, name);
+    }
+
+    @Override
+    public <V> RScalableBloomFilter<V> getScalableBloomFilter(String name) {
+        return new RedissonScalableBloomFilter<V>(commandExecutor, name);
+    }
+
+    @Override
+    public <V> RScalableBloomFilter<V> getScalableBloomFilter(String name, Codec codec) {
+        return new RedissonScalableBloomFilter<V>(codec, commandExecutor, name);
+    }
+
+    @Override
+    public <V> RCountingBloomFilter<V> getCountingBloomFilter(String name) {
+        return new RedissonCountingBloomFilter<V>(commandExecutor, name);
+    }
+
+    @Override
+    public <V> RCountingBloomFilter<V> getCountingBloomFilter(String name, Codec codec) {
+        return new RedissonCountingBloomFilter<V>(codec, commandExecutor, name);
+    }
+
     @Override
     public RKeys getKeys() {
         return new RedissonKeys(commandExecutor);
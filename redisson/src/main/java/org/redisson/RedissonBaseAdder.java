@@ -0,0 +1,356 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.redisson.api.RDestroyable;
+import org.redisson.api.RFuture;
+import org.redisson.api.RSemaphore;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.RedisTimeoutException;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.RPromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Base class of distributed adders.
+ * <p>
+ * Increments are accumulated locally and periodically added to Redis. 
+ * Sum and reset requests are published to <code>name:topic</code>. 
+ * All instances of the same name created by one client share a single topic listener, 
+ * since each client subscription is counted once by PUBLISH command. 
+ * The listener flushes or discards increments accumulated by each instance 
+ * and releases a permit of request semaphore, so requester waits 
+ * for as many permits as amount of clients received the message.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> number type
+ */
+public abstract class RedissonBaseAdder<T extends Number> extends RedissonExpirable implements RDestroyable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonBaseAdder.class);
+
+    private static final String SUM_MESSAGE = "sum:";
+    private static final String RESET_MESSAGE = "reset:";
+
+    /*
+     * Time to wait for replies and time to live of request semaphore, 
+     * so replies released after requester has gone don't stay in Redis.
+     */
+    private static final long REPLY_TIMEOUT = TimeUnit.MINUTES.toMillis(1);
+
+    /**
+     * Topic listener shared by adder instances of the same name within one client.
+     */
+    static class SharedListener implements MessageListener<String> {
+
+        private final Set<RedissonBaseAdder<?>> adders = Collections.newSetFromMap(PlatformDependent.<RedissonBaseAdder<?>, Boolean>newConcurrentHashMap());
+        private int listenerId;
+
+        @Override
+        public void onMessage(String channel, String msg) {
+            if (msg.startsWith(SUM_MESSAGE)) {
+                final String id = msg.substring(SUM_MESSAGE.length());
+                List<RedissonBaseAdder<?>> list = new ArrayList<RedissonBaseAdder<?>>(adders);
+                if (list.isEmpty()) {
+                    return;
+                }
+
+                final RedissonBaseAdder<?> first = list.get(0);
+                final AtomicInteger counter = new AtomicInteger(list.size());
+                for (final RedissonBaseAdder<?> adder : list) {
+                    adder.flushAsync().addListener(new FutureListener<Void>() {
+                        @Override
+                        public void operationComplete(Future<Void> future) throws Exception {
+                            if (!future.isSuccess()) {
+                                log.error("Can't flush increments of " + adder.getName(), future.cause());
+                            }
+                            if (counter.decrementAndGet() == 0) {
+                                first.replyAsync(id).addListener(new ReplyListener(first));
+                            }
+                        }
+                    });
+                }
+            }
+            if (msg.startsWith(RESET_MESSAGE)) {
+                String id = msg.substring(RESET_MESSAGE.length());
+                List<RedissonBaseAdder<?>> list = new ArrayList<RedissonBaseAdder<?>>(adders);
+                if (list.isEmpty()) {
+                    return;
+                }
+
+                for (RedissonBaseAdder<?> adder : list) {
+                    adder.drain();
+                }
+                RedissonBaseAdder<?> first = list.get(0);
+                first.replyAsync(id).addListener(new ReplyListener(first));
+            }
+        }
+
+    }
+
+    /**
+     * Logs failed reply. Requester fails by timeout in this case.
+     */
+    static class ReplyListener implements FutureListener<Void> {
+
+        private final RedissonBaseAdder<?> adder;
+
+        ReplyListener(RedissonBaseAdder<?> adder) {
+            this.adder = adder;
+        }
+
+        @Override
+        public void operationComplete(Future<Void> future) throws Exception {
+            if (!future.isSuccess()) {
+                log.error("Can't send reply of " + adder.getName(), future.cause());
+            }
+        }
+
+    }
+
+    private final RedissonClient redisson;
+    private final ConcurrentMap<String, SharedListener> listeners;
+    private final RTopic<String> topic;
+    private final long flushInterval;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public RedissonBaseAdder(CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson, 
+            ConcurrentMap<String, SharedListener> listeners, long flushInterval) {
+        super(commandExecutor, name);
+        this.redisson = redisson;
+        this.listeners = listeners;
+        this.flushInterval = flushInterval;
+
+        topic = redisson.getTopic(name + ":topic", StringCodec.INSTANCE);
+        synchronized (listeners) {
+            SharedListener listener = listeners.get(name);
+            if (listener == null) {
+                listener = new SharedListener();
+                listener.listenerId = topic.addListener(listener);
+                listeners.put(name, listener);
+            }
+            listener.adders.add(this);
+        }
+    }
+
+    /**
+     * Removes and returns increments accumulated locally.
+     * 
+     * @return accumulated value
+     */
+    protected abstract T drain();
+
+    /**
+     * Returns increments back to local accumulator.
+     * 
+     * @param value - value to return
+     */
+    protected abstract void restore(T value);
+
+    protected abstract boolean isZero(T value);
+
+    protected abstract RFuture<T> addAndGetAsync(T value);
+
+    protected abstract RFuture<T> getAsync();
+
+    /**
+     * Should be invoked after each local increment.
+     */
+    protected void incremented() {
+        if (flushInterval <= 0 
+                || flushScheduled.get() 
+                    || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                flushScheduled.set(false);
+                flushAsync();
+            }
+        }, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    public void flush() {
+        get(flushAsync());
+    }
+
+    public RFuture<Void> flushAsync() {
+        final T value = drain();
+        if (isZero(value)) {
+            return newSucceededFuture(null);
+        }
+
+        final RPromise<Void> result = newPromise();
+        addAndGetAsync(value).addListener(new FutureListener<T>() {
+            @Override
+            public void operationComplete(Future<T> future) throws Exception {
+                if (!future.isSuccess()) {
+                    restore(value);
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(null);
+            }
+        });
+        return result;
+    }
+
+    public RFuture<T> sumAsync() {
+        final RPromise<T> result = newPromise();
+        requestAsync(SUM_MESSAGE, new Runnable() {
+            @Override
+            public void run() {
+                getAsync().addListener(new FutureListener<T>() {
+                    @Override
+                    public void operationComplete(Future<T> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        result.trySuccess(future.getNow());
+                    }
+                });
+            }
+        }, result);
+        return result;
+    }
+
+    public void reset() {
+        get(resetAsync());
+    }
+
+    public RFuture<Void> resetAsync() {
+        final RPromise<Void> result = newPromise();
+        requestAsync(RESET_MESSAGE, new Runnable() {
+            @Override
+            public void run() {
+                deleteAsync().addListener(new FutureListener<Boolean>() {
+                    @Override
+                    public void operationComplete(Future<Boolean> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        result.trySuccess(null);
+                    }
+                });
+            }
+        }, result);
+        return result;
+    }
+
+    /*
+     * Publishes request and waits until each instance received the message has replied.
+     * Fails with RedisTimeoutException if replies haven't been received during REPLY_TIMEOUT.
+     */
+    private void requestAsync(String message, final Runnable onReplies, final RPromise<?> result) {
+        final String id = UUID.randomUUID().toString();
+        final RSemaphore semaphore = getSemaphore(id);
+        topic.publishAsync(message + id).addListener(new FutureListener<Long>() {
+            @Override
+            public void operationComplete(Future<Long> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                final int replies = future.getNow().intValue();
+                semaphore.tryAcquireAsync(replies, REPLY_TIMEOUT, TimeUnit.MILLISECONDS).addListener(new FutureListener<Boolean>() {
+                    @Override
+                    public void operationComplete(Future<Boolean> future) throws Exception {
+                        semaphore.deleteAsync();
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        if (!future.getNow()) {
+                            result.tryFailure(new RedisTimeoutException("Replies of " + replies
+                                    + " clients haven't been received during " + REPLY_TIMEOUT + " ms for " + getName()));
+                            return;
+                        }
+
+                        onReplies.run();
+                    }
+                });
+            }
+        });
+    }
+
+    private String getSemaphoreName(String id) {
+        return "redisson__adder__semaphore__{" + getName() + "}:" + id;
+    }
+
+    private RSemaphore getSemaphore(String id) {
+        return redisson.getSemaphore(getSemaphoreName(id));
+    }
+
+    /*
+     * Releases a permit of request semaphore and sets its time to live.
+     */
+    private RFuture<Void> replyAsync(String id) {
+        String name = getSemaphoreName(id);
+        return commandExecutor.evalWriteAsync(name, StringCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                "local value = redis.call('incrby', KEYS[1], 1); " +
+                "redis.call('pexpire', KEYS[1], ARGV[1]); " +
+                "redis.call('publish', KEYS[2], value); ",
+                Arrays.<Object>asList(name, RedissonSemaphore.getChannelName(name)), REPLY_TIMEOUT);
+    }
+
+    @Override
+    public void destroy() {
+        synchronized (listeners) {
+            SharedListener listener = listeners.get(getName());
+            if (listener != null) {
+                listener.adders.remove(this);
+                if (listener.adders.isEmpty()) {
+                    topic.removeListener(listener.listenerId);
+                    listeners.remove(getName());
+                }
+            }
+        }
+        flush();
+    }
+
+}
@@ -24,9 +24,14 @@ import java.util.List;
 import org.redisson.api.RBitSet;
 import org.redisson.api.RFuture;
 import org.redisson.client.codec.ByteArrayCodec;
+import org.redisson.client.codec.LongCodec;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.command.CommandBatchService;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  * 
@@ -271,4 +276,173 @@ public class RedissonBitSet extends RedissonExpirable implements RBitSet {
         return opAsync("XOR", bitSetNames);
     }
 
+    @Override
+    public boolean[] get(long[] bitIndexes) {
+        return get(getAsync(bitIndexes));
+    }
+
+    @Override
+    public RFuture<boolean[]> getAsync(long[] bitIndexes) {
+        if (bitIndexes.length == 0) {
+            return newSucceededFuture(new boolean[0]);
+        }
+
+        List<Object> params = new ArrayList<Object>(bitIndexes.length*3 + 1);
+        params.add(getName());
+        for (long index : bitIndexes) {
+            params.add("GET");
+            params.add("u1");
+            params.add(index);
+        }
+
+        final RPromise<boolean[]> result = newPromise();
+        RFuture<List<Long>> future = commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONGS, params.toArray());
+        future.addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                boolean[] values = new boolean[future.getNow().size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = future.getNow().get(i) == 1;
+                }
+                result.trySuccess(values);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void set(long[] bitIndexes) {
+        get(setAsync(bitIndexes));
+    }
+
+    @Override
+    public RFuture<Void> setAsync(long[] bitIndexes) {
+        return setAsync(bitIndexes, 1);
+    }
+
+    @Override
+    public void clear(long[] bitIndexes) {
+        get(clearAsync(bitIndexes));
+    }
+
+    @Override
+    public RFuture<Void> clearAsync(long[] bitIndexes) {
+        return setAsync(bitIndexes, 0);
+    }
+
+    private RFuture<Void> setAsync(long[] bitIndexes, int value) {
+        if (bitIndexes.length == 0) {
+            return newSucceededFuture(null);
+        }
+
+        List<Object> params = new ArrayList<Object>(bitIndexes.length*4 + 1);
+        params.add(getName());
+        for (long index : bitIndexes) {
+            params.add("SET");
+            params.add("u1");
+            params.add(index);
+            params.add(value);
+        }
+
+        final RPromise<Void> result = newPromise();
+        RFuture<List<Long>> future = commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONGS, params.toArray());
+        future.addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(null);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public long getSigned(int size, long offset) {
+        return get(getSignedAsync(size, offset));
+    }
+
+    @Override
+    public RFuture<Long> getSignedAsync(int size, long offset) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "GET", signedType(size), offset);
+    }
+
+    @Override
+    public long getUnsigned(int size, long offset) {
+        return get(getUnsignedAsync(size, offset));
+    }
+
+    @Override
+    public RFuture<Long> getUnsignedAsync(int size, long offset) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "GET", unsignedType(size), offset);
+    }
+
+    @Override
+    public long setSigned(int size, long offset, long value) {
+        return get(setSignedAsync(size, offset, value));
+    }
+
+    @Override
+    public RFuture<Long> setSignedAsync(int size, long offset, long value) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "SET", signedType(size), offset, value);
+    }
+
+    @Override
+    public long setUnsigned(int size, long offset, long value) {
+        return get(setUnsignedAsync(size, offset, value));
+    }
+
+    @Override
+    public RFuture<Long> setUnsignedAsync(int size, long offset, long value) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "SET", unsignedType(size), offset, value);
+    }
+
+    @Override
+    public long incrementAndGetSigned(int size, long offset, long increment) {
+        return get(incrementAndGetSignedAsync(size, offset, increment));
+    }
+
+    @Override
+    public RFuture<Long> incrementAndGetSignedAsync(int size, long offset, long increment) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "INCRBY", signedType(size), offset, increment);
+    }
+
+    @Override
+    public long incrementAndGetUnsigned(int size, long offset, long increment) {
+        return get(incrementAndGetUnsignedAsync(size, offset, increment));
+    }
+
+    @Override
+    public RFuture<Long> incrementAndGetUnsignedAsync(int size, long offset, long increment) {
+        return commandExecutor.writeAsync(getName(), LongCodec.INSTANCE, RedisCommands.BITFIELD_LONG, 
+                                    getName(), "INCRBY", unsignedType(size), offset, increment);
+    }
+
+    private String signedType(int size) {
+        if (size < 1 || size > 64) {
+            throw new IllegalArgumentException("Size of signed number should be from 1 to 64");
+        }
+        return "i" + size;
+    }
+
+    private String unsignedType(int size) {
+        if (size < 1 || size > 63) {
+            throw new IllegalArgumentException("Size of unsigned number should be from 1 to 63");
+        }
+        return "u" + size;
+    }
+
 }
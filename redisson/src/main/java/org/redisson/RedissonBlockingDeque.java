@@ -148,6 +148,16 @@ public class RedissonBlockingDeque<V> extends RedissonDeque<V> implements RBlock
         return blockingQueue.drainToAsync(c, maxElements);
     }
 
+    @Override
+    public RFuture<List<V>> takeAsync(int maxElements, long timeout, TimeUnit unit) {
+        return blockingQueue.takeAsync(maxElements, timeout, unit);
+    }
+
+    @Override
+    public List<V> take(int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        return blockingQueue.take(maxElements, timeout, unit);
+    }
+
     @Override
     public RFuture<Void> putFirstAsync(V e) {
         return addFirstAsync(e);
@@ -22,12 +22,20 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.api.RBlockingQueue;
+import org.redisson.api.RBlockingQueueAsync;
 import org.redisson.api.RFuture;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.connection.decoder.ListDrainToDecoder;
+import org.redisson.misc.RPromise;
+import org.redisson.misc.RedissonPromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  * <p>Distributed and concurrent implementation of {@link java.util.concurrent.BlockingQueue}.
@@ -40,11 +48,13 @@ import org.redisson.connection.decoder.ListDrainToDecoder;
  */
 public class RedissonBlockingQueue<V> extends RedissonQueue<V> implements RBlockingQueue<V> {
 
-    protected RedissonBlockingQueue(CommandAsyncExecutor commandExecutor, String name) {
+    private static final Logger log = LoggerFactory.getLogger(RedissonBlockingQueue.class);
+
+    public RedissonBlockingQueue(CommandAsyncExecutor commandExecutor, String name) {
         super(commandExecutor, name);
     }
 
-    protected RedissonBlockingQueue(Codec codec, CommandAsyncExecutor commandExecutor, String name) {
+    public RedissonBlockingQueue(Codec codec, CommandAsyncExecutor commandExecutor, String name) {
         super(codec, commandExecutor, name);
     }
 
@@ -97,6 +107,82 @@ public class RedissonBlockingQueue<V> extends RedissonQueue<V> implements RBlock
         return res.await().getNow();
     }
 
+    @Override
+    public RFuture<List<V>> takeAsync(int maxElements, long timeout, TimeUnit unit) {
+        return takeAsync(this, maxElements, timeout, unit);
+    }
+
+    @Override
+    public List<V> take(int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        return get(takeAsync(maxElements, timeout, unit));
+    }
+
+    /*
+     * Available elements are polled without blocking.
+     * Otherwise waits for first element using BLPOP and polls rest of elements after it.
+     * BLPOP timeout is set in seconds, so wait time is rounded up to whole seconds
+     * as 0 means infinite wait for BLPOP.
+     */
+    static <V> RFuture<List<V>> takeAsync(final RBlockingQueueAsync<V> queue, final int maxElements, long timeout, TimeUnit unit) {
+        final RPromise<List<V>> result = new RedissonPromise<List<V>>();
+        if (maxElements <= 0) {
+            result.trySuccess(Collections.<V>emptyList());
+            return result;
+        }
+
+        final long timeoutSeconds = (Math.min(unit.toMillis(timeout), Long.MAX_VALUE - 999) + 999) / 1000;
+        queue.pollAsync(maxElements).addListener(new FutureListener<List<V>>() {
+            @Override
+            public void operationComplete(Future<List<V>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                if (!future.getNow().isEmpty() || timeoutSeconds <= 0) {
+                    result.trySuccess(future.getNow());
+                    return;
+                }
+
+                queue.pollAsync(timeoutSeconds, TimeUnit.SECONDS).addListener(new FutureListener<V>() {
+                    @Override
+                    public void operationComplete(Future<V> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        final V head = future.getNow();
+                        if (head == null) {
+                            result.trySuccess(Collections.<V>emptyList());
+                            return;
+                        }
+                        if (maxElements == 1) {
+                            result.trySuccess(Collections.singletonList(head));
+                            return;
+                        }
+
+                        queue.pollAsync(maxElements - 1).addListener(new FutureListener<List<V>>() {
+                            @Override
+                            public void operationComplete(Future<List<V>> future) throws Exception {
+                                List<V> elements = new ArrayList<V>(maxElements);
+                                elements.add(head);
+                                if (future.isSuccess()) {
+                                    elements.addAll(future.getNow());
+                                } else {
+                                    log.error("Unable to poll elements following the head element", future.cause());
+                                }
+                                // head element has been removed already, so it's returned anyway
+                                result.trySuccess(elements);
+                            }
+                        });
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
     /*
      * (non-Javadoc)
      * @see org.redisson.core.RBlockingQueue#pollFromAny(long, java.util.concurrent.TimeUnit, java.lang.String[])
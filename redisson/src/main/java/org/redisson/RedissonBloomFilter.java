@@ -16,7 +16,10 @@
 package org.redisson;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 
@@ -34,8 +37,10 @@ import org.redisson.client.protocol.convertor.VoidReplayConvertor;
 import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
 import org.redisson.command.CommandBatchService;
 import org.redisson.command.CommandExecutor;
+import org.redisson.misc.RPromise;
 
 import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 import net.openhft.hashing.LongHashFunction;
 
 /**
@@ -49,7 +54,51 @@ import net.openhft.hashing.LongHashFunction;
  */
 public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomFilter<T> {
 
-    private static final long MAX_SIZE = Integer.MAX_VALUE*2L;
+    static final long MAX_SIZE = Integer.MAX_VALUE*2L;
+
+    static final int BATCH_SIZE = 1000;
+
+    /*
+     * ARGV[2] - hashIterations, ARGV[3..] - bit indexes of elements.
+     * Returns 1 for each element which has been added.
+     */
+    static final String ADD_SCRIPT = 
+            "local result = {}; "
+          + "local k = tonumber(ARGV[2]); "
+          + "for i = 3, #ARGV, k do "
+              + "local added = 0; "
+              + "for j = i, i + k - 1 do "
+                  + "if redis.call('setbit', KEYS[1], ARGV[j], 1) == 0 then "
+                      + "added = 1; "
+                  + "end; "
+              + "end; "
+              + "table.insert(result, added); "
+          + "end; "
+          + "return result;";
+
+    /*
+     * ARGV[2] - hashIterations, ARGV[3..] - bit indexes of elements.
+     * Returns 1 for each element which may be present.
+     */
+    static final String CONTAINS_SCRIPT = 
+            "local result = {}; "
+          + "local k = tonumber(ARGV[2]); "
+          + "for i = 3, #ARGV, k do "
+              + "local present = 1; "
+              + "for j = i, i + k - 1 do "
+                  + "if redis.call('getbit', KEYS[1], ARGV[j]) == 0 then "
+                      + "present = 0; "
+                      + "break; "
+                  + "end; "
+              + "end; "
+              + "table.insert(result, present); "
+          + "end; "
+          + "return result;";
+
+    private static final String CONFIG_CHECK_SCRIPT = 
+            "local size = redis.call('hget', KEYS[2], 'size'); "
+          + "local hashIterations = redis.call('hget', KEYS[2], 'hashIterations'); "
+          + "assert(size == ARGV[1] and hashIterations == ARGV[2], 'Bloom filter config has been changed'); ";
 
     private volatile long size;
     private volatile int hashIterations;
@@ -66,11 +115,11 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         this.commandExecutor = commandExecutor;
     }
 
-    private int optimalNumOfHashFunctions(long n, long m) {
+    static int optimalNumOfHashFunctions(long n, long m) {
         return Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
       }
 
-    private long optimalNumOfBits(long n, double p) {
+    static long optimalNumOfBits(long n, double p) {
         if (p == 0) {
             p = Double.MIN_VALUE;
         }
@@ -79,44 +128,50 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
 
     @Override
     public boolean add(T object) {
-        byte[] state = encode(object);
-
-        while (true) {
-            if (size == 0) {
-                readConfig();
-            }
+        return addAll(Collections.singletonList(object)) > 0;
+    }
 
-            int hashIterations = this.hashIterations;
-            long size = this.size;
+    @Override
+    public RFuture<Boolean> addAsync(T object) {
+        return toFirst(evalAsync(Collections.singletonList(object), getAddScript(), true));
+    }
 
-            long[] indexes = hash(state, hashIterations, size);
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(addAllAsync(objects));
+    }
 
-            CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.writeAsync(getName(), codec, RedisCommands.SETBIT, getName(), indexes[i], 1);
-            }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
+    @Override
+    public RFuture<Integer> addAllAsync(Collection<? extends T> objects) {
+        final RPromise<Integer> result = newPromise();
+        evalAsync(objects, getAddScript(), true).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
 
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (val) {
-                        return true;
+                int added = 0;
+                for (Boolean value : future.getNow()) {
+                    if (value) {
+                        added++;
                     }
                 }
-                return false;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
-                }
+                result.trySuccess(added);
             }
-        }
+        });
+        return result;
     }
 
     private long[] hash(byte[] state, int iterations, long size) {
         long hash1 = LongHashFunction.xx_r39().hashBytes(state);
         long hash2 = LongHashFunction.farmUo().hashBytes(state);
+        return hash(hash1, hash2, iterations, size);
+    }
 
+    static long[] hash(long hash1, long hash2, int iterations, long size) {
         long[] indexes = new long[iterations];
         long hash = hash1;
         for (int i = 0; i < iterations; i++) {
@@ -132,47 +187,181 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
 
     @Override
     public boolean contains(T object) {
-        byte[] state = encode(object);
+        return containsEach(Collections.singletonList(object)).get(0);
+    }
+
+    @Override
+    public RFuture<Boolean> containsAsync(T object) {
+        return toFirst(evalAsync(Collections.singletonList(object), getContainsScript(), false));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Boolean> containsAllAsync(Collection<? extends T> objects) {
+        final RPromise<Boolean> result = newPromise();
+        evalAsync(objects, getContainsScript(), false).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
 
-        while (true) {
-            if (size == 0) {
-                readConfig();
+                result.trySuccess(!future.getNow().contains(Boolean.FALSE));
             }
+        });
+        return result;
+    }
 
-            int hashIterations = this.hashIterations;
-            long size = this.size;
+    @Override
+    public List<Boolean> containsEach(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsEachAsync(objects));
+    }
 
-            long[] indexes = hash(state, hashIterations, size);
+    @Override
+    public RFuture<List<Boolean>> containsEachAsync(Collection<? extends T> objects) {
+        return evalAsync(objects, getContainsScript(), false);
+    }
+
+    RFuture<Boolean> toFirst(RFuture<List<Boolean>> future) {
+        final RPromise<Boolean> result = newPromise();
+        future.addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
 
-            CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
-            addConfigCheck(hashIterations, size, executorService);
-            for (int i = 0; i < indexes.length; i++) {
-                executorService.readAsync(getName(), codec, RedisCommands.GETBIT, getName(), indexes[i]);
+                result.trySuccess(future.getNow().get(0));
             }
-            try {
-                List<Boolean> result = (List<Boolean>) executorService.execute();
+        });
+        return result;
+    }
+
+    /*
+     * Error message contains script text as well, so only error raised by assert is matched
+     */
+    static boolean isConfigChanged(Throwable e) {
+        return e.getMessage() != null 
+                && e.getMessage().contains(": Bloom filter config has been changed");
+    }
+
+    protected String getAddScript() {
+        return ADD_SCRIPT;
+    }
 
-                for (Boolean val : result.subList(1, result.size()-1)) {
-                    if (!val) {
-                        return false;
+    protected String getContainsScript() {
+        return CONTAINS_SCRIPT;
+    }
+
+    protected long getMaxSize() {
+        return MAX_SIZE;
+    }
+
+    /*
+     * Config is read once and cached. Each script call asserts that cached config 
+     * is still actual, so it's reloaded only after filter has been re-initialized.
+     */
+    void checkConfig() {
+        if (size == 0) {
+            readConfig();
+        }
+    }
+
+    RFuture<List<Boolean>> evalAsync(Collection<? extends T> objects, String script, boolean write) {
+        if (objects.isEmpty()) {
+            return newSucceededFuture(Collections.<Boolean>emptyList());
+        }
+
+        List<byte[]> states = new ArrayList<byte[]>(objects.size());
+        for (T object : objects) {
+            states.add(encode(object));
+        }
+
+        RPromise<List<Boolean>> result = newPromise();
+        evalAsync(states, script, write, result);
+        return result;
+    }
+
+    private void evalAsync(final List<byte[]> states, final String script, final boolean write, final RPromise<List<Boolean>> result) {
+        if (size == 0) {
+            readConfigAsync().addListener(new FutureListener<Map<String, String>>() {
+                @Override
+                public void operationComplete(Future<Map<String, String>> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        result.tryFailure(future.cause());
+                        return;
                     }
+
+                    try {
+                        readConfig(future.getNow());
+                    } catch (IllegalStateException e) {
+                        result.tryFailure(e);
+                        return;
+                    }
+                    evalAsync(states, script, write, result);
                 }
+            });
+            return;
+        }
+
+        int hashIterations = this.hashIterations;
+        long size = this.size;
 
-                return true;
-            } catch (RedisException e) {
-                if (!e.getMessage().contains("Bloom filter config has been changed")) {
-                    throw e;
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        final List<RFuture<List<Long>>> futures = new ArrayList<RFuture<List<Long>>>();
+        for (int i = 0; i < states.size(); i += BATCH_SIZE) {
+            List<byte[]> chunk = states.subList(i, Math.min(states.size(), i + BATCH_SIZE));
+            List<Object> params = new ArrayList<Object>(2 + chunk.size()*hashIterations);
+            params.add(size);
+            params.add(hashIterations);
+            for (byte[] state : chunk) {
+                for (long index : hash(state, hashIterations, size)) {
+                    params.add(index);
                 }
             }
+
+            List<Object> keys = Arrays.<Object>asList(getName(), getConfigName());
+            RFuture<List<Long>> future;
+            if (write) {
+                future = executorService.evalWriteAsync(getName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                        CONFIG_CHECK_SCRIPT + script, keys, params.toArray());
+            } else {
+                future = executorService.evalReadAsync(getName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                        CONFIG_CHECK_SCRIPT + script, keys, params.toArray());
+            }
+            futures.add(future);
         }
-    }
 
-    private void addConfigCheck(int hashIterations, long size, CommandBatchService executorService) {
-        executorService.evalReadAsync(getConfigName(), codec, RedisCommands.EVAL_VOID,
-                "local size = redis.call('hget', KEYS[1], 'size');" +
-                        "local hashIterations = redis.call('hget', KEYS[1], 'hashIterations');" +
-                        "assert(size == ARGV[1] and hashIterations == ARGV[2], 'Bloom filter config has been changed')",
-                        Arrays.<Object>asList(getConfigName()), size, hashIterations);
+        executorService.executeAsync().addListener(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    if (isConfigChanged(future.cause())) {
+                        RedissonBloomFilter.this.size = 0;
+                        evalAsync(states, script, write, result);
+                        return;
+                    }
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                List<Boolean> values = new ArrayList<Boolean>(states.size());
+                for (RFuture<List<Long>> f : futures) {
+                    for (Long value : f.getNow()) {
+                        values.add(value == 1);
+                    }
+                }
+                result.trySuccess(values);
+            }
+        });
     }
 
     @Override
@@ -194,13 +383,16 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
     }
 
     private void readConfig() {
-        RFuture<Map<String, String>> future = commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
-                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
-        Map<String, String> config = commandExecutor.get(future);
+        Map<String, String> config = commandExecutor.get(readConfigAsync());
 
         readConfig(config);
     }
 
+    private RFuture<Map<String, String>> readConfigAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+    }
+
     private void readConfig(Map<String, String> config) {
         if (config.get("hashIterations") == null
                 || config.get("size") == null) {
@@ -213,8 +405,8 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
     @Override
     public boolean tryInit(long expectedInsertions, double falseProbability) {
         size = optimalNumOfBits(expectedInsertions, falseProbability);
-        if (size > MAX_SIZE) {
-            throw new IllegalArgumentException("Bloom filter can't be greater than " + MAX_SIZE + ". But calculated size is " + size);
+        if (size > getMaxSize()) {
+            throw new IllegalArgumentException("Bloom filter can't be greater than " + getMaxSize() + ". But calculated size is " + size);
         }
         hashIterations = optimalNumOfHashFunctions(expectedInsertions, size);
 
@@ -231,7 +423,7 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         try {
             executorService.execute();
         } catch (RedisException e) {
-            if (!e.getMessage().contains("Bloom filter config has been changed")) {
+            if (!isConfigChanged(e)) {
                 throw e;
             }
             readConfig();
@@ -241,7 +433,7 @@ public class RedissonBloomFilter<T> extends RedissonExpirable implements RBloomF
         return true;
     }
 
-    private String getConfigName() {
+    String getConfigName() {
         return "{" + getName() + "}" + "__config";
     }
 
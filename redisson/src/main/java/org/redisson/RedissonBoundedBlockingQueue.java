@@ -151,6 +151,11 @@ public class RedissonBoundedBlockingQueue<V> extends RedissonQueue<V> implements
                     return;
                 }
                 
+                if (future.getNow() == null) {
+                    result.trySuccess(null);
+                    return;
+                }
+                
                 createSemaphore(null).releaseAsync().addListener(new FutureListener<Void>() {
                     @Override
                     public void operationComplete(Future<Void> future) throws Exception {
@@ -203,6 +208,34 @@ public class RedissonBoundedBlockingQueue<V> extends RedissonQueue<V> implements
                 Arrays.<Object>asList(getName(), getSemaphoreName(), channelName), 1);
     }
     
+    @Override
+    public RFuture<List<V>> pollAsync(int limit) {
+        if (limit <= 0) {
+            return newSucceededFuture(Collections.<V>emptyList());
+        }
+
+        String channelName = RedissonSemaphore.getChannelName(getSemaphoreName());
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_LIST,
+                "local result = redis.call('lrange', KEYS[1], 0, ARGV[1] - 1); "
+              + "redis.call('ltrim', KEYS[1], ARGV[1], -1); "
+              + "if #result > 0 then " +
+                    "local value = redis.call('incrby', KEYS[2], #result); " +
+                    "redis.call('publish', KEYS[3], value); "
+              + "end; "
+              + "return result;",
+                Arrays.<Object>asList(getName(), getSemaphoreName(), channelName), limit);
+    }
+
+    @Override
+    public RFuture<List<V>> takeAsync(int maxElements, long timeout, TimeUnit unit) {
+        return RedissonBlockingQueue.takeAsync(this, maxElements, timeout, unit);
+    }
+
+    @Override
+    public List<V> take(int maxElements, long timeout, TimeUnit unit) throws InterruptedException {
+        return get(takeAsync(maxElements, timeout, unit));
+    }
+
     /*
      * (non-Javadoc)
      * @see java.util.concurrent.BlockingQueue#take()
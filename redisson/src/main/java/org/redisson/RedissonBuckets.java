@@ -34,6 +34,8 @@ import org.redisson.client.protocol.RedisCommand.ValueType;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.command.CommandExecutor;
 import org.redisson.connection.decoder.MapGetAllDecoder;
+import org.redisson.misc.ChunkedOperation;
+import org.redisson.misc.RPromise;
 
 public class RedissonBuckets implements RBuckets {
 
@@ -101,6 +103,31 @@ public class RedissonBuckets implements RBuckets {
             return;
         }
 
+        commandExecutor.get(setAsync(buckets));
+    }
+
+    @Override
+    public void set(Map<String, ?> buckets, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        if (buckets.size() <= batchSize) {
+            set(buckets);
+            return;
+        }
+
+        RPromise<Void> result = commandExecutor.getConnectionManager().newPromise();
+        List<Map<String, Object>> chunks = ChunkedOperation.split(buckets, batchSize);
+        new ChunkedOperation<Map<String, Object>, Void>(chunks, result) {
+            @Override
+            protected RFuture<Void> execute(Map<String, Object> chunk) {
+                return setAsync(chunk);
+            }
+        }.execute();
+        commandExecutor.get(result);
+    }
+
+    private RFuture<Void> setAsync(Map<String, ?> buckets) {
         List<Object> params = new ArrayList<Object>(buckets.size());
         for (Entry<String, ?> entry : buckets.entrySet()) {
             params.add(entry.getKey());
@@ -111,7 +138,7 @@ public class RedissonBuckets implements RBuckets {
             }
         }
 
-        commandExecutor.write(params.get(0).toString(), RedisCommands.MSET, params.toArray());
+        return commandExecutor.writeAsync(params.get(0).toString(), RedisCommands.MSET, params.toArray());
     }
 
 }
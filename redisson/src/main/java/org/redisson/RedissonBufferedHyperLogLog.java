@@ -0,0 +1,245 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.redisson.api.RBufferedHyperLogLog;
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.HyperLogLogSketch;
+import org.redisson.misc.RPromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Elements are added to two local sketches. 
+ * First one holds all elements added through this object and is used by <code>countApprox</code>. 
+ * Second one holds elements added since last flush and is cleared once merged into Redis key, 
+ * so elements removed from Redis by delete or expiration aren't merged again.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <V> value
+ */
+public class RedissonBufferedHyperLogLog<V> extends RedissonHyperLogLog<V> implements RBufferedHyperLogLog<V> {
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonBufferedHyperLogLog.class);
+
+    private final HyperLogLogSketch sketch = new HyperLogLogSketch();
+    // guarded by sketch
+    private HyperLogLogSketch pending = new HyperLogLogSketch();
+    private boolean changed;
+    private final long flushInterval;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    protected RedissonBufferedHyperLogLog(CommandAsyncExecutor commandExecutor, String name, long flushInterval) {
+        super(commandExecutor, name);
+        this.flushInterval = flushInterval;
+    }
+
+    protected RedissonBufferedHyperLogLog(Codec codec, CommandAsyncExecutor commandExecutor, String name, long flushInterval) {
+        super(codec, commandExecutor, name);
+        this.flushInterval = flushInterval;
+    }
+
+    String getMergeName() {
+        return "{" + getName() + "}" + "__merge";
+    }
+
+    @Override
+    public RFuture<Boolean> addAsync(V obj) {
+        return addAllAsync(Collections.singletonList(obj));
+    }
+
+    @Override
+    public RFuture<Boolean> addAllAsync(Collection<V> objects) {
+        byte[][] elements = new byte[objects.size()][];
+        int i = 0;
+        for (V object : objects) {
+            elements[i++] = encode(object);
+        }
+
+        boolean result = false;
+        boolean pendingChanged = false;
+        synchronized (sketch) {
+            for (byte[] element : elements) {
+                result |= sketch.add(element);
+                pendingChanged |= pending.add(element);
+            }
+            changed |= pendingChanged;
+        }
+
+        if (pendingChanged) {
+            scheduleFlush();
+        }
+        return newSucceededFuture(result);
+    }
+
+    private void scheduleFlush() {
+        if (flushInterval <= 0 
+                || flushScheduled.get() 
+                    || !flushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                flushScheduled.set(false);
+                flushAsync();
+            }
+        }, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long countApprox() {
+        synchronized (sketch) {
+            return sketch.count();
+        }
+    }
+
+    @Override
+    public void flush() {
+        get(flushAsync());
+    }
+
+    @Override
+    public RFuture<Void> flushAsync() {
+        byte[] state;
+        final HyperLogLogSketch drained;
+        synchronized (sketch) {
+            if (!changed) {
+                return newSucceededFuture(null);
+            }
+            drained = pending;
+            pending = new HyperLogLogSketch();
+            changed = false;
+        }
+        state = drained.toByteArray();
+
+        final RPromise<Void> result = newPromise();
+        RFuture<Void> future = commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
+                "redis.call('set', KEYS[2], ARGV[1]); "
+              + "redis.call('pfmerge', KEYS[1], KEYS[2]); "
+              + "redis.call('del', KEYS[2]); ",
+                Arrays.<Object>asList(getName(), getMergeName()), state);
+        future.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    // drained sketch is merged back into pending one and sent again during next flush, 
+                    // it's safe even if failed merge has been applied since PFMERGE is idempotent
+                    synchronized (sketch) {
+                        pending.merge(drained);
+                        changed = true;
+                    }
+                    scheduleFlush();
+                    log.error("Can't flush HyperLogLog sketch of " + getName(), future.cause());
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(null);
+            }
+        });
+        return result;
+    }
+
+    private <R> RFuture<R> flushAndExecute(final Callable<RFuture<R>> operation) {
+        final RPromise<R> result = newPromise();
+        flushAsync().addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                operation.call().addListener(new FutureListener<R>() {
+                    @Override
+                    public void operationComplete(Future<R> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        result.trySuccess(future.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public RFuture<Long> countAsync() {
+        return flushAndExecute(new Callable<RFuture<Long>>() {
+            @Override
+            public RFuture<Long> call() throws Exception {
+                return RedissonBufferedHyperLogLog.super.countAsync();
+            }
+        });
+    }
+
+    @Override
+    public RFuture<Long> countWithAsync(final String... otherLogNames) {
+        return flushAndExecute(new Callable<RFuture<Long>>() {
+            @Override
+            public RFuture<Long> call() throws Exception {
+                return RedissonBufferedHyperLogLog.super.countWithAsync(otherLogNames);
+            }
+        });
+    }
+
+    @Override
+    public RFuture<Void> mergeWithAsync(final String... otherLogNames) {
+        return flushAndExecute(new Callable<RFuture<Void>>() {
+            @Override
+            public RFuture<Void> call() throws Exception {
+                return RedissonBufferedHyperLogLog.super.mergeWithAsync(otherLogNames);
+            }
+        });
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        synchronized (sketch) {
+            sketch.clear();
+            pending.clear();
+            changed = false;
+        }
+        return super.deleteAsync();
+    }
+
+    @Override
+    public void destroy() {
+        flush();
+    }
+
+}
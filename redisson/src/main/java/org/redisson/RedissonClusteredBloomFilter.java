@@ -0,0 +1,585 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RClusteredBloomFilter;
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.DoubleCodec;
+import org.redisson.client.codec.IntegerCodec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.RedisStrictCommand;
+import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
+import org.redisson.command.CommandBatchService;
+import org.redisson.command.CommandExecutor;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * Bloom filter which bit array is split into segments stored in separate hash slots.
+ * <p>
+ * Config is stored in <code>{name}__config</code> hash. 
+ * Each segment is stored in <code>{name:index}</code> key and 
+ * its config version in <code>{name:index}__config</code> hash.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> type of object
+ */
+public class RedissonClusteredBloomFilter<T> extends RedissonExpirable implements RClusteredBloomFilter<T> {
+
+    private static final String CONFIG_CHECK_SCRIPT = 
+            "local version = redis.call('hget', KEYS[2], 'version'); "
+          + "assert(version == ARGV[1], 'Bloom filter config has been changed'); ";
+
+    static class Config {
+
+        final String version;
+        final long segmentSize;
+        final int hashIterations;
+        final int segments;
+
+        Config(String version, long segmentSize, int hashIterations, int segments) {
+            this.version = version;
+            this.segmentSize = segmentSize;
+            this.hashIterations = hashIterations;
+            this.segments = segments;
+        }
+
+    }
+
+    private volatile Config config;
+
+    private final CommandExecutor commandExecutor;
+
+    protected RedissonClusteredBloomFilter(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    protected RedissonClusteredBloomFilter(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    @Override
+    public boolean add(T object) {
+        return addAll(Collections.singletonList(object)) > 0;
+    }
+
+    @Override
+    public RFuture<Boolean> addAsync(T object) {
+        return toFirst(evalAsync(Collections.singletonList(object), true));
+    }
+
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(addAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Integer> addAllAsync(Collection<? extends T> objects) {
+        final RPromise<Integer> result = newPromise();
+        evalAsync(objects, true).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                int added = 0;
+                for (Boolean value : future.getNow()) {
+                    if (value) {
+                        added++;
+                    }
+                }
+                result.trySuccess(added);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public boolean contains(T object) {
+        return containsEach(Collections.singletonList(object)).get(0);
+    }
+
+    @Override
+    public RFuture<Boolean> containsAsync(T object) {
+        return toFirst(evalAsync(Collections.singletonList(object), false));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Boolean> containsAllAsync(Collection<? extends T> objects) {
+        final RPromise<Boolean> result = newPromise();
+        evalAsync(objects, false).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(!future.getNow().contains(Boolean.FALSE));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<Boolean> containsEach(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsEachAsync(objects));
+    }
+
+    @Override
+    public RFuture<List<Boolean>> containsEachAsync(Collection<? extends T> objects) {
+        return evalAsync(objects, false);
+    }
+
+    private RFuture<Boolean> toFirst(RFuture<List<Boolean>> future) {
+        final RPromise<Boolean> result = newPromise();
+        future.addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(future.getNow().get(0));
+            }
+        });
+        return result;
+    }
+
+    private void checkConfig() {
+        if (config == null) {
+            readConfig();
+        }
+    }
+
+    private RFuture<List<Boolean>> evalAsync(Collection<? extends T> objects, boolean add) {
+        if (objects.isEmpty()) {
+            return newSucceededFuture(Collections.<Boolean>emptyList());
+        }
+
+        List<long[]> hashes = new ArrayList<long[]>(objects.size());
+        for (T object : objects) {
+            byte[] state = encode(object);
+            long hash1 = LongHashFunction.xx_r39().hashBytes(state);
+            long hash2 = LongHashFunction.farmUo().hashBytes(state);
+            // segment is selected by separate hash function, 
+            // otherwise it correlates with bit indexes inside segment
+            long segmentHash = LongHashFunction.murmur_3().hashBytes(state);
+            hashes.add(new long[] {hash1, hash2, segmentHash});
+        }
+
+        RPromise<List<Boolean>> result = newPromise();
+        evalAsync(hashes, add, result);
+        return result;
+    }
+
+    private void evalAsync(final List<long[]> hashes, final boolean add, final RPromise<List<Boolean>> result) {
+        final Config config = this.config;
+        if (config == null) {
+            readConfigAsync().addListener(new FutureListener<Config>() {
+                @Override
+                public void operationComplete(Future<Config> future) throws Exception {
+                    if (!future.isSuccess()) {
+                        result.tryFailure(future.cause());
+                        return;
+                    }
+
+                    evalAsync(hashes, add, result);
+                }
+            });
+            return;
+        }
+
+        List<List<Integer>> positions = new ArrayList<List<Integer>>(config.segments);
+        for (int i = 0; i < config.segments; i++) {
+            positions.add(new ArrayList<Integer>());
+        }
+        for (int i = 0; i < hashes.size(); i++) {
+            long[] hash = hashes.get(i);
+            int segment = (int) ((hash[2] & Long.MAX_VALUE) % config.segments);
+            positions.get(segment).add(i);
+        }
+
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        final List<List<Integer>> chunkPositions = new ArrayList<List<Integer>>();
+        final List<RFuture<List<Long>>> futures = new ArrayList<RFuture<List<Long>>>();
+        for (int segment = 0; segment < config.segments; segment++) {
+            List<Integer> segmentPositions = positions.get(segment);
+            for (int i = 0; i < segmentPositions.size(); i += RedissonBloomFilter.BATCH_SIZE) {
+                List<Integer> chunk = segmentPositions.subList(i, Math.min(segmentPositions.size(), i + RedissonBloomFilter.BATCH_SIZE));
+                List<Object> params = new ArrayList<Object>(2 + chunk.size()*config.hashIterations);
+                params.add(config.version);
+                params.add(config.hashIterations);
+                for (Integer position : chunk) {
+                    long[] hash = hashes.get(position);
+                    for (long index : RedissonBloomFilter.hash(hash[0], hash[1], config.hashIterations, config.segmentSize)) {
+                        params.add(index);
+                    }
+                }
+
+                String segmentName = getSegmentName(segment);
+                List<Object> keys = Arrays.<Object>asList(segmentName, getSegmentConfigName(segment));
+                RFuture<List<Long>> future;
+                if (add) {
+                    future = executorService.evalWriteAsync(segmentName, StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                            CONFIG_CHECK_SCRIPT + RedissonBloomFilter.ADD_SCRIPT, keys, params.toArray());
+                } else {
+                    future = executorService.evalReadAsync(segmentName, StringCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                            CONFIG_CHECK_SCRIPT + RedissonBloomFilter.CONTAINS_SCRIPT, keys, params.toArray());
+                }
+                chunkPositions.add(chunk);
+                futures.add(future);
+            }
+        }
+
+        executorService.executeAsync().addListener(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    if (RedissonBloomFilter.isConfigChanged(future.cause())) {
+                        reloadConfigAsync(config, hashes, add, result);
+                        return;
+                    }
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                Boolean[] values = new Boolean[hashes.size()];
+                for (int i = 0; i < futures.size(); i++) {
+                    List<Integer> chunk = chunkPositions.get(i);
+                    List<Long> chunkValues = futures.get(i).getNow();
+                    for (int j = 0; j < chunk.size(); j++) {
+                        values[chunk.get(j)] = chunkValues.get(j) == 1;
+                    }
+                }
+                result.trySuccess(Arrays.asList(values));
+            }
+        });
+    }
+
+    /*
+     * Segment config is absent or has another version. 
+     * If stored config still has the same version then segment config write 
+     * has been interrupted during initialization, so it's written again.
+     */
+    private void reloadConfigAsync(final Config oldConfig, final List<long[]> hashes, final boolean add, final RPromise<List<Boolean>> result) {
+        config = null;
+        readConfigAsync().addListener(new FutureListener<Config>() {
+            @Override
+            public void operationComplete(Future<Config> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                Config config = future.getNow();
+                if (!config.version.equals(oldConfig.version)) {
+                    evalAsync(hashes, add, result);
+                    return;
+                }
+
+                writeSegmentConfigsAsync(config).addListener(new FutureListener<List<?>>() {
+                    @Override
+                    public void operationComplete(Future<List<?>> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        evalAsync(hashes, add, result);
+                    }
+                });
+            }
+        });
+    }
+
+    private RFuture<List<?>> writeSegmentConfigsAsync(Config config) {
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        for (int i = 0; i < config.segments; i++) {
+            executorService.writeAsync(getSegmentConfigName(i), StringCodec.INSTANCE, RedisCommands.HMSET, 
+                    getSegmentConfigName(i), "version", config.version);
+        }
+        return executorService.executeAsync();
+    }
+
+    @Override
+    public int count() {
+        Config config = readConfig();
+
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        List<RFuture<Long>> futures = new ArrayList<RFuture<Long>>(config.segments);
+        for (int i = 0; i < config.segments; i++) {
+            RFuture<Long> future = executorService.readAsync(getSegmentName(i), codec, RedisCommands.BITCOUNT, getSegmentName(i));
+            futures.add(future);
+        }
+        executorService.execute();
+
+        double result = 0;
+        for (RFuture<Long> future : futures) {
+            result += -config.segmentSize / ((double) config.hashIterations) * Math.log(1 - future.getNow() / ((double) config.segmentSize));
+        }
+        return (int) result;
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return executeAsync(RedisCommands.DEL_OBJECTS, true);
+    }
+
+    @Override
+    public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeAsync(RedisCommands.PEXPIRE, false, timeUnit.toMillis(timeToLive));
+    }
+
+    @Override
+    public RFuture<Boolean> expireAtAsync(long timestamp) {
+        return executeAsync(RedisCommands.PEXPIREAT, false, timestamp);
+    }
+
+    @Override
+    public RFuture<Boolean> clearExpireAsync() {
+        return executeAsync(RedisCommands.PERSIST, false);
+    }
+
+    @Override
+    public RFuture<Long> remainTimeToLiveAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.PTTL, getConfigName());
+    }
+
+    @Override
+    public RFuture<Boolean> isExistsAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EXISTS, getConfigName());
+    }
+
+    /*
+     * Executes command over config and all segment keys. 
+     * Result of config key command is returned.
+     */
+    private RFuture<Boolean> executeAsync(final RedisStrictCommand<Boolean> command, final boolean delete, final Object... params) {
+        final RPromise<Boolean> result = newPromise();
+        readConfigMapAsync().addListener(new FutureListener<Map<String, String>>() {
+            @Override
+            public void operationComplete(Future<Map<String, String>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                int segments = 0;
+                if (future.getNow().get("segments") != null) {
+                    segments = Integer.valueOf(future.getNow().get("segments"));
+                }
+
+                CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+                RFuture<Boolean> configFuture = executorService.writeAsync(getConfigName(), StringCodec.INSTANCE, command, 
+                                                        concat(getConfigName(), params));
+                for (int i = 0; i < segments; i++) {
+                    executorService.writeAsync(getSegmentName(i), StringCodec.INSTANCE, command, concat(getSegmentName(i), params));
+                    executorService.writeAsync(getSegmentName(i), StringCodec.INSTANCE, command, concat(getSegmentConfigName(i), params));
+                }
+                final RFuture<Boolean> resultFuture = configFuture;
+                executorService.executeAsync().addListener(new FutureListener<List<?>>() {
+                    @Override
+                    public void operationComplete(Future<List<?>> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        if (delete) {
+                            config = null;
+                        }
+                        result.trySuccess(resultFuture.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private Object[] concat(String key, Object... params) {
+        Object[] result = new Object[params.length + 1];
+        result[0] = key;
+        System.arraycopy(params, 0, result, 1, params.length);
+        return result;
+    }
+
+    private Config readConfig() {
+        Map<String, String> map = commandExecutor.get(readConfigMapAsync());
+        return readConfig(map);
+    }
+
+    private RFuture<Config> readConfigAsync() {
+        final RPromise<Config> result = newPromise();
+        readConfigMapAsync().addListener(new FutureListener<Map<String, String>>() {
+            @Override
+            public void operationComplete(Future<Map<String, String>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                try {
+                    result.trySuccess(readConfig(future.getNow()));
+                } catch (IllegalStateException e) {
+                    result.tryFailure(e);
+                }
+            }
+        });
+        return result;
+    }
+
+    private Config readConfig(Map<String, String> map) {
+        if (map.get("version") == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+
+        Config value = new Config(map.get("version"), Long.valueOf(map.get("segmentSize")), 
+                        Integer.valueOf(map.get("hashIterations")), Integer.valueOf(map.get("segments")));
+        config = value;
+        return value;
+    }
+
+    private RFuture<Map<String, String>> readConfigMapAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+    }
+
+    @Override
+    public boolean tryInit(long expectedInsertions, double falseProbability) {
+        long size = RedissonBloomFilter.optimalNumOfBits(expectedInsertions, falseProbability);
+        long minSegments = (size + RedissonBloomFilter.MAX_SIZE - 1) / RedissonBloomFilter.MAX_SIZE;
+        int segments = (int) Math.max(minSegments, commandExecutor.getConnectionManager().getEntrySet().size());
+        return tryInit(expectedInsertions, falseProbability, segments);
+    }
+
+    @Override
+    public boolean tryInit(long expectedInsertions, double falseProbability, int segments) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("segments should be positive");
+        }
+
+        long size = RedissonBloomFilter.optimalNumOfBits(expectedInsertions, falseProbability);
+        long segmentSize = (size + segments - 1) / segments;
+        if (segmentSize > RedissonBloomFilter.MAX_SIZE) {
+            throw new IllegalArgumentException("Bloom filter segment can't be greater than " + RedissonBloomFilter.MAX_SIZE 
+                                    + ". But calculated segment size is " + segmentSize);
+        }
+        int hashIterations = RedissonBloomFilter.optimalNumOfHashFunctions(expectedInsertions, size);
+        String version = UUID.randomUUID().toString();
+
+        Boolean created = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('exists', KEYS[1]) == 1 then "
+                    + "return 0; "
+                + "end; "
+                + "redis.call('hmset', KEYS[1], 'version', ARGV[1], 'size', ARGV[2], 'segmentSize', ARGV[3], "
+                                + "'segments', ARGV[4], 'hashIterations', ARGV[5], "
+                                + "'expectedInsertions', ARGV[6], 'falseProbability', ARGV[7]); "
+                + "return 1;",
+                Arrays.<Object>asList(getConfigName()), version, size, segmentSize, segments, hashIterations,
+                expectedInsertions, BigDecimal.valueOf(falseProbability).toPlainString());
+        if (!created) {
+            readConfig();
+            return false;
+        }
+
+        Config config = new Config(version, segmentSize, hashIterations, segments);
+        commandExecutor.get(writeSegmentConfigsAsync(config));
+        this.config = config;
+        return true;
+    }
+
+    private String getConfigName() {
+        return "{" + getName() + "}" + "__config";
+    }
+
+    private String getSegmentName(int index) {
+        return "{" + getName() + ":" + index + "}";
+    }
+
+    private String getSegmentConfigName(int index) {
+        return getSegmentName(index) + "__config";
+    }
+
+    @Override
+    public long getExpectedInsertions() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "expectedInsertions");
+        return check(result);
+    }
+
+    @Override
+    public double getFalseProbability() {
+        Double result = commandExecutor.read(getConfigName(), DoubleCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "falseProbability");
+        return check(result);
+    }
+
+    @Override
+    public long getSize() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "size");
+        return check(result);
+    }
+
+    @Override
+    public int getHashIterations() {
+        Integer result = commandExecutor.read(getConfigName(), IntegerCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "hashIterations");
+        return check(result);
+    }
+
+    @Override
+    public int getSegments() {
+        Integer result = commandExecutor.read(getConfigName(), IntegerCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "segments");
+        return check(result);
+    }
+
+    private <V> V check(V result) {
+        if (result == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        return result;
+    }
+
+}
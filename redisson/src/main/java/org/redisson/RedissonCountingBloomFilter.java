@@ -0,0 +1,205 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+import org.redisson.api.RCountingBloomFilter;
+import org.redisson.api.RFuture;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandExecutor;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Counting Bloom filter based on 4-bit counters stored with BITFIELD command.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> type of object
+ */
+public class RedissonCountingBloomFilter<T> extends RedissonBloomFilter<T> implements RCountingBloomFilter<T> {
+
+    /*
+     * Redis string can't be greater than 2^32 bits
+     */
+    private static final long MAX_COUNTERS = MAX_SIZE / 4;
+
+    private static final String ADD_SCRIPT = 
+            "local result = {}; "
+          + "local k = tonumber(ARGV[2]); "
+          + "for i = 3, #ARGV, k do "
+              + "local args = {'OVERFLOW', 'SAT'}; "
+              + "for j = i, i + k - 1 do "
+                  + "table.insert(args, 'INCRBY'); "
+                  + "table.insert(args, 'u4'); "
+                  + "table.insert(args, '#' .. ARGV[j]); "
+                  + "table.insert(args, 1); "
+              + "end; "
+              + "local added = 0; "
+              + "for _, v in ipairs(redis.call('bitfield', KEYS[1], unpack(args))) do "
+                  + "if v == 1 then "
+                      + "added = 1; "
+                  + "end; "
+              + "end; "
+              + "table.insert(result, added); "
+          + "end; "
+          + "redis.call('hincrby', KEYS[2], 'count', #result); "
+          + "return result;";
+
+    private static final String CONTAINS_SCRIPT = 
+            "local result = {}; "
+          + "local k = tonumber(ARGV[2]); "
+          + "for i = 3, #ARGV, k do "
+              + "local args = {}; "
+              + "for j = i, i + k - 1 do "
+                  + "table.insert(args, 'GET'); "
+                  + "table.insert(args, 'u4'); "
+                  + "table.insert(args, '#' .. ARGV[j]); "
+              + "end; "
+              + "local present = 1; "
+              + "for _, v in ipairs(redis.call('bitfield', KEYS[1], unpack(args))) do "
+                  + "if v == 0 then "
+                      + "present = 0; "
+                      + "break; "
+                  + "end; "
+              + "end; "
+              + "table.insert(result, present); "
+          + "end; "
+          + "return result;";
+
+    private static final String REMOVE_SCRIPT = 
+            "local result = {}; "
+          + "local removed = 0; "
+          + "local k = tonumber(ARGV[2]); "
+          + "for i = 3, #ARGV, k do "
+              + "local args = {}; "
+              + "for j = i, i + k - 1 do "
+                  + "table.insert(args, 'GET'); "
+                  + "table.insert(args, 'u4'); "
+                  + "table.insert(args, '#' .. ARGV[j]); "
+              + "end; "
+              + "local values = redis.call('bitfield', KEYS[1], unpack(args)); "
+              + "local present = 1; "
+              + "args = {'OVERFLOW', 'SAT'}; "
+              + "for n, v in ipairs(values) do "
+                  + "if v == 0 then "
+                      + "present = 0; "
+                      + "break; "
+                  + "end; "
+                  + "if v < 15 then "
+                      + "table.insert(args, 'INCRBY'); "
+                      + "table.insert(args, 'u4'); "
+                      + "table.insert(args, '#' .. ARGV[i + n - 1]); "
+                      + "table.insert(args, -1); "
+                  + "end; "
+              + "end; "
+              + "if present == 1 then "
+                  + "if #args > 2 then "
+                      + "redis.call('bitfield', KEYS[1], unpack(args)); "
+                  + "end; "
+                  + "removed = removed + 1; "
+              + "end; "
+              + "table.insert(result, present); "
+          + "end; "
+          + "if removed > 0 then "
+              + "redis.call('hincrby', KEYS[2], 'count', -removed); "
+          + "end; "
+          + "return result;";
+
+    private final CommandExecutor commandExecutor;
+
+    protected RedissonCountingBloomFilter(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    protected RedissonCountingBloomFilter(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    @Override
+    protected String getAddScript() {
+        return ADD_SCRIPT;
+    }
+
+    @Override
+    protected String getContainsScript() {
+        return CONTAINS_SCRIPT;
+    }
+
+    @Override
+    protected long getMaxSize() {
+        return MAX_COUNTERS;
+    }
+
+    @Override
+    public boolean remove(T object) {
+        return removeAll(Collections.singletonList(object)) > 0;
+    }
+
+    @Override
+    public RFuture<Boolean> removeAsync(T object) {
+        return toFirst(evalAsync(Collections.singletonList(object), REMOVE_SCRIPT, true));
+    }
+
+    @Override
+    public int removeAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(removeAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Integer> removeAllAsync(Collection<? extends T> objects) {
+        final RPromise<Integer> result = newPromise();
+        evalAsync(objects, REMOVE_SCRIPT, true).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                int removed = 0;
+                for (Boolean value : future.getNow()) {
+                    if (value) {
+                        removed++;
+                    }
+                }
+                result.trySuccess(removed);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public int count() {
+        checkConfig();
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "count");
+        if (result == null) {
+            return 0;
+        }
+        return result.intValue();
+    }
+
+}
@@ -0,0 +1,108 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.redisson.api.RAtomicDouble;
+import org.redisson.api.RDoubleAdder;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.command.CommandAsyncExecutor;
+
+/**
+ * Increments are accumulated in striped cells 
+ * selected by thread id to reduce contention.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonDoubleAdder extends RedissonBaseAdder<Double> implements RDoubleAdder {
+
+    private static final int CELLS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+
+    private final RAtomicDouble atomicDouble;
+    private final AtomicLongArray cells = new AtomicLongArray(CELLS);
+
+    public RedissonDoubleAdder(CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson, 
+            ConcurrentMap<String, SharedListener> listeners, long flushInterval) {
+        super(commandExecutor, name, redisson, listeners, flushInterval);
+        atomicDouble = new RedissonAtomicDouble(commandExecutor, name);
+    }
+
+    private void addToCell(int index, double x) {
+        while (true) {
+            long current = cells.get(index);
+            long next = Double.doubleToRawLongBits(Double.longBitsToDouble(current) + x);
+            if (cells.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    protected Double drain() {
+        double value = 0;
+        for (int i = 0; i < cells.length(); i++) {
+            value += Double.longBitsToDouble(cells.getAndSet(i, 0L));
+        }
+        return value;
+    }
+
+    @Override
+    protected void restore(Double value) {
+        addToCell(0, value);
+    }
+
+    @Override
+    protected boolean isZero(Double value) {
+        return value == 0;
+    }
+
+    @Override
+    protected RFuture<Double> addAndGetAsync(Double value) {
+        return atomicDouble.addAndGetAsync(value);
+    }
+
+    @Override
+    protected RFuture<Double> getAsync() {
+        return atomicDouble.getAsync();
+    }
+
+    @Override
+    public void add(double x) {
+        int index = (int) Thread.currentThread().getId() & (CELLS - 1);
+        addToCell(index, x);
+        incremented();
+    }
+
+    @Override
+    public void increment() {
+        add(1L);
+    }
+
+    @Override
+    public void decrement() {
+        add(-1L);
+    }
+
+    @Override
+    public double sum() {
+        return get(sumAsync());
+    }
+
+}
@@ -0,0 +1,176 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RIdGenerator;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Hi/lo identifier generator. 
+ * Identifiers are handed out from reserved range using CAS operations only.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonIdGenerator extends RedissonExpirable implements RIdGenerator {
+
+    public static final long DEFAULT_ALLOCATION_SIZE = 5000;
+
+    static class Block {
+
+        final AtomicLong counter;
+        final long end;
+        final long prefetchId;
+
+        Block(long start, long end) {
+            this.counter = new AtomicLong(start);
+            this.end = end;
+            this.prefetchId = end - Math.max(1, (end - start) / 4);
+        }
+
+    }
+
+    private final AtomicReference<Block> current = new AtomicReference<Block>();
+    private final AtomicReference<RPromise<Block>> next = new AtomicReference<RPromise<Block>>();
+
+    protected RedissonIdGenerator(CommandAsyncExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+    }
+
+    String getAllocationSizeName() {
+        return "{" + getName() + "}" + "__allocation";
+    }
+
+    @Override
+    public boolean tryInit(long value, long allocationSize) {
+        return get(tryInitAsync(value, allocationSize));
+    }
+
+    @Override
+    public RFuture<Boolean> tryInitAsync(long value, long allocationSize) {
+        if (allocationSize <= 0) {
+            throw new IllegalArgumentException("allocationSize should be positive");
+        }
+
+        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('exists', KEYS[1]) == 1 or redis.call('exists', KEYS[2]) == 1 then "
+                    + "return 0; "
+                + "end; "
+                + "redis.call('set', KEYS[1], tonumber(ARGV[1]) - 1); "
+                + "redis.call('set', KEYS[2], ARGV[2]); "
+                + "return 1;",
+                Arrays.<Object>asList(getName(), getAllocationSizeName()), value, allocationSize);
+    }
+
+    @Override
+    public long nextId() {
+        return get(nextIdAsync());
+    }
+
+    @Override
+    public RFuture<Long> nextIdAsync() {
+        final Block block = current.get();
+        if (block != null) {
+            long id = block.counter.getAndIncrement();
+            if (id < block.end) {
+                if (id == block.prefetchId) {
+                    prefetch();
+                }
+                return newSucceededFuture(id);
+            }
+        }
+
+        final RPromise<Long> result = newPromise();
+        final RPromise<Block> nextBlock = prefetch();
+        nextBlock.addListener(new FutureListener<Block>() {
+            @Override
+            public void operationComplete(Future<Block> future) throws Exception {
+                next.compareAndSet(nextBlock, null);
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                current.compareAndSet(block, future.getNow());
+                nextIdAsync().addListener(new FutureListener<Long>() {
+                    @Override
+                    public void operationComplete(Future<Long> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        result.trySuccess(future.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    /*
+     * Requests next range unless it has been already requested
+     */
+    private RPromise<Block> prefetch() {
+        RPromise<Block> nextBlock = next.get();
+        if (nextBlock != null) {
+            return nextBlock;
+        }
+
+        final RPromise<Block> promise = newPromise();
+        if (!next.compareAndSet(null, promise)) {
+            return next.get();
+        }
+
+        RFuture<List<Long>> future = commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "local size = tonumber(redis.call('get', KEYS[2]) or ARGV[1]); "
+                + "local value = redis.call('incrby', KEYS[1], size); "
+                + "return {value, size};",
+                Arrays.<Object>asList(getName(), getAllocationSizeName()), DEFAULT_ALLOCATION_SIZE);
+        future.addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    promise.tryFailure(future.cause());
+                    return;
+                }
+
+                long end = future.getNow().get(0) + 1;
+                long size = future.getNow().get(1);
+                promise.trySuccess(new Block(end - size, end));
+            }
+        });
+        return promise;
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getAllocationSizeName());
+    }
+
+}
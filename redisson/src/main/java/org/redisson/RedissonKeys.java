@@ -78,18 +78,53 @@ public class RedissonKeys implements RKeys {
         return getKeysByPattern(pattern, 10);
     }
     
-    public Iterable<String> getKeysByPattern(final String pattern, final int count) {
+    public Iterable<String> getKeysByPattern(String pattern, int count) {
+        return getKeysByPattern(pattern, count, 0);
+    }
+    
+    @Override
+    public Iterable<String> getKeysByPattern(String pattern, int count, int prefetch) {
+        return new CompositeIterable<String>(getKeysByPatternPerNode(pattern, count, prefetch));
+    }
+    
+    @Override
+    public List<Iterable<String>> getKeysByPatternPerNode(String pattern, int count) {
+        return getKeysByPatternPerNode(pattern, count, 0);
+    }
+    
+    @Override
+    public List<Iterable<String>> getKeysByPatternPerNode(final String pattern, final int count, final int prefetch) {
         List<Iterable<String>> iterables = new ArrayList<Iterable<String>>();
         for (final MasterSlaveEntry entry : commandExecutor.getConnectionManager().getEntrySet()) {
             Iterable<String> iterable = new Iterable<String>() {
                 @Override
                 public Iterator<String> iterator() {
-                    return createKeysIterator(entry, pattern, count);
+                    return createKeysIterator(entry, pattern, count, prefetch);
                 }
             };
             iterables.add(iterable);
         }
-        return new CompositeIterable<String>(iterables);
+        return iterables;
+    }
+
+    @Override
+    public List<Iterable<String>> getKeysByPatternPartitions(final String pattern, final int count, int partitionsPerNode) {
+        List<Iterable<String>> iterables = new ArrayList<Iterable<String>>();
+        for (final MasterSlaveEntry entry : commandExecutor.getConnectionManager().getEntrySet()) {
+            ScanPartitions<ListScanResult<String>, String> partitions = new ScanPartitions<ListScanResult<String>, String>() {
+                @Override
+                ListScanResult<String> scan(InetSocketAddress client, long startPos) {
+                    return commandExecutor.get(scanIteratorAsync(client, entry, startPos, pattern, count));
+                }
+
+                @Override
+                Iterator<String> values(ListScanResult<String> result) {
+                    return result.getValues().iterator();
+                }
+            };
+            iterables.addAll(partitions.split(partitionsPerNode));
+        }
+        return iterables;
     }
 
 
@@ -98,21 +133,28 @@ public class RedissonKeys implements RKeys {
         return getKeysByPattern(null);
     }
 
-    private ListScanResult<String> scanIterator(InetSocketAddress client, MasterSlaveEntry entry, long startPos, String pattern, int count) {
+    private RFuture<ListScanResult<String>> scanIteratorAsync(InetSocketAddress client, MasterSlaveEntry entry, long startPos, String pattern, int count) {
         if (pattern == null) {
-            RFuture<ListScanResult<String>> f = commandExecutor.readAsync(client, entry, StringCodec.INSTANCE, RedisCommands.SCAN, startPos, "COUNT", count);
-            return commandExecutor.get(f);
+            return commandExecutor.readAsync(client, entry, StringCodec.INSTANCE, RedisCommands.SCAN, startPos, "COUNT", count);
         }
-        RFuture<ListScanResult<String>> f = commandExecutor.readAsync(client, entry, StringCodec.INSTANCE, RedisCommands.SCAN, startPos, "MATCH", pattern, "COUNT", count);
-        return commandExecutor.get(f);
+        return commandExecutor.readAsync(client, entry, StringCodec.INSTANCE, RedisCommands.SCAN, startPos, "MATCH", pattern, "COUNT", count);
     }
 
-    private Iterator<String> createKeysIterator(final MasterSlaveEntry entry, final String pattern, final int count) {
+    private Iterator<String> createKeysIterator(final MasterSlaveEntry entry, final String pattern, final int count, int prefetch) {
+        // first pages of all nodes are requested in parallel as CompositeIterable creates iterators at once
+        final ScanPrefetcher<ListScanResult<String>> prefetcher = new ScanPrefetcher<ListScanResult<String>>(commandExecutor, prefetch) {
+            @Override
+            RFuture<ListScanResult<String>> scanAsync(InetSocketAddress client, long startPos) {
+                return scanIteratorAsync(client, entry, startPos, pattern, count);
+            }
+        };
+        prefetcher.start();
+        
         return new RedissonBaseIterator<String>() {
 
             @Override
             ListScanResult<String> iterator(InetSocketAddress client, long nextIterPos) {
-                return RedissonKeys.this.scanIterator(client, entry, nextIterPos, pattern, count);
+                return prefetcher.fetch(client, nextIterPos);
             }
 
             @Override
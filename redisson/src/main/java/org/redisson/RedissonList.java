@@ -456,7 +456,19 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
     }
 
     @Override
-    public ListIterator<V> listIterator(final int ind) {
+    public ListIterator<V> listIterator(int ind) {
+        return listIterator(ind, 10);
+    }
+
+    @Override
+    public ListIterator<V> listIterator(final int ind, int chunkSize) {
+        final ListRangeWindow<V> window = new ListRangeWindow<V>(commandExecutor, chunkSize) {
+            @Override
+            RFuture<List<V>> rangeAsync(int from, int to) {
+                return commandExecutor.readAsync(getName(), codec, LRANGE, getName(), from, to);
+            }
+        };
+        
         return new ListIterator<V>() {
 
             private V prevCurrentValue;
@@ -467,7 +479,7 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
 
             @Override
             public boolean hasNext() {
-                V val = RedissonList.this.getValue(currentIndex+1);
+                V val = window.get(currentIndex+1);
                 if (val != null) {
                     nextCurrentValue = val;
                 }
@@ -495,6 +507,7 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
                     throw new IllegalStateException("Element been already deleted");
                 }
                 RedissonList.this.remove(currentIndex);
+                window.removed(currentIndex);
                 currentIndex--;
                 hasBeenModified = true;
                 currentValueHasRead = null;
@@ -505,7 +518,7 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
                 if (currentIndex < 0) {
                     return false;
                 }
-                V val = RedissonList.this.getValue(currentIndex);
+                V val = window.get(currentIndex);
                 if (val != null) {
                     prevCurrentValue = val;
                 }
@@ -541,11 +554,13 @@ public class RedissonList<V> extends RedissonExpirable implements RList<V> {
                 }
 
                 RedissonList.this.fastSet(currentIndex, e);
+                window.set(currentIndex, e);
             }
 
             @Override
             public void add(V e) {
                 RedissonList.this.add(currentIndex+1, e);
+                window.added(currentIndex+1, e);
                 currentIndex++;
                 hasBeenModified = true;
             }
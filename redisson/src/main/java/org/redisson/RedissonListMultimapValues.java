@@ -42,6 +42,7 @@ import org.redisson.client.protocol.convertor.BooleanNumberReplayConvertor;
 import org.redisson.client.protocol.convertor.BooleanReplayConvertor;
 import org.redisson.client.protocol.convertor.Convertor;
 import org.redisson.client.protocol.convertor.IntegerReplayConvertor;
+import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
 import org.redisson.client.protocol.decoder.ObjectSetReplayDecoder;
 import org.redisson.command.CommandAsyncExecutor;
 
@@ -58,6 +59,7 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
     private static final RedisCommand<Integer> EVAL_SIZE = new RedisCommand<Integer>("EVAL", new IntegerReplayConvertor(), 6, ValueType.MAP_KEY);
     private static final RedisCommand<Integer> EVAL_GET = new RedisCommand<Integer>("EVAL", 7, ValueType.MAP_KEY);
     private static final RedisCommand<Set<Object>> EVAL_READALL = new RedisCommand<Set<Object>>("EVAL", new ObjectSetReplayDecoder<Object>(), 6, ValueType.MAP_KEY);
+    private static final RedisCommand<List<Object>> EVAL_RANGE = new RedisCommand<List<Object>>("EVAL", new ObjectListReplayDecoder<Object>(), 8, ValueType.MAP_KEY);
     private static final RedisCommand<Boolean> EVAL_CONTAINS_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 7, Arrays.asList(ValueType.MAP_KEY, ValueType.MAP_VALUE));
     private static final RedisCommand<Boolean> EVAL_CONTAINS_ALL_WITH_VALUES = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 7, ValueType.OBJECTS);
 
@@ -590,7 +592,33 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
     }
 
     @Override
-    public ListIterator<V> listIterator(final int ind) {
+    public ListIterator<V> listIterator(int ind) {
+        return listIterator(ind, 10);
+    }
+
+    private RFuture<List<V>> rangeAsync(int from, int to) {
+        return commandExecutor.evalReadAsync(getName(), codec, EVAL_RANGE,
+                "local expireDate = 92233720368547758; " +
+                "local expireDateScore = redis.call('zscore', KEYS[1], ARGV[4]); "
+              + "if expireDateScore ~= false then "
+                  + "expireDate = tonumber(expireDateScore) "
+              + "end; "
+              + "if expireDate <= tonumber(ARGV[1]) then "
+                  + "return {};"
+              + "end; "
+              + "return redis.call('lrange', KEYS[2], ARGV[2], ARGV[3]);",
+              Arrays.<Object>asList(timeoutSetName, getName()), System.currentTimeMillis(), from, to, key);
+    }
+
+    @Override
+    public ListIterator<V> listIterator(final int ind, int chunkSize) {
+        final ListRangeWindow<V> window = new ListRangeWindow<V>(commandExecutor, chunkSize) {
+            @Override
+            RFuture<List<V>> rangeAsync(int from, int to) {
+                return RedissonListMultimapValues.this.rangeAsync(from, to);
+            }
+        };
+        
         return new ListIterator<V>() {
 
             private V prevCurrentValue;
@@ -601,7 +629,7 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
 
             @Override
             public boolean hasNext() {
-                V val = RedissonListMultimapValues.this.getValue(currentIndex+1);
+                V val = window.get(currentIndex+1);
                 if (val != null) {
                     nextCurrentValue = val;
                 }
@@ -629,6 +657,7 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
                     throw new IllegalStateException("Element been already deleted");
                 }
                 RedissonListMultimapValues.this.remove(currentIndex);
+                window.removed(currentIndex);
                 currentIndex--;
                 hasBeenModified = true;
                 currentValueHasRead = null;
@@ -639,7 +668,7 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
                 if (currentIndex < 0) {
                     return false;
                 }
-                V val = RedissonListMultimapValues.this.getValue(currentIndex);
+                V val = window.get(currentIndex);
                 if (val != null) {
                     prevCurrentValue = val;
                 }
@@ -675,11 +704,13 @@ public class RedissonListMultimapValues<V> extends RedissonExpirable implements
                 }
 
                 RedissonListMultimapValues.this.fastSet(currentIndex, e);
+                window.set(currentIndex, e);
             }
 
             @Override
             public void add(V e) {
                 RedissonListMultimapValues.this.add(currentIndex+1, e);
+                window.added(currentIndex+1, e);
                 currentIndex++;
                 hasBeenModified = true;
             }
@@ -32,30 +32,41 @@ import java.util.Set;
 
 import org.redisson.api.LocalCachedMapOptions;
 import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.LocalCachedMapStats;
 import org.redisson.api.RFuture;
 import org.redisson.api.RLocalCachedMap;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
 import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.ByteArrayCodec;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.ScanCodec;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.client.protocol.RedisCommand.ValueType;
 import org.redisson.client.protocol.RedisCommands;
 import org.redisson.client.protocol.convertor.NumberConvertor;
+import org.redisson.client.protocol.decoder.MapScanResult;
 import org.redisson.client.protocol.decoder.ObjectMapEntryReplayDecoder;
 import org.redisson.client.protocol.decoder.ObjectSetReplayDecoder;
+import org.redisson.client.protocol.decoder.ScanObjectEntry;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.misc.Cache;
+import org.redisson.misc.CacheTimer;
 import org.redisson.misc.Hash;
 import org.redisson.misc.LFUCacheMap;
 import org.redisson.misc.LRUCacheMap;
 import org.redisson.misc.NoneCacheMap;
 import org.redisson.misc.RPromise;
 
+import io.netty.buffer.ByteBuf;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.LongCounter;
+import io.netty.util.internal.PlatformDependent;
 import io.netty.util.internal.ThreadLocalRandom;
 
 /**
@@ -183,56 +194,217 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     private static final RedisCommand<Object> EVAL_PUT = new RedisCommand<Object>("EVAL", -1, ValueType.OBJECT, ValueType.MAP_VALUE);
     private static final RedisCommand<Object> EVAL_REMOVE = new RedisCommand<Object>("EVAL", -1, ValueType.OBJECT, ValueType.MAP_VALUE);
     
+    private static final int PRELOAD_BATCH_SIZE = 100;
+    
     private byte[] id;
     private RTopic<Object> invalidationTopic;
     private Cache<CacheKey, CacheValue> cache;
+    // 0 - no invalidation, 1 - invalidation message, 2 - invalidation message and invalidation log record
     private int invalidateEntryOnChange;
     private int invalidationListenerId;
-
-    protected RedissonLocalCachedMap(RedissonClient redisson, CommandAsyncExecutor commandExecutor, String name, LocalCachedMapOptions options) {
-        super(commandExecutor, name);
+    private int reconnectionListenerId;
+    private long invalidationLogTimeToLive;
+    private volatile long lastInvalidate;
+    private int cacheSize;
+    
+    private final LongCounter hits = PlatformDependent.newLongCounter();
+    private final LongCounter misses = PlatformDependent.newLongCounter();
+    private final LongCounter loads = PlatformDependent.newLongCounter();
+    private final LongCounter loadTime = PlatformDependent.newLongCounter();
+    private final LongCounter invalidations = PlatformDependent.newLongCounter();
+    private final LongCounter invalidationMessages = PlatformDependent.newLongCounter();
+
+    protected RedissonLocalCachedMap(RedissonClient redisson, CommandAsyncExecutor commandExecutor, String name, LocalCachedMapOptions<K, V> options) {
+        super(commandExecutor, name, options);
         init(redisson, name, options);
     }
 
-    protected RedissonLocalCachedMap(RedissonClient redisson, Codec codec, CommandAsyncExecutor connectionManager, String name, LocalCachedMapOptions options) {
-        super(codec, connectionManager, name);
+    protected RedissonLocalCachedMap(RedissonClient redisson, Codec codec, CommandAsyncExecutor connectionManager, String name, LocalCachedMapOptions<K, V> options) {
+        super(codec, connectionManager, name, options);
         init(redisson, name, options);
     }
 
-    private void init(RedissonClient redisson, String name, LocalCachedMapOptions options) {
+    private void init(RedissonClient redisson, String name, final LocalCachedMapOptions<K, V> options) {
         id = generateId();
         
         if (options.isInvalidateEntryOnChange()) {
             invalidateEntryOnChange = 1;
+            if (options.getReconnectionStrategy() == ReconnectionStrategy.LOAD) {
+                invalidateEntryOnChange = 2;
+            }
         }
-        if (options.getEvictionPolicy() == EvictionPolicy.NONE) {
-            cache = new NoneCacheMap<CacheKey, CacheValue>(options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
-        }
-        if (options.getEvictionPolicy() == EvictionPolicy.LRU) {
-            cache = new LRUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
-        }
-        if (options.getEvictionPolicy() == EvictionPolicy.LFU) {
-            cache = new LFUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis());
-        }
+        invalidationLogTimeToLive = options.getInvalidationLogTimeToLiveInMillis();
+        cacheSize = options.getCacheSize();
+        cache = createCache(options, commandExecutor.getConnectionManager().getCacheTimer());
 
         invalidationTopic = redisson.getTopic(name + ":topic");
         if (options.isInvalidateEntryOnChange()) {
             invalidationListenerId = invalidationTopic.addListener(new MessageListener<Object>() {
                 @Override
                 public void onMessage(String channel, Object msg) {
+                    lastInvalidate = System.currentTimeMillis();
+                    invalidationMessages.increment();
                     if (msg instanceof LocalCachedMapClear) {
-                        cache.clear();
+                        clearCache();
                     }
                     if (msg instanceof LocalCachedMapInvalidate) {
                         LocalCachedMapInvalidate invalidateMsg = (LocalCachedMapInvalidate)msg;
                         if (!Arrays.equals(invalidateMsg.getExcludedId(), id)) {
                             CacheKey key = new CacheKey(invalidateMsg.getKeyHash());
-                            cache.remove(key);
+                            invalidateCache(key);
                         }
                     }
                 }
             });
         }
+        
+        if (options.getReconnectionStrategy() != null 
+                && options.getReconnectionStrategy() != ReconnectionStrategy.NONE) {
+            lastInvalidate = System.currentTimeMillis();
+            reconnectionListenerId = invalidationTopic.addListener(new BaseStatusListener() {
+                @Override
+                public void onSubscribe(String channel) {
+                    if (invalidateEntryOnChange == 2) {
+                        loadInvalidationLog();
+                    } else {
+                        cache.clear();
+                    }
+                }
+            });
+        }
+        
+        if (options.isPreloadCache()) {
+            preloadCacheAsync(PRELOAD_BATCH_SIZE);
+        }
+    }
+    
+    static Cache<CacheKey, CacheValue> createCache(LocalCachedMapOptions<?, ?> options, CacheTimer timer) {
+        if (options.getEvictionPolicy() == EvictionPolicy.LRU) {
+            return new LRUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis(), timer);
+        }
+        if (options.getEvictionPolicy() == EvictionPolicy.LFU) {
+            return new LFUCacheMap<CacheKey, CacheValue>(options.getCacheSize(), options.getTimeToLiveInMillis(), options.getMaxIdleInMillis(), timer);
+        }
+        return new NoneCacheMap<CacheKey, CacheValue>(options.getTimeToLiveInMillis(), options.getMaxIdleInMillis(), timer);
+    }
+    
+    String getInvalidationLogName() {
+        return "redisson__cache_invalidation_log__{" + getName() + "}";
+    }
+    
+    private void loadInvalidationLog() {
+        final long startTime = System.currentTimeMillis();
+        final long lastInvalidateTime = lastInvalidate;
+        RFuture<List<Object>> future = commandExecutor.evalReadAsync(getInvalidationLogName(), ByteArrayCodec.INSTANCE, RedisCommands.EVAL_LIST,
+                "local latest = redis.call('zrevrange', KEYS[1], 0, 0, 'withscores'); "
+              + "if #latest == 0 then "
+                  + "return {}; "
+              + "end; "
+              + "if tonumber(latest[2]) - tonumber(ARGV[1]) > tonumber(ARGV[2]) then "
+                  + "return nil; "
+              + "end; "
+              + "return redis.call('zrangebyscore', KEYS[1], ARGV[1], '+inf'); ",
+              Arrays.<Object>asList(getInvalidationLogName()), 
+              lastInvalidateTime, invalidationLogTimeToLive);
+        
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                List<Object> keyHashes = future.getNow();
+                // log doesn't cover disconnection period or can't be read
+                if (!future.isSuccess() || keyHashes == null) {
+                    clearCache();
+                } else {
+                    for (Object keyHash : keyHashes) {
+                        byte[] hash = (byte[]) keyHash;
+                        // empty record is stored on map deletion
+                        if (hash.length == 0) {
+                            clearCache();
+                            break;
+                        }
+                        invalidateCache(new CacheKey(hash));
+                    }
+                }
+                
+                if (lastInvalidate < startTime) {
+                    lastInvalidate = startTime;
+                }
+            }
+        });
+    }
+    
+    @Override
+    public void preloadCache() {
+        preloadCache(PRELOAD_BATCH_SIZE);
+    }
+    
+    @Override
+    public void preloadCache(int count) {
+        get(preloadCacheAsync(count));
+    }
+    
+    @Override
+    public RFuture<Void> preloadCacheAsync(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count should be positive");
+        }
+        
+        RPromise<Void> result = newPromise();
+        preloadCache(0, count, result);
+        return result;
+    }
+    
+    private void preloadCache(long startPos, final int count, final RPromise<Void> result) {
+        RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> future 
+            = commandExecutor.readAsync(getName(), new ScanCodec(codec), RedisCommands.HSCAN, getName(), startPos, "COUNT", count);
+        future.addListener(new FutureListener<MapScanResult<ScanObjectEntry, ScanObjectEntry>>() {
+            @Override
+            public void operationComplete(Future<MapScanResult<ScanObjectEntry, ScanObjectEntry>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+                
+                MapScanResult<ScanObjectEntry, ScanObjectEntry> res = future.getNow();
+                for (Entry<ScanObjectEntry, ScanObjectEntry> entry : res.getMap().entrySet()) {
+                    ByteBuf keyBuf = entry.getKey().getBuf();
+                    byte[] keyState = new byte[keyBuf.readableBytes()];
+                    keyBuf.getBytes(keyBuf.readerIndex(), keyState);
+                    
+                    CacheKey cacheKey = toCacheKey(keyState);
+                    cache.put(cacheKey, new CacheValue(entry.getKey().getObj(), entry.getValue().getObj()));
+                    
+                    keyBuf.release();
+                    entry.getValue().getBuf().release();
+                }
+                
+                if (res.getPos() == 0 
+                        || (cacheSize > 0 && cache.size() >= cacheSize)) {
+                    result.trySuccess(null);
+                    return;
+                }
+                
+                preloadCache(res.getPos(), count, result);
+            }
+        });
+    }
+    
+    private void invalidateCache(CacheKey key) {
+        if (cache.remove(key) != null) {
+            invalidations.increment();
+        }
+    }
+    
+    private void clearCache() {
+        invalidations.add(cache.size());
+        cache.clear();
+    }
+    
+    @Override
+    public LocalCachedMapStats getCacheStats() {
+        return new LocalCachedMapStats(hits.value(), misses.value(), loads.value(), loadTime.value(), 
+                cache.getSizeEvictions(), cache.getTimeToLiveExpirations(), cache.getMaxIdleExpirations(), 
+                invalidations.value(), invalidationMessages.value());
     }
     
     private CacheKey toCacheKey(Object key) {
@@ -263,7 +435,7 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
     
     @Override
-    public RFuture<V> getAsync(final Object key) {
+    protected RFuture<V> getOperationAsync(final Object key) {
         if (key == null) {
             throw new NullPointerException();
         }
@@ -271,10 +443,13 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         final CacheKey cacheKey = toCacheKey(key);
         CacheValue cacheValue = cache.get(cacheKey);
         if (cacheValue != null && cacheValue.getValue() != null) {
+            hits.increment();
             return newSucceededFuture((V)cacheValue.getValue());
         }
+        misses.increment();
 
-        RFuture<V> future = super.getAsync((K)key);
+        final long startTime = System.nanoTime();
+        RFuture<V> future = super.getOperationAsync((K)key);
         future.addListener(new FutureListener<V>() {
             @Override
             public void operationComplete(Future<V> future) throws Exception {
@@ -282,6 +457,8 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
                     return;
                 }
                 
+                loads.increment();
+                loadTime.add(System.nanoTime() - startTime);
                 V value = future.getNow();
                 if (value != null) {
                     cache.put(cacheKey, new CacheValue(key, value));
@@ -299,7 +476,7 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<V> putAsync(K key, V value) {
+    protected RFuture<V> putOperationAsync(K key, V value) {
         if (key == null) {
             throw new NullPointerException();
         }
@@ -312,18 +489,24 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         CacheValue cacheValue = new CacheValue(key, value);
         cache.put(cacheKey, cacheValue);
+        long time = System.currentTimeMillis();
         return commandExecutor.evalWriteAsync(getName(), codec, EVAL_PUT,
                   "local v = redis.call('hget', KEYS[1], ARGV[1]); "
-                + "if redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) == 0 and ARGV[4] == '1' then "
+                + "if redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) == 0 and ARGV[4] ~= '0' then "
+                    + "if ARGV[4] == '2' then "
+                        + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[7]); "
+                        + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[6]); "
+                    + "end; "
                     + "redis.call('publish', KEYS[2], ARGV[3]); "
                 + "end; "
                 + "return v; ",
-                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
-                mapKey, encodeMapValue(value), msg, invalidateEntryOnChange);
+                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+                mapKey, encodeMapValue(value), msg, invalidateEntryOnChange, 
+                time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
     }
 
     @Override
-    public RFuture<Boolean> fastPutAsync(K key, V value) {
+    protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
         if (key == null) {
             throw new NullPointerException();
         }
@@ -337,27 +520,37 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         CacheValue cacheValue = new CacheValue(key, value);
         cache.put(cacheKey, cacheValue);
+        long time = System.currentTimeMillis();
         return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
                   "if redis.call('hset', KEYS[1], ARGV[1], ARGV[2]) == 0 then "
-                  + "if ARGV[4] == '1' then "
+                  + "if ARGV[4] == '2' then "
+                      + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[7]); "
+                      + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[6]); "
+                  + "end; "
+                  + "if ARGV[4] ~= '0' then "
                       + "redis.call('publish', KEYS[2], ARGV[3]); "
                   + "end;"
                   + "return 0; "
                 + "end; "
                 + "return 1; ",
-                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
-                encodedKey, encodedValue, msg, invalidateEntryOnChange);
+                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+                encodedKey, encodedValue, msg, invalidateEntryOnChange, 
+                time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
     }
     
     @Override
     public void destroy() {
+        flush();
         if (invalidationListenerId != 0) {
             invalidationTopic.removeListener(invalidationListenerId);
         }
+        if (reconnectionListenerId != 0) {
+            invalidationTopic.removeListener(reconnectionListenerId);
+        }
     }
 
     @Override
-    public RFuture<V> removeAsync(K key) {
+    protected RFuture<V> removeOperationAsync(K key) {
         if (key == null) {
             throw new NullPointerException();
         }
@@ -366,50 +559,66 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         CacheKey cacheKey = toCacheKey(keyEncoded);
         byte[] msgEncoded = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         cache.remove(cacheKey);
+        long time = System.currentTimeMillis();
         return commandExecutor.evalWriteAsync(getName(), codec, EVAL_REMOVE,
                 "local v = redis.call('hget', KEYS[1], ARGV[1]); "
-                + "if redis.call('hdel', KEYS[1], ARGV[1]) == 1 and ARGV[3] == '1' then "
+                + "if redis.call('hdel', KEYS[1], ARGV[1]) == 1 and ARGV[3] ~= '0' then "
+                    + "if ARGV[3] == '2' then "
+                        + "redis.call('zadd', KEYS[3], ARGV[4], ARGV[6]); "
+                        + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[5]); "
+                    + "end; "
                     + "redis.call('publish', KEYS[2], ARGV[2]); "
                 + "end; "
                 + "return v",
-                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
-                keyEncoded, msgEncoded, invalidateEntryOnChange);
+                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+                keyEncoded, msgEncoded, invalidateEntryOnChange, 
+                time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
     }
 
     @Override
-    public RFuture<Long> fastRemoveAsync(K ... keys) {
+    protected RFuture<Long> fastRemoveOperationAsync(K ... keys) {
         if (keys == null) {
             throw new NullPointerException();
         }
 
+        long time = System.currentTimeMillis();
         List<Object> params = new ArrayList<Object>();
         params.add(invalidateEntryOnChange);
+        params.add(time);
+        params.add(time - invalidationLogTimeToLive);
         for (K k : keys) {
             byte[] keyEncoded = encodeMapKey(k);
             params.add(keyEncoded);
             
             CacheKey cacheKey = toCacheKey(keyEncoded);
             cache.remove(cacheKey);
-            if (invalidateEntryOnChange == 1) {
+            if (invalidateEntryOnChange != 0) {
                 byte[] msgEncoded = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
                 params.add(msgEncoded);
             } else {
-                params.add(null);
+                params.add(new byte[0]);
             }
+            params.add(cacheKey.getKeyHash());
         }
         
         return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_LONG,
                   "local counter = 0; " + 
-                  "for j = 2, #ARGV, 2 do " 
+                  "for j = 4, #ARGV, 3 do " 
                       + "if redis.call('hdel', KEYS[1], ARGV[j]) == 1 then "
-                          + "if ARGV[1] == '1' then "
+                          + "if ARGV[1] == '2' then "
+                              + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[j+2]); "
+                          + "end; "
+                          + "if ARGV[1] ~= '0' then "
                               + "redis.call('publish', KEYS[2], ARGV[j+1]); "
                           + "end; "
                           + "counter = counter + 1;"
                       + "end;"
                 + "end;"
+                + "if counter > 0 and ARGV[1] == '2' then "
+                    + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[3]); "
+                + "end; "
                 + "return counter;",
-                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
+                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
                 params.toArray());
     }
 
@@ -437,13 +646,18 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
         cache.clear();
         byte[] msgEncoded = encode(new LocalCachedMapClear());
         return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
-                "if redis.call('del', KEYS[1]) == 1 and ARGV[2] == '1' then "
+                "if redis.call('del', KEYS[1]) == 1 and ARGV[2] ~= '0' then "
+                + "if ARGV[2] == '2' then "
+                    // empty record means that all entries should be invalidated
+                    + "redis.call('del', KEYS[3]); "
+                    + "redis.call('zadd', KEYS[3], ARGV[3], ''); "
+                + "end; "
                 + "redis.call('publish', KEYS[2], ARGV[1]); "
                 + "return 1;" 
               + "end; "
               + "return 0;",
-              Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
-              msgEncoded, invalidateEntryOnChange);
+              Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+              msgEncoded, invalidateEntryOnChange, System.currentTimeMillis());
     }
 
     @Override
@@ -689,20 +903,23 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
     
     @Override
-    public RFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+    protected RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
         final Map<K, V> result = new HashMap<K, V>();
         Set<K> mapKeys = new HashSet<K>(keys);
         for (Iterator<K> iterator = mapKeys.iterator(); iterator.hasNext();) {
             K key = iterator.next();
-            CacheValue value = cache.get(key);
+            CacheValue value = cache.get(toCacheKey(key));
             if (value != null) {
                 result.put(key, (V)value.getValue());
                 iterator.remove();
             }
         }
+        hits.add(keys.size() - mapKeys.size());
+        misses.add(mapKeys.size());
         
+        final long startTime = System.nanoTime();
         final RPromise<Map<K, V>> promise = newPromise();
-        RFuture<Map<K, V>> future = super.getAllAsync(mapKeys);
+        RFuture<Map<K, V>> future = super.getAllOperationAsync(mapKeys);
         future.addListener(new FutureListener<Map<K, V>>() {
             @Override
             public void operationComplete(Future<Map<K, V>> future) throws Exception {
@@ -711,6 +928,8 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
                     return;
                 }
                 
+                loads.increment();
+                loadTime.add(System.nanoTime() - startTime);
                 Map<K, V> map = future.getNow();
                 result.putAll(map);
 
@@ -733,15 +952,19 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<Void> putAllAsync(final Map<? extends K, ? extends V> map) {
+    protected RFuture<Void> putAllOperationAsync(final Map<? extends K, ? extends V> map) {
         if (map.isEmpty()) {
             return newSucceededFuture(null);
         }
 
-        List<Object> params = new ArrayList<Object>(map.size()*3);
+        long time = System.currentTimeMillis();
+        List<Object> params = new ArrayList<Object>(map.size()*4 + 4);
         List<Object> msgs = new ArrayList<Object>(map.size());
+        List<Object> keyHashes = new ArrayList<Object>(map.size());
         params.add(invalidateEntryOnChange);
         params.add(map.size()*2);
+        params.add(time);
+        params.add(time - invalidationLogTimeToLive);
         for (java.util.Map.Entry<? extends K, ? extends V> t : map.entrySet()) {
             byte[] mapKey = encodeMapKey(t.getKey());
             byte[] mapValue = encodeMapValue(t.getValue());
@@ -750,17 +973,26 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
             CacheKey cacheKey = toCacheKey(mapKey);
             byte[] msgEncoded = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
             msgs.add(msgEncoded);
+            keyHashes.add(cacheKey.getKeyHash());
         }
         params.addAll(msgs);
+        params.addAll(keyHashes);
 
         RFuture<Void> future = commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
-                "redis.call('hmset', KEYS[1], unpack(ARGV, 3, tonumber(ARGV[2]) + 2));"
-              + "if ARGV[1] == '1' then "
-                  + "for i = tonumber(ARGV[2]) + 3, #ARGV, 1 do "
+                "local size = tonumber(ARGV[2]); "
+              + "redis.call('hmset', KEYS[1], unpack(ARGV, 5, size + 4));"
+              + "if ARGV[1] ~= '0' then "
+                  + "for i = size + 5, size + 4 + size/2, 1 do "
                       + "redis.call('publish', KEYS[2], ARGV[i]); "
                   + "end; "
+              + "end;"
+              + "if ARGV[1] == '2' then "
+                  + "for i = size + 5 + size/2, #ARGV, 1 do "
+                      + "redis.call('zadd', KEYS[3], ARGV[3], ARGV[i]); "
+                  + "end; "
+                  + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[4]); "
               + "end;",
-                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), params.toArray());
+                Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), params.toArray());
 
         future.addListener(new FutureListener<Void>() {
             @Override
@@ -776,19 +1008,25 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<V> addAndGetAsync(final K key, Number value) {
+    protected RFuture<V> addAndGetOperationAsync(final K key, Number value) {
         final byte[] keyState = encodeMapKey(key);
         CacheKey cacheKey = toCacheKey(keyState);
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         
+        long time = System.currentTimeMillis();
         RFuture<V> future = commandExecutor.evalWriteAsync(getName(), StringCodec.INSTANCE, new RedisCommand<Object>("EVAL", new NumberConvertor(value.getClass())),
                 "local result = redis.call('HINCRBYFLOAT', KEYS[1], ARGV[1], ARGV[2]); "
-              + "if ARGV[3] == '1' then "
+              + "if ARGV[3] == '2' then "
+                  + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[7]); "
+                  + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[6]); "
+              + "end; "
+              + "if ARGV[3] ~= '0' then "
                   + "redis.call('publish', KEYS[2], ARGV[4]); "
               + "end; "
               + "return result; ",
-              Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0)), 
-              keyState, new BigDecimal(value.toString()).toPlainString(), invalidateEntryOnChange, msg);
+              Arrays.<Object>asList(getName(), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+              keyState, new BigDecimal(value.toString()).toPlainString(), invalidateEntryOnChange, msg, 
+              time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
 
         future.addListener(new FutureListener<V>() {
             @Override
@@ -808,8 +1046,8 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<Boolean> fastPutIfAbsentAsync(final K key, final V value) {
-        RFuture<Boolean> future = super.fastPutIfAbsentAsync(key, value);
+    protected RFuture<Boolean> fastPutIfAbsentOperationAsync(final K key, final V value) {
+        RFuture<Boolean> future = super.fastPutIfAbsentOperationAsync(key, value);
         future.addListener(new FutureListener<Boolean>() {
             @Override
             public void operationComplete(Future<Boolean> future) throws Exception {
@@ -924,25 +1162,31 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<V> replaceAsync(final K key, final V value) {
+    protected RFuture<V> replaceOperationAsync(final K key, final V value) {
         final byte[] keyState = encodeMapKey(key);
         byte[] valueState = encodeMapValue(value);
         final CacheKey cacheKey = toCacheKey(keyState);
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         
+        long time = System.currentTimeMillis();
         RFuture<V> future = commandExecutor.evalWriteAsync(getName(key), codec, RedisCommands.EVAL_MAP_VALUE,
                 "if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then "
                     + "local v = redis.call('hget', KEYS[1], ARGV[1]); "
                     + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]); "
-                    + "if ARGV[3] == '1' then "
+                    + "if ARGV[3] == '2' then "
+                        + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[7]); "
+                        + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[6]); "
+                    + "end; "
+                    + "if ARGV[3] ~= '0' then "
                         + "redis.call('publish', KEYS[2], ARGV[4]); "
                     + "end; "
                     + "return v; "
                 + "else "
                     + "return nil; "
                 + "end",
-                Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0)), 
-                keyState, valueState, invalidateEntryOnChange, msg);
+                Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+                keyState, valueState, invalidateEntryOnChange, msg, 
+                time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
         
         future.addListener(new FutureListener<V>() {
             @Override
@@ -962,25 +1206,31 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<Boolean> replaceAsync(final K key, V oldValue, final V newValue) {
+    protected RFuture<Boolean> replaceOperationAsync(final K key, V oldValue, final V newValue) {
         final byte[] keyState = encodeMapKey(key);
         byte[] oldValueState = encodeMapValue(oldValue);
         byte[] newValueState = encodeMapValue(newValue);
         final CacheKey cacheKey = toCacheKey(keyState);
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         
+        long time = System.currentTimeMillis();
         RFuture<Boolean> future = commandExecutor.evalWriteAsync(getName(key), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
                 "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then "
                     + "redis.call('hset', KEYS[1], ARGV[1], ARGV[3]); "
-                    + "if ARGV[4] == '1' then "
+                    + "if ARGV[4] == '2' then "
+                        + "redis.call('zadd', KEYS[3], ARGV[6], ARGV[8]); "
+                        + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[7]); "
+                    + "end; "
+                    + "if ARGV[4] ~= '0' then "
                         + "redis.call('publish', KEYS[2], ARGV[5]); "
                     + "end; "
                     + "return 1; "
                 + "else "
                     + "return 0; "
                 + "end",
-                Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0)), 
-                keyState, oldValueState, newValueState, invalidateEntryOnChange, msg);
+                Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+                keyState, oldValueState, newValueState, invalidateEntryOnChange, msg, 
+                time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
         
         future.addListener(new FutureListener<Boolean>() {
             @Override
@@ -999,23 +1249,29 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<Boolean> removeAsync(Object key, Object value) {
+    protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
         final byte[] keyState = encodeMapKey(key);
         byte[] valueState = encodeMapValue(value);
         final CacheKey cacheKey = toCacheKey(keyState);
         byte[] msg = encode(new LocalCachedMapInvalidate(id, cacheKey.getKeyHash()));
         
+        long time = System.currentTimeMillis();
         RFuture<Boolean> future = commandExecutor.evalWriteAsync(getName(key), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
                 "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then "
-                    + "if ARGV[3] == '1' then "
+                    + "if ARGV[3] == '2' then "
+                        + "redis.call('zadd', KEYS[3], ARGV[5], ARGV[7]); "
+                        + "redis.call('zremrangebyscore', KEYS[3], 0, ARGV[6]); "
+                    + "end; "
+                    + "if ARGV[3] ~= '0' then "
                         + "redis.call('publish', KEYS[2], ARGV[4]); "
                     + "end; "
                     + "return redis.call('hdel', KEYS[1], ARGV[1]) "
                 + "else "
                     + "return 0 "
                 + "end",
-            Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0)), 
-            keyState, valueState, invalidateEntryOnChange, msg);
+            Arrays.<Object>asList(getName(key), invalidationTopic.getChannelNames().get(0), getInvalidationLogName()), 
+            keyState, valueState, invalidateEntryOnChange, msg, 
+            time, time - invalidationLogTimeToLive, cacheKey.getKeyHash());
 
         future.addListener(new FutureListener<Boolean>() {
             @Override
@@ -1033,8 +1289,8 @@ public class RedissonLocalCachedMap<K, V> extends RedissonMap<K, V> implements R
     }
 
     @Override
-    public RFuture<V> putIfAbsentAsync(final K key, final V value) {
-        RFuture<V> future = super.putIfAbsentAsync(key, value);
+    protected RFuture<V> putIfAbsentOperationAsync(final K key, final V value) {
+        RFuture<V> future = super.putIfAbsentOperationAsync(key, value);
         future.addListener(new FutureListener<V>() {
             @Override
             public void operationComplete(Future<V> future) throws Exception {
@@ -0,0 +1,515 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.RedissonLocalCachedMap.CacheKey;
+import org.redisson.RedissonLocalCachedMap.CacheValue;
+import org.redisson.RedissonLocalCachedMap.LocalCachedMapClear;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLocalCachedMapCache;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.BaseStatusListener;
+import org.redisson.api.listener.MessageListener;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommand.ValueType;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
+import org.redisson.command.CommandAsyncExecutor;
+import org.redisson.misc.Cache;
+import org.redisson.misc.Hash;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.ThreadLocalRandom;
+
+/**
+ * <p>Map-based cache with local entry cache support.</p>
+ * 
+ * <p>Local entry is loaded only by read operation. Its time to live is limited 
+ * by expiration time of corresponding Redis entry, half of its max idle time
+ * and expiration time of whole map. So local entry is never available longer than Redis entry.
+ * Max idle time of Redis entry is refreshed each time when local entry is loaded.</p>
+ * 
+ * <p>Each update/remove operation removes entry from local cache and sends invalidation message 
+ * to all other instances. Message is published by the same script which changes Redis entries, 
+ * one message per operation. 
+ * Entries removed by {@link org.redisson.EvictionScheduler} are already expired in local caches, 
+ * so no invalidation message is required.</p>
+ * 
+ * <p>Both <code>ReconnectionStrategy.CLEAR</code> and <code>ReconnectionStrategy.LOAD</code> 
+ * clear local cache after reconnection.</p>
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key
+ * @param <V> value
+ */
+public class RedissonLocalCachedMapCache<K, V> extends RedissonMapCache<K, V> implements RLocalCachedMapCache<K, V> {
+
+    public static class LocalCachedMapCacheInvalidate {
+        
+        private byte[] excludedId;
+        private byte[][] keyHashes;
+
+        public LocalCachedMapCacheInvalidate() {
+        }
+        
+        public LocalCachedMapCacheInvalidate(byte[] excludedId, byte[][] keyHashes) {
+            this.excludedId = excludedId;
+            this.keyHashes = keyHashes;
+        }
+        
+        public byte[] getExcludedId() {
+            return excludedId;
+        }
+        
+        public byte[][] getKeyHashes() {
+            return keyHashes;
+        }
+        
+    }
+
+    private static final RedisCommand<List<Object>> EVAL_GET_TTL = new RedisCommand<List<Object>>("EVAL", new ObjectListReplayDecoder<Object>(), 9, ValueType.MAP_KEY, ValueType.MAP_VALUE);
+    
+    private byte[] id;
+    private RTopic<Object> invalidationTopic;
+    private Cache<CacheKey, CacheValue> cache;
+    private boolean invalidateEntryOnChange;
+    private int invalidationListenerId;
+    private int reconnectionListenerId;
+    private long timeToLiveInMillis;
+    private long maxIdleInMillis;
+
+    protected RedissonLocalCachedMapCache(RedissonClient redisson, EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name, LocalCachedMapOptions<K, V> options) {
+        super(evictionScheduler, commandExecutor, name, options);
+        init(redisson, name, options);
+    }
+
+    protected RedissonLocalCachedMapCache(RedissonClient redisson, Codec codec, EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name, LocalCachedMapOptions<K, V> options) {
+        super(codec, evictionScheduler, commandExecutor, name, options);
+        init(redisson, name, options);
+    }
+
+    private void init(RedissonClient redisson, String name, LocalCachedMapOptions<K, V> options) {
+        id = generateId();
+        
+        invalidateEntryOnChange = options.isInvalidateEntryOnChange();
+        timeToLiveInMillis = options.getTimeToLiveInMillis();
+        maxIdleInMillis = options.getMaxIdleInMillis();
+        cache = RedissonLocalCachedMap.createCache(options, commandExecutor.getConnectionManager().getCacheTimer());
+
+        invalidationTopic = redisson.getTopic(name + ":topic");
+        if (options.isInvalidateEntryOnChange()) {
+            invalidationListenerId = invalidationTopic.addListener(new MessageListener<Object>() {
+                @Override
+                public void onMessage(String channel, Object msg) {
+                    if (msg instanceof LocalCachedMapClear) {
+                        cache.clear();
+                    }
+                    if (msg instanceof LocalCachedMapCacheInvalidate) {
+                        LocalCachedMapCacheInvalidate invalidateMsg = (LocalCachedMapCacheInvalidate)msg;
+                        if (!Arrays.equals(invalidateMsg.getExcludedId(), id)) {
+                            for (byte[] keyHash : invalidateMsg.getKeyHashes()) {
+                                cache.remove(new CacheKey(keyHash));
+                            }
+                        }
+                    }
+                }
+            });
+        }
+        
+        if (options.getReconnectionStrategy() != null 
+                && options.getReconnectionStrategy() != ReconnectionStrategy.NONE) {
+            reconnectionListenerId = invalidationTopic.addListener(new BaseStatusListener() {
+                @Override
+                public void onSubscribe(String channel) {
+                    cache.clear();
+                }
+            });
+        }
+    }
+    
+    protected byte[] generateId() {
+        byte[] id = new byte[16];
+        // TODO JDK UPGRADE replace to native ThreadLocalRandom
+        ThreadLocalRandom.current().nextBytes(id);
+        return id;
+    }
+
+    private CacheKey toCacheKey(Object key) {
+        byte[] encoded = encodeMapKey(key);
+        return new CacheKey(Hash.hash(encoded));
+    }
+    
+    @Override
+    public void destroy() {
+        flush();
+        if (invalidationListenerId != 0) {
+            invalidationTopic.removeListener(invalidationListenerId);
+        }
+        if (reconnectionListenerId != 0) {
+            invalidationTopic.removeListener(reconnectionListenerId);
+        }
+    }
+
+    @Override
+    public RFuture<Boolean> containsKeyAsync(Object key) {
+        CacheKey cacheKey = toCacheKey(key);
+        if (!cache.containsKey(cacheKey)) {
+            return super.containsKeyAsync(key);
+        }
+        return newSucceededFuture(true);
+    }
+    
+    @Override
+    protected RFuture<V> getOperationAsync(final K key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+
+        final CacheKey cacheKey = toCacheKey(key);
+        CacheValue cacheValue = cache.get(cacheKey);
+        if (cacheValue != null && cacheValue.getValue() != null) {
+            return newSucceededFuture((V)cacheValue.getValue());
+        }
+
+        final RPromise<V> promise = newPromise();
+        RFuture<List<Object>> future = commandExecutor.evalWriteAsync(getName(), codec, EVAL_GET_TTL,
+                   "local value = redis.call('hget', KEYS[1], ARGV[2]); "
+                 + "if value == false then "
+                     + "return nil; "
+                 + "end; "
+                 + "local currentTime = tonumber(ARGV[1]); "
+                 + "local t, val = struct.unpack('dLc0', value); "
+                 + "local expireDate = 92233720368547758; " 
+                 + "local expireDateScore = redis.call('zscore', KEYS[2], ARGV[2]); "
+                 + "if expireDateScore ~= false then "
+                     + "expireDate = tonumber(expireDateScore) "
+                 + "end; "
+                 + "if t ~= 0 then "
+                     + "local expireIdle = redis.call('zscore', KEYS[3], ARGV[2]); "
+                     + "if expireIdle ~= false then "
+                         + "if tonumber(expireIdle) <= currentTime then "
+                             + "return nil; "
+                         + "end; "
+                         + "local value = struct.pack('dLc0', t, string.len(val), val); "
+                         + "redis.call('hset', KEYS[1], ARGV[2], value); "
+                         + "redis.call('zadd', KEYS[3], t + currentTime, ARGV[2]); "
+                         // local entry should be loaded again before idle timeout
+                         + "expireDate = math.min(expireDate, currentTime + t / 2) "
+                     + "end; "
+                 + "end; "
+                 + MAX_SIZE_SCRIPT
+                 + trackAccessScript("ARGV[2]", "ARGV[1]")
+                 + "local mapTimeToLive = redis.call('pttl', KEYS[1]); "
+                 + "if mapTimeToLive > 0 then "
+                     + "expireDate = math.min(expireDate, currentTime + mapTimeToLive) "
+                 + "end; "
+                 + "if expireDate <= currentTime then "
+                     + "return nil; "
+                 + "end; "
+                 + "if expireDate == 92233720368547758 then "
+                     + "return {val, 0}; "
+                 + "end; "
+                 + "return {val, math.max(1, math.floor(expireDate - currentTime))}; ",
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), 
+                System.currentTimeMillis(), key);
+        
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    promise.tryFailure(future.cause());
+                    return;
+                }
+                
+                List<Object> result = future.getNow();
+                if (result == null || result.isEmpty()) {
+                    promise.trySuccess(null);
+                    return;
+                }
+                
+                V value = (V) result.get(0);
+                long timeToLive = ((Number) result.get(1)).longValue();
+                cacheValue(cacheKey, key, value, timeToLive);
+                promise.trySuccess(value);
+            }
+        });
+        return promise;
+    }
+    
+    private void cacheValue(CacheKey cacheKey, Object key, Object value, long timeToLive) {
+        long ttl = timeToLiveInMillis;
+        if (timeToLive > 0 && (ttl == 0 || timeToLive < ttl)) {
+            ttl = timeToLive;
+        }
+        cache.put(cacheKey, new CacheValue(key, value), ttl, TimeUnit.MILLISECONDS, maxIdleInMillis, TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    protected RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
+        final Map<K, V> result = new HashMap<K, V>();
+        Set<K> mapKeys = new HashSet<K>(keys);
+        for (Iterator<K> iterator = mapKeys.iterator(); iterator.hasNext();) {
+            K key = iterator.next();
+            CacheValue value = cache.get(toCacheKey(key));
+            if (value != null) {
+                result.put(key, (V)value.getValue());
+                iterator.remove();
+            }
+        }
+        
+        if (mapKeys.isEmpty()) {
+            return newSucceededFuture(result);
+        }
+        
+        final List<Object> args = new ArrayList<Object>(mapKeys.size() + 1);
+        args.add(System.currentTimeMillis());
+        args.addAll(mapKeys);
+        
+        final RPromise<Map<K, V>> promise = newPromise();
+        RFuture<List<Object>> future = commandExecutor.evalWriteAsync(getName(), codec, EVAL_GET_TTL,
+                   "local currentTime = tonumber(table.remove(ARGV, 1)); " // index is the first parameter
+                 + MAX_SIZE_SCRIPT
+                 + "local mapTimeToLive = redis.call('pttl', KEYS[1]); "
+                 + "local result = {}; "
+                 + "for i, key in ipairs(ARGV) do "
+                     + "local val = false; "
+                     + "local ttl = 0; "
+                     + "local value = redis.call('hget', KEYS[1], key); "
+                     + "if value ~= false then "
+                         + "local t; "
+                         + "t, val = struct.unpack('dLc0', value); "
+                         + "local expireDate = 92233720368547758; " 
+                         + "local expireDateScore = redis.call('zscore', KEYS[2], key); "
+                         + "if expireDateScore ~= false then "
+                             + "expireDate = tonumber(expireDateScore) "
+                         + "end; "
+                         + "if t ~= 0 then "
+                             + "local expireIdle = redis.call('zscore', KEYS[3], key); "
+                             + "if expireIdle ~= false then "
+                                 + "if tonumber(expireIdle) <= currentTime then "
+                                     + "val = false; "
+                                 + "else "
+                                     + "redis.call('zadd', KEYS[3], t + currentTime, key); "
+                                     // local entry should be loaded again before idle timeout
+                                     + "expireDate = math.min(expireDate, currentTime + t / 2) "
+                                 + "end; "
+                             + "end; "
+                         + "end; "
+                         + "if mapTimeToLive > 0 then "
+                             + "expireDate = math.min(expireDate, currentTime + mapTimeToLive) "
+                         + "end; "
+                         + "if expireDate <= currentTime then "
+                             + "val = false; "
+                         + "end; "
+                         + "if val ~= false then "
+                             + trackAccessScript("key", "currentTime")
+                             + "if expireDate ~= 92233720368547758 then "
+                                 + "ttl = math.max(1, math.floor(expireDate - currentTime)); "
+                             + "end; "
+                         + "end; "
+                     + "end; "
+                     + "table.insert(result, val); "
+                     + "table.insert(result, ttl); "
+                 + "end; "
+                 + "return result; ",
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), 
+                args.toArray());
+        
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    promise.tryFailure(future.cause());
+                    return;
+                }
+                
+                List<Object> values = future.getNow();
+                for (int i = 0; i < values.size(); i += 2) {
+                    V value = (V) values.get(i);
+                    if (value == null) {
+                        continue;
+                    }
+                    
+                    K key = (K) args.get(i/2 + 1);
+                    long timeToLive = ((Number) values.get(i + 1)).longValue();
+                    cacheValue(toCacheKey(key), key, value, timeToLive);
+                    result.put(key, value);
+                }
+                promise.trySuccess(result);
+            }
+        });
+        return promise;
+    }
+
+    /*
+     * Invalidation message is published by the same script which changes entries, 
+     * so other instances are notified atomically with the write. 
+     * Script is wrapped into a function, channel name is passed as last key 
+     * and message as first argument, both are removed before original script execution.
+     * Local entries are removed once again after Redis entries have been changed 
+     * since concurrent read operation could load their previous version.
+     */
+    @Override
+    protected <T, R> RFuture<R> evalWriteAsync(Collection<?> mapKeys, boolean onlyIfChanged, 
+            RedisCommand<T> evalCommandType, String script, List<Object> keys, Object... params) {
+        final List<CacheKey> cacheKeys = new ArrayList<CacheKey>(mapKeys.size());
+        for (Object key : mapKeys) {
+            CacheKey cacheKey = toCacheKey(key);
+            cache.remove(cacheKey);
+            cacheKeys.add(cacheKey);
+        }
+        
+        RFuture<R> future;
+        if (invalidateEntryOnChange) {
+            byte[][] keyHashes = new byte[cacheKeys.size()][];
+            for (int i = 0; i < cacheKeys.size(); i++) {
+                keyHashes[i] = cacheKeys.get(i).getKeyHash();
+            }
+            byte[] msg = encodeMessage(new LocalCachedMapCacheInvalidate(id, keyHashes));
+            
+            List<Object> scriptKeys = new ArrayList<Object>(keys.size() + 1);
+            scriptKeys.addAll(keys);
+            scriptKeys.add(getChannelName());
+            Object[] scriptParams = new Object[params.length + 1];
+            scriptParams[0] = msg;
+            System.arraycopy(params, 0, scriptParams, 1, params.length);
+            
+            String condition = "true";
+            if (onlyIfChanged) {
+                condition = "result == 1";
+            }
+            future = commandExecutor.evalWriteAsync(getName(), codec, 
+                    new RedisCommand<T>(evalCommandType, evalCommandType.getInParamIndex() + 2),
+                      "local channel = table.remove(KEYS); "
+                    + "local msg = table.remove(ARGV, 1); "
+                    + "local result = (function() " + script + " end)(); "
+                    + "if " + condition + " then "
+                        + "redis.call('publish', channel, msg); "
+                    + "end; "
+                    + "return result; ",
+                    scriptKeys, scriptParams);
+        } else {
+            future = super.<T, R>evalWriteAsync(mapKeys, onlyIfChanged, evalCommandType, script, keys, params);
+        }
+        
+        future.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                for (CacheKey cacheKey : cacheKeys) {
+                    cache.remove(cacheKey);
+                }
+            }
+        });
+        return future;
+    }
+    
+    private String getChannelName() {
+        return invalidationTopic.getChannelNames().get(0);
+    }
+    
+    /*
+     * Messages are encoded by codec of invalidation topic.
+     */
+    private byte[] encodeMessage(Object msg) {
+        try {
+            return commandExecutor.getConnectionManager().getCodec().getValueEncoder().encode(msg);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+    
+    @Override
+    protected RFuture<Boolean> clearAsync() {
+        return deleteAsync(Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName()));
+    }
+    
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return deleteAsync(Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), 
+                getOptionsName()));
+    }
+    
+    private RFuture<Boolean> deleteAsync(List<Object> keys) {
+        cache.clear();
+        if (!invalidateEntryOnChange) {
+            return clearOnSuccess(commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, keys.toArray()));
+        }
+        
+        List<Object> scriptKeys = new ArrayList<Object>(keys);
+        scriptKeys.add(getChannelName());
+        RFuture<Boolean> future = commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                  "local channel = table.remove(KEYS); "
+                + "local result = redis.call('del', unpack(KEYS)); "
+                + "redis.call('publish', channel, ARGV[1]); "
+                + "return result > 0 and 1 or 0; ",
+                scriptKeys, encodeMessage(new LocalCachedMapClear()));
+        future.addListener(new FutureListener<Boolean>() {
+            @Override
+            public void operationComplete(Future<Boolean> future) throws Exception {
+                cache.clear();
+            }
+        });
+        return future;
+    }
+    
+    @Override
+    public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return clearOnSuccess(super.expireAsync(timeToLive, timeUnit));
+    }
+    
+    @Override
+    public RFuture<Boolean> expireAtAsync(long timestamp) {
+        return clearOnSuccess(super.expireAtAsync(timestamp));
+    }
+    
+    private RFuture<Boolean> clearOnSuccess(RFuture<Boolean> future) {
+        future.addListener(new FutureListener<Boolean>() {
+            @Override
+            public void operationComplete(Future<Boolean> future) throws Exception {
+                if (!future.isSuccess()) {
+                    return;
+                }
+                
+                cache.clear();
+                if (invalidateEntryOnChange) {
+                    invalidationTopic.publishAsync(new LocalCachedMapClear());
+                }
+            }
+        });
+        return future;
+    }
+
+}
@@ -0,0 +1,93 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.concurrent.ConcurrentMap;
+
+import org.redisson.api.RAtomicLong;
+import org.redisson.api.RFuture;
+import org.redisson.api.RLongAdder;
+import org.redisson.api.RedissonClient;
+import org.redisson.command.CommandAsyncExecutor;
+
+import io.netty.util.internal.LongCounter;
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class RedissonLongAdder extends RedissonBaseAdder<Long> implements RLongAdder {
+
+    private final RAtomicLong atomicLong;
+    private final LongCounter counter = PlatformDependent.newLongCounter();
+
+    public RedissonLongAdder(CommandAsyncExecutor commandExecutor, String name, RedissonClient redisson, 
+            ConcurrentMap<String, SharedListener> listeners, long flushInterval) {
+        super(commandExecutor, name, redisson, listeners, flushInterval);
+        atomicLong = new RedissonAtomicLong(commandExecutor, name);
+    }
+
+    @Override
+    protected Long drain() {
+        long value = counter.value();
+        counter.add(-value);
+        return value;
+    }
+
+    @Override
+    protected void restore(Long value) {
+        counter.add(value);
+    }
+
+    @Override
+    protected boolean isZero(Long value) {
+        return value == 0;
+    }
+
+    @Override
+    protected RFuture<Long> addAndGetAsync(Long value) {
+        return atomicLong.addAndGetAsync(value);
+    }
+
+    @Override
+    protected RFuture<Long> getAsync() {
+        return atomicLong.getAsync();
+    }
+
+    @Override
+    public void add(long x) {
+        counter.add(x);
+        incremented();
+    }
+
+    @Override
+    public void increment() {
+        add(1L);
+    }
+
+    @Override
+    public void decrement() {
+        add(-1L);
+    }
+
+    @Override
+    public long sum() {
+        return get(sumAsync());
+    }
+
+}
@@ -19,16 +19,22 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.util.AbstractCollection;
+import java.util.AbstractMap;
 import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.redisson.MapWriterTask.Condition;
+import org.redisson.api.MapOptions;
+import org.redisson.api.MapOptions.WriteMode;
 import org.redisson.api.RFuture;
 import org.redisson.api.RMap;
 import org.redisson.client.codec.Codec;
@@ -43,6 +49,11 @@ import org.redisson.client.protocol.decoder.MapScanResult;
 import org.redisson.client.protocol.decoder.ScanObjectEntry;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.connection.decoder.MapGetAllDecoder;
+import org.redisson.misc.ChunkedOperation;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
 
 /**
  * Distributed and concurrent implementation of {@link java.util.concurrent.ConcurrentMap}
@@ -61,12 +72,42 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
     static final RedisCommand<Boolean> EVAL_REMOVE_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 4, ValueType.MAP);
     static final RedisCommand<Object> EVAL_PUT = EVAL_REPLACE;
 
+    final MapOptions<K, V> options;
+    private final MapWriteBehindBuffer<K, V> writeBehindBuffer;
+    
     protected RedissonMap(CommandAsyncExecutor commandExecutor, String name) {
-        super(commandExecutor, name);
+        this(commandExecutor, name, null);
     }
 
     public RedissonMap(Codec codec, CommandAsyncExecutor commandExecutor, String name) {
+        this(codec, commandExecutor, name, null);
+    }
+
+    protected RedissonMap(CommandAsyncExecutor commandExecutor, String name, MapOptions<K, V> options) {
+        super(commandExecutor, name);
+        this.options = options;
+        this.writeBehindBuffer = createWriteBehindBuffer(options);
+    }
+
+    public RedissonMap(Codec codec, CommandAsyncExecutor commandExecutor, String name, MapOptions<K, V> options) {
         super(codec, commandExecutor, name);
+        this.options = options;
+        this.writeBehindBuffer = createWriteBehindBuffer(options);
+    }
+
+    private MapWriteBehindBuffer<K, V> createWriteBehindBuffer(MapOptions<K, V> options) {
+        if (options != null && options.getWriter() != null 
+                && options.getWriteMode() == WriteMode.WRITE_BEHIND) {
+            return new MapWriteBehindBuffer<K, V>(commandExecutor.getConnectionManager(), options);
+        }
+        return null;
+    }
+
+    @Override
+    public void flush() {
+        if (writeBehindBuffer != null) {
+            writeBehindBuffer.flush();
+        }
     }
 
     @Override
@@ -127,8 +168,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(getAllAsync(keys));
     }
 
-    @Override
-    public RFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+    protected RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
         if (keys.size() == 0) {
             return newSucceededFuture(Collections.<K, V>emptyMap());
         }
@@ -139,6 +179,48 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return commandExecutor.readAsync(getName(), codec, new RedisCommand<Map<Object, Object>>("HMGET", new MapGetAllDecoder(args, 1), 2, ValueType.MAP_KEY, ValueType.MAP_VALUE), args.toArray());
     }
 
+    @Override
+    public Map<K, V> getAll(Set<K> keys, int batchSize) {
+        return get(getAllAsync(keys, batchSize));
+    }
+
+    @Override
+    public RFuture<Map<K, V>> getAllAsync(Set<K> keys, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        if (keys.size() <= batchSize) {
+            return getAllAsync(keys);
+        }
+
+        final Map<K, V> resultMap = new HashMap<K, V>();
+        final RPromise<Map<K, V>> result = newPromise();
+        RPromise<Void> chunksPromise = newPromise();
+        List<List<K>> chunks = ChunkedOperation.split(keys, batchSize);
+        new ChunkedOperation<List<K>, Map<K, V>>(chunks, chunksPromise) {
+            @Override
+            protected RFuture<Map<K, V>> execute(List<K> chunk) {
+                return getAllAsync(new HashSet<K>(chunk));
+            }
+
+            @Override
+            protected void onResult(Map<K, V> chunkResult) {
+                resultMap.putAll(chunkResult);
+            }
+        }.execute().addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(resultMap);
+            }
+        });
+        return result;
+    }
+
     @Override
     public V get(Object key) {
         return get(getAsync((K)key));
@@ -159,8 +241,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         get(putAllAsync(map));
     }
 
-    @Override
-    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) {
+    protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
         if (map.isEmpty()) {
             return newSucceededFuture(null);
         }
@@ -175,6 +256,30 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return commandExecutor.writeAsync(getName(), codec, RedisCommands.HMSET, params.toArray());
     }
 
+    @Override
+    public void putAll(Map<? extends K, ? extends V> map, int batchSize) {
+        get(putAllAsync(map, batchSize));
+    }
+
+    @Override
+    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize should be positive");
+        }
+        if (map.size() <= batchSize) {
+            return putAllAsync(map);
+        }
+
+        RPromise<Void> result = newPromise();
+        List<Map<K, V>> chunks = ChunkedOperation.split(map, batchSize);
+        return new ChunkedOperation<Map<K, V>, Void>(chunks, result) {
+            @Override
+            protected RFuture<Void> execute(Map<K, V> chunk) {
+                return putAllAsync(chunk);
+            }
+        }.execute();
+    }
+
     @Override
     public void clear() {
         delete();
@@ -182,17 +287,32 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     @Override
     public Set<K> keySet() {
-        return new KeySet();
+        return keySet(10, 0);
     }
 
     @Override
     public Collection<V> values() {
-        return new Values();
+        return values(10, 0);
     }
 
     @Override
     public Set<java.util.Map.Entry<K, V>> entrySet() {
-        return new EntrySet();
+        return entrySet(10, 0);
+    }
+
+    @Override
+    public Set<K> keySet(int count, int prefetch) {
+        return new KeySet(count, prefetch);
+    }
+
+    @Override
+    public Collection<V> values(int count, int prefetch) {
+        return new Values(count, prefetch);
+    }
+
+    @Override
+    public Set<java.util.Map.Entry<K, V>> entrySet(int count, int prefetch) {
+        return new EntrySet(count, prefetch);
     }
 
     @Override
@@ -230,8 +350,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(putIfAbsentAsync(key, value));
     }
 
-    @Override
-    public RFuture<V> putIfAbsentAsync(K key, V value) {
+    protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_PUT,
                  "if redis.call('hsetnx', KEYS[1], ARGV[1], ARGV[2]) == 1 then "
                     + "return nil "
@@ -246,8 +365,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(fastPutIfAbsentAsync(key, value));
     }
 
-    @Override
-    public RFuture<Boolean> fastPutIfAbsentAsync(K key, V value) {
+    protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
         return commandExecutor.writeAsync(getName(key), codec, RedisCommands.HSETNX, getName(key), key, value);
     }
 
@@ -256,8 +374,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(removeAsync(key, value));
     }
 
-    @Override
-    public RFuture<Boolean> removeAsync(Object key, Object value) {
+    protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_REMOVE_VALUE,
                 "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then "
                         + "return redis.call('hdel', KEYS[1], ARGV[1]) "
@@ -272,8 +389,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(replaceAsync(key, oldValue, newValue));
     }
 
-    @Override
-    public RFuture<Boolean> replaceAsync(K key, V oldValue, V newValue) {
+    protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_REPLACE_VALUE,
                 "if redis.call('hget', KEYS[1], ARGV[1]) == ARGV[2] then "
                     + "redis.call('hset', KEYS[1], ARGV[1], ARGV[3]); "
@@ -289,8 +405,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(replaceAsync(key, value));
     }
 
-    @Override
-    public RFuture<V> replaceAsync(K key, V value) {
+    protected RFuture<V> replaceOperationAsync(K key, V value) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_REPLACE,
                 "if redis.call('hexists', KEYS[1], ARGV[1]) == 1 then "
                     + "local v = redis.call('hget', KEYS[1], ARGV[1]); "
@@ -302,17 +417,320 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
             Collections.<Object>singletonList(getName(key)), key, value);
     }
 
-    @Override
-    public RFuture<V> getAsync(K key) {
+    protected RFuture<V> getOperationAsync(K key) {
         return commandExecutor.readAsync(getName(key), codec, RedisCommands.HGET, getName(key), key);
     }
     
+    @Override
+    public RFuture<Map<K, V>> getAllAsync(final Set<K> keys) {
+        RFuture<Map<K, V>> future = getAllOperationAsync(keys);
+        if (!hasLoader()) {
+            return future;
+        }
+
+        final RPromise<Map<K, V>> result = newPromise();
+        future.addListener(new FutureListener<Map<K, V>>() {
+            @Override
+            public void operationComplete(Future<Map<K, V>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                final Map<K, V> map = future.getNow();
+                if (map.size() == keys.size()) {
+                    result.trySuccess(map);
+                    return;
+                }
+                loadAllValues(keys, map, result);
+            }
+        });
+        return result;
+    }
+
+    private void loadAllValues(final Set<K> keys, final Map<K, V> map, final RPromise<Map<K, V>> result) {
+        commandExecutor.getConnectionManager().getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final Map<K, V> loadedEntries = new HashMap<K, V>();
+                try {
+                    for (K key : keys) {
+                        if (!map.containsKey(key)) {
+                            V value = options.getLoader().load(key);
+                            if (value != null) {
+                                loadedEntries.put(key, value);
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    result.tryFailure(e);
+                    return;
+                }
+
+                if (loadedEntries.isEmpty()) {
+                    result.trySuccess(map);
+                    return;
+                }
+
+                putAllOperationAsync(loadedEntries).addListener(new FutureListener<Void>() {
+                    @Override
+                    public void operationComplete(Future<Void> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        Map<K, V> resultMap = new HashMap<K, V>(map);
+                        resultMap.putAll(loadedEntries);
+                        result.trySuccess(resultMap);
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public RFuture<V> getAsync(final K key) {
+        RFuture<V> future = getOperationAsync(key);
+        if (!hasLoader()) {
+            return future;
+        }
+
+        final RPromise<V> result = newPromise();
+        future.addListener(new FutureListener<V>() {
+            @Override
+            public void operationComplete(Future<V> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                if (future.getNow() != null) {
+                    result.trySuccess(future.getNow());
+                    return;
+                }
+                loadValue(key, result);
+            }
+        });
+        return result;
+    }
+
+    private void loadValue(final K key, final RPromise<V> result) {
+        commandExecutor.getConnectionManager().getExecutor().execute(new Runnable() {
+            @Override
+            public void run() {
+                final V value;
+                try {
+                    value = options.getLoader().load(key);
+                } catch (Exception e) {
+                    result.tryFailure(e);
+                    return;
+                }
+
+                if (value == null) {
+                    result.trySuccess(null);
+                    return;
+                }
+
+                // value changed in Redis during loading takes precedence
+                putIfAbsentOperationAsync(key, value).addListener(new FutureListener<V>() {
+                    @Override
+                    public void operationComplete(Future<V> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        if (future.getNow() != null) {
+                            result.trySuccess(future.getNow());
+                        } else {
+                            result.trySuccess(value);
+                        }
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public RFuture<V> putAsync(K key, V value) {
+        RFuture<V> future = putOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.ALWAYS));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutAsync(K key, V value) {
+        RFuture<Boolean> future = fastPutOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.ALWAYS));
+    }
+
+    @Override
+    public RFuture<V> putIfAbsentAsync(K key, V value) {
+        RFuture<V> future = putIfAbsentOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.NULL_RESULT));
+    }
+
+    @Override
+    public RFuture<Boolean> fastPutIfAbsentAsync(K key, V value) {
+        RFuture<Boolean> future = fastPutIfAbsentOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.TRUE_RESULT));
+    }
+
+    @Override
+    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) {
+        RFuture<Void> future = putAllOperationAsync(map);
+        if (!hasWriter() || map.isEmpty()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.<K, V>write(map));
+    }
+
+    @Override
+    public RFuture<V> replaceAsync(K key, V value) {
+        RFuture<V> future = replaceOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.NOT_NULL_RESULT));
+    }
+
+    @Override
+    public RFuture<Boolean> replaceAsync(K key, V oldValue, V newValue) {
+        RFuture<Boolean> future = replaceOperationAsync(key, oldValue, newValue);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, newValue, Condition.TRUE_RESULT));
+    }
+
+    @Override
+    public RFuture<V> removeAsync(K key) {
+        RFuture<V> future = removeOperationAsync(key);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.<K, V>delete(Collections.singletonList(key), Condition.ALWAYS));
+    }
+
+    @Override
+    public RFuture<Boolean> removeAsync(Object key, Object value) {
+        RFuture<Boolean> future = removeOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.<K, V>delete(Collections.singletonList((K) key), Condition.TRUE_RESULT));
+    }
+
+    @Override
+    public RFuture<Long> fastRemoveAsync(K ... keys) {
+        RFuture<Long> future = fastRemoveOperationAsync(keys);
+        if (!hasWriter() || keys == null || keys.length == 0) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.<K, V>delete(Arrays.asList(keys), Condition.ALWAYS));
+    }
+
+    @Override
+    public RFuture<V> addAndGetAsync(final K key, Number value) {
+        RFuture<V> future = addAndGetOperationAsync(key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+
+        final RPromise<V> result = newPromise();
+        future.addListener(new FutureListener<V>() {
+            @Override
+            public void operationComplete(Future<V> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                RFuture<V> writerFuture = newSucceededFuture(future.getNow());
+                mapWriterFuture(writerFuture, MapWriterTask.write(key, future.getNow(), Condition.ALWAYS)).addListener(new FutureListener<V>() {
+                    @Override
+                    public void operationComplete(Future<V> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+                        result.trySuccess(future.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private boolean hasLoader() {
+        return options != null && options.getLoader() != null;
+    }
+
+    boolean hasWriter() {
+        return options != null && options.getWriter() != null;
+    }
+
+    /**
+     * Passes change to {@link org.redisson.api.map.MapWriter} once operation
+     * has been completed successfully. Result is returned after the change has been
+     * stored in <code>WRITE_THROUGH</code> mode and right away in <code>WRITE_BEHIND</code> mode.
+     */
+    <M> RFuture<M> mapWriterFuture(RFuture<M> future, final MapWriterTask<K, V> task) {
+        final RPromise<M> result = newPromise();
+        future.addListener(new FutureListener<M>() {
+            @Override
+            public void operationComplete(Future<M> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                final M value = future.getNow();
+                if (!task.isApplicable(value)) {
+                    result.trySuccess(value);
+                    return;
+                }
+
+                if (writeBehindBuffer != null) {
+                    writeBehindBuffer.add(task);
+                    result.trySuccess(value);
+                    return;
+                }
+
+                commandExecutor.getConnectionManager().getExecutor().execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            task.execute(options.getWriter());
+                        } catch (Exception e) {
+                            result.tryFailure(e);
+                            return;
+                        }
+                        result.trySuccess(value);
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
     protected String getName(Object key) {
         return getName(); 
     }
     
-    @Override
-    public RFuture<V> putAsync(K key, V value) {
+    protected RFuture<V> putOperationAsync(K key, V value) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_PUT,
                 "local v = redis.call('hget', KEYS[1], ARGV[1]); "
                 + "redis.call('hset', KEYS[1], ARGV[1], ARGV[2]); "
@@ -321,8 +739,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
     }
 
 
-    @Override
-    public RFuture<V> removeAsync(K key) {
+    protected RFuture<V> removeOperationAsync(K key) {
         return commandExecutor.evalWriteAsync(getName(key), codec, EVAL_REMOVE,
                 "local v = redis.call('hget', KEYS[1], ARGV[1]); "
                 + "redis.call('hdel', KEYS[1], ARGV[1]); "
@@ -330,8 +747,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
                 Collections.<Object>singletonList(getName(key)), key);
     }
 
-    @Override
-    public RFuture<Boolean> fastPutAsync(K key, V value) {
+    protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
         return commandExecutor.writeAsync(getName(key), codec, RedisCommands.HSET, getName(key), key, value);
     }
 
@@ -340,8 +756,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(fastPutAsync(key, value));
     }
 
-    @Override
-    public RFuture<Long> fastRemoveAsync(K ... keys) {
+    protected RFuture<Long> fastRemoveOperationAsync(K ... keys) {
         if (keys == null || keys.length == 0) {
             return newSucceededFuture(0L);
         }
@@ -357,10 +772,8 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(fastRemoveAsync(keys));
     }
 
-    MapScanResult<ScanObjectEntry, ScanObjectEntry> scanIterator(String name, InetSocketAddress client, long startPos) {
-        RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> f 
-            = commandExecutor.readAsync(client, name, new ScanCodec(codec), RedisCommands.HSCAN, name, startPos);
-        return get(f);
+    RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> scanIteratorAsync(String name, InetSocketAddress client, long startPos, int count) {
+        return commandExecutor.readAsync(client, name, new ScanCodec(codec), RedisCommands.HSCAN, name, startPos, "COUNT", count);
     }
 
     @Override
@@ -368,8 +781,7 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return get(addAndGetAsync(key, value));
     }
 
-    @Override
-    public RFuture<V> addAndGetAsync(K key, Number value) {
+    protected RFuture<V> addAndGetOperationAsync(K key, Number value) {
         try {
             byte[] keyState = codec.getMapKeyEncoder().encode(key);
             return commandExecutor.writeAsync(getName(key), StringCodec.INSTANCE,
@@ -423,8 +835,8 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
         return h;
     }
 
-    protected Iterator<K> keyIterator() {
-        return new RedissonMapIterator<K, V, K>(RedissonMap.this) {
+    protected Iterator<K> keyIterator(int count, int prefetch) {
+        return new RedissonMapIterator<K, V, K>(RedissonMap.this, count, prefetch) {
             @Override
             K getValue(java.util.Map.Entry<ScanObjectEntry, ScanObjectEntry> entry) {
                 return (K) entry.getKey().getObj();
@@ -434,9 +846,17 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
     
     final class KeySet extends AbstractSet<K> {
 
+        private final int count;
+        private final int prefetch;
+        
+        public KeySet(int count, int prefetch) {
+            this.count = count;
+            this.prefetch = prefetch;
+        }
+
         @Override
         public Iterator<K> iterator() {
-            return keyIterator();
+            return keyIterator(count, prefetch);
         }
 
         @Override
@@ -461,8 +881,8 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     }
 
-    protected Iterator<V> valueIterator() {
-        return new RedissonMapIterator<K, V, V>(RedissonMap.this) {
+    protected Iterator<V> valueIterator(int count, int prefetch) {
+        return new RedissonMapIterator<K, V, V>(RedissonMap.this, count, prefetch) {
             @Override
             V getValue(java.util.Map.Entry<ScanObjectEntry, ScanObjectEntry> entry) {
                 return (V) entry.getValue().getObj();
@@ -472,9 +892,17 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     final class Values extends AbstractCollection<V> {
 
+        private final int count;
+        private final int prefetch;
+        
+        public Values(int count, int prefetch) {
+            this.count = count;
+            this.prefetch = prefetch;
+        }
+
         @Override
         public Iterator<V> iterator() {
-            return valueIterator();
+            return valueIterator(count, prefetch);
         }
 
         @Override
@@ -494,15 +922,52 @@ public class RedissonMap<K, V> extends RedissonExpirable implements RMap<K, V> {
 
     }
 
-    protected Iterator<Map.Entry<K,V>> entryIterator() {
-        return new RedissonMapIterator<K, V, Map.Entry<K, V>>(RedissonMap.this);
+    protected Iterator<Map.Entry<K,V>> entryIterator(int count, int prefetch) {
+        return new RedissonMapIterator<K, V, Map.Entry<K, V>>(RedissonMap.this, count, prefetch);
+    }
+
+    @Override
+    public List<Iterable<Map.Entry<K, V>>> entrySetPartitions(final int count, int partitions) {
+        return new ScanPartitions<MapScanResult<ScanObjectEntry, ScanObjectEntry>, Map.Entry<K, V>>() {
+            @Override
+            MapScanResult<ScanObjectEntry, ScanObjectEntry> scan(InetSocketAddress client, long startPos) {
+                return get(scanIteratorAsync(getName(), client, startPos, count));
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            Iterator<Map.Entry<K, V>> values(MapScanResult<ScanObjectEntry, ScanObjectEntry> result) {
+                List<Map.Entry<K, V>> entries = new ArrayList<Map.Entry<K, V>>(result.getMap().size());
+                for (Map.Entry<ScanObjectEntry, ScanObjectEntry> entry : result.getMap().entrySet()) {
+                    entries.add(new AbstractMap.SimpleImmutableEntry<K, V>((K) entry.getKey().getObj(), (V) entry.getValue().getObj()));
+                }
+                release(result);
+                return entries.iterator();
+            }
+
+            @Override
+            protected void release(MapScanResult<ScanObjectEntry, ScanObjectEntry> result) {
+                for (Map.Entry<ScanObjectEntry, ScanObjectEntry> entry : result.getMap().entrySet()) {
+                    entry.getKey().getBuf().release();
+                    entry.getValue().getBuf().release();
+                }
+            }
+        }.split(partitions);
     }
 
     
     final class EntrySet extends AbstractSet<Map.Entry<K,V>> {
 
+        private final int count;
+        private final int prefetch;
+        
+        public EntrySet(int count, int prefetch) {
+            this.count = count;
+            this.prefetch = prefetch;
+        }
+
         public final Iterator<Map.Entry<K,V>> iterator() {
-            return entryIterator();
+            return entryIterator(count, prefetch);
         }
 
         public final boolean contains(Object o) {
@@ -20,11 +20,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.redisson.MapWriterTask.Condition;
+import org.redisson.api.EvictionMode;
+import org.redisson.api.MapOptions;
 import org.redisson.api.RFuture;
 import org.redisson.api.RMapCache;
 import org.redisson.client.codec.Codec;
@@ -41,13 +47,20 @@ import org.redisson.client.protocol.decoder.MapCacheScanResult;
 import org.redisson.client.protocol.decoder.MapCacheScanResultReplayDecoder;
 import org.redisson.client.protocol.decoder.MapScanResult;
 import org.redisson.client.protocol.decoder.ObjectListDecoder;
+import org.redisson.client.protocol.decoder.ObjectListReplayDecoder;
 import org.redisson.client.protocol.decoder.ObjectMapDecoder;
 import org.redisson.client.protocol.decoder.ScanObjectEntry;
 import org.redisson.command.CommandAsyncExecutor;
 import org.redisson.connection.decoder.MapGetAllDecoder;
+import org.redisson.misc.RPromise;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.FutureListener;
+import io.netty.util.internal.PlatformDependent;
 
 /**
  * <p>Map-based cache with ability to set TTL for each entry via
@@ -70,27 +83,56 @@ import io.netty.util.concurrent.FutureListener;
  */
 public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCache<K, V> {
 
-    static final RedisCommand<Boolean> EVAL_HSET = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 4, ValueType.MAP);
-    static final RedisCommand<Object> EVAL_REPLACE = new RedisCommand<Object>("EVAL", 6, ValueType.MAP, ValueType.MAP_VALUE);
-    static final RedisCommand<Boolean> EVAL_REPLACE_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 7, Arrays.asList(ValueType.MAP_KEY, ValueType.MAP_VALUE, ValueType.MAP_VALUE));
-    private static final RedisCommand<Void> EVAL_HMSET = new RedisCommand<Void>("EVAL", new VoidReplayConvertor(), 4, ValueType.MAP);
-    private static final RedisCommand<Object> EVAL_REMOVE = new RedisCommand<Object>("EVAL", 4, ValueType.MAP_KEY, ValueType.MAP_VALUE);
-    private static final RedisCommand<Boolean> EVAL_REMOVE_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 5, ValueType.MAP);
-    private static final RedisCommand<Object> EVAL_PUT_TTL = new RedisCommand<Object>("EVAL", 9, ValueType.MAP, ValueType.MAP_VALUE);
-    private static final RedisCommand<Boolean> EVAL_FAST_PUT_TTL = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 9, ValueType.MAP, ValueType.MAP_VALUE);
-    private static final RedisCommand<Object> EVAL_GET_TTL = new RedisCommand<Object>("EVAL", 7, ValueType.MAP_KEY, ValueType.MAP_VALUE);
+    static final RedisCommand<Boolean> EVAL_HSET = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 9, ValueType.MAP);
+    static final RedisCommand<Object> EVAL_PUT = new RedisCommand<Object>("EVAL", 9, ValueType.MAP, ValueType.MAP_VALUE);
+    static final RedisCommand<Object> EVAL_REPLACE = new RedisCommand<Object>("EVAL", 9, ValueType.MAP, ValueType.MAP_VALUE);
+    static final RedisCommand<Boolean> EVAL_REPLACE_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 9, Arrays.asList(ValueType.MAP_KEY, ValueType.MAP_VALUE, ValueType.MAP_VALUE));
+    private static final RedisCommand<Void> EVAL_HMSET = new RedisCommand<Void>("EVAL", new VoidReplayConvertor(), 9, ValueType.MAP);
+    private static final RedisCommand<Object> EVAL_REMOVE = new RedisCommand<Object>("EVAL", 7, ValueType.MAP_KEY, ValueType.MAP_VALUE);
+    private static final RedisCommand<Boolean> EVAL_REMOVE_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 8, ValueType.MAP);
+    private static final RedisCommand<Object> EVAL_PUT_TTL = new RedisCommand<Object>("EVAL", 12, ValueType.MAP, ValueType.MAP_VALUE);
+    private static final RedisCommand<Boolean> EVAL_FAST_PUT_TTL = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 12, ValueType.MAP, ValueType.MAP_VALUE);
+    private static final RedisCommand<List<Object>> EVAL_GET_TTL = new RedisCommand<List<Object>>("EVAL", new ObjectListReplayDecoder<Object>(), 9, ValueType.MAP_KEY, ValueType.MAP_VALUE);
+    private static final RedisCommand<List<Object>> EVAL_GET_ALL_TTL = new RedisCommand<List<Object>>("EVAL", new ObjectListReplayDecoder<Object>(), 9, ValueType.MAP_KEY, ValueType.MAP_VALUE);
     private static final RedisCommand<Boolean> EVAL_CONTAINS_KEY = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 7, ValueType.MAP_KEY);
     private static final RedisCommand<Boolean> EVAL_CONTAINS_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 7, ValueType.MAP_VALUE);
-    private static final RedisCommand<Long> EVAL_FAST_REMOVE = new RedisCommand<Long>("EVAL", 5, ValueType.MAP_KEY);
+    private static final RedisCommand<Long> EVAL_FAST_REMOVE = new RedisCommand<Long>("EVAL", 7, ValueType.MAP_KEY);
+
+    private static final Logger log = LoggerFactory.getLogger(RedissonMapCache.class);
+    
+    private static final int ACCESS_FLUSH_DELAY = 100;
+    
+    private static class PendingAccess {
+        
+        final long readTime;
+        final long hits;
+        
+        PendingAccess(long readTime, long hits) {
+            this.readTime = readTime;
+            this.hits = hits;
+        }
+        
+    }
+    
+    private final ConcurrentMap<K, PendingAccess> pendingAccesses = PlatformDependent.newConcurrentHashMap();
+    private final AtomicBoolean accessFlushScheduled = new AtomicBoolean();
 
     protected RedissonMapCache(EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name) {
-        super(commandExecutor, name);
-        evictionScheduler.schedule(getName(), getTimeoutSetName(), getIdleSetName());
+        this(evictionScheduler, commandExecutor, name, null);
     }
 
     public RedissonMapCache(Codec codec, EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name) {
-        super(codec, commandExecutor, name);
-        evictionScheduler.schedule(getName(), getTimeoutSetName(), getIdleSetName());
+        this(codec, evictionScheduler, commandExecutor, name, null);
+    }
+
+    protected RedissonMapCache(EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name, MapOptions<K, V> options) {
+        super(commandExecutor, name, options);
+        evictionScheduler.schedule(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName());
+    }
+
+    public RedissonMapCache(Codec codec, EvictionScheduler evictionScheduler, CommandAsyncExecutor commandExecutor, String name, MapOptions<K, V> options) {
+        super(codec, commandExecutor, name, options);
+        evictionScheduler.schedule(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName());
     }
 
     @Override
@@ -161,52 +203,77 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
     }
 
     @Override
-    public RFuture<Map<K, V>> getAllAsync(Set<K> keys) {
+    protected RFuture<Map<K, V>> getAllOperationAsync(Set<K> keys) {
         if (keys.isEmpty()) {
             return newSucceededFuture(Collections.<K, V>emptyMap());
         }
 
-        List<Object> args = new ArrayList<Object>(keys.size() + 1);
-        args.add(System.currentTimeMillis());
+        final long currentTime = System.currentTimeMillis();
+        final List<Object> args = new ArrayList<Object>(keys.size() + 1);
+        args.add(currentTime);
         args.addAll(keys);
 
-        return commandExecutor.evalWriteAsync(getName(), codec, new RedisCommand<Map<Object, Object>>("EVAL", new MapGetAllDecoder(args, 1), 7, ValueType.MAP_KEY, ValueType.MAP_VALUE),
+        final RPromise<Map<K, V>> result = newPromise();
+        RFuture<List<Object>> future = commandExecutor.evalReadAsync(getName(), codec, EVAL_GET_ALL_TTL,
                         "local expireHead = redis.call('zrange', KEYS[2], 0, 0, 'withscores');" +
                         "local currentTime = tonumber(table.remove(ARGV, 1)); " // index is the first parameter
                       + "local hasExpire = #expireHead == 2 and tonumber(expireHead[2]) <= currentTime; "
                       + "local map = redis.call('hmget', KEYS[1], unpack(ARGV)); "
-                      + "for i = #map, 1, -1 do "
-                          + "local value = map[i]; "
+                      + "local result = {redis.call('hexists', KEYS[5], 'max-size')}; "
+                      + "for i, value in ipairs(map) do "
+                          + "local val = false; "
+                          + "local t = 0; "
                           + "if value ~= false then "
                               + "local key = ARGV[i]; "
-                              + "local t, val = struct.unpack('dLc0', value); "
-                              + "map[i] = val; "
+                              + "t, val = struct.unpack('dLc0', value); "
 
                               + "if hasExpire then "
                                   + "local expireDate = redis.call('zscore', KEYS[2], key); "
                                   + "if expireDate ~= false and tonumber(expireDate) <= currentTime then "
-                                      + "map[i] = false; "
+                                      + "val = false; "
                                   + "end; "
                               + "end; "
 
                               + "if t ~= 0 then "
                                   + "local expireIdle = redis.call('zscore', KEYS[3], key); "
-                                  + "if expireIdle ~= false then "
-                                      + "if tonumber(expireIdle) > currentTime then "
-                                          + "local value = struct.pack('dLc0', t, string.len(val), val); "
-                                          + "redis.call('hset', KEYS[1], key, value); "
-                                          + "redis.call('zadd', KEYS[3], t + currentTime, key); "
-                                      + "else "
-                                          + "map[i] = false; "
-                                      + "end; "
+                                  + "if expireIdle ~= false and tonumber(expireIdle) <= currentTime then "
+                                      + "val = false; "
                                   + "end; "
                               + "end; "
-
                           + "end; "
+                          + "table.insert(result, val); "
+                          + "table.insert(result, t); "
                       + "end; "
-                      + "return map;",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), args.toArray());
-
+                      + "return result;",
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), args.toArray());
+        
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+                
+                List<Object> values = future.getNow();
+                boolean trackAccess = ((Number) values.get(0)).longValue() == 1;
+                Map<K, V> map = new HashMap<K, V>(values.size());
+                for (int i = 1; i < values.size(); i += 2) {
+                    V value = (V) values.get(i);
+                    if (value == null) {
+                        continue;
+                    }
+                    
+                    K key = (K) args.get(i/2 + 1);
+                    map.put(key, value);
+                    if (trackAccess || ((Number) values.get(i + 1)).longValue() != 0) {
+                        registerAccess(key, currentTime);
+                    }
+                }
+                result.trySuccess(map);
+            }
+        });
+        return result;
     }
 
     @Override
@@ -256,31 +323,36 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
             maxIdleTimeout = System.currentTimeMillis() + maxIdleDelta;
         }
 
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_PUT_TTL,
-                      "if redis.call('hexists', KEYS[1], ARGV[4]) == 0 then "
+        RFuture<V> future = evalWriteAsync(Collections.singletonList(key), false, EVAL_PUT_TTL,
+                      "if redis.call('hexists', KEYS[1], ARGV[5]) == 0 then "
                         + "if tonumber(ARGV[1]) > 0 then "
-                            + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[4]); "
+                            + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[5]); "
                         + "end; "
                         + "if tonumber(ARGV[2]) > 0 then "
-                            + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[4]); "
+                            + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[5]); "
                         + "end; "
-                        + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[5]), ARGV[5]); "
-                        + "redis.call('hset', KEYS[1], ARGV[4], value); "
+                        + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[6]), ARGV[6]); "
+                        + "redis.call('hset', KEYS[1], ARGV[5], value); "
+                        + maxSizeScript("ARGV[5]", "ARGV[4]")
                         + "return nil; "
                     + "else "
-                        + "local value = redis.call('hget', KEYS[1], ARGV[4]); "
+                        + "local value = redis.call('hget', KEYS[1], ARGV[5]); "
                         + "if value == false then "
                             + "return nil; "
                         + "end;"
                         + "local t, val = struct.unpack('dLc0', value); "
                         + "return val; "
                     + "end",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, System.currentTimeMillis(), key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.NULL_RESULT));
     }
 
     @Override
-    public RFuture<Boolean> removeAsync(Object key, Object value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_REMOVE_VALUE,
+    protected RFuture<Boolean> removeOperationAsync(Object key, Object value) {
+        return evalWriteAsync(Collections.singletonList(key), true, EVAL_REMOVE_VALUE,
                   "local value = redis.call('hget', KEYS[1], ARGV[1]); "
                 + "if value == false then "
                     + "return 0; "
@@ -289,16 +361,19 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                 + "if val == ARGV[2] then "
                     + "redis.call('zrem', KEYS[2], ARGV[1]); "
                     + "redis.call('zrem', KEYS[3], ARGV[1]); "
+                    + "redis.call('zrem', KEYS[4], ARGV[1]); "
                     + "return redis.call('hdel', KEYS[1], ARGV[1]); "
                 + "else "
                     + "return 0 "
                 + "end",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), key, value);
     }
 
     @Override
-    public RFuture<V> getAsync(K key) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_GET_TTL,
+    protected RFuture<V> getOperationAsync(final K key) {
+        final long currentTime = System.currentTimeMillis();
+        final RPromise<V> result = newPromise();
+        RFuture<List<Object>> future = commandExecutor.evalReadAsync(getName(), codec, EVAL_GET_TTL,
                    "local value = redis.call('hget', KEYS[1], ARGV[2]); "
                  + "if value == false then "
                      + "return nil; "
@@ -312,55 +387,160 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                  + "if t ~= 0 then "
                      + "local expireIdle = redis.call('zscore', KEYS[3], ARGV[2]); "
                      + "if expireIdle ~= false then "
-                         + "if tonumber(expireIdle) > tonumber(ARGV[1]) then "
-                             + "local value = struct.pack('dLc0', t, string.len(val), val); "
-                             + "redis.call('hset', KEYS[1], ARGV[2], value); "
-                             + "redis.call('zadd', KEYS[3], t + tonumber(ARGV[1]), ARGV[2]); "
-                         + "end; "
                          + "expireDate = math.min(expireDate, tonumber(expireIdle)) "
                      + "end; "
                  + "end; "
                  + "if expireDate <= tonumber(ARGV[1]) then "
                      + "return nil; "
                  + "end; "
-                 + "return val; ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), System.currentTimeMillis(), key);
+                 + "return {val, t, redis.call('hexists', KEYS[5], 'max-size')}; ",
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), currentTime, key);
+        
+        future.addListener(new FutureListener<List<Object>>() {
+            @Override
+            public void operationComplete(Future<List<Object>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+                
+                List<Object> res = future.getNow();
+                if (res == null || res.isEmpty()) {
+                    result.trySuccess(null);
+                    return;
+                }
+                
+                if (((Number) res.get(1)).longValue() != 0 
+                        || ((Number) res.get(2)).longValue() == 1) {
+                    registerAccess(key, currentTime);
+                }
+                result.trySuccess((V) res.get(0));
+            }
+        });
+        return result;
+    }
+    
+    /*
+     * Read operations are executed by read-only scripts, 
+     * so max idle time and access order of entries are updated afterwards by separate write script.
+     * Accesses are collected and sent in one batch per ACCESS_FLUSH_DELAY interval.
+     * Max idle time is updated using time of read operation, 
+     * but entry still could expire if its max idle time elapses before update is sent.
+     */
+    private void registerAccess(K key, long readTime) {
+        while (true) {
+            PendingAccess access = pendingAccesses.get(key);
+            if (access == null) {
+                if (pendingAccesses.putIfAbsent(key, new PendingAccess(readTime, 1)) == null) {
+                    break;
+                }
+            } else {
+                PendingAccess newAccess = new PendingAccess(Math.max(access.readTime, readTime), access.hits + 1);
+                if (pendingAccesses.replace(key, access, newAccess)) {
+                    break;
+                }
+            }
+        }
+        
+        if (!accessFlushScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        
+        commandExecutor.getConnectionManager().newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                accessFlushScheduled.set(false);
+                flushAccesses();
+            }
+        }, ACCESS_FLUSH_DELAY, TimeUnit.MILLISECONDS);
+    }
+    
+    private void flushAccesses() {
+        List<Object> params = new ArrayList<Object>();
+        for (Map.Entry<K, PendingAccess> entry : pendingAccesses.entrySet()) {
+            if (pendingAccesses.remove(entry.getKey(), entry.getValue())) {
+                params.add(entry.getValue().readTime);
+                params.add(entry.getValue().hits);
+                params.add(encodeMapKey(entry.getKey()));
+            }
+        }
+        if (params.isEmpty()) {
+            return;
+        }
+        
+        RFuture<Void> future = commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
+                MAX_SIZE_SCRIPT
+              + "for i = 1, #ARGV, 3 do "
+                  + "local readTime = tonumber(ARGV[i]); "
+                  + "local key = ARGV[i+2]; "
+                  + "local value = redis.call('hget', KEYS[1], key); "
+                  + "if value ~= false then "
+                      + "local expireIdle = redis.call('zscore', KEYS[3], key); "
+                      + "if expireIdle ~= false and tonumber(expireIdle) > readTime then "
+                          + "local t, val = struct.unpack('dLc0', value); "
+                          + "if t ~= 0 and t + readTime > tonumber(expireIdle) then "
+                              + "redis.call('zadd', KEYS[3], t + readTime, key); "
+                          + "end; "
+                      + "end; "
+                      + "if maxSize ~= nil and maxSize ~= 0 then "
+                          + "if mode == 'LFU' then "
+                              + "redis.call('zincrby', KEYS[4], ARGV[i+1], key); "
+                          + "else "
+                              + "local lastAccess = redis.call('zscore', KEYS[4], key); "
+                              + "if lastAccess == false or tonumber(lastAccess) < readTime then "
+                                  + "redis.call('zadd', KEYS[4], readTime, key); "
+                              + "end; "
+                          + "end; "
+                      + "end; "
+                  + "end; "
+              + "end; ",
+              Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), params.toArray());
+        
+        future.addListener(new FutureListener<Void>() {
+            @Override
+            public void operationComplete(Future<Void> future) throws Exception {
+                if (!future.isSuccess()) {
+                    log.error("Can't update access time of entries. RMapCache name: " + getName(), future.cause());
+                }
+            }
+        });
     }
 
-    @Override
     public V put(K key, V value, long ttl, TimeUnit unit) {
         return get(putAsync(key, value, ttl, unit));
     }
 
     @Override
-    public RFuture<V> putAsync(K key, V value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_PUT,
-                  "local v = redis.call('hget', KEYS[1], ARGV[1]); "
-                + "local value = struct.pack('dLc0', 0, string.len(ARGV[2]), ARGV[2]); "
-                + "redis.call('hset', KEYS[1], ARGV[1], value); "
+    protected RFuture<V> putOperationAsync(K key, V value) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_PUT,
+                  "local v = redis.call('hget', KEYS[1], ARGV[2]); "
+                + "local value = struct.pack('dLc0', 0, string.len(ARGV[3]), ARGV[3]); "
+                + "redis.call('hset', KEYS[1], ARGV[2], value); "
+                + maxSizeScript("ARGV[2]", "ARGV[1]")
                 + "if v == false then "
                     + "return nil; "
                 + "end; "
                 + "local t, val = struct.unpack('dLc0', v); "
                 + "return val; ",
-                Collections.<Object>singletonList(getName()), key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, value);
     }
 
     @Override
-    public RFuture<V> putIfAbsentAsync(K key, V value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_PUT,
-                 "local value = struct.pack('dLc0', 0, string.len(ARGV[2]), ARGV[2]); "
-                 + "if redis.call('hsetnx', KEYS[1], ARGV[1], value) == 1 then "
+    protected RFuture<V> putIfAbsentOperationAsync(K key, V value) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_PUT,
+                 "local value = struct.pack('dLc0', 0, string.len(ARGV[3]), ARGV[3]); "
+                 + "if redis.call('hsetnx', KEYS[1], ARGV[2], value) == 1 then "
+                    + maxSizeScript("ARGV[2]", "ARGV[1]")
                     + "return nil "
                 + "else "
-                    + "local v = redis.call('hget', KEYS[1], ARGV[1]); "
+                    + "local v = redis.call('hget', KEYS[1], ARGV[2]); "
                     + "if v == false then "
                         + "return nil; "
                     + "end; "
                     + "local t, val = struct.unpack('dLc0', v); "
                     + "return val; "
                 + "end",
-                Collections.<Object>singletonList(getName()), key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, value);
     }
 
     @Override
@@ -410,20 +590,26 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
             maxIdleTimeout = System.currentTimeMillis() + maxIdleDelta;
         }
 
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_FAST_PUT_TTL,
+        RFuture<Boolean> future = evalWriteAsync(Collections.singletonList(key), false, EVAL_FAST_PUT_TTL,
                   "if tonumber(ARGV[1]) > 0 then "
-                    + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[4]); "
+                    + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[5]); "
                 + "else "
-                    + "redis.call('zrem', KEYS[2], ARGV[4]); "
+                    + "redis.call('zrem', KEYS[2], ARGV[5]); "
                 + "end; "
                 + "if tonumber(ARGV[2]) > 0 then "
-                    + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[4]); "
+                    + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[5]); "
                 + "else "
-                    + "redis.call('zrem', KEYS[3], ARGV[4]); "
+                    + "redis.call('zrem', KEYS[3], ARGV[5]); "
                 + "end; "
-                + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[5]), ARGV[5]); " +
-                  "return redis.call('hset', KEYS[1], ARGV[4], value); ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, key, value);
+                + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[6]), ARGV[6]); "
+                + "local result = redis.call('hset', KEYS[1], ARGV[5], value); "
+                + maxSizeScript("ARGV[5]", "ARGV[4]")
+                + "return result; ",
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, System.currentTimeMillis(), key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.ALWAYS));
     }
 
     @Override
@@ -468,26 +654,31 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
             maxIdleTimeout = System.currentTimeMillis() + maxIdleDelta;
         }
 
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_PUT_TTL,
-                  "local v = redis.call('hget', KEYS[1], ARGV[4]); "
+        RFuture<V> future = evalWriteAsync(Collections.singletonList(key), false, EVAL_PUT_TTL,
+                  "local v = redis.call('hget', KEYS[1], ARGV[5]); "
                 + "if tonumber(ARGV[1]) > 0 then "
-                    + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[4]); "
+                    + "redis.call('zadd', KEYS[2], ARGV[1], ARGV[5]); "
                 + "else "
-                    + "redis.call('zrem', KEYS[2], ARGV[4]); "
+                    + "redis.call('zrem', KEYS[2], ARGV[5]); "
                 + "end; "
                 + "if tonumber(ARGV[2]) > 0 then "
-                    + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[4]); "
+                    + "redis.call('zadd', KEYS[3], ARGV[2], ARGV[5]); "
                 + "else "
-                    + "redis.call('zrem', KEYS[3], ARGV[4]); "
+                    + "redis.call('zrem', KEYS[3], ARGV[5]); "
                 + "end; "
-                + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[5]), ARGV[5]); "
-                + "redis.call('hset', KEYS[1], ARGV[4], value); "
+                + "local value = struct.pack('dLc0', ARGV[3], string.len(ARGV[6]), ARGV[6]); "
+                + "redis.call('hset', KEYS[1], ARGV[5], value); "
+                + maxSizeScript("ARGV[5]", "ARGV[4]")
                 + "if v == false then "
                     + "return nil;"
                 + "end; "
                 + "local t, val = struct.unpack('dLc0', v); "
                 + "return val",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), ttlTimeout, maxIdleTimeout, maxIdleDelta, System.currentTimeMillis(), key, value);
+        if (!hasWriter()) {
+            return future;
+        }
+        return mapWriterFuture(future, MapWriterTask.write(key, value, Condition.ALWAYS));
     }
 
     String getTimeoutSetName() {
@@ -498,42 +689,163 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
         return "redisson__idle__set__{" + getName() + "}";
     }
 
+    String getLastAccessSetName() {
+        return "redisson__last_access__set__{" + getName() + "}";
+    }
+
+    String getOptionsName() {
+        return "redisson__options__{" + getName() + "}";
+    }
+
+    /*
+     * Following Lua snippets expect KEYS[1] - map, KEYS[2] - timeout set, KEYS[3] - idle set,
+     * KEYS[4] - last access set and KEYS[5] - options.
+     * Last access set stores access time of each entry in LRU mode and access count in LFU mode.
+     */
+    static final String MAX_SIZE_SCRIPT = 
+            "local maxSize = tonumber(redis.call('hget', KEYS[5], 'max-size')); "
+          + "local mode = redis.call('hget', KEYS[5], 'mode'); ";
+    
+    static String trackAccessScript(String key, String currentTime) {
+        return "if maxSize ~= nil and maxSize ~= 0 then "
+                + "if mode == 'LFU' then "
+                    + "redis.call('zincrby', KEYS[4], 1, " + key + "); "
+                + "else "
+                    + "redis.call('zadd', KEYS[4], " + currentTime + ", " + key + "); "
+                + "end; "
+             + "end; ";
+    }
+    
+    /*
+     * Entry stored by current operation is never evicted. 
+     * Amount of entries is taken from map itself, since last access set could contain 
+     * stale members, which are removed once found.
+     */
+    static String evictScript(String keptKey) {
+        return "if maxSize ~= nil and maxSize ~= 0 then "
+                + "local excess = redis.call('hlen', KEYS[1]) - maxSize; "
+                + "local offset = 0; "
+                + "while excess > 0 do "
+                    + "local candidates = redis.call('zrange', KEYS[4], offset, offset + excess); "
+                    + "if #candidates == 0 then "
+                        + "break; "
+                    + "end; "
+                    + "for i, candidate in ipairs(candidates) do "
+                        + "if excess == 0 then "
+                            + "break; "
+                        + "end; "
+                        + "if candidate == " + keptKey + " or candidate == 'redisson__expiretag' then "
+                            + "offset = offset + 1; "
+                        + "elseif redis.call('hdel', KEYS[1], candidate) == 1 then "
+                            + "redis.call('zrem', KEYS[2], candidate); "
+                            + "redis.call('zrem', KEYS[3], candidate); "
+                            + "redis.call('zrem', KEYS[4], candidate); "
+                            + "excess = excess - 1; "
+                        + "else "
+                            + "redis.call('zrem', KEYS[4], candidate); "
+                        + "end; "
+                    + "end; "
+                + "end; "
+             + "end; ";
+    }
+    
+    static String maxSizeScript(String key, String currentTime) {
+        return MAX_SIZE_SCRIPT + trackAccessScript(key, currentTime) + evictScript(key);
+    }
+    
+    @Override
+    public void setMaxSize(int maxSize) {
+        get(setMaxSizeAsync(maxSize));
+    }
+    
+    @Override
+    public void setMaxSize(int maxSize, EvictionMode mode) {
+        get(setMaxSizeAsync(maxSize, mode));
+    }
+    
+    @Override
+    public RFuture<Void> setMaxSizeAsync(int maxSize) {
+        return setMaxSizeAsync(maxSize, EvictionMode.LRU);
+    }
+    
+    @Override
+    public RFuture<Void> setMaxSizeAsync(int maxSize, EvictionMode mode) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize can't be negative");
+        }
+        if (mode == null) {
+            throw new NullPointerException("mode can't be null");
+        }
+        
+        // access order is unknown for entries stored before, so they are treated as equally used
+        // last access set and options follow time to live of map
+        return commandExecutor.evalWriteAsync(getName(), LongCodec.INSTANCE, RedisCommands.EVAL_VOID,
+                  "local maxSize = tonumber(ARGV[1]); "
+                + "local mode = ARGV[2]; "
+                + "if maxSize == 0 then "
+                    + "redis.call('del', KEYS[4], KEYS[5]); "
+                    + "return; "
+                + "end; "
+                + "if redis.call('hget', KEYS[5], 'mode') ~= mode then "
+                    + "redis.call('del', KEYS[4]); "
+                    + "local score = 0; "
+                    + "if mode == 'LRU' then "
+                        + "score = ARGV[3]; "
+                    + "end; "
+                    + "for i, key in ipairs(redis.call('hkeys', KEYS[1])) do "
+                        + "redis.call('zadd', KEYS[4], score, key); "
+                    + "end; "
+                + "end; "
+                + "redis.call('hmset', KEYS[5], 'max-size', maxSize, 'mode', mode); "
+                + "local ttl = redis.call('pttl', KEYS[1]); "
+                + "if ttl > 0 then "
+                    + "redis.call('zadd', KEYS[4], 92233720368547758, 'redisson__expiretag'); "
+                    + "redis.call('pexpire', KEYS[4], ttl); "
+                    + "redis.call('pexpire', KEYS[5], ttl); "
+                + "end; "
+                + evictScript("nil"),
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), 
+                maxSize, mode.toString(), System.currentTimeMillis());
+    }
+
     @Override
-    public RFuture<V> removeAsync(K key) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_REMOVE,
+    protected RFuture<V> removeOperationAsync(K key) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_REMOVE,
                   "local v = redis.call('hget', KEYS[1], ARGV[1]); "
                 + "redis.call('zrem', KEYS[2], ARGV[1]); "
                 + "redis.call('zrem', KEYS[3], ARGV[1]); "
+                + "redis.call('zrem', KEYS[4], ARGV[1]); "
                 + "redis.call('hdel', KEYS[1], ARGV[1]); "
                 + "if v ~= false then "
                     + "local t, val = struct.unpack('dLc0', v); "
                     + "return val; "
                 + "end; "
                 + "return v",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), key);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName()), key);
     }
 
     @Override
-    public RFuture<Long> fastRemoveAsync(K ... keys) {
+    protected RFuture<Long> fastRemoveOperationAsync(K ... keys) {
         if (keys == null || keys.length == 0) {
             return newSucceededFuture(0L);
         }
 
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_FAST_REMOVE,
+        return evalWriteAsync(Arrays.asList(keys), false, EVAL_FAST_REMOVE,
+                "redis.call('zrem', KEYS[4], unpack(ARGV)); " +
                 "redis.call('zrem', KEYS[3], unpack(ARGV)); " +
                 "redis.call('zrem', KEYS[2], unpack(ARGV)); " +
                 "return redis.call('hdel', KEYS[1], unpack(ARGV)); ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), keys);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName()), keys);
     }
 
     @Override
-    MapScanResult<ScanObjectEntry, ScanObjectEntry> scanIterator(String name, InetSocketAddress client, long startPos) {
+    RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> scanIteratorAsync(String name, InetSocketAddress client, long startPos, int count) {
         RedisCommand<MapCacheScanResult<Object, Object>> EVAL_HSCAN = new RedisCommand<MapCacheScanResult<Object, Object>>("EVAL", 
                 new ListMultiDecoder(new LongMultiDecoder(), new ObjectMapDecoder(new ScanCodec(codec)), new ObjectListDecoder(codec), new MapCacheScanResultReplayDecoder()), ValueType.MAP);
-        RFuture<MapCacheScanResult<ScanObjectEntry, ScanObjectEntry>> f = commandExecutor.evalReadAsync(client, getName(), codec, EVAL_HSCAN,
+        RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> f = commandExecutor.evalReadAsync(client, getName(), codec, EVAL_HSCAN,
                 "local result = {}; "
                 + "local idleKeys = {}; "
-                + "local res = redis.call('hscan', KEYS[1], ARGV[2]); "
+                + "local res = redis.call('hscan', KEYS[1], ARGV[2], 'count', ARGV[3]); "
                 + "local currentTime = tonumber(ARGV[1]); "
                 + "for i, value in ipairs(res[2]) do "
                     + "if i % 2 == 0 then "
@@ -561,14 +873,14 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                         + "end; "
                     + "end; "
                 + "end;"
-                + "return {res[1], result, idleKeys};", Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), System.currentTimeMillis(), startPos);
+                + "return {res[1], result, idleKeys};", Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), System.currentTimeMillis(), startPos, count);
         
-        f.addListener(new FutureListener<MapCacheScanResult<ScanObjectEntry, ScanObjectEntry>>() {
+        f.addListener(new FutureListener<MapScanResult<ScanObjectEntry, ScanObjectEntry>>() {
             @Override
-            public void operationComplete(Future<MapCacheScanResult<ScanObjectEntry, ScanObjectEntry>> future)
+            public void operationComplete(Future<MapScanResult<ScanObjectEntry, ScanObjectEntry>> future)
                     throws Exception {
                 if (future.isSuccess()) {
-                    MapCacheScanResult<ScanObjectEntry, ScanObjectEntry> res = future.getNow();
+                    MapCacheScanResult<ScanObjectEntry, ScanObjectEntry> res = (MapCacheScanResult<ScanObjectEntry, ScanObjectEntry>) future.getNow();
                     if (res.getIdleKeys().isEmpty()) {
                         return;
                     }
@@ -604,28 +916,34 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
             }
         });
 
-        return get(f);
+        return f;
     }
 
     @Override
-    public RFuture<Boolean> fastPutAsync(K key, V value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_HSET,
-                "local val = struct.pack('dLc0', 0, string.len(ARGV[2]), ARGV[2]); "
-              + "return redis.call('hset', KEYS[1], ARGV[1], val); ",
-          Collections.<Object>singletonList(getName()), key, value);
+    protected RFuture<Boolean> fastPutOperationAsync(K key, V value) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_HSET,
+                "local val = struct.pack('dLc0', 0, string.len(ARGV[3]), ARGV[3]); "
+              + "local result = redis.call('hset', KEYS[1], ARGV[2], val); "
+              + maxSizeScript("ARGV[2]", "ARGV[1]")
+              + "return result; ",
+          Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, value);
     }
 
     @Override
-    public RFuture<Boolean> fastPutIfAbsentAsync(K key, V value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_HSET,
-                "local val = struct.pack('dLc0', 0, string.len(ARGV[2]), ARGV[2]); "
-              + "return redis.call('hsetnx', KEYS[1], ARGV[1], val); ",
-          Collections.<Object>singletonList(getName()), key, value);
+    protected RFuture<Boolean> fastPutIfAbsentOperationAsync(K key, V value) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_HSET,
+                "local val = struct.pack('dLc0', 0, string.len(ARGV[3]), ARGV[3]); "
+              + "local result = redis.call('hsetnx', KEYS[1], ARGV[2], val); "
+              + "if result == 1 then "
+                  + maxSizeScript("ARGV[2]", "ARGV[1]")
+              + "end; "
+              + "return result; ",
+          Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, value);
     }
 
     @Override
-    public RFuture<Boolean> replaceAsync(K key, V oldValue, V newValue) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_REPLACE_VALUE,
+    protected RFuture<Boolean> replaceOperationAsync(K key, V oldValue, V newValue) {
+        return evalWriteAsync(Collections.singletonList(key), true, EVAL_REPLACE_VALUE,
                   "local v = redis.call('hget', KEYS[1], ARGV[2]); "
                 + "if v == false then "
                     + "return 0;"
@@ -651,15 +969,17 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                 + "if expireDate > tonumber(ARGV[1]) and val == ARGV[3] then "
                     + "local value = struct.pack('dLc0', t, string.len(ARGV[4]), ARGV[4]); "
                     + "redis.call('hset', KEYS[1], ARGV[2], value); "
+                    + MAX_SIZE_SCRIPT 
+                    + trackAccessScript("ARGV[2]", "ARGV[1]")
                     + "return 1; "
                 + "end; "
                 + "return 0; ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), System.currentTimeMillis(), key, oldValue, newValue);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, oldValue, newValue);
     }
 
     @Override
-    public RFuture<V> replaceAsync(K key, V value) {
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_REPLACE,
+    protected RFuture<V> replaceOperationAsync(K key, V value) {
+        return evalWriteAsync(Collections.singletonList(key), false, EVAL_REPLACE,
                   "local v = redis.call('hget', KEYS[1], ARGV[2]); "
                 + "if v ~= false then "
                     + "local t, val = struct.unpack('dLc0', v); "
@@ -668,39 +988,72 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                     + "end; "
                     + "local value = struct.pack('dLc0', t, string.len(ARGV[3]), ARGV[3]); "
                     + "redis.call('hset', KEYS[1], ARGV[2], value); "
+                    + MAX_SIZE_SCRIPT 
+                    + trackAccessScript("ARGV[2]", "ARGV[1]")
                     + "return val; "
                 + "else "
                     + "return nil; "
                 + "end",
-                Arrays.<Object>asList(getName(), getTimeoutSetName()), System.currentTimeMillis(), key, value);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), System.currentTimeMillis(), key, value);
     }
 
     @Override
-    public RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map) {
+    protected RFuture<Void> putAllOperationAsync(Map<? extends K, ? extends V> map) {
         if (map.isEmpty()) {
             return newSucceededFuture(null);
         }
 
-        List<Object> params = new ArrayList<Object>(map.size()*2);
+        List<Object> params = new ArrayList<Object>(map.size()*2 + 1);
+        params.add(System.currentTimeMillis());
         for (java.util.Map.Entry<? extends K, ? extends V> t : map.entrySet()) {
             params.add(t.getKey());
             params.add(t.getValue());
         }
 
-        return commandExecutor.evalWriteAsync(getName(), codec, EVAL_HMSET,
-                  "for i, value in ipairs(ARGV) do "
+        return evalWriteAsync(map.keySet(), false, EVAL_HMSET,
+                  "local currentTime = table.remove(ARGV, 1); " // index is the first parameter
+                + MAX_SIZE_SCRIPT
+                + "for i, value in ipairs(ARGV) do "
                     + "if i % 2 == 0 then "
                         + "local val = struct.pack('dLc0', 0, string.len(value), value); "
                         + "ARGV[i] = val; "
+                    + "else "
+                        + trackAccessScript("value", "currentTime")
                     + "end;"
                 + "end;"
-                + "return redis.call('hmset', KEYS[1], unpack(ARGV)); ",
-            Collections.<Object>singletonList(getName()), params.toArray());
+                + "redis.call('hmset', KEYS[1], unpack(ARGV)); "
+                + evictScript("nil"),
+            Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), params.toArray());
+    }
+
+    /*
+     * Map entries write operations are executed through this method,
+     * so subclasses could extend script to be executed atomically with write.
+     * mapKeys - keys of changed entries, 
+     * onlyIfChanged - script returns 1 only if entry has been changed.
+     */
+    protected <T, R> RFuture<R> evalWriteAsync(Collection<?> mapKeys, boolean onlyIfChanged, 
+            RedisCommand<T> evalCommandType, String script, List<Object> keys, Object... params) {
+        return commandExecutor.evalWriteAsync(getName(), codec, evalCommandType, script, keys, params);
+    }
+
+    @Override
+    public void clear() {
+        get(clearAsync());
+    }
+
+    /*
+     * Options aren't removed, so max size survives clear.
+     */
+    protected RFuture<Boolean> clearAsync() {
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getTimeoutSetName(), getIdleSetName(), 
+                getLastAccessSetName());
     }
 
     @Override
     public RFuture<Boolean> deleteAsync() {
-        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getTimeoutSetName(), getIdleSetName());
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getTimeoutSetName(), getIdleSetName(), 
+                getLastAccessSetName(), getOptionsName());
     }
 
     @Override
@@ -710,8 +1063,13 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                 "redis.call('pexpire', KEYS[2], ARGV[1]); " +
                 "redis.call('zadd', KEYS[3], 92233720368547758, 'redisson__expiretag');" +
                 "redis.call('pexpire', KEYS[3], ARGV[1]); " +
+                "if redis.call('hexists', KEYS[5], 'max-size') == 1 then " +
+                    "redis.call('zadd', KEYS[4], 92233720368547758, 'redisson__expiretag');" +
+                    "redis.call('pexpire', KEYS[4], ARGV[1]); " +
+                    "redis.call('pexpire', KEYS[5], ARGV[1]); " +
+                "end; " +
                 "return redis.call('pexpire', KEYS[1], ARGV[1]); ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), timeUnit.toMillis(timeToLive));
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), timeUnit.toMillis(timeToLive));
     }
 
     @Override
@@ -720,9 +1078,14 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                 "redis.call('zadd', KEYS[2], 92233720368547758, 'redisson__expiretag');" +
                 "redis.call('pexpireat', KEYS[2], ARGV[1]); " +
                 "redis.call('zadd', KEYS[3], 92233720368547758, 'redisson__expiretag');" +
-                "redis.call('pexpire', KEYS[3], ARGV[1]); " +
+                "redis.call('pexpireat', KEYS[3], ARGV[1]); " +
+                "if redis.call('hexists', KEYS[5], 'max-size') == 1 then " +
+                    "redis.call('zadd', KEYS[4], 92233720368547758, 'redisson__expiretag');" +
+                    "redis.call('pexpireat', KEYS[4], ARGV[1]); " +
+                    "redis.call('pexpireat', KEYS[5], ARGV[1]); " +
+                "end; " +
                 "return redis.call('pexpireat', KEYS[1], ARGV[1]); ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()), timestamp);
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()), timestamp);
     }
 
     @Override
@@ -732,8 +1095,11 @@ public class RedissonMapCache<K, V> extends RedissonMap<K, V> implements RMapCac
                   "redis.call('persist', KEYS[2]); " +
                   "redis.call('zrem', KEYS[3], 'redisson__expiretag'); " +
                   "redis.call('persist', KEYS[3]); " +
+                  "redis.call('zrem', KEYS[4], 'redisson__expiretag'); " +
+                  "redis.call('persist', KEYS[4]); " +
+                  "redis.call('persist', KEYS[5]); " +
                   "return redis.call('persist', KEYS[1]); ",
-                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName()));
+                Arrays.<Object>asList(getName(), getTimeoutSetName(), getIdleSetName(), getLastAccessSetName(), getOptionsName()));
     }
 
     @Override
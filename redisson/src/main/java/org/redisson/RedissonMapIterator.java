@@ -15,21 +15,43 @@
  */
 package org.redisson;
 
+import java.net.InetSocketAddress;
 import java.util.Map.Entry;
 
+import org.redisson.api.RFuture;
 import org.redisson.client.protocol.decoder.MapScanResult;
 import org.redisson.client.protocol.decoder.ScanObjectEntry;
 
 public class RedissonMapIterator<K, V, M> extends RedissonBaseMapIterator<K, V, M> {
 
     private final RedissonMap<K, V> map;
+    private final ScanPrefetcher<MapScanResult<ScanObjectEntry, ScanObjectEntry>> prefetcher;
 
     public RedissonMapIterator(RedissonMap<K, V> map) {
+        this(map, 10, 0);
+    }
+    
+    public RedissonMapIterator(final RedissonMap<K, V> map, final int count, int prefetch) {
         this.map = map;
+        this.prefetcher = new ScanPrefetcher<MapScanResult<ScanObjectEntry, ScanObjectEntry>>(map.commandExecutor, prefetch) {
+            @Override
+            RFuture<MapScanResult<ScanObjectEntry, ScanObjectEntry>> scanAsync(InetSocketAddress client, long startPos) {
+                return map.scanIteratorAsync(map.getName(), client, startPos, count);
+            }
+            
+            @Override
+            protected void release(MapScanResult<ScanObjectEntry, ScanObjectEntry> result) {
+                for (Entry<ScanObjectEntry, ScanObjectEntry> entry : result.getMap().entrySet()) {
+                    entry.getKey().getBuf().release();
+                    entry.getValue().getBuf().release();
+                }
+            }
+        };
+        prefetcher.start();
     }
 
     protected MapScanResult<ScanObjectEntry, ScanObjectEntry> iterator() {
-        return map.scanIterator(map.getName(), client, nextIterPos);
+        return prefetcher.fetch(client, nextIterPos);
     }
 
     protected void removeKey() {
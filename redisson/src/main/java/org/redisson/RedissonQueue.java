@@ -15,6 +15,8 @@
  */
 package org.redisson;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.redisson.api.RFuture;
@@ -81,6 +83,24 @@ public class RedissonQueue<V> extends RedissonList<V> implements RQueue<V> {
         return get(pollAsync());
     }
 
+    @Override
+    public RFuture<List<V>> pollAsync(int limit) {
+        if (limit <= 0) {
+            return newSucceededFuture(Collections.<V>emptyList());
+        }
+
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_LIST,
+                "local result = redis.call('lrange', KEYS[1], 0, ARGV[1] - 1); "
+              + "redis.call('ltrim', KEYS[1], ARGV[1], -1); "
+              + "return result;",
+                Collections.<Object>singletonList(getName()), limit);
+    }
+
+    @Override
+    public List<V> poll(int limit) {
+        return get(pollAsync(limit));
+    }
+
     @Override
     public V element() {
         return getFirst();
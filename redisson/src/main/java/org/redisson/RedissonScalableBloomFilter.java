@@ -0,0 +1,706 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RScalableBloomFilter;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.DoubleCodec;
+import org.redisson.client.codec.LongCodec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommand;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.client.protocol.RedisStrictCommand;
+import org.redisson.client.protocol.decoder.ObjectMapReplayDecoder;
+import org.redisson.command.CommandBatchService;
+import org.redisson.command.CommandExecutor;
+import org.redisson.misc.RPromise;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import net.openhft.hashing.LongHashFunction;
+
+/**
+ * Scalable Bloom filter. 
+ * <p>
+ * Config and amount of elements of each layer are stored in <code>{name}__config</code> hash. 
+ * Layers are stored in <code>{name}:index</code> keys, so all keys share the same hash slot.
+ * Add script call receives bit indexes for all existing layers and one spare layer, 
+ * which is used once last layer is full. Contains script call receives bit indexes 
+ * of existing layers only. 
+ * Filter stops growing once size of spare layer would exceed max Bloom filter size.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> type of object
+ */
+public class RedissonScalableBloomFilter<T> extends RedissonExpirable implements RScalableBloomFilter<T> {
+
+    /*
+     * ARGV[1] - layers, ARGV[2] - passed layers, ARGV[3] - indexes per element, 
+     * ARGV[4..4+passed] - hashIterations of each passed layer, 
+     * ARGV[4+passed..4+2*passed] - capacity of each passed layer,
+     * ARGV[4+2*passed..] - bit indexes of elements.
+     */
+    private static final String LAYERS_SCRIPT = 
+            "local L = tonumber(ARGV[1]); "
+          + "local layers = tonumber(redis.call('hget', KEYS[1], 'layers')); "
+          + "assert(layers == L, 'Bloom filter config has been changed'); "
+          + "local N = tonumber(ARGV[2]); "
+          + "local K = tonumber(ARGV[3]); "
+          + "local k = {}; "
+          + "local cap = {}; "
+          + "for i = 0, N - 1 do "
+              + "k[i] = tonumber(ARGV[4 + i]); "
+              + "cap[i] = tonumber(ARGV[4 + N + i]); "
+          + "end; "
+          + "local result = {}; ";
+
+    /*
+     * Element is added to last layer only if it's absent in all layers.
+     * Script stops if spare layer is full and returns results of processed elements.
+     * If spare layer isn't passed, because it exceeds max size, 
+     * last layer keeps elements over its capacity.
+     */
+    private static final String ADD_SCRIPT = 
+            LAYERS_SCRIPT
+          + "local current = L - 1; "
+          + "local count = tonumber(redis.call('hget', KEYS[1], 'count:' .. current) or 0); "
+          + "for e = 4 + 2*N, #ARGV, K do "
+              + "local present = 0; "
+              + "local offset = e; "
+              + "for i = 0, current do "
+                  + "local all = 1; "
+                  + "for j = offset, offset + k[i] - 1 do "
+                      + "if redis.call('getbit', KEYS[2 + i], ARGV[j]) == 0 then "
+                          + "all = 0; "
+                          + "break; "
+                      + "end; "
+                  + "end; "
+                  + "if all == 1 then "
+                      + "present = 1; "
+                      + "break; "
+                  + "end; "
+                  + "offset = offset + k[i]; "
+              + "end; "
+              + "if present == 0 then "
+                  + "if count >= cap[current] then "
+                      + "if current + 1 < N then "
+                          + "current = current + 1; "
+                          + "count = 0; "
+                          + "redis.call('hset', KEYS[1], 'layers', current + 1); "
+                      + "elseif N > L then "
+                          + "break; "
+                      + "end; "
+                  + "end; "
+                  + "offset = e; "
+                  + "for i = 0, current - 1 do "
+                      + "offset = offset + k[i]; "
+                  + "end; "
+                  + "for j = offset, offset + k[current] - 1 do "
+                      + "redis.call('setbit', KEYS[2 + current], ARGV[j], 1); "
+                  + "end; "
+                  + "count = count + 1; "
+                  + "redis.call('hset', KEYS[1], 'count:' .. current, count); "
+              + "end; "
+              + "table.insert(result, 1 - present); "
+          + "end; "
+          + "return result;";
+
+    private static final String CONTAINS_SCRIPT = 
+            LAYERS_SCRIPT
+          + "for e = 4 + 2*N, #ARGV, K do "
+              + "local present = 0; "
+              + "local offset = e; "
+              + "for i = 0, L - 1 do "
+                  + "local all = 1; "
+                  + "for j = offset, offset + k[i] - 1 do "
+                      + "if redis.call('getbit', KEYS[2 + i], ARGV[j]) == 0 then "
+                          + "all = 0; "
+                          + "break; "
+                      + "end; "
+                  + "end; "
+                  + "if all == 1 then "
+                      + "present = 1; "
+                      + "break; "
+                  + "end; "
+                  + "offset = offset + k[i]; "
+              + "end; "
+              + "table.insert(result, present); "
+          + "end; "
+          + "return result;";
+
+    static class Config {
+
+        final long expectedInsertions;
+        final double falseProbability;
+        final int layers;
+
+        Config(long expectedInsertions, double falseProbability, int layers) {
+            this.expectedInsertions = expectedInsertions;
+            this.falseProbability = falseProbability;
+            this.layers = layers;
+        }
+
+        long getCapacity(int layer) {
+            return expectedInsertions << layer;
+        }
+
+        long getSize(int layer) {
+            long size = calcSize(layer);
+            if (size > RedissonBloomFilter.MAX_SIZE) {
+                throw new IllegalStateException("Bloom filter layer can't be greater than " + RedissonBloomFilter.MAX_SIZE 
+                                                    + ". But calculated size of layer " + layer + " is " + size);
+            }
+            return size;
+        }
+
+        boolean hasLayer(int layer) {
+            return calcSize(layer) <= RedissonBloomFilter.MAX_SIZE;
+        }
+
+        /*
+         * Amount of layers passed to add script. 
+         * Spare layer is omitted once its size exceeds max size, so filter stops growing.
+         */
+        int getAddLayers() {
+            if (hasLayer(layers)) {
+                return layers + 1;
+            }
+            return layers;
+        }
+
+        private long calcSize(int layer) {
+            return RedissonBloomFilter.optimalNumOfBits(getCapacity(layer), falseProbability / (2L << layer));
+        }
+
+        int getHashIterations(int layer) {
+            return RedissonBloomFilter.optimalNumOfHashFunctions(getCapacity(layer), getSize(layer));
+        }
+
+    }
+
+    private volatile Config config;
+
+    private final CommandExecutor commandExecutor;
+
+    protected RedissonScalableBloomFilter(CommandExecutor commandExecutor, String name) {
+        super(commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    protected RedissonScalableBloomFilter(Codec codec, CommandExecutor commandExecutor, String name) {
+        super(codec, commandExecutor, name);
+        this.commandExecutor = commandExecutor;
+    }
+
+    @Override
+    public boolean add(T object) {
+        return addAll(Collections.singletonList(object)) > 0;
+    }
+
+    @Override
+    public RFuture<Boolean> addAsync(T object) {
+        return toFirst(addEachAsync(Collections.singletonList(object)));
+    }
+
+    @Override
+    public int addAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(addAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Integer> addAllAsync(Collection<? extends T> objects) {
+        final RPromise<Integer> result = newPromise();
+        addEachAsync(objects).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                int added = 0;
+                for (Boolean value : future.getNow()) {
+                    if (value) {
+                        added++;
+                    }
+                }
+                result.trySuccess(added);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public boolean contains(T object) {
+        return containsEach(Collections.singletonList(object)).get(0);
+    }
+
+    @Override
+    public RFuture<Boolean> containsAsync(T object) {
+        return toFirst(containsEachAsync(Collections.singletonList(object)));
+    }
+
+    @Override
+    public boolean containsAll(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsAllAsync(objects));
+    }
+
+    @Override
+    public RFuture<Boolean> containsAllAsync(Collection<? extends T> objects) {
+        final RPromise<Boolean> result = newPromise();
+        containsEachAsync(objects).addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(!future.getNow().contains(Boolean.FALSE));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public List<Boolean> containsEach(Collection<? extends T> objects) {
+        checkConfig();
+        return get(containsEachAsync(objects));
+    }
+
+    @Override
+    public RFuture<List<Boolean>> containsEachAsync(Collection<? extends T> objects) {
+        if (objects.isEmpty()) {
+            return newSucceededFuture(Collections.<Boolean>emptyList());
+        }
+
+        RPromise<List<Boolean>> result = newPromise();
+        containsAsync(hash(objects), result);
+        return result;
+    }
+
+    private RFuture<Boolean> toFirst(RFuture<List<Boolean>> future) {
+        final RPromise<Boolean> result = newPromise();
+        future.addListener(new FutureListener<List<Boolean>>() {
+            @Override
+            public void operationComplete(Future<List<Boolean>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                result.trySuccess(future.getNow().get(0));
+            }
+        });
+        return result;
+    }
+
+    private void checkConfig() {
+        if (config == null) {
+            readConfig();
+        }
+    }
+
+    private List<long[]> hash(Collection<? extends T> objects) {
+        List<long[]> hashes = new ArrayList<long[]>(objects.size());
+        for (T object : objects) {
+            byte[] state = encode(object);
+            long hash1 = LongHashFunction.xx_r39().hashBytes(state);
+            long hash2 = LongHashFunction.farmUo().hashBytes(state);
+            hashes.add(new long[] {hash1, hash2});
+        }
+        return hashes;
+    }
+
+    private List<Object> createKeys(int layers) {
+        List<Object> keys = new ArrayList<Object>(layers + 1);
+        keys.add(getConfigName());
+        for (int i = 0; i < layers; i++) {
+            keys.add(getLayerName(i));
+        }
+        return keys;
+    }
+
+    private Object[] createParams(Config config, int layers, List<long[]> hashes) {
+        int indexes = 0;
+        List<Object> header = new ArrayList<Object>(2*layers + 3);
+        header.add(config.layers);
+        header.add(layers);
+        header.add(0);
+        for (int i = 0; i < layers; i++) {
+            int hashIterations = config.getHashIterations(i);
+            header.add(hashIterations);
+            indexes += hashIterations;
+        }
+        header.set(2, indexes);
+        for (int i = 0; i < layers; i++) {
+            header.add(config.getCapacity(i));
+        }
+
+        List<Object> params = new ArrayList<Object>(header.size() + hashes.size()*indexes);
+        params.addAll(header);
+        for (long[] hash : hashes) {
+            for (int i = 0; i < layers; i++) {
+                for (long index : RedissonBloomFilter.hash(hash[0], hash[1], config.getHashIterations(i), config.getSize(i))) {
+                    params.add(index);
+                }
+            }
+        }
+        return params.toArray();
+    }
+
+    private RFuture<List<Boolean>> addEachAsync(Collection<? extends T> objects) {
+        if (objects.isEmpty()) {
+            return newSucceededFuture(Collections.<Boolean>emptyList());
+        }
+
+        RPromise<List<Boolean>> result = newPromise();
+        addAsync(hash(objects), new ArrayList<Boolean>(objects.size()), result);
+        return result;
+    }
+
+    /*
+     * Chunks are added one by one, since each chunk may add a new layer.
+     */
+    private void addAsync(final List<long[]> hashes, final List<Boolean> values, final RPromise<List<Boolean>> result) {
+        final Config config = this.config;
+        if (config == null) {
+            readConfigAsync(new Runnable() {
+                @Override
+                public void run() {
+                    addAsync(hashes, values, result);
+                }
+            }, result);
+            return;
+        }
+
+        int layers = config.getAddLayers();
+        int from = values.size();
+        final List<long[]> chunk = hashes.subList(from, Math.min(hashes.size(), from + RedissonBloomFilter.BATCH_SIZE));
+        RFuture<List<Long>> future;
+        try {
+            future = commandExecutor.evalWriteAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST, 
+                            ADD_SCRIPT, createKeys(layers), createParams(config, layers, chunk));
+        } catch (IllegalStateException e) {
+            result.tryFailure(e);
+            return;
+        }
+        future.addListener(new FutureListener<List<Long>>() {
+            @Override
+            public void operationComplete(Future<List<Long>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    if (RedissonBloomFilter.isConfigChanged(future.cause())) {
+                        RedissonScalableBloomFilter.this.config = null;
+                        addAsync(hashes, values, result);
+                        return;
+                    }
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                for (Long value : future.getNow()) {
+                    values.add(value == 1);
+                }
+                if (future.getNow().size() < chunk.size()) {
+                    // spare layer has been used
+                    RedissonScalableBloomFilter.this.config = null;
+                }
+                if (values.size() == hashes.size()) {
+                    result.trySuccess(values);
+                    return;
+                }
+                addAsync(hashes, values, result);
+            }
+        });
+    }
+
+    private void containsAsync(final List<long[]> hashes, final RPromise<List<Boolean>> result) {
+        final Config config = this.config;
+        if (config == null) {
+            readConfigAsync(new Runnable() {
+                @Override
+                public void run() {
+                    containsAsync(hashes, result);
+                }
+            }, result);
+            return;
+        }
+
+        CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+        final List<RFuture<List<Long>>> futures = new ArrayList<RFuture<List<Long>>>();
+        try {
+            for (int i = 0; i < hashes.size(); i += RedissonBloomFilter.BATCH_SIZE) {
+                List<long[]> chunk = hashes.subList(i, Math.min(hashes.size(), i + RedissonBloomFilter.BATCH_SIZE));
+                RFuture<List<Long>> future = executorService.evalReadAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_LIST, 
+                                                CONTAINS_SCRIPT, createKeys(config.layers), createParams(config, config.layers, chunk));
+                futures.add(future);
+            }
+        } catch (IllegalStateException e) {
+            result.tryFailure(e);
+            return;
+        }
+
+        executorService.executeAsync().addListener(new FutureListener<List<?>>() {
+            @Override
+            public void operationComplete(Future<List<?>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    if (RedissonBloomFilter.isConfigChanged(future.cause())) {
+                        RedissonScalableBloomFilter.this.config = null;
+                        containsAsync(hashes, result);
+                        return;
+                    }
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                List<Boolean> values = new ArrayList<Boolean>(hashes.size());
+                for (RFuture<List<Long>> f : futures) {
+                    for (Long value : f.getNow()) {
+                        values.add(value == 1);
+                    }
+                }
+                result.trySuccess(values);
+            }
+        });
+    }
+
+    private void readConfigAsync(final Runnable onSuccess, final RPromise<?> result) {
+        readConfigMapAsync().addListener(new FutureListener<Map<String, String>>() {
+            @Override
+            public void operationComplete(Future<Map<String, String>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                try {
+                    readConfig(future.getNow());
+                } catch (IllegalStateException e) {
+                    result.tryFailure(e);
+                    return;
+                }
+                onSuccess.run();
+            }
+        });
+    }
+
+    private Config readConfig() {
+        Map<String, String> map = commandExecutor.get(readConfigMapAsync());
+        return readConfig(map);
+    }
+
+    private Config readConfig(Map<String, String> map) {
+        if (map.get("layers") == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+
+        Config value = new Config(Long.valueOf(map.get("expectedInsertions")), 
+                Double.valueOf(map.get("falseProbability")), Integer.valueOf(map.get("layers")));
+        config = value;
+        return value;
+    }
+
+    private RFuture<Map<String, String>> readConfigMapAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE,
+                new RedisCommand<Map<Object, Object>>("HGETALL", new ObjectMapReplayDecoder()), getConfigName());
+    }
+
+    @Override
+    public int count() {
+        Map<String, String> map = commandExecutor.get(readConfigMapAsync());
+        Config config = readConfig(map);
+
+        long result = 0;
+        for (int i = 0; i < config.layers; i++) {
+            String count = map.get("count:" + i);
+            if (count != null) {
+                result += Long.valueOf(count);
+            }
+        }
+        return (int) result;
+    }
+
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return executeAsync(RedisCommands.DEL_OBJECTS, true);
+    }
+
+    @Override
+    public RFuture<Boolean> expireAsync(long timeToLive, TimeUnit timeUnit) {
+        return executeAsync(RedisCommands.PEXPIRE, false, timeUnit.toMillis(timeToLive));
+    }
+
+    @Override
+    public RFuture<Boolean> expireAtAsync(long timestamp) {
+        return executeAsync(RedisCommands.PEXPIREAT, false, timestamp);
+    }
+
+    @Override
+    public RFuture<Boolean> clearExpireAsync() {
+        return executeAsync(RedisCommands.PERSIST, false);
+    }
+
+    @Override
+    public RFuture<Long> remainTimeToLiveAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.PTTL, getConfigName());
+    }
+
+    @Override
+    public RFuture<Boolean> isExistsAsync() {
+        return commandExecutor.readAsync(getConfigName(), StringCodec.INSTANCE, RedisCommands.EXISTS, getConfigName());
+    }
+
+    /*
+     * Executes command over config and all layer keys. 
+     * Result of config key command is returned.
+     */
+    private RFuture<Boolean> executeAsync(final RedisStrictCommand<Boolean> command, final boolean delete, final Object... params) {
+        final RPromise<Boolean> result = newPromise();
+        readConfigMapAsync().addListener(new FutureListener<Map<String, String>>() {
+            @Override
+            public void operationComplete(Future<Map<String, String>> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+
+                int layers = 0;
+                if (future.getNow().get("layers") != null) {
+                    layers = Integer.valueOf(future.getNow().get("layers"));
+                }
+
+                CommandBatchService executorService = new CommandBatchService(commandExecutor.getConnectionManager());
+                final RFuture<Boolean> configFuture = executorService.writeAsync(getConfigName(), StringCodec.INSTANCE, command, 
+                                                        concat(getConfigName(), params));
+                for (int i = 0; i < layers; i++) {
+                    executorService.writeAsync(getConfigName(), StringCodec.INSTANCE, command, concat(getLayerName(i), params));
+                }
+                executorService.executeAsync().addListener(new FutureListener<List<?>>() {
+                    @Override
+                    public void operationComplete(Future<List<?>> future) throws Exception {
+                        if (!future.isSuccess()) {
+                            result.tryFailure(future.cause());
+                            return;
+                        }
+
+                        if (delete) {
+                            config = null;
+                        }
+                        result.trySuccess(configFuture.getNow());
+                    }
+                });
+            }
+        });
+        return result;
+    }
+
+    private Object[] concat(String key, Object... params) {
+        Object[] result = new Object[params.length + 1];
+        result[0] = key;
+        System.arraycopy(params, 0, result, 1, params.length);
+        return result;
+    }
+
+    @Override
+    public boolean tryInit(long expectedInsertions, double falseProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions should be positive");
+        }
+        Config config = new Config(expectedInsertions, falseProbability, 1);
+        try {
+            config.getSize(0);
+        } catch (IllegalStateException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+
+        Boolean created = commandExecutor.evalWrite(getConfigName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('exists', KEYS[1]) == 1 then "
+                    + "return 0; "
+                + "end; "
+                + "redis.call('hmset', KEYS[1], 'layers', 1, 'expectedInsertions', ARGV[1], 'falseProbability', ARGV[2]); "
+                + "return 1;",
+                Arrays.<Object>asList(getConfigName()), expectedInsertions, BigDecimal.valueOf(falseProbability).toPlainString());
+        if (!created) {
+            readConfig();
+            return false;
+        }
+
+        this.config = config;
+        return true;
+    }
+
+    private String getConfigName() {
+        return "{" + getName() + "}" + "__config";
+    }
+
+    private String getLayerName(int index) {
+        return "{" + getName() + "}:" + index;
+    }
+
+    @Override
+    public long getExpectedInsertions() {
+        Long result = commandExecutor.read(getConfigName(), LongCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "expectedInsertions");
+        return check(result);
+    }
+
+    @Override
+    public double getFalseProbability() {
+        Double result = commandExecutor.read(getConfigName(), DoubleCodec.INSTANCE, RedisCommands.HGET, getConfigName(), "falseProbability");
+        return check(result);
+    }
+
+    @Override
+    public long getSize() {
+        Config config = readConfig();
+        long size = 0;
+        for (int i = 0; i < config.layers; i++) {
+            size += config.getSize(i);
+        }
+        return size;
+    }
+
+    @Override
+    public int getHashIterations() {
+        Config config = readConfig();
+        return config.getHashIterations(config.layers - 1);
+    }
+
+    @Override
+    public int getLayers() {
+        return readConfig().layers;
+    }
+
+    private <V> V check(V result) {
+        if (result == null) {
+            throw new IllegalStateException("Bloom filter is not initialized!");
+        }
+        return result;
+    }
+
+}
@@ -251,18 +251,30 @@ public class RedissonScoredSortedSet<V> extends RedissonExpirable implements RSc
         return commandExecutor.readAsync(getName(), codec, RedisCommands.ZRANK_INT, getName(), o);
     }
 
-    private ListScanResult<V> scanIterator(InetSocketAddress client, long startPos) {
-        RFuture<ListScanResult<V>> f = commandExecutor.readAsync(client, getName(), codec, RedisCommands.ZSCAN, getName(), startPos);
-        return get(f);
+    private RFuture<ListScanResult<V>> scanIteratorAsync(InetSocketAddress client, long startPos, int count) {
+        return commandExecutor.readAsync(client, getName(), codec, RedisCommands.ZSCAN, getName(), startPos, "COUNT", count);
     }
 
     @Override
     public Iterator<V> iterator() {
+        return iterator(10, 0);
+    }
+
+    @Override
+    public Iterator<V> iterator(final int count, int prefetch) {
+        final ScanPrefetcher<ListScanResult<V>> prefetcher = new ScanPrefetcher<ListScanResult<V>>(commandExecutor, prefetch) {
+            @Override
+            RFuture<ListScanResult<V>> scanAsync(InetSocketAddress client, long startPos) {
+                return scanIteratorAsync(client, startPos, count);
+            }
+        };
+        prefetcher.start();
+
         return new RedissonBaseIterator<V>() {
 
             @Override
             ListScanResult<V> iterator(InetSocketAddress client, long nextIterPos) {
-                return scanIterator(client, nextIterPos);
+                return prefetcher.fetch(client, nextIterPos);
             }
 
             @Override
@@ -79,18 +79,30 @@ public class RedissonSet<V> extends RedissonExpirable implements RSet<V> {
         return getName();
     }
 
-    ListScanResult<V> scanIterator(String name, InetSocketAddress client, long startPos) {
-        RFuture<ListScanResult<V>> f = commandExecutor.readAsync(client, name, codec, RedisCommands.SSCAN, name, startPos);
-        return get(f);
+    RFuture<ListScanResult<V>> scanIteratorAsync(String name, InetSocketAddress client, long startPos, int count) {
+        return commandExecutor.readAsync(client, name, codec, RedisCommands.SSCAN, name, startPos, "COUNT", count);
     }
 
     @Override
     public Iterator<V> iterator() {
+        return iterator(10, 0);
+    }
+
+    @Override
+    public Iterator<V> iterator(final int count, int prefetch) {
+        final ScanPrefetcher<ListScanResult<V>> prefetcher = new ScanPrefetcher<ListScanResult<V>>(commandExecutor, prefetch) {
+            @Override
+            RFuture<ListScanResult<V>> scanAsync(InetSocketAddress client, long startPos) {
+                return scanIteratorAsync(getName(), client, startPos, count);
+            }
+        };
+        prefetcher.start();
+        
         return new RedissonBaseIterator<V>() {
 
             @Override
             ListScanResult<V> iterator(InetSocketAddress client, long nextIterPos) {
-                return scanIterator(getName(), client, nextIterPos);
+                return prefetcher.fetch(client, nextIterPos);
             }
 
             @Override
@@ -101,6 +113,21 @@ public class RedissonSet<V> extends RedissonExpirable implements RSet<V> {
         };
     }
 
+    @Override
+    public List<Iterable<V>> partitions(final int count, int partitions) {
+        return new ScanPartitions<ListScanResult<V>, V>() {
+            @Override
+            ListScanResult<V> scan(InetSocketAddress client, long startPos) {
+                return get(scanIteratorAsync(getName(), client, startPos, count));
+            }
+
+            @Override
+            Iterator<V> values(ListScanResult<V> result) {
+                return result.getValues().iterator();
+            }
+        }.split(partitions);
+    }
+
     @Override
     public RFuture<Set<V>> readAllAsync() {
         return commandExecutor.readAsync(getName(), codec, RedisCommands.SMEMBERS, getName());
@@ -108,9 +108,13 @@ public class RedissonSetCache<V> extends RedissonExpirable implements RSetCache<
     }
 
     public RFuture<ListScanResult<V>> scanIteratorAsync(InetSocketAddress client, long startPos) {
+        return scanIteratorAsync(client, startPos, 10);
+    }
+
+    RFuture<ListScanResult<V>> scanIteratorAsync(InetSocketAddress client, long startPos, int count) {
         return commandExecutor.evalReadAsync(client, getName(), codec, RedisCommands.EVAL_ZSCAN,
                   "local result = {}; "
-                + "local res = redis.call('zscan', KEYS[1], ARGV[1]); "
+                + "local res = redis.call('zscan', KEYS[1], ARGV[1], 'count', ARGV[3]); "
                 + "for i, value in ipairs(res[2]) do "
                     + "if i % 2 == 0 then "
                         + "local expireDate = value; "
@@ -119,7 +123,7 @@ public class RedissonSetCache<V> extends RedissonExpirable implements RSetCache<
                         + "end; "
                     + "end;"
                 + "end;"
-                + "return {res[1], result};", Arrays.<Object>asList(getName()), startPos, System.currentTimeMillis());
+                + "return {res[1], result};", Arrays.<Object>asList(getName()), startPos, System.currentTimeMillis(), count);
     }
 
     @Override
@@ -139,6 +143,21 @@ public class RedissonSetCache<V> extends RedissonExpirable implements RSetCache<
         };
     }
 
+    @Override
+    public List<Iterable<V>> partitions(final int count, int partitions) {
+        return new ScanPartitions<ListScanResult<V>, V>() {
+            @Override
+            ListScanResult<V> scan(InetSocketAddress client, long startPos) {
+                return get(scanIteratorAsync(client, startPos, count));
+            }
+
+            @Override
+            Iterator<V> values(ListScanResult<V> result) {
+                return result.getValues().iterator();
+            }
+        }.split(partitions);
+    }
+
     @Override
     public Set<V> readAll() {
         return get(readAllAsync());
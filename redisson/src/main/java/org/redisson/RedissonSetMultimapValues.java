@@ -49,7 +49,7 @@ import org.redisson.command.CommandAsyncExecutor;
  */
 public class RedissonSetMultimapValues<V> extends RedissonExpirable implements RSet<V> {
 
-    private static final RedisCommand<ListScanResult<Object>> EVAL_SSCAN = new RedisCommand<ListScanResult<Object>>("EVAL", new NestedMultiDecoder(new ObjectListReplayDecoder<Object>(), new ListScanResultReplayDecoder()), 7, ValueType.MAP_KEY, ValueType.OBJECT);
+    private static final RedisCommand<ListScanResult<Object>> EVAL_SSCAN = new RedisCommand<ListScanResult<Object>>("EVAL", new NestedMultiDecoder(new ObjectListReplayDecoder<Object>(), new ListScanResultReplayDecoder()), 8, ValueType.MAP_KEY, ValueType.OBJECT);
     private static final RedisCommand<Integer> EVAL_SIZE = new RedisCommand<Integer>("EVAL", new IntegerReplayConvertor(), 6, ValueType.MAP_KEY);
     private static final RedisCommand<Set<Object>> EVAL_READALL = new RedisCommand<Set<Object>>("EVAL", new ObjectSetReplayDecoder<Object>(), 6, ValueType.MAP_KEY);
     private static final RedisCommand<Boolean> EVAL_CONTAINS_VALUE = new RedisCommand<Boolean>("EVAL", new BooleanReplayConvertor(), 6, Arrays.asList(ValueType.MAP_KEY, ValueType.MAP_VALUE));
@@ -158,10 +158,10 @@ public class RedissonSetMultimapValues<V> extends RedissonExpirable implements R
          Arrays.<Object>asList(timeoutSetName, getName()), System.currentTimeMillis(), key, o);
     }
 
-    private ListScanResult<V> scanIterator(InetSocketAddress client, long startPos) {
-        RFuture<ListScanResult<V>> f = commandExecutor.evalReadAsync(client, getName(), codec, EVAL_SSCAN,
+    private RFuture<ListScanResult<V>> scanIteratorAsync(InetSocketAddress client, long startPos, int count) {
+        return commandExecutor.evalReadAsync(client, getName(), codec, EVAL_SSCAN,
                 "local expireDate = 92233720368547758; " +
-                "local expireDateScore = redis.call('zscore', KEYS[1], ARGV[3]); "
+                "local expireDateScore = redis.call('zscore', KEYS[1], ARGV[4]); "
               + "if expireDateScore ~= false then "
                   + "expireDate = tonumber(expireDateScore) "
               + "end; "
@@ -169,18 +169,30 @@ public class RedissonSetMultimapValues<V> extends RedissonExpirable implements R
                   + "return {0, {}};"
               + "end;"
 
-              + "return redis.call('sscan', KEYS[2], ARGV[2]);", 
-              Arrays.<Object>asList(timeoutSetName, getName()), System.currentTimeMillis(), startPos, key);
-      return get(f);
+              + "return redis.call('sscan', KEYS[2], ARGV[2], 'count', ARGV[3]);", 
+              Arrays.<Object>asList(timeoutSetName, getName()), System.currentTimeMillis(), startPos, count, key);
     }
 
     @Override
     public Iterator<V> iterator() {
+        return iterator(10, 0);
+    }
+
+    @Override
+    public Iterator<V> iterator(final int count, int prefetch) {
+        final ScanPrefetcher<ListScanResult<V>> prefetcher = new ScanPrefetcher<ListScanResult<V>>(commandExecutor, prefetch) {
+            @Override
+            RFuture<ListScanResult<V>> scanAsync(InetSocketAddress client, long startPos) {
+                return scanIteratorAsync(client, startPos, count);
+            }
+        };
+        prefetcher.start();
+
         return new RedissonBaseIterator<V>() {
 
             @Override
             ListScanResult<V> iterator(InetSocketAddress client, long nextIterPos) {
-                return scanIterator(client, nextIterPos);
+                return prefetcher.fetch(client, nextIterPos);
             }
 
             @Override
@@ -191,6 +203,21 @@ public class RedissonSetMultimapValues<V> extends RedissonExpirable implements R
         };
     }
 
+    @Override
+    public List<Iterable<V>> partitions(final int count, int partitions) {
+        return new ScanPartitions<ListScanResult<V>, V>() {
+            @Override
+            ListScanResult<V> scan(InetSocketAddress client, long startPos) {
+                return get(scanIteratorAsync(client, startPos, count));
+            }
+
+            @Override
+            Iterator<V> values(ListScanResult<V> result) {
+                return result.getValues().iterator();
+            }
+        }.split(partitions);
+    }
+
     @Override
     public RFuture<Set<V>> readAllAsync() {
         return commandExecutor.evalReadAsync(getName(), codec, EVAL_READALL,
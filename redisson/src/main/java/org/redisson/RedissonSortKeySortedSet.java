@@ -0,0 +1,508 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.SortedSet;
+
+import org.redisson.api.RFuture;
+import org.redisson.api.RSortedSet;
+import org.redisson.api.SortKeyEncoder;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.protocol.RedisCommands;
+import org.redisson.command.CommandAsyncExecutor;
+
+import io.netty.util.CharsetUtil;
+
+/**
+ * Sorted set stored in Redis sorted set with lexicographical order of sort keys. 
+ * Values are stored in separate hash by sort key. 
+ * Each operation is executed as single atomic call without locking.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <V> value
+ */
+public class RedissonSortKeySortedSet<V> extends RedissonObject implements RSortedSet<V> {
+
+    private static class SortKeyComparator<V> implements Comparator<V> {
+
+        private final SortKeyEncoder<? super V> sortKeyEncoder;
+        
+        SortKeyComparator(SortKeyEncoder<? super V> sortKeyEncoder) {
+            this.sortKeyEncoder = sortKeyEncoder;
+        }
+
+        @Override
+        public int compare(V o1, V o2) {
+            return compareKeys(sortKeyEncoder.encode(o1), sortKeyEncoder.encode(o2));
+        }
+        
+    }
+    
+    private static final int ITERATOR_PAGE_SIZE = 100;
+    
+    private final SortKeyEncoder<? super V> sortKeyEncoder;
+    private final String fromKey;
+    private final String toKey;
+    
+    public RedissonSortKeySortedSet(CommandAsyncExecutor commandExecutor, String name, SortKeyEncoder<? super V> sortKeyEncoder) {
+        this(commandExecutor.getConnectionManager().getCodec(), commandExecutor, name, sortKeyEncoder);
+    }
+    
+    public RedissonSortKeySortedSet(Codec codec, CommandAsyncExecutor commandExecutor, String name, SortKeyEncoder<? super V> sortKeyEncoder) {
+        this(codec, commandExecutor, name, sortKeyEncoder, null, null);
+    }
+    
+    private RedissonSortKeySortedSet(Codec codec, CommandAsyncExecutor commandExecutor, String name, 
+            SortKeyEncoder<? super V> sortKeyEncoder, String fromKey, String toKey) {
+        super(codec, commandExecutor, name);
+        if (sortKeyEncoder == null) {
+            throw new NullPointerException("sortKeyEncoder can't be null");
+        }
+        this.sortKeyEncoder = sortKeyEncoder;
+        this.fromKey = fromKey;
+        this.toKey = toKey;
+    }
+
+    static int compareKeys(String key1, String key2) {
+        byte[] b1 = key1.getBytes(CharsetUtil.UTF_8);
+        byte[] b2 = key2.getBytes(CharsetUtil.UTF_8);
+        int len = Math.min(b1.length, b2.length);
+        for (int i = 0; i < len; i++) {
+            int res = (b1[i] & 0xff) - (b2[i] & 0xff);
+            if (res != 0) {
+                return res;
+            }
+        }
+        return b1.length - b2.length;
+    }
+    
+    String getValuesName() {
+        return "redisson_sortedset_values:{" + getName() + "}";
+    }
+    
+    private String sortKey(Object value) {
+        String key = sortKeyEncoder.encode((V) value);
+        if (key == null) {
+            throw new NullPointerException("sort key can't be null");
+        }
+        return key;
+    }
+    
+    private boolean isInRange(String key) {
+        return (fromKey == null || compareKeys(key, fromKey) >= 0)
+                && (toKey == null || compareKeys(key, toKey) < 0);
+    }
+    
+    private String min() {
+        if (fromKey == null) {
+            return "-";
+        }
+        return "[" + fromKey;
+    }
+    
+    private String max() {
+        if (toKey == null) {
+            return "+";
+        }
+        return "(" + toKey;
+    }
+    
+    @Override
+    public int size() {
+        return get(sizeAsync());
+    }
+    
+    public RFuture<Integer> sizeAsync() {
+        return commandExecutor.readAsync(getName(), StringCodec.INSTANCE, RedisCommands.ZLEXCOUNT, getName(), min(), max());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return get(containsAsync(o));
+    }
+    
+    public RFuture<Boolean> containsAsync(Object o) {
+        String key = sortKey(o);
+        if (!isInRange(key)) {
+            return newSucceededFuture(false);
+        }
+        return commandExecutor.evalReadAsync(getName(), StringCodec.INSTANCE, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('zlexcount', KEYS[1], ARGV[1], ARGV[1]) > 0 then "
+                  + "return 1; "
+              + "end; "
+              + "return 0; ",
+                Arrays.<Object>asList(getName()), "[" + key);
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        for (Object object : c) {
+            if (!contains(object)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads values in order starting from <code>offset</code> position
+     * 
+     * @param offset - start position
+     * @param count - amount of values. If negative then all values from offset are loaded
+     * @return values
+     */
+    RFuture<List<V>> rangeAsync(int offset, int count) {
+        return rangeAsync(min(), offset, count);
+    }
+    
+    /**
+     * Loads values in order starting from <code>offset</code> position 
+     * among values with sort key greater than or equal to <code>from</code>
+     * 
+     * @param from - lex range start, i.e. <code>[key</code> or <code>(key</code>
+     * @param offset - start position
+     * @param count - amount of values. If negative then all values from offset are loaded
+     * @return values
+     */
+    private RFuture<List<V>> rangeAsync(String from, int offset, int count) {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_LIST,
+                "local keys = redis.call('zrangebylex', KEYS[1], ARGV[1], ARGV[2], 'limit', ARGV[3], ARGV[4]); "
+              + "local result = {}; "
+              + "for i = 1, #keys, 5000 do "
+                  + "local values = redis.call('hmget', KEYS[2], unpack(keys, i, math.min(i+4999, #keys))); "
+                  + "for j, value in ipairs(values) do "
+                      + "table.insert(result, value); "
+                  + "end; "
+              + "end; "
+              + "return result;",
+              Arrays.<Object>asList(getName(), getValuesName()), from, max(), offset, count);
+    }
+    
+    public Collection<V> readAll() {
+        return get(readAllAsync());
+    }
+    
+    public RFuture<Collection<V>> readAllAsync() {
+        return (RFuture<Collection<V>>)(Object)rangeAsync(0, -1);
+    }
+    
+    /*
+     * Each page starts right after sort key of the last loaded value, 
+     * so loading of page doesn't depend on amount of values iterated before.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new Iterator<V>() {
+
+            private List<V> page = Collections.emptyList();
+            private int pageIndex;
+            private boolean lastPage;
+            private V currentElement;
+            private boolean removeExecuted = true;
+            
+            @Override
+            public boolean hasNext() {
+                if (pageIndex < page.size()) {
+                    return true;
+                }
+                if (lastPage) {
+                    return false;
+                }
+                
+                String from = min();
+                if (!page.isEmpty()) {
+                    from = "(" + sortKey(page.get(page.size() - 1));
+                }
+                page = get(rangeAsync(from, 0, ITERATOR_PAGE_SIZE));
+                pageIndex = 0;
+                lastPage = page.size() < ITERATOR_PAGE_SIZE;
+                return !page.isEmpty();
+            }
+
+            @Override
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No such element");
+                }
+                currentElement = page.get(pageIndex++);
+                removeExecuted = false;
+                return currentElement;
+            }
+
+            @Override
+            public void remove() {
+                if (removeExecuted) {
+                    throw new IllegalStateException("Element been already deleted or next hasn't been called");
+                }
+                RedissonSortKeySortedSet.this.remove(currentElement);
+                removeExecuted = true;
+            }
+            
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+        return readAll().toArray();
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        return readAll().toArray(a);
+    }
+
+    @Override
+    public boolean add(V value) {
+        return get(addAsync(value));
+    }
+    
+    @Override
+    public RFuture<Boolean> addAsync(V value) {
+        String key = sortKey(value);
+        if (!isInRange(key)) {
+            throw new IllegalArgumentException("value out of range");
+        }
+        
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "if redis.call('zadd', KEYS[1], 0, ARGV[1]) == 1 then "
+                  + "redis.call('hset', KEYS[2], ARGV[1], ARGV[2]); "
+                  + "return 1; "
+              + "end; "
+              + "return 0; ",
+              Arrays.<Object>asList(getName(), getValuesName()), key, encode(value));
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends V> c) {
+        return get(addAllAsync(c));
+    }
+    
+    public RFuture<Boolean> addAllAsync(Collection<? extends V> c) {
+        if (c.isEmpty()) {
+            return newSucceededFuture(false);
+        }
+        
+        List<Object> args = new ArrayList<Object>(c.size()*2);
+        for (V value : c) {
+            String key = sortKey(value);
+            if (!isInRange(key)) {
+                throw new IllegalArgumentException("value out of range");
+            }
+            args.add(key);
+            args.add(encode(value));
+        }
+        
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "local changed = 0; "
+              + "for i = 1, #ARGV, 2 do "
+                  + "if redis.call('zadd', KEYS[1], 0, ARGV[i]) == 1 then "
+                      + "redis.call('hset', KEYS[2], ARGV[i], ARGV[i+1]); "
+                      + "changed = 1; "
+                  + "end; "
+              + "end; "
+              + "return changed; ",
+              Arrays.<Object>asList(getName(), getValuesName()), args.toArray());
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        return get(removeAsync((V) value));
+    }
+    
+    @Override
+    public RFuture<Boolean> removeAsync(V value) {
+        return removeAllAsync(Arrays.asList(value));
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return get(removeAllAsync(c));
+    }
+    
+    public RFuture<Boolean> removeAllAsync(Collection<?> c) {
+        List<Object> keys = new ArrayList<Object>(c.size());
+        for (Object value : c) {
+            String key = sortKey(value);
+            if (isInRange(key)) {
+                keys.add(key);
+            }
+        }
+        if (keys.isEmpty()) {
+            return newSucceededFuture(false);
+        }
+        
+        return commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_BOOLEAN,
+                "local changed = 0; "
+              + "for i = 1, #ARGV, 1 do "
+                  + "if redis.call('zrem', KEYS[1], ARGV[i]) == 1 then "
+                      + "redis.call('hdel', KEYS[2], ARGV[i]); "
+                      + "changed = 1; "
+                  + "end; "
+              + "end; "
+              + "return changed; ",
+              Arrays.<Object>asList(getName(), getValuesName()), keys.toArray());
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        boolean changed = false;
+        for (Iterator<V> iterator = iterator(); iterator.hasNext();) {
+            V object = iterator.next();
+            if (!c.contains(object)) {
+                iterator.remove();
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    @Override
+    public void clear() {
+        if (fromKey == null && toKey == null) {
+            delete();
+            return;
+        }
+        
+        get(commandExecutor.evalWriteAsync(getName(), codec, RedisCommands.EVAL_VOID,
+                "local keys = redis.call('zrangebylex', KEYS[1], ARGV[1], ARGV[2]); "
+              + "for i = 1, #keys, 5000 do "
+                  + "redis.call('hdel', KEYS[2], unpack(keys, i, math.min(i+4999, #keys))); "
+              + "end; "
+              + "redis.call('zremrangebylex', KEYS[1], ARGV[1], ARGV[2]); ",
+              Arrays.<Object>asList(getName(), getValuesName()), min(), max()));
+    }
+    
+    @Override
+    public RFuture<Boolean> deleteAsync() {
+        return commandExecutor.writeAsync(getName(), RedisCommands.DEL_OBJECTS, getName(), getValuesName());
+    }
+
+    @Override
+    public Comparator<? super V> comparator() {
+        return new SortKeyComparator<V>(sortKeyEncoder);
+    }
+
+    @Override
+    public SortedSet<V> subSet(V fromElement, V toElement) {
+        String from = sortKey(fromElement);
+        String to = sortKey(toElement);
+        if (compareKeys(from, to) > 0) {
+            throw new IllegalArgumentException("fromElement is greater than toElement");
+        }
+        return subSet(from, to);
+    }
+
+    @Override
+    public SortedSet<V> headSet(V toElement) {
+        return subSet(fromKey, sortKey(toElement));
+    }
+
+    @Override
+    public SortedSet<V> tailSet(V fromElement) {
+        return subSet(sortKey(fromElement), toKey);
+    }
+    
+    private SortedSet<V> subSet(String from, String to) {
+        if (from != null && fromKey != null && compareKeys(from, fromKey) < 0) {
+            throw new IllegalArgumentException("fromElement out of range");
+        }
+        if (to != null && toKey != null && compareKeys(to, toKey) > 0) {
+            throw new IllegalArgumentException("toElement out of range");
+        }
+        return new RedissonSortKeySortedSet<V>(codec, commandExecutor, getName(), sortKeyEncoder, from, to);
+    }
+
+    @Override
+    public V first() {
+        V value = get(firstAsync());
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+    
+    public RFuture<V> firstAsync() {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_OBJECT,
+                "local keys = redis.call('zrangebylex', KEYS[1], ARGV[1], ARGV[2], 'limit', 0, 1); "
+              + "if #keys == 0 then "
+                  + "return nil; "
+              + "end; "
+              + "return redis.call('hget', KEYS[2], keys[1]); ",
+              Arrays.<Object>asList(getName(), getValuesName()), min(), max());
+    }
+
+    @Override
+    public V last() {
+        V value = get(lastAsync());
+        if (value == null) {
+            throw new NoSuchElementException();
+        }
+        return value;
+    }
+    
+    public RFuture<V> lastAsync() {
+        return commandExecutor.evalReadAsync(getName(), codec, RedisCommands.EVAL_OBJECT,
+                "local keys = redis.call('zrevrangebylex', KEYS[1], ARGV[2], ARGV[1], 'limit', 0, 1); "
+              + "if #keys == 0 then "
+                  + "return nil; "
+              + "end; "
+              + "return redis.call('hget', KEYS[2], keys[1]); ",
+              Arrays.<Object>asList(getName(), getValuesName()), min(), max());
+    }
+
+    /**
+     * Order of this set is defined by {@link SortKeyEncoder} and can't be changed.
+     * 
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public boolean trySetComparator(Comparator<? super V> comparator) {
+        throw new UnsupportedOperationException("Order is defined by SortKeyEncoder");
+    }
+
+    @Override
+    public String toString() {
+        Iterator<V> it = iterator();
+        if (! it.hasNext())
+            return "[]";
+
+        StringBuilder sb = new StringBuilder();
+        sb.append('[');
+        for (;;) {
+            V e = it.next();
+            sb.append(e == this ? "(this Collection)" : e);
+            if (! it.hasNext())
+                return sb.append(']').toString();
+            sb.append(',').append(' ');
+        }
+    }
+    
+}
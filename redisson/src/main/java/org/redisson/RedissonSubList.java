@@ -358,8 +358,15 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
     }
 
     @Override
-    public ListIterator<V> listIterator(final int fromIndex) {
+    public ListIterator<V> listIterator(final int fromIndex, int chunkSize) {
         checkIndex(fromIndex);
+        final ListRangeWindow<V> window = new ListRangeWindow<V>(commandExecutor, chunkSize) {
+            @Override
+            RFuture<List<V>> rangeAsync(int from, int to) {
+                return commandExecutor.readAsync(getName(), codec, LRANGE, getName(), from, Math.min(to, toIndex.get()-1));
+            }
+        };
+        
         return new ListIterator<V>() {
 
             private V prevCurrentValue;
@@ -373,7 +380,7 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
                 if (currentIndex == toIndex.get()-1) {
                     return false;
                 }
-                V val = RedissonSubList.this.getValue(currentIndex+1);
+                V val = window.get(currentIndex+1);
                 if (val != null) {
                     nextCurrentValue = val;
                 }
@@ -402,6 +409,8 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
                 }
                 RedissonSubList.this.removeInner(currentIndex - fromIndex);
                 toIndex.decrementAndGet();
+                window.removed(currentIndex);
+                currentIndex--;
                 hasBeenModified = true;
                 currentValueHasRead = null;
             }
@@ -411,7 +420,7 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
                 if (currentIndex <= fromIndex - 1) {
                     return false;
                 }
-                V val = RedissonSubList.this.getValue(currentIndex);
+                V val = window.get(currentIndex);
                 if (val != null) {
                     prevCurrentValue = val;
                 }
@@ -446,11 +455,13 @@ public class RedissonSubList<V> extends RedissonList<V> implements RList<V> {
                     throw new IllegalStateException();
                 }
                 RedissonSubList.this.set(currentIndex, e);
+                window.set(currentIndex, e);
             }
 
             @Override
             public void add(V e) {
                 RedissonSubList.this.add(currentIndex+1, e);
+                window.added(currentIndex+1, e);
                 currentIndex++;
                 hasBeenModified = true;
             }
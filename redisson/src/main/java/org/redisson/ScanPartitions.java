@@ -0,0 +1,145 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.redisson.client.protocol.decoder.ScanResult;
+
+/**
+ * Splits cursor space of SCAN family command into independent partitions.
+ * <p>
+ * Redis hash table is scanned in reverse binary order of bucket index,
+ * so cursors sharing the same lowest <code>n</code> bits
+ * form a contiguous range of scan. Each partition starts
+ * at the first cursor of its range and stops once returned cursor leaves it.
+ * All partitions use the Redis node of the first page
+ * as cursor value is valid only on the node it was received from.
+ * <p>
+ * Objects stored in compact encoding (ziplist, intset) ignore cursor
+ * and return all elements in the first page, so they are never split.
+ * Amount of partitions is also limited by hash table size
+ * estimated from the cursor of the first page.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <R> page type
+ * @param <V> element type
+ */
+abstract class ScanPartitions<R extends ScanResult, V> {
+
+    /**
+     * Creates partitions. Requests first page to detect
+     * whether the object could be split.
+     *
+     * @param partitions - max amount of partitions, rounded down to power of two
+     * @return iterable per partition
+     */
+    List<Iterable<V>> split(int partitions) {
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("partitions should be positive");
+        }
+
+        R firstPage = scan(null, 0);
+        release(firstPage);
+        InetSocketAddress client = firstPage.getRedisClient();
+        int bits = Math.min(Integer.numberOfTrailingZeros(Integer.highestOneBit(partitions)),
+                                64 - Long.numberOfLeadingZeros(firstPage.getPos()));
+        if (bits == 0) {
+            return Collections.<Iterable<V>>singletonList(createIterable(client, 0, 0));
+        }
+
+        long mask = (1L << bits) - 1;
+        List<Iterable<V>> result = new ArrayList<Iterable<V>>(1 << bits);
+        for (long i = 0; i < 1 << bits; i++) {
+            long startPos = Long.reverse(i) >>> (64 - bits);
+            result.add(createIterable(client, startPos, mask));
+        }
+        return result;
+    }
+
+    private Iterable<V> createIterable(final InetSocketAddress client, final long startPos, final long mask) {
+        return new Iterable<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                return new PartitionIterator(client, startPos, mask);
+            }
+        };
+    }
+
+    class PartitionIterator implements Iterator<V> {
+
+        private final long startPos;
+        private final long mask;
+        private InetSocketAddress client;
+        private long nextIterPos;
+        private boolean finished;
+        private Iterator<V> lastIter;
+
+        PartitionIterator(InetSocketAddress client, long startPos, long mask) {
+            this.client = client;
+            this.startPos = startPos;
+            this.mask = mask;
+            this.nextIterPos = startPos;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while ((lastIter == null || !lastIter.hasNext()) && !finished) {
+                R res = scan(client, nextIterPos);
+                client = res.getRedisClient();
+                lastIter = values(res);
+                nextIterPos = res.getPos();
+                if (nextIterPos == 0 || (nextIterPos & mask) != startPos) {
+                    finished = true;
+                }
+            }
+            return lastIter.hasNext();
+        }
+
+        @Override
+        public V next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No such element");
+            }
+            return lastIter.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException("remove");
+        }
+
+    }
+
+    /**
+     * Frees resources of page which won't be consumed.
+     *
+     * @param result - page
+     */
+    protected void release(R result) {
+    }
+
+    abstract R scan(InetSocketAddress client, long startPos);
+
+    abstract Iterator<V> values(R result);
+
+}
@@ -0,0 +1,190 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.redisson.api.RFuture;
+import org.redisson.client.protocol.decoder.ScanResult;
+import org.redisson.command.CommandAsyncExecutor;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Loads pages of SCAN family command ahead of iterator.
+ * Cursor of next page is known only after previous page has been loaded,
+ * so pages are requested one after another in background 
+ * while iterator consumes already loaded pages.
+ * Up to <code>prefetch</code> pages are requested ahead.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <R> page type
+ */
+abstract class ScanPrefetcher<R extends ScanResult> {
+
+    static class Page<R> {
+        
+        final InetSocketAddress client;
+        final long startPos;
+        final RFuture<R> future;
+        
+        Page(InetSocketAddress client, long startPos, RFuture<R> future) {
+            this.client = client;
+            this.startPos = startPos;
+            this.future = future;
+        }
+        
+        boolean matches(InetSocketAddress client, long startPos) {
+            if (this.startPos != startPos) {
+                return false;
+            }
+            if (this.client == null) {
+                return client == null;
+            }
+            return this.client.equals(client);
+        }
+        
+    }
+    
+    private final CommandAsyncExecutor commandExecutor;
+    private final int prefetch;
+    private final Deque<Page<R>> pages = new ArrayDeque<Page<R>>();
+    private R lastResult;
+
+    /**
+     * @param commandExecutor - executor used to await pages
+     * @param prefetch - amount of pages requested ahead. 
+     *          If <code>0</code> then pages are loaded only on demand
+     */
+    ScanPrefetcher(CommandAsyncExecutor commandExecutor, int prefetch) {
+        if (prefetch < 0) {
+            throw new IllegalArgumentException("prefetch can't be negative");
+        }
+        this.commandExecutor = commandExecutor;
+        this.prefetch = prefetch;
+    }
+    
+    /**
+     * Requests first page in background.
+     * Allows to load first pages of several iterators in parallel.
+     */
+    synchronized void start() {
+        if (prefetch > 0 && pages.isEmpty()) {
+            request(null, 0);
+        }
+    }
+    
+    /**
+     * Returns page started at <code>startPos</code> cursor position. 
+     * Uses already requested page if it's available.
+     * 
+     * @param client - Redis node address
+     * @param startPos - cursor position
+     * @return page
+     */
+    R fetch(InetSocketAddress client, long startPos) {
+        Page<R> page;
+        synchronized (this) {
+            page = pages.pollFirst();
+            if (page != null && !page.matches(client, startPos)) {
+                // iteration has been restarted
+                discard(page);
+                while (!pages.isEmpty()) {
+                    discard(pages.pollFirst());
+                }
+                lastResult = null;
+                page = null;
+            }
+        }
+        
+        RFuture<R> future;
+        if (page != null) {
+            future = page.future;
+        } else {
+            future = scanAsync(client, startPos);
+        }
+        R result = commandExecutor.get(future);
+        
+        synchronized (this) {
+            lastResult = result;
+            requestNext();
+        }
+        return result;
+    }
+    
+    private void requestNext() {
+        while (pages.size() < prefetch) {
+            R from;
+            Page<R> last = pages.peekLast();
+            if (last == null) {
+                from = lastResult;
+            } else {
+                if (!last.future.isSuccess()) {
+                    return;
+                }
+                from = last.future.getNow();
+            }
+            
+            if (from == null || from.getPos() == 0) {
+                return;
+            }
+            request(from.getRedisClient(), from.getPos());
+        }
+    }
+
+    private void request(InetSocketAddress client, long startPos) {
+        RFuture<R> future = scanAsync(client, startPos);
+        pages.add(new Page<R>(client, startPos, future));
+        future.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (!future.isSuccess()) {
+                    return;
+                }
+                
+                synchronized (ScanPrefetcher.this) {
+                    requestNext();
+                }
+            }
+        });
+    }
+    
+    private void discard(Page<R> page) {
+        page.future.addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (future.isSuccess()) {
+                    release(future.getNow());
+                }
+            }
+        });
+    }
+    
+    /**
+     * Frees resources of page which won't be consumed by iterator.
+     * 
+     * @param result - page
+     */
+    protected void release(R result) {
+    }
+    
+    abstract RFuture<R> scanAsync(InetSocketAddress client, long startPos);
+    
+}
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Eviction mode used by {@link RMapCache} to remove entries 
+ * once max size of the map has been exceeded.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public enum EvictionMode {
+    
+    /**
+     * Least recently used entries are evicted first.
+     */
+    LRU,
+    
+    /**
+     * Least frequently used entries are evicted first.
+     * <p>
+     * Access count of new entry starts from 1, 
+     * so recently added entries are evicted before entries accessed more than once.
+     */
+    LFU
+
+}
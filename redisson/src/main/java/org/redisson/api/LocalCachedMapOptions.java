@@ -15,33 +15,71 @@
  */
 package org.redisson.api;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
+import org.redisson.api.map.MapLoader;
+import org.redisson.api.map.MapWriter;
+
 /**
  * RLocalCachedMap options object. Used to specify RLocalCachedMap settings.
  * 
  * @author Nikita Koksharov
  *
+ * @param <K> key type
+ * @param <V> value type
  */
-public class LocalCachedMapOptions {
+public class LocalCachedMapOptions<K, V> extends MapOptions<K, V> {
     
     public enum EvictionPolicy {NONE, LRU, LFU};
     
+    /**
+     * Behavior of local cache after reconnection to Redis.
+     * Invalidation messages published while connection was lost aren't delivered.
+     */
+    public enum ReconnectionStrategy {
+        
+        /**
+         * Local cache is kept as is.
+         */
+        NONE,
+        
+        /**
+         * Local cache is cleared.
+         */
+        CLEAR,
+        
+        /**
+         * Only entries changed while connection was lost are removed from local cache.
+         * Changed keys are read from invalidation log stored in Redis. 
+         * Local cache is cleared if invalidation log doesn't cover disconnection period. 
+         */
+        LOAD
+        
+    };
+    
     private boolean invalidateEntryOnChange;
     private EvictionPolicy evictionPolicy;
     private int cacheSize;
     private long timeToLiveInMillis;
     private long maxIdleInMillis;
+    private ReconnectionStrategy reconnectionStrategy;
+    private long invalidationLogTimeToLiveInMillis;
+    private boolean preloadCache;
     
     private LocalCachedMapOptions() {
     }
     
-    protected LocalCachedMapOptions(LocalCachedMapOptions copy) {
+    protected LocalCachedMapOptions(LocalCachedMapOptions<K, V> copy) {
+        super(copy);
         this.invalidateEntryOnChange = copy.invalidateEntryOnChange;
         this.evictionPolicy = copy.evictionPolicy;
         this.cacheSize = copy.cacheSize;
         this.timeToLiveInMillis = copy.timeToLiveInMillis;
         this.maxIdleInMillis = copy.maxIdleInMillis;
+        this.reconnectionStrategy = copy.reconnectionStrategy;
+        this.invalidationLogTimeToLiveInMillis = copy.invalidationLogTimeToLiveInMillis;
+        this.preloadCache = copy.preloadCache;
     }
     
     /**
@@ -52,17 +90,32 @@ public class LocalCachedMapOptions {
      *     new LocalCachedMapOptions()
      *      .cacheSize(0).timeToLive(0).maxIdle(0)
      *      .evictionPolicy(EvictionPolicy.NONE)
-     *      .invalidateEntryOnChange(true);
+     *      .invalidateEntryOnChange(true)
+     *      .reconnectionStrategy(ReconnectionStrategy.NONE)
+     *      .invalidationLogTimeToLive(10, TimeUnit.MINUTES)
+     *      .preloadCache(false)
+     *      .writeMode(WriteMode.WRITE_THROUGH)
+     *      .writeBehindBatchSize(50)
+     *      .writeBehindDelay(1000, TimeUnit.MILLISECONDS);
      * </pre>
      * 
+     * @param <K> key type
+     * @param <V> value type
+     * 
      * @return LocalCachedMapOptions instance
      * 
      */
-    public static LocalCachedMapOptions defaults() {
-        return new LocalCachedMapOptions()
+    public static <K, V> LocalCachedMapOptions<K, V> defaults() {
+        return new LocalCachedMapOptions<K, V>()
+                    .writeMode(WriteMode.WRITE_THROUGH)
+                    .writeBehindBatchSize(50)
+                    .writeBehindDelay(1000, TimeUnit.MILLISECONDS)
                     .cacheSize(0).timeToLive(0).maxIdle(0)
                     .evictionPolicy(EvictionPolicy.NONE)
-                    .invalidateEntryOnChange(true);
+                    .invalidateEntryOnChange(true)
+                    .reconnectionStrategy(ReconnectionStrategy.NONE)
+                    .invalidationLogTimeToLive(10, TimeUnit.MINUTES)
+                    .preloadCache(false);
     }
     
     public boolean isInvalidateEntryOnChange() {
@@ -85,13 +138,25 @@ public class LocalCachedMapOptions {
         return maxIdleInMillis;
     }
 
+    public ReconnectionStrategy getReconnectionStrategy() {
+        return reconnectionStrategy;
+    }
+    
+    public long getInvalidationLogTimeToLiveInMillis() {
+        return invalidationLogTimeToLiveInMillis;
+    }
+    
+    public boolean isPreloadCache() {
+        return preloadCache;
+    }
+
     /**
      * Sets cache size. If size is <code>0</code> then cache is unbounded.
      * 
      * @param cacheSize - size of cache
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions cacheSize(int cacheSize) {
+    public LocalCachedMapOptions<K, V> cacheSize(int cacheSize) {
         this.cacheSize = cacheSize;
         return this;
     }
@@ -104,7 +169,7 @@ public class LocalCachedMapOptions {
      *         if <code>false</code> then invalidation message won't be sent
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions invalidateEntryOnChange(boolean value) {
+    public LocalCachedMapOptions<K, V> invalidateEntryOnChange(boolean value) {
         this.invalidateEntryOnChange = value;
         return this;
     }
@@ -118,7 +183,7 @@ public class LocalCachedMapOptions {
      *         <p><code>NONE</code> - doesn't use eviction policy, but timeToLive and maxIdleTime params are still working.
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions evictionPolicy(EvictionPolicy evictionPolicy) {
+    public LocalCachedMapOptions<K, V> evictionPolicy(EvictionPolicy evictionPolicy) {
         if (evictionPolicy == null) {
             throw new NullPointerException("evictionPolicy can't be null");
         }
@@ -133,7 +198,7 @@ public class LocalCachedMapOptions {
      * @param timeToLiveInMillis - time to live in milliseconds
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions timeToLive(long timeToLiveInMillis) {
+    public LocalCachedMapOptions<K, V> timeToLive(long timeToLiveInMillis) {
         this.timeToLiveInMillis = timeToLiveInMillis;
         return this;
     }
@@ -146,7 +211,7 @@ public class LocalCachedMapOptions {
      * @param timeUnit - time unit
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions timeToLive(long timeToLive, TimeUnit timeUnit) {
+    public LocalCachedMapOptions<K, V> timeToLive(long timeToLive, TimeUnit timeUnit) {
         return timeToLive(timeUnit.toMillis(timeToLive));
     }
 
@@ -157,7 +222,7 @@ public class LocalCachedMapOptions {
      * @param maxIdleInMillis - time to live in milliseconds
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions maxIdle(long maxIdleInMillis) {
+    public LocalCachedMapOptions<K, V> maxIdle(long maxIdleInMillis) {
         this.maxIdleInMillis = maxIdleInMillis;
         return this;
     }
@@ -170,9 +235,103 @@ public class LocalCachedMapOptions {
      * @param timeUnit - time unit
      * @return LocalCachedMapOptions instance
      */
-    public LocalCachedMapOptions maxIdle(long maxIdle, TimeUnit timeUnit) {
+    public LocalCachedMapOptions<K, V> maxIdle(long maxIdle, TimeUnit timeUnit) {
         return timeToLive(timeUnit.toMillis(maxIdle));
     }
 
+    /**
+     * Sets reconnection strategy. 
+     * 
+     * @param reconnectionStrategy
+     *         <p><code>NONE</code> - local cache is kept as is after reconnection.
+     *         <p><code>CLEAR</code> - local cache is cleared after reconnection.
+     *         <p><code>LOAD</code> - keys changed during disconnection are read from invalidation log
+     *         and removed from local cache. Whole local cache is cleared if disconnection lasted longer than 
+     *         invalidation log time to live. Requires <code>invalidateEntryOnChange</code> enabled
+     *         and should be used by all RLocalCachedMap instances with the same name.
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> reconnectionStrategy(ReconnectionStrategy reconnectionStrategy) {
+        if (reconnectionStrategy == null) {
+            throw new NullPointerException("reconnectionStrategy can't be null");
+        }
+        this.reconnectionStrategy = reconnectionStrategy;
+        return this;
+    }
+
+    /**
+     * Sets time to live in milliseconds for each invalidation log record.
+     * Used only with <code>ReconnectionStrategy.LOAD</code>
+     * 
+     * @param timeToLiveInMillis - time to live in milliseconds
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> invalidationLogTimeToLive(long timeToLiveInMillis) {
+        if (timeToLiveInMillis <= 0) {
+            throw new IllegalArgumentException("invalidationLogTimeToLive should be positive");
+        }
+        this.invalidationLogTimeToLiveInMillis = timeToLiveInMillis;
+        return this;
+    }
+
+    /**
+     * Sets time to live for each invalidation log record.
+     * Used only with <code>ReconnectionStrategy.LOAD</code>
+     * 
+     * @param timeToLive - time to live
+     * @param timeUnit - time unit
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> invalidationLogTimeToLive(long timeToLive, TimeUnit timeUnit) {
+        return invalidationLogTimeToLive(timeUnit.toMillis(timeToLive));
+    }
+
+    /**
+     * Sets cache preloading behavior.
+     * 
+     * @param value - if <code>true</code> then local cache is asynchronously filled 
+     *         with map entries once RLocalCachedMap instance has been created.
+     *         See {@link RLocalCachedMap#preloadCacheAsync(int)}
+     * @return LocalCachedMapOptions instance
+     */
+    public LocalCachedMapOptions<K, V> preloadCache(boolean value) {
+        this.preloadCache = value;
+        return this;
+    }
+
+    @Override
+    public LocalCachedMapOptions<K, V> loader(MapLoader<K, V> loader) {
+        return (LocalCachedMapOptions<K, V>) super.loader(loader);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writer(MapWriter<K, V> writer) {
+        return (LocalCachedMapOptions<K, V>) super.writer(writer);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writeMode(WriteMode writeMode) {
+        return (LocalCachedMapOptions<K, V>) super.writeMode(writeMode);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writeBehindBatchSize(int writeBehindBatchSize) {
+        return (LocalCachedMapOptions<K, V>) super.writeBehindBatchSize(writeBehindBatchSize);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writeBehindDelay(long writeBehindDelayInMillis) {
+        return (LocalCachedMapOptions<K, V>) super.writeBehindDelay(writeBehindDelayInMillis);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writeBehindDelay(long writeBehindDelay, TimeUnit timeUnit) {
+        return (LocalCachedMapOptions<K, V>) super.writeBehindDelay(writeBehindDelay, timeUnit);
+    }
+    
+    @Override
+    public LocalCachedMapOptions<K, V> writeBehindExecutor(Executor writeBehindExecutor) {
+        return (LocalCachedMapOptions<K, V>) super.writeBehindExecutor(writeBehindExecutor);
+    }
     
 }
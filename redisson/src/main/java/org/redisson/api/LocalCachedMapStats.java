@@ -0,0 +1,166 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Snapshot of RLocalCachedMap local cache statistics.
+ * Counters are accumulated since RLocalCachedMap instance creation.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class LocalCachedMapStats {
+
+    private final long hits;
+    private final long misses;
+    private final long loads;
+    private final long totalLoadTimeInNanos;
+    private final long sizeEvictions;
+    private final long timeToLiveExpirations;
+    private final long maxIdleExpirations;
+    private final long invalidations;
+    private final long invalidationMessages;
+    
+    public LocalCachedMapStats(long hits, long misses, long loads, long totalLoadTimeInNanos, 
+            long sizeEvictions, long timeToLiveExpirations, long maxIdleExpirations, 
+            long invalidations, long invalidationMessages) {
+        this.hits = hits;
+        this.misses = misses;
+        this.loads = loads;
+        this.totalLoadTimeInNanos = totalLoadTimeInNanos;
+        this.sizeEvictions = sizeEvictions;
+        this.timeToLiveExpirations = timeToLiveExpirations;
+        this.maxIdleExpirations = maxIdleExpirations;
+        this.invalidations = invalidations;
+        this.invalidationMessages = invalidationMessages;
+    }
+
+    /**
+     * Returns amount of entries found in local cache
+     * 
+     * @return amount of hits
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Returns amount of entries not found in local cache
+     * 
+     * @return amount of misses
+     */
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Returns ratio of hits to all requests.
+     * Returns <code>0</code> if there were no requests.
+     * 
+     * @return hit rate
+     */
+    public double getHitRate() {
+        long requests = hits + misses;
+        if (requests == 0) {
+            return 0;
+        }
+        return (double) hits / requests;
+    }
+
+    /**
+     * Returns amount of requests sent to Redis due to cache misses
+     * 
+     * @return amount of loads
+     */
+    public long getLoads() {
+        return loads;
+    }
+
+    /**
+     * Returns total time spent on requests sent to Redis due to cache misses
+     * 
+     * @return time in nanoseconds
+     */
+    public long getTotalLoadTimeInNanos() {
+        return totalLoadTimeInNanos;
+    }
+    
+    /**
+     * Returns average time spent on request sent to Redis due to cache miss
+     * 
+     * @return time in nanoseconds
+     */
+    public long getAverageLoadTimeInNanos() {
+        if (loads == 0) {
+            return 0;
+        }
+        return totalLoadTimeInNanos / loads;
+    }
+
+    /**
+     * Returns amount of entries evicted due to <code>cacheSize</code> limit
+     * 
+     * @return amount of entries
+     */
+    public long getSizeEvictions() {
+        return sizeEvictions;
+    }
+
+    /**
+     * Returns amount of entries removed due to expired <code>timeToLive</code>
+     * 
+     * @return amount of entries
+     */
+    public long getTimeToLiveExpirations() {
+        return timeToLiveExpirations;
+    }
+
+    /**
+     * Returns amount of entries removed due to expired <code>maxIdle</code> time
+     * 
+     * @return amount of entries
+     */
+    public long getMaxIdleExpirations() {
+        return maxIdleExpirations;
+    }
+
+    /**
+     * Returns amount of entries removed by invalidation messages
+     * 
+     * @return amount of entries
+     */
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    /**
+     * Returns amount of received invalidation messages
+     * 
+     * @return amount of messages
+     */
+    public long getInvalidationMessages() {
+        return invalidationMessages;
+    }
+
+    @Override
+    public String toString() {
+        return "LocalCachedMapStats [hits=" + hits + ", misses=" + misses + ", loads=" + loads
+                + ", totalLoadTimeInNanos=" + totalLoadTimeInNanos + ", sizeEvictions=" + sizeEvictions
+                + ", timeToLiveExpirations=" + timeToLiveExpirations + ", maxIdleExpirations=" + maxIdleExpirations
+                + ", invalidations=" + invalidations + ", invalidationMessages=" + invalidationMessages + "]";
+    }
+    
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.redisson.api.map.MapLoader;
+import org.redisson.api.map.MapWriter;
+
+/**
+ * RMap options object. Used to specify RMap settings.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class MapOptions<K, V> {
+    
+    public enum WriteMode {
+        
+        /**
+         * Map entries are synchronously stored by {@link MapWriter}
+         * before operation result is returned.
+         */
+        WRITE_THROUGH,
+        
+        /**
+         * Map entries are queued and asynchronously stored by {@link MapWriter}
+         * in batches. Repeated changes of the same key are coalesced.
+         */
+        WRITE_BEHIND
+        
+    };
+    
+    private MapLoader<K, V> loader;
+    private MapWriter<K, V> writer;
+    private WriteMode writeMode;
+    private int writeBehindBatchSize;
+    private long writeBehindDelay;
+    private Executor writeBehindExecutor;
+    
+    protected MapOptions() {
+    }
+    
+    protected MapOptions(MapOptions<K, V> copy) {
+        this.loader = copy.loader;
+        this.writer = copy.writer;
+        this.writeMode = copy.writeMode;
+        this.writeBehindBatchSize = copy.writeBehindBatchSize;
+        this.writeBehindDelay = copy.writeBehindDelay;
+        this.writeBehindExecutor = copy.writeBehindExecutor;
+    }
+    
+    /**
+     * Creates a new instance of MapOptions with default options.
+     * <p>
+     * This is equivalent to:
+     * <pre>
+     *     new MapOptions()
+     *      .writeMode(WriteMode.WRITE_THROUGH)
+     *      .writeBehindBatchSize(50)
+     *      .writeBehindDelay(1000, TimeUnit.MILLISECONDS);
+     * </pre>
+     * 
+     * @param <K> key type
+     * @param <V> value type
+     * 
+     * @return MapOptions instance
+     * 
+     */
+    public static <K, V> MapOptions<K, V> defaults() {
+        return new MapOptions<K, V>()
+                    .writeMode(WriteMode.WRITE_THROUGH)
+                    .writeBehindBatchSize(50)
+                    .writeBehindDelay(1000, TimeUnit.MILLISECONDS);
+    }
+    
+    public MapLoader<K, V> getLoader() {
+        return loader;
+    }
+    
+    public MapWriter<K, V> getWriter() {
+        return writer;
+    }
+    
+    public WriteMode getWriteMode() {
+        return writeMode;
+    }
+    
+    public int getWriteBehindBatchSize() {
+        return writeBehindBatchSize;
+    }
+    
+    public long getWriteBehindDelayInMillis() {
+        return writeBehindDelay;
+    }
+    
+    public Executor getWriteBehindExecutor() {
+        return writeBehindExecutor;
+    }
+    
+    /**
+     * Sets {@link MapLoader} object used to load entry absent in Redis.
+     * 
+     * @param loader object
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> loader(MapLoader<K, V> loader) {
+        this.loader = loader;
+        return this;
+    }
+    
+    /**
+     * Sets {@link MapWriter} object used to store changed entries.
+     * 
+     * @param writer object
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writer(MapWriter<K, V> writer) {
+        this.writer = writer;
+        return this;
+    }
+    
+    /**
+     * Sets write mode of {@link MapWriter}.
+     * 
+     * @param writeMode
+     *         <p><code>WRITE_THROUGH</code> - entries are stored before operation result is returned.
+     *         <p><code>WRITE_BEHIND</code> - entries are queued and stored asynchronously in batches.
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writeMode(WriteMode writeMode) {
+        if (writeMode == null) {
+            throw new NullPointerException("writeMode can't be null");
+        }
+        this.writeMode = writeMode;
+        return this;
+    }
+    
+    /**
+     * Sets max amount of entries passed to {@link MapWriter} at once.
+     * Used only with <code>WriteMode.WRITE_BEHIND</code>
+     * 
+     * @param writeBehindBatchSize - size of batch
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writeBehindBatchSize(int writeBehindBatchSize) {
+        if (writeBehindBatchSize <= 0) {
+            throw new IllegalArgumentException("writeBehindBatchSize should be positive");
+        }
+        this.writeBehindBatchSize = writeBehindBatchSize;
+        return this;
+    }
+    
+    /**
+     * Sets max delay in milliseconds before queued entries are passed to {@link MapWriter}.
+     * Used only with <code>WriteMode.WRITE_BEHIND</code>
+     * 
+     * @param writeBehindDelayInMillis - delay in milliseconds
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writeBehindDelay(long writeBehindDelayInMillis) {
+        if (writeBehindDelayInMillis <= 0) {
+            throw new IllegalArgumentException("writeBehindDelay should be positive");
+        }
+        this.writeBehindDelay = writeBehindDelayInMillis;
+        return this;
+    }
+    
+    /**
+     * Sets max delay before queued entries are passed to {@link MapWriter}.
+     * Used only with <code>WriteMode.WRITE_BEHIND</code>
+     * 
+     * @param writeBehindDelay - delay
+     * @param timeUnit - time unit
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writeBehindDelay(long writeBehindDelay, TimeUnit timeUnit) {
+        return writeBehindDelay(timeUnit.toMillis(writeBehindDelay));
+    }
+    
+    /**
+     * Sets executor used to pass queued entries to {@link MapWriter}.
+     * Executor defined in Redisson config is used if not set.
+     * Dedicated executor prevents slow {@link MapWriter} from 
+     * blocking other Redisson tasks.
+     * Used only with <code>WriteMode.WRITE_BEHIND</code>
+     * 
+     * @param writeBehindExecutor - executor
+     * @return MapOptions instance
+     */
+    public MapOptions<K, V> writeBehindExecutor(Executor writeBehindExecutor) {
+        this.writeBehindExecutor = writeBehindExecutor;
+        return this;
+    }
+    
+}
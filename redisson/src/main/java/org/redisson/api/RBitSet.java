@@ -60,4 +60,89 @@ public interface RBitSet extends RExpirable, RBitSetAsync {
 
     void xor(String... bitSetNames);
 
+    /**
+     * Returns values of bits by defined indexes.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     * @return values of bits in order of <code>bitIndexes</code>
+     */
+    boolean[] get(long[] bitIndexes);
+
+    /**
+     * Sets bits by defined indexes to <code>true</code>.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     */
+    void set(long[] bitIndexes);
+
+    /**
+     * Sets bits by defined indexes to <code>false</code>.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     */
+    void clear(long[] bitIndexes);
+
+    /**
+     * Returns signed number stored at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @return number
+     */
+    long getSigned(int size, long offset);
+
+    /**
+     * Returns unsigned number stored at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @return number
+     */
+    long getUnsigned(int size, long offset);
+
+    /**
+     * Stores signed number at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @param value - number to store
+     * @return previous number
+     */
+    long setSigned(int size, long offset, long value);
+
+    /**
+     * Stores unsigned number at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @param value - number to store
+     * @return previous number
+     */
+    long setUnsigned(int size, long offset, long value);
+
+    /**
+     * Increments signed number stored at defined bit offset.
+     * Number wraps around on overflow.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @param increment - value to add
+     * @return number after increment
+     */
+    long incrementAndGetSigned(int size, long offset, long increment);
+
+    /**
+     * Increments unsigned number stored at defined bit offset.
+     * Number wraps around on overflow.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @param increment - value to add
+     * @return number after increment
+     */
+    long incrementAndGetUnsigned(int size, long offset, long increment);
+
 }
@@ -58,4 +58,91 @@ public interface RBitSetAsync extends RExpirableAsync {
 
     RFuture<Void> xorAsync(String... bitSetNames);
 
+    /**
+     * Returns values of bits by defined indexes.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     * @return values of bits in order of <code>bitIndexes</code>
+     */
+    RFuture<boolean[]> getAsync(long[] bitIndexes);
+
+    /**
+     * Sets bits by defined indexes to <code>true</code>.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     * @return void
+     */
+    RFuture<Void> setAsync(long[] bitIndexes);
+
+    /**
+     * Sets bits by defined indexes to <code>false</code>.
+     * Executed as single BITFIELD command.
+     *
+     * @param bitIndexes - indexes of bits
+     * @return void
+     */
+    RFuture<Void> clearAsync(long[] bitIndexes);
+
+    /**
+     * Returns signed number stored at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @return number
+     */
+    RFuture<Long> getSignedAsync(int size, long offset);
+
+    /**
+     * Returns unsigned number stored at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @return number
+     */
+    RFuture<Long> getUnsignedAsync(int size, long offset);
+
+    /**
+     * Stores signed number at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @param value - number to store
+     * @return previous number
+     */
+    RFuture<Long> setSignedAsync(int size, long offset, long value);
+
+    /**
+     * Stores unsigned number at defined bit offset.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @param value - number to store
+     * @return previous number
+     */
+    RFuture<Long> setUnsignedAsync(int size, long offset, long value);
+
+    /**
+     * Increments signed number stored at defined bit offset.
+     * Number wraps around on overflow.
+     *
+     * @param size - size of number in bits, from 1 to 64
+     * @param offset - offset in bits
+     * @param increment - value to add
+     * @return number after increment
+     */
+    RFuture<Long> incrementAndGetSignedAsync(int size, long offset, long increment);
+
+    /**
+     * Increments unsigned number stored at defined bit offset.
+     * Number wraps around on overflow.
+     *
+     * @param size - size of number in bits, from 1 to 63
+     * @param offset - offset in bits
+     * @param increment - value to add
+     * @return number after increment
+     */
+    RFuture<Long> incrementAndGetUnsignedAsync(int size, long offset, long increment);
+
 }
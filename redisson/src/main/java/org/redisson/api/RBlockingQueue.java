@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -44,4 +45,22 @@ public interface RBlockingQueue<V> extends BlockingQueue<V>, RQueue<V>, RBlockin
 
     V pollLastAndOfferFirstTo(String queueName, long timeout, TimeUnit unit) throws InterruptedException;
 
+    /**
+     * Retrieves and removes up to <code>maxElements</code> head elements of this queue,
+     * waiting up to the specified wait time if necessary 
+     * for at least one element to become available.
+     * Available elements are retrieved with single Redis request.
+     *
+     * @param maxElements - maximum amount of elements to retrieve
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}. Rounded up to whole seconds.
+     *        If <code>0</code> then only available elements are retrieved without waiting
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return list of head elements, or empty list if the
+     *         specified waiting time elapses before an element is available
+     * @throws InterruptedException if interrupted while waiting
+     */
+    List<V> take(int maxElements, long timeout, TimeUnit unit) throws InterruptedException;
+
 }
@@ -16,6 +16,7 @@
 package org.redisson.api;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
 
@@ -54,6 +55,23 @@ public interface RBlockingQueueReactive<V> extends RQueueReactive<V> {
 
     Publisher<V> take();
 
+    /**
+     * Retrieves and removes up to <code>maxElements</code> head elements of this queue,
+     * waiting up to the specified wait time if necessary 
+     * for at least one element to become available.
+     * Available elements are retrieved with single Redis request.
+     *
+     * @param maxElements - maximum amount of elements to retrieve
+     * @param timeout how long to wait before giving up, in units of
+     *        {@code unit}. Rounded up to whole seconds.
+     *        If <code>0</code> then only available elements are retrieved without waiting
+     * @param unit a {@code TimeUnit} determining how to interpret the
+     *        {@code timeout} parameter
+     * @return list of head elements, or empty list if the
+     *         specified waiting time elapses before an element is available
+     */
+    Publisher<List<V>> take(int maxElements, long timeout, TimeUnit unit);
+
     Publisher<Long> put(V e);
 
 }
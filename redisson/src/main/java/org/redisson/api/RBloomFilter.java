@@ -15,6 +15,9 @@
  */
 package org.redisson.api;
 
+import java.util.Collection;
+import java.util.List;
+
 /**
  * Bloom filter based on 64-bit hash derived from 128-bit hash (xxHash + FarmHash).
  *
@@ -24,12 +27,52 @@ package org.redisson.api;
  *
  * @param <T> - type of object
  */
-public interface RBloomFilter<T> extends RExpirable {
+public interface RBloomFilter<T> extends RExpirable, RBloomFilterAsync<T> {
 
+    /**
+     * Adds element
+     * 
+     * @param object - element to add
+     * @return <code>true</code> if element has been added
+     *         <code>false</code> if element may have been added already
+     */
     boolean add(T object);
 
+    /**
+     * Adds all elements. 
+     * Elements are added in batch of script calls executed in single round-trip.
+     * 
+     * @param objects - elements to add
+     * @return amount of added elements
+     */
+    int addAll(Collection<? extends T> objects);
+
+    /**
+     * Checks for element presence
+     * 
+     * @param object - element
+     * @return <code>true</code> if element may be present
+     *         <code>false</code> if element is definitely absent
+     */
     boolean contains(T object);
 
+    /**
+     * Checks for presence of all elements
+     * 
+     * @param objects - elements
+     * @return <code>true</code> if all elements may be present
+     *         <code>false</code> if at least one element is definitely absent
+     */
+    boolean containsAll(Collection<? extends T> objects);
+
+    /**
+     * Checks for presence of each element
+     * 
+     * @param objects - elements
+     * @return presence flags in order of <code>objects</code> iteration
+     */
+    List<Boolean> containsEach(Collection<? extends T> objects);
+
     /**
      * Initializes Bloom filter params (size and hashIterations)
      * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>
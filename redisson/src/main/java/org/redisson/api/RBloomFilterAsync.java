@@ -0,0 +1,75 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Async interface of Bloom filter.
+ * Hashes are calculated locally and all bits of operation 
+ * are evaluated by Redis in single script call.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> - type of object
+ */
+public interface RBloomFilterAsync<T> extends RExpirableAsync {
+
+    /**
+     * Adds element
+     * 
+     * @param object - element to add
+     * @return <code>true</code> if element has been added
+     *         <code>false</code> if element may have been added already
+     */
+    RFuture<Boolean> addAsync(T object);
+
+    /**
+     * Adds all elements
+     * 
+     * @param objects - elements to add
+     * @return amount of added elements
+     */
+    RFuture<Integer> addAllAsync(Collection<? extends T> objects);
+
+    /**
+     * Checks for element presence
+     * 
+     * @param object - element
+     * @return <code>true</code> if element may be present
+     *         <code>false</code> if element is definitely absent
+     */
+    RFuture<Boolean> containsAsync(T object);
+
+    /**
+     * Checks for presence of all elements
+     * 
+     * @param objects - elements
+     * @return <code>true</code> if all elements may be present
+     *         <code>false</code> if at least one element is definitely absent
+     */
+    RFuture<Boolean> containsAllAsync(Collection<? extends T> objects);
+
+    /**
+     * Checks for presence of each element
+     * 
+     * @param objects - elements
+     * @return presence flags in order of <code>objects</code> iteration
+     */
+    RFuture<List<Boolean>> containsEachAsync(Collection<? extends T> objects);
+
+}
@@ -63,5 +63,16 @@ public interface RBuckets {
      * @param buckets - map of buckets
      */
     void set(Map<String, ?> buckets);
+
+    /**
+     * Saves objects mapped by Redis key.
+     * Objects are sent by chunks with <code>batchSize</code> objects at most.
+     * Chunks are pipelined with limited amount of chunks in flight.
+     * Operation isn't atomic, some chunks could be stored if error occurs.
+     *
+     * @param buckets - map of buckets
+     * @param batchSize - max amount of objects per chunk
+     */
+    void set(Map<String, ?> buckets, int batchSize);
     
 }
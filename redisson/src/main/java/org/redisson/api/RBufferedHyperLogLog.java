@@ -0,0 +1,61 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * HyperLogLog with local pre-aggregation.
+ * <p>
+ * Added elements are aggregated in local sketch compatible with Redis 
+ * HyperLogLog representation. Sketch is merged into Redis key using 
+ * single <code>PFMERGE</code> operation once flush interval has elapsed. 
+ * Methods which read Redis key flush sketch first.
+ * <p>
+ * Elements are cleared from local sketch once merged, so elements removed 
+ * from Redis key by delete or expiration aren't merged again. 
+ * The object should be reused, since it holds elements added since last flush. 
+ * Use {@link #destroy()} once object isn't necessary anymore.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <V> value
+ */
+public interface RBufferedHyperLogLog<V> extends RHyperLogLog<V>, RDestroyable {
+
+    /**
+     * Returns approximate amount of distinct elements 
+     * added through this object. Redis isn't requested.
+     * <p>
+     * Cardinality estimator of Redis depends on its version, 
+     * so this value may slightly differ from <code>PFCOUNT</code> result 
+     * for the same elements.
+     * 
+     * @return estimated amount of elements
+     */
+    long countApprox();
+
+    /**
+     * Merges local sketch into Redis key.
+     */
+    void flush();
+
+    /**
+     * Merges local sketch into Redis key.
+     * 
+     * @return void
+     */
+    RFuture<Void> flushAsync();
+
+}
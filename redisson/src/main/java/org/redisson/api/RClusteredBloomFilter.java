@@ -0,0 +1,68 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Bloom filter which bit array is split into segments. 
+ * Each segment is stored in separate key with own hash slot,
+ * so segments are distributed across Redis Cluster nodes.
+ * Element hash defines its segment, thus each operation 
+ * over single element touches only one node.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> - type of object
+ */
+public interface RClusteredBloomFilter<T> extends RBloomFilter<T> {
+
+    /**
+     * Initializes Bloom filter params (size and hashIterations)
+     * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>.
+     * Bit array is split into amount of segments equal to
+     * amount of master nodes, but not less than required to fit 
+     * each segment into single Redis string.
+     * Stores config to Redis server.
+     *
+     * @param expectedInsertions - expected amount of insertions
+     * @param falseProbability - expected false probability
+     * @return <code>true</code> if Bloom filter initialized
+     *         <code>false</code> if Bloom filter already has been initialized
+     */
+    @Override
+    boolean tryInit(long expectedInsertions, double falseProbability);
+
+    /**
+     * Initializes Bloom filter params (size and hashIterations)
+     * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>.
+     * Bit array is split into defined amount of segments.
+     * Stores config to Redis server.
+     *
+     * @param expectedInsertions - expected amount of insertions
+     * @param falseProbability - expected false probability
+     * @param segments - amount of segments
+     * @return <code>true</code> if Bloom filter initialized
+     *         <code>false</code> if Bloom filter already has been initialized
+     */
+    boolean tryInit(long expectedInsertions, double falseProbability, int segments);
+
+    /**
+     * Returns amount of segments
+     * 
+     * @return amount of segments
+     */
+    int getSegments();
+
+}
@@ -0,0 +1,60 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import java.util.Collection;
+
+/**
+ * Counting Bloom filter. Each bit is replaced with 4-bit counter,
+ * so element can be removed from filter.
+ * Counter is saturated at 15 and isn't decremented after that.
+ * <p>
+ * Each add increments counters of element, thus element 
+ * added twice should be removed twice as well.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> - type of object
+ */
+public interface RCountingBloomFilter<T> extends RBloomFilter<T>, RCountingBloomFilterAsync<T> {
+
+    /**
+     * Removes element. 
+     * Counters are decremented only if element may be present.
+     * 
+     * @param object - element to remove
+     * @return <code>true</code> if element has been removed
+     *         <code>false</code> if element is definitely absent
+     */
+    boolean remove(T object);
+
+    /**
+     * Removes all elements.
+     * 
+     * @param objects - elements to remove
+     * @return amount of removed elements
+     */
+    int removeAll(Collection<? extends T> objects);
+
+    /**
+     * Returns amount of added elements minus amount of removed elements.
+     * 
+     * @return amount of elements
+     */
+    @Override
+    int count();
+
+}
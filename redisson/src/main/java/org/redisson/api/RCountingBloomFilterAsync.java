@@ -0,0 +1,47 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+import java.util.Collection;
+
+/**
+ * Async interface of counting Bloom filter.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <T> - type of object
+ */
+public interface RCountingBloomFilterAsync<T> extends RBloomFilterAsync<T> {
+
+    /**
+     * Removes element. 
+     * Counters are decremented only if element may be present.
+     * 
+     * @param object - element to remove
+     * @return <code>true</code> if element has been removed
+     *         <code>false</code> if element is definitely absent
+     */
+    RFuture<Boolean> removeAsync(T object);
+
+    /**
+     * Removes all elements.
+     * 
+     * @param objects - elements to remove
+     * @return amount of removed elements
+     */
+    RFuture<Integer> removeAllAsync(Collection<? extends T> objects);
+
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Distributed identifier generator.
+ * <p>
+ * Ranges of identifiers are reserved with single <code>INCRBY allocationSize</code> 
+ * command and handed out locally. Next range is requested asynchronously 
+ * once current range is nearly used up. Identifiers are unique but may have gaps 
+ * and aren't ordered across Redisson instances.
+ * <p>
+ * Reserved ranges are stored in this object, so it should be reused.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public interface RIdGenerator extends RExpirable, RIdGeneratorAsync {
+
+    /**
+     * Initializes generator with start value and allocation size.
+     * Allocation size is <code>5000</code> if generator isn't initialized.
+     * 
+     * @param value - first identifier
+     * @param allocationSize - amount of identifiers reserved per Redis request
+     * @return <code>true</code> if generator has been initialized successfully 
+     *          <code>false</code> if generator already initialized or used
+     */
+    boolean tryInit(long value, long allocationSize);
+
+    /**
+     * Returns next unique identifier.
+     * 
+     * @return identifier
+     */
+    long nextId();
+
+}
@@ -16,6 +16,7 @@
 package org.redisson.api;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface RKeys extends RKeysAsync {
 
@@ -72,6 +73,73 @@ public interface RKeys extends RKeysAsync {
      * @return Iterable object
      */
     Iterable<String> getKeysByPattern(String pattern, int count);
+
+    /**
+     * Get all keys by pattern using iterator. 
+     * Keys traversed with SCAN operation. Each SCAN operation loads 
+     * up to <code>count</code> keys per request. Up to <code>prefetch</code>
+     * next pages are loaded in background while current page is consumed.
+     * First pages of all master nodes are requested in parallel.
+     * 
+     * @param pattern - match pattern
+     * @param count - keys loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return Iterable object
+     */
+    Iterable<String> getKeysByPattern(String pattern, int count, int prefetch);
+
+    /**
+     * Get all keys by pattern split by master node.
+     * Each returned Iterable traverses keys of single master node 
+     * with own SCAN cursor and doesn't depend on others. 
+     * So they could be consumed concurrently, for example:
+     * <pre>
+     *     keys.getKeysByPatternPerNode("test*", 100).parallelStream()
+     *         .flatMap(node -&gt; StreamSupport.stream(node.spliterator(), false))
+     * </pre>
+     * 
+     * @param pattern - match pattern
+     * @param count - keys loaded per request to Redis
+     * @return Iterable object per master node
+     */
+    List<Iterable<String>> getKeysByPatternPerNode(String pattern, int count);
+
+    /**
+     * Get all keys by pattern split by master node.
+     * Each returned Iterable traverses keys of single master node 
+     * with own SCAN cursor and doesn't depend on others.
+     * Up to <code>prefetch</code> next pages are loaded in background 
+     * while current page is consumed.
+     * 
+     * @param pattern - match pattern
+     * @param count - keys loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return Iterable object per master node
+     */
+    List<Iterable<String>> getKeysByPatternPerNode(String pattern, int count, int prefetch);
+
+    /**
+     * Get all keys by pattern split into independent partitions.
+     * Cursor space of SCAN operation on each master node is split into
+     * up to <code>partitionsPerNode</code> ranges. Each returned Iterable 
+     * drives own SCAN cursor over single range, so they could be consumed 
+     * concurrently, for example:
+     * <pre>
+     *     keys.getKeysByPatternPartitions("test*", 100, 8).parallelStream()
+     *         .flatMap(part -&gt; StreamSupport.stream(part.spliterator(), false))
+     * </pre>
+     * As with SCAN operation a key may be returned more than once,
+     * for example by neighbour partitions.
+     * 
+     * @param pattern - match pattern
+     * @param count - keys loaded per request to Redis
+     * @param partitionsPerNode - max amount of partitions per master node.
+     *          Rounded down to power of two
+     * @return Iterable object per partition
+     */
+    List<Iterable<String>> getKeysByPatternPartitions(String pattern, int count, int partitionsPerNode);
     
     /**
      * Get all keys using iterator. Keys traversing with SCAN operation
@@ -16,6 +16,7 @@
 package org.redisson.api;
 
 import java.util.List;
+import java.util.ListIterator;
 import java.util.RandomAccess;
 
 /**
@@ -27,6 +28,19 @@ import java.util.RandomAccess;
  */
 public interface RList<V> extends List<V>, RExpirable, RListAsync<V>, RandomAccess {
 
+    /**
+     * Returns list iterator starting at <code>index</code>.
+     * Elements are loaded in chunks by LRANGE command and
+     * next chunk is loaded in background while current chunk is consumed.
+     * Iterator is weakly consistent and doesn't reflect concurrent changes 
+     * of already loaded elements.
+     * 
+     * @param index - start index
+     * @param chunkSize - amount of elements loaded per request to Redis
+     * @return list iterator
+     */
+    ListIterator<V> listIterator(int index, int chunkSize);
+
     /**
      * Add <code>element</code> after <code>elementToFind</code>
      * 
@@ -28,4 +28,40 @@ package org.redisson.api;
  */
 public interface RLocalCachedMap<K, V> extends RMap<K, V>, RDestroyable {
 
+    /**
+     * Fills local cache with map entries. 
+     * Entries are loaded in batches of 100 entries.
+     * <p>
+     * See {@link #preloadCache(int)}
+     */
+    void preloadCache();
+    
+    /**
+     * Fills local cache with map entries. 
+     * Entries are loaded by <code>HSCAN</code> command in batches of <code>count</code> entries 
+     * until whole map has been scanned or local cache size limit has been reached.
+     * 
+     * @param count - entries amount loaded per request
+     */
+    void preloadCache(int count);
+    
+    /**
+     * Fills local cache with map entries asynchronously. 
+     * Could be used to preload several maps in parallel, 
+     * e.g. when they are stored on different Redis nodes.
+     * <p>
+     * See {@link #preloadCache(int)}
+     * 
+     * @param count - entries amount loaded per request
+     * @return void
+     */
+    RFuture<Void> preloadCacheAsync(int count);
+    
+    /**
+     * Returns snapshot of local cache statistics.
+     * 
+     * @return statistics
+     */
+    LocalCachedMapStats getCacheStats();
+    
 }
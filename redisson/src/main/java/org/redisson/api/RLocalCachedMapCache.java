@@ -0,0 +1,31 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Map-based cache with local entry cache support.
+ * <p>
+ * Each instance maintains local cache to achieve fast read operations.
+ * Local entry expires no later than corresponding entry stored in Redis.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <K> map key
+ * @param <V> map value
+ */
+public interface RLocalCachedMapCache<K, V> extends RMapCache<K, V>, RDestroyable {
+
+}
@@ -0,0 +1,92 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Distributed long adder. 
+ * <p>
+ * Increments are accumulated locally and added to Redis 
+ * asynchronously once flush interval has elapsed. 
+ * {@link #sum()} and {@link #reset()} request all Redisson instances 
+ * to flush or discard accumulated increments using pub/sub messages.
+ * <p>
+ * Use {@link #destroy()} once object isn't necessary anymore.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public interface RLongAdder extends RExpirable, RDestroyable {
+
+    /**
+     * Adds value
+     * 
+     * @param x - value to add
+     */
+    void add(long x);
+
+    /**
+     * Increments value
+     */
+    void increment();
+
+    /**
+     * Decrements value
+     */
+    void decrement();
+
+    /**
+     * Accumulates sum across all Redisson instances.
+     * Waits until each instance has flushed accumulated increments.
+     * 
+     * @return accumulated sum
+     */
+    long sum();
+
+    /**
+     * Accumulates sum across all Redisson instances.
+     * Waits until each instance has flushed accumulated increments.
+     * 
+     * @return accumulated sum
+     */
+    RFuture<Long> sumAsync();
+
+    /**
+     * Resets value across all Redisson instances.
+     * Accumulated increments of each instance are discarded.
+     */
+    void reset();
+
+    /**
+     * Resets value across all Redisson instances.
+     * Accumulated increments of each instance are discarded.
+     * 
+     * @return void
+     */
+    RFuture<Void> resetAsync();
+
+    /**
+     * Adds increments accumulated by this instance to Redis.
+     */
+    void flush();
+
+    /**
+     * Adds increments accumulated by this instance to Redis.
+     * 
+     * @return void
+     */
+    RFuture<Void> flushAsync();
+
+}
@@ -16,6 +16,7 @@
 package org.redisson.api;
 
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
@@ -33,6 +34,13 @@ import java.util.concurrent.ConcurrentMap;
  */
 public interface RMap<K, V> extends ConcurrentMap<K, V>, RExpirable, RMapAsync<K, V> {
 
+    /**
+     * Passes all changes queued in <code>WriteMode.WRITE_BEHIND</code> mode
+     * to {@link org.redisson.api.map.MapWriter} and waits for completion.
+     * Does nothing if write-behind mode isn't used.
+     */
+    void flush();
+    
     /**
      * Returns size of value mapped by key in bytes
      * 
@@ -65,6 +73,34 @@ public interface RMap<K, V> extends ConcurrentMap<K, V>, RExpirable, RMapAsync<K
      */
     Map<K, V> getAll(Set<K> keys);
 
+    /**
+     * Gets a map slice contains the mappings with defined <code>keys</code>.
+     * Keys are requested by chunks with <code>batchSize</code> keys at most.
+     * Chunks are pipelined with limited amount of chunks in flight.
+     * 
+     * Use it to read large amount of keys without blocking Redis for a long time.
+     *
+     * The returned map is <b>NOT</b> backed by the original map.
+     *
+     * @param keys - map keys
+     * @param batchSize - max amount of keys per chunk
+     * @return Map object
+     */
+    Map<K, V> getAll(Set<K> keys, int batchSize);
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     * Entries are sent by chunks with <code>batchSize</code> entries at most.
+     * Chunks are pipelined with limited amount of chunks in flight.
+     * 
+     * Use it to store large amount of entries without blocking Redis for a long time.
+     * Operation isn't atomic, some chunks could be stored if error occurs.
+     *
+     * @param map - mappings to be stored in this map
+     * @param batchSize - max amount of entries per chunk
+     */
+    void putAll(Map<? extends K, ? extends V> map, int batchSize);
+
     /**
      * Removes <code>keys</code> from map by one operation
      *
@@ -132,5 +168,60 @@ public interface RMap<K, V> extends ConcurrentMap<K, V>, RExpirable, RMapAsync<K
      */
     @Override
     Set<java.util.Map.Entry<K, V>> entrySet();
+
+    /**
+     * Returns key set. Keys are loaded in pages by HSCAN command. 
+     * Up to <code>prefetch</code> next pages are loaded in background 
+     * while current page is consumed by iterator.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return key set
+     */
+    Set<K> keySet(int count, int prefetch);
+
+    /**
+     * Returns values collection. Values are loaded in pages by HSCAN command. 
+     * Up to <code>prefetch</code> next pages are loaded in background 
+     * while current page is consumed by iterator.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return values collection
+     */
+    Collection<V> values(int count, int prefetch);
+
+    /**
+     * Returns entry set. Entries are loaded in pages by HSCAN command. 
+     * Up to <code>prefetch</code> next pages are loaded in background 
+     * while current page is consumed by iterator.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return entry set
+     */
+    Set<java.util.Map.Entry<K, V>> entrySet(int count, int prefetch);
+    
+    /**
+     * Returns entries split into independent partitions.
+     * Cursor space of HSCAN command is split into up to <code>partitions</code> 
+     * ranges. Each returned Iterable drives own HSCAN cursor over single range, 
+     * so they could be consumed concurrently, for example:
+     * <pre>
+     *     map.entrySetPartitions(100, 8).parallelStream()
+     *         .flatMap(part -&gt; StreamSupport.stream(part.spliterator(), false))
+     * </pre>
+     * Small map stored in compact encoding isn't split.
+     * As with HSCAN command an entry may be returned more than once,
+     * for example by neighbour partitions.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param partitions - max amount of partitions. Rounded down to power of two
+     * @return Iterable object per partition
+     */
+    List<Iterable<java.util.Map.Entry<K, V>>> entrySetPartitions(int count, int partitions);
     
 }
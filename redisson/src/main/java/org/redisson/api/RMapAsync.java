@@ -42,6 +42,26 @@ public interface RMapAsync<K, V> extends RExpirableAsync {
 
     RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map);
 
+    /**
+     * Gets a map slice contains the mappings with defined <code>keys</code>.
+     * Keys are requested by chunks with <code>batchSize</code> keys at most.
+     * 
+     * @param keys - map keys
+     * @param batchSize - max amount of keys per chunk
+     * @return Map object
+     */
+    RFuture<Map<K, V>> getAllAsync(Set<K> keys, int batchSize);
+
+    /**
+     * Copies all of the mappings from the specified map to this map.
+     * Entries are sent by chunks with <code>batchSize</code> entries at most.
+     * 
+     * @param map - mappings to be stored in this map
+     * @param batchSize - max amount of entries per chunk
+     * @return void
+     */
+    RFuture<Void> putAllAsync(Map<? extends K, ? extends V> map, int batchSize);
+
     RFuture<V> addAndGetAsync(K key, Number value);
 
     RFuture<Boolean> containsValueAsync(Object value);
@@ -29,6 +29,11 @@ import java.util.concurrent.TimeUnit;
  * In addition there is {@link org.redisson.EvictionScheduler}. This scheduler
  * deletes expired entries in time interval between 5 seconds to 2 hours.</p>
  *
+ * <p>Max idle time of entry is prolonged by read operations asynchronously, 
+ * reads are collected and applied in batch with up to 100 ms delay. 
+ * So entry could expire even though it has been read less than max idle time ago 
+ * if its max idle time elapses during this delay.</p>
+ *
  * <p>If eviction is not required then it's better to use {@link org.redisson.reactive.RedissonMapReactive}.</p>
  *
  * @author Nikita Koksharov
@@ -38,6 +43,42 @@ import java.util.concurrent.TimeUnit;
  */
 public interface RMapCache<K, V> extends RMap<K, V>, RMapCacheAsync<K, V> {
 
+    /**
+     * Sets max size of the map.
+     * Least recently used entries are evicted
+     * once the map size exceeds <code>maxSize</code>.
+     * <p>
+     * Eviction is executed atomically during each write operation,
+     * so the bound holds for all Redisson instances working with this map.
+     * Max size is kept after <code>clear</code> and removed by <code>delete</code>.
+     * <p>
+     * Evicted entries aren't invalidated in local caches of 
+     * {@link RLocalCachedMapCache} instances, they stay there until local time to live.
+     *
+     * @param maxSize - max size of the map.
+     *              If <code>0</code> then the map size isn't limited.
+     */
+    void setMaxSize(int maxSize);
+
+    /**
+     * Sets max size of the map and eviction mode.
+     * Entries are evicted according to <code>mode</code>
+     * once the map size exceeds <code>maxSize</code>.
+     * <p>
+     * Eviction is executed atomically during each write operation,
+     * so the bound holds for all Redisson instances working with this map.
+     * Max size is kept after <code>clear</code> and removed by <code>delete</code>.
+     * <p>
+     * Evicted entries aren't invalidated in local caches of 
+     * {@link RLocalCachedMapCache} instances, they stay there until local time to live.
+     *
+     * @param maxSize - max size of the map.
+     *              If <code>0</code> then the map size isn't limited.
+     * @param mode - eviction mode
+     */
+    void setMaxSize(int maxSize, EvictionMode mode);
+
+
     /**
      * If the specified key is not already associated
      * with a value, associate it with the given value.
@@ -38,6 +38,30 @@ import java.util.concurrent.TimeUnit;
  */
 public interface RMapCacheAsync<K, V> extends RMapAsync<K, V> {
 
+    /**
+     * Sets max size of the map.
+     * Least recently used entries are evicted
+     * once the map size exceeds <code>maxSize</code>.
+     *
+     * @param maxSize - max size of the map.
+     *              If <code>0</code> then the map size isn't limited.
+     * @return void
+     */
+    RFuture<Void> setMaxSizeAsync(int maxSize);
+
+    /**
+     * Sets max size of the map and eviction mode.
+     * Entries are evicted according to <code>mode</code>
+     * once the map size exceeds <code>maxSize</code>.
+     *
+     * @param maxSize - max size of the map.
+     *              If <code>0</code> then the map size isn't limited.
+     * @param mode - eviction mode
+     * @return void
+     */
+    RFuture<Void> setMaxSizeAsync(int maxSize, EvictionMode mode);
+
+
     /**
      * If the specified key is not already associated
      * with a value, associate it with the given value.
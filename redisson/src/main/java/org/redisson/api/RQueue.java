@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.List;
 import java.util.Queue;
 
 /**
@@ -26,6 +27,15 @@ import java.util.Queue;
  */
 public interface RQueue<V> extends Queue<V>, RExpirable, RQueueAsync<V> {
 
+    /**
+     * Retrieves and removes up to <code>limit</code> head elements of this queue 
+     * using single Redis request.
+     * 
+     * @param limit - maximum amount of elements to retrieve
+     * @return list of head elements. Empty list if queue is empty
+     */
+    List<V> poll(int limit);
+
     V pollLastAndOfferFirstTo(String dequeName);
 
     V pollLastAndOfferFirstTo(RQueue<V> deque);
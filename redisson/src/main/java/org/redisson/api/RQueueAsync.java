@@ -15,6 +15,8 @@
  */
 package org.redisson.api;
 
+import java.util.List;
+
 /**
  * {@link java.util.Queue} backed by Redis
  *
@@ -28,6 +30,15 @@ public interface RQueueAsync<V> extends RCollectionAsync<V> {
 
     RFuture<V> pollAsync();
 
+    /**
+     * Retrieves and removes up to <code>limit</code> head elements of this queue 
+     * using single Redis request.
+     * 
+     * @param limit - maximum amount of elements to retrieve
+     * @return list of head elements. Empty list if queue is empty
+     */
+    RFuture<List<V>> pollAsync(int limit);
+
     RFuture<Boolean> offerAsync(V e);
 
     RFuture<V> pollLastAndOfferFirstToAsync(String queueName);
@@ -15,6 +15,8 @@
  */
 package org.redisson.api;
 
+import java.util.List;
+
 import org.reactivestreams.Publisher;
 
 /**
@@ -30,6 +32,15 @@ public interface RQueueReactive<V> extends RCollectionReactive<V> {
 
     Publisher<V> poll();
 
+    /**
+     * Retrieves and removes up to <code>limit</code> head elements of this queue 
+     * using single Redis request.
+     * 
+     * @param limit - maximum amount of elements to retrieve
+     * @return list of head elements. Empty list if queue is empty
+     */
+    Publisher<List<V>> poll(int limit);
+
     Publisher<Long> offer(V e);
 
     Publisher<V> pollLastAndOfferFirstTo(String queueName);
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Scalable Bloom filter. Consists of layers with growing capacity.
+ * New layer is added once all elements defined by capacity of last layer 
+ * have been added. 
+ * <p>
+ * First layer capacity equals to <code>expectedInsertions</code> 
+ * and each next layer has twice larger capacity.
+ * False probability of each next layer is twice smaller,
+ * so total false probability doesn't exceed <code>falseProbability</code>.
+ * <p>
+ * Filter stops growing once size of next layer would exceed max Bloom filter size.
+ * Then last layer accepts elements over its capacity and false probability 
+ * grows accordingly.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <T> - type of object
+ */
+public interface RScalableBloomFilter<T> extends RBloomFilter<T> {
+
+    /**
+     * Initializes Bloom filter params of first layer
+     * calculated from <code>expectedInsertions</code> and <code>falseProbability</code>
+     * Stores config to Redis server.
+     *
+     * @param expectedInsertions - expected amount of insertions into first layer
+     * @param falseProbability - expected false probability of whole filter
+     * @return <code>true</code> if Bloom filter initialized
+     *         <code>false</code> if Bloom filter already has been initialized
+     */
+    @Override
+    boolean tryInit(long expectedInsertions, double falseProbability);
+
+    /**
+     * Returns amount of layers
+     * 
+     * @return amount of layers
+     */
+    int getLayers();
+
+    /**
+     * Returns total size in bits of all layers
+     * 
+     * @return size in bits
+     */
+    @Override
+    long getSize();
+
+    /**
+     * Returns hash iterations amount of last layer
+     * 
+     * @return hash iterations amount
+     */
+    @Override
+    int getHashIterations();
+
+    /**
+     * Returns amount of elements added to all layers.
+     * 
+     * @return amount of elements
+     */
+    @Override
+    int count();
+
+}
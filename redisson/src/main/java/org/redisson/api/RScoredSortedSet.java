@@ -16,6 +16,7 @@
 package org.redisson.api;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 
 import org.redisson.client.protocol.ScoredEntry;
@@ -28,6 +29,18 @@ import org.redisson.client.protocol.ScoredEntry;
  */
 public interface RScoredSortedSet<V> extends RScoredSortedSetAsync<V>, Iterable<V>, RExpirable {
 
+    /**
+     * Returns iterator over elements of this sorted set.
+     * Elements are loaded in pages by ZSCAN command. Up to <code>prefetch</code>
+     * next pages are loaded in background while current page is consumed.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return iterator
+     */
+    Iterator<V> iterator(int count, int prefetch);
+
     public enum Aggregate {
         
         SUM, MAX, MIN
@@ -15,6 +15,8 @@
  */
 package org.redisson.api;
 
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -26,6 +28,18 @@ import java.util.Set;
  */
 public interface RSet<V> extends Set<V>, RExpirable, RSetAsync<V> {
 
+    /**
+     * Returns iterator over elements of this set.
+     * Elements are loaded in pages by SSCAN command. Up to <code>prefetch</code>
+     * next pages are loaded in background while current page is consumed.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param prefetch - amount of pages loaded ahead.
+     *          If <code>0</code> then next page is loaded only once current page is consumed
+     * @return iterator
+     */
+    Iterator<V> iterator(int count, int prefetch);
+
     /**
      * Removes and returns random element from set
      *
@@ -111,4 +125,23 @@ public interface RSet<V> extends Set<V>, RExpirable, RSetAsync<V> {
      */
     Set<V> readIntersection(String... names);
 
+    /**
+     * Returns elements split into independent partitions.
+     * Cursor space of SSCAN command is split into up to <code>partitions</code> 
+     * ranges. Each returned Iterable drives own SSCAN cursor over single range, 
+     * so they could be consumed concurrently, for example:
+     * <pre>
+     *     set.partitions(100, 8).parallelStream()
+     *         .flatMap(part -&gt; StreamSupport.stream(part.spliterator(), false))
+     * </pre>
+     * Small set stored in compact encoding isn't split.
+     * As with SSCAN command an element may be returned more than once,
+     * for example by neighbour partitions.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param partitions - max amount of partitions. Rounded down to power of two
+     * @return Iterable object per partition
+     */
+    List<Iterable<V>> partitions(int count, int partitions);
+
 }
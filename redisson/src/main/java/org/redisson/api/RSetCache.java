@@ -15,6 +15,7 @@
  */
 package org.redisson.api;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
@@ -67,4 +68,23 @@ public interface RSetCache<V> extends Set<V>, RExpirable, RSetCacheAsync<V> {
      */
     Set<V> readAll();
 
+    /**
+     * Returns elements split into independent partitions.
+     * Cursor space of ZSCAN command is split into up to <code>partitions</code> 
+     * ranges. Each returned Iterable drives own ZSCAN cursor over single range, 
+     * so they could be consumed concurrently, for example:
+     * <pre>
+     *     set.partitions(100, 8).parallelStream()
+     *         .flatMap(part -&gt; StreamSupport.stream(part.spliterator(), false))
+     * </pre>
+     * Small set stored in compact encoding isn't split.
+     * As with ZSCAN command an element may be returned more than once,
+     * for example by neighbour partitions.
+     * 
+     * @param count - size of page loaded per request to Redis
+     * @param partitions - max amount of partitions. Rounded down to power of two
+     * @return Iterable object per partition
+     */
+    List<Iterable<V>> partitions(int count, int partitions);
+
 }
@@ -104,6 +104,37 @@ public interface RedissonClient {
      */
     <K, V> RMapCache<K, V> getMapCache(String name);
 
+    /**
+     * Returns map-based cache instance by name
+     * using provided options.
+     * Supports entry eviction with a given TTL value.
+     *
+     * <p>If eviction is not required then it's better to use regular map {@link #getMap(String, MapOptions)}.</p>
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param options - map options
+     * @return MapCache object
+     */
+    <K, V> RMapCache<K, V> getMapCache(String name, MapOptions<K, V> options);
+
+    /**
+     * Returns map-based cache instance by name
+     * using provided codec for both cache keys and values and provided options.
+     * Supports entry eviction with a given TTL value.
+     *
+     * <p>If eviction is not required then it's better to use regular map {@link #getMap(String, Codec, MapOptions)}.</p>
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @param options - map options
+     * @return MapCache object
+     */
+    <K, V> RMapCache<K, V> getMapCache(String name, Codec codec, MapOptions<K, V> options);
+
     /**
      * Returns object holder instance by name.
      *
@@ -160,6 +191,44 @@ public interface RedissonClient {
      */
     <V> RHyperLogLog<V> getHyperLogLog(String name, Codec codec);
 
+    /**
+     * Returns HyperLogLog instance with local pre-aggregation by name.
+     * Local sketch is merged into Redis each second.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @return BufferedHyperLogLog object
+     */
+    <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name);
+
+    /**
+     * Returns HyperLogLog instance with local pre-aggregation by name
+     * using provided codec for hll objects.
+     * Local sketch is merged into Redis each second.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @return BufferedHyperLogLog object
+     */
+    <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name, Codec codec);
+
+    /**
+     * Returns HyperLogLog instance with local pre-aggregation by name
+     * using provided codec for hll objects.
+     * Local sketch is merged into Redis once <code>flushInterval</code> has elapsed.
+     * If <code>flushInterval</code> equals to <code>0</code> then sketch is merged
+     * only during {@link RBufferedHyperLogLog#flush()} invocation and Redis key read operations.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @param flushInterval - flush interval
+     * @param unit - time unit
+     * @return BufferedHyperLogLog object
+     */
+    <V> RBufferedHyperLogLog<V> getBufferedHyperLogLog(String name, Codec codec, long flushInterval, TimeUnit unit);
+
     /**
      * Returns list instance by name.
      *
@@ -240,7 +309,7 @@ public interface RedissonClient {
      * @param options - local map options
      * @return LocalCachedMap object
      */
-    <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, LocalCachedMapOptions options);
+    <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, LocalCachedMapOptions<? super K, ? super V> options);
     
     /**
      * Returns local cached map instance by name
@@ -253,7 +322,32 @@ public interface RedissonClient {
      * @param options - local map options
      * @return LocalCachedMap object
      */
-    <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, Codec codec, LocalCachedMapOptions options);
+    <K, V> RLocalCachedMap<K, V> getLocalCachedMap(String name, Codec codec, LocalCachedMapOptions<? super K, ? super V> options);
+    
+    /**
+     * Returns local cached map cache instance by name.
+     * Configured by parameters of options-object. 
+     * 
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param options - local map options
+     * @return LocalCachedMapCache object
+     */
+    <K, V> RLocalCachedMapCache<K, V> getLocalCachedMapCache(String name, LocalCachedMapOptions<? super K, ? super V> options);
+    
+    /**
+     * Returns local cached map cache instance by name
+     * using provided codec. Configured by parameters of options-object.
+     * 
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @param options - local map options
+     * @return LocalCachedMapCache object
+     */
+    <K, V> RLocalCachedMapCache<K, V> getLocalCachedMapCache(String name, Codec codec, LocalCachedMapOptions<? super K, ? super V> options);
     
     /**
      * Returns map instance by name.
@@ -277,6 +371,32 @@ public interface RedissonClient {
      */
     <K, V> RMap<K, V> getMap(String name, Codec codec);
 
+    /**
+     * Returns map instance by name using provided options.
+     * Options define {@link org.redisson.api.map.MapLoader} and
+     * {@link org.redisson.api.map.MapWriter} used by map.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMap<K, V> getMap(String name, MapOptions<K, V> options);
+
+    /**
+     * Returns map instance by name
+     * using provided codec for both map keys and values and provided options.
+     *
+     * @param <K> type of key
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for keys and values
+     * @param options - map options
+     * @return Map object
+     */
+    <K, V> RMap<K, V> getMap(String name, Codec codec, MapOptions<K, V> options);
+
     /**
      * Returns Set based Multimap instance by name.
      *
@@ -414,6 +534,36 @@ public interface RedissonClient {
      */
     <V> RSortedSet<V> getSortedSet(String name, Codec codec);
 
+    /**
+     * Returns sorted set instance by name.
+     * This sorted set sorts objects by sort keys produced by <code>sortKeyEncoder</code>.
+     * Sort keys are stored in Redis sorted set and ordered by Redis.
+     * So add, remove, first, last and range views are executed 
+     * as single atomic calls without locking.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @param sortKeyEncoder - sort key encoder
+     * @return SortedSet object
+     */
+    <V> RSortedSet<V> getSortedSet(String name, SortKeyEncoder<? super V> sortKeyEncoder);
+
+    /**
+     * Returns sorted set instance by name
+     * using provided codec for sorted set objects.
+     * This sorted set sorts objects by sort keys produced by <code>sortKeyEncoder</code>.
+     * Sort keys are stored in Redis sorted set and ordered by Redis.
+     * So add, remove, first, last and range views are executed 
+     * as single atomic calls without locking.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @param sortKeyEncoder - sort key encoder
+     * @return SortedSet object
+     */
+    <V> RSortedSet<V> getSortedSet(String name, Codec codec, SortKeyEncoder<? super V> sortKeyEncoder);
+
     /**
      * Returns Redis Sorted Set instance by name.
      * This sorted set sorts objects by object score.
@@ -612,6 +762,59 @@ public interface RedissonClient {
      */
     RAtomicDouble getAtomicDouble(String name);
 
+    /**
+     * Returns id generator by name.
+     * Object should be reused, since it holds reserved range of identifiers.
+     * 
+     * @param name - name of object
+     * @return IdGenerator object
+     */
+    RIdGenerator getIdGenerator(String name);
+
+    /**
+     * Returns LongAdder instances by name.
+     * Accumulated increments are flushed to Redis each second.
+     * 
+     * @param name - name of object
+     * @return LongAdder object
+     */
+    RLongAdder getLongAdder(String name);
+
+    /**
+     * Returns LongAdder instances by name.
+     * Accumulated increments are flushed to Redis once <code>flushInterval</code> has elapsed.
+     * If <code>flushInterval</code> equals to <code>0</code> then increments are flushed
+     * only during {@link RLongAdder#sum()} and {@link RLongAdder#flush()} invocations.
+     * 
+     * @param name - name of object
+     * @param flushInterval - flush interval
+     * @param unit - time unit
+     * @return LongAdder object
+     */
+    RLongAdder getLongAdder(String name, long flushInterval, TimeUnit unit);
+
+    /**
+     * Returns DoubleAdder instances by name.
+     * Accumulated increments are flushed to Redis each second.
+     * 
+     * @param name - name of object
+     * @return DoubleAdder object
+     */
+    RDoubleAdder getDoubleAdder(String name);
+
+    /**
+     * Returns DoubleAdder instances by name.
+     * Accumulated increments are flushed to Redis once <code>flushInterval</code> has elapsed.
+     * If <code>flushInterval</code> equals to <code>0</code> then increments are flushed
+     * only during {@link RDoubleAdder#sum()} and {@link RDoubleAdder#flush()} invocations.
+     * 
+     * @param name - name of object
+     * @param flushInterval - flush interval
+     * @param unit - time unit
+     * @return DoubleAdder object
+     */
+    RDoubleAdder getDoubleAdder(String name, long flushInterval, TimeUnit unit);
+
     /**
      * Returns countDownLatch instance by name.
      *
@@ -648,6 +851,74 @@ public interface RedissonClient {
      */
     <V> RBloomFilter<V> getBloomFilter(String name, Codec codec);
 
+    /**
+     * Returns bloom filter instance by name.
+     * Bit array of this filter is split into segments 
+     * distributed across Redis Cluster nodes.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @return ClusteredBloomFilter object
+     */
+    <V> RClusteredBloomFilter<V> getClusteredBloomFilter(String name);
+
+    /**
+     * Returns bloom filter instance by name
+     * using provided codec for objects.
+     * Bit array of this filter is split into segments 
+     * distributed across Redis Cluster nodes.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @return ClusteredBloomFilter object
+     */
+    <V> RClusteredBloomFilter<V> getClusteredBloomFilter(String name, Codec codec);
+
+    /**
+     * Returns scalable bloom filter instance by name.
+     * Filter adds layers of growing capacity once it's filled.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @return ScalableBloomFilter object
+     */
+    <V> RScalableBloomFilter<V> getScalableBloomFilter(String name);
+
+    /**
+     * Returns scalable bloom filter instance by name
+     * using provided codec for objects.
+     * Filter adds layers of growing capacity once it's filled.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @return ScalableBloomFilter object
+     */
+    <V> RScalableBloomFilter<V> getScalableBloomFilter(String name, Codec codec);
+
+    /**
+     * Returns counting bloom filter instance by name.
+     * Filter supports elements removal.
+     * 
+     * @param <V> type of value
+     * @param name - name of object
+     * @return CountingBloomFilter object
+     */
+    <V> RCountingBloomFilter<V> getCountingBloomFilter(String name);
+
+    /**
+     * Returns counting bloom filter instance by name
+     * using provided codec for objects.
+     * Filter supports elements removal.
+     *
+     * @param <V> type of value
+     * @param name - name of object
+     * @param codec - codec for values
+     * @return CountingBloomFilter object
+     */
+    <V> RCountingBloomFilter<V> getCountingBloomFilter(String name, Codec codec);
+
     /**
      * Returns script operations object
      *
@@ -0,0 +1,40 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api;
+
+/**
+ * Encodes value to sort key used by {@link RSortedSet} stored in Redis sorted set.
+ * Sort keys are compared lexicographically by Redis, as UTF-8 bytes. 
+ * So order of sort keys should match required order of values.
+ * Numbers should be encoded in fixed width, e.g. zero padded.
+ * <p>
+ * Values with equal sort keys are considered equal by {@link RSortedSet}.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <V> value type
+ */
+public interface SortKeyEncoder<V> {
+
+    /**
+     * Returns sort key of value
+     * 
+     * @param value - value
+     * @return sort key
+     */
+    String encode(V value);
+    
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.api.map;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Map writer used for write-through and write-behind operations.
+ * Invoked by {@link org.redisson.api.RMap} after entries have been
+ * changed in Redis.
+ *
+ * @author Nikita Koksharov
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public interface MapWriter<K, V> {
+
+    /**
+     * Stores map entries to external storage.
+     *
+     * @param map - entries to store
+     */
+    void write(Map<K, V> map);
+
+    /**
+     * Deletes map entries from external storage.
+     *
+     * @param keys - keys of entries to delete
+     */
+    void delete(Collection<K> keys);
+
+}
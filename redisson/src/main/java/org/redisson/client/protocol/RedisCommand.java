@@ -54,6 +54,17 @@ public class RedisCommand<R> {
         this.convertor = command.convertor;
     }
 
+    public RedisCommand(RedisCommand<R> command, int inParamIndex) {
+        this.outParamType = command.outParamType;
+        this.inParamType = command.inParamType;
+        this.inParamIndex = inParamIndex;
+        this.name = command.name;
+        this.subName = command.subName;
+        this.replayMultiDecoder = command.replayMultiDecoder;
+        this.replayDecoder = command.replayDecoder;
+        this.convertor = command.convertor;
+    }
+
     public RedisCommand(String name) {
         this(name, (String)null);
     }
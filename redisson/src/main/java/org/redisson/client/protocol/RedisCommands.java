@@ -84,6 +84,8 @@ public interface RedisCommands {
     RedisStrictCommand<Void> SETBIT_VOID = new RedisStrictCommand<Void>("SETBIT", new VoidReplayConvertor());
     RedisStrictCommand<Boolean> SETBIT = new RedisStrictCommand<Boolean>("SETBIT", new BitSetReplayConvertor());
     RedisStrictCommand<Void> BITOP = new RedisStrictCommand<Void>("BITOP", new VoidReplayConvertor());
+    RedisStrictCommand<Long> BITFIELD_LONG = new RedisStrictCommand<Long>("BITFIELD", new ObjectFirstResultReplayDecoder<Long>());
+    RedisStrictCommand<List<Long>> BITFIELD_LONGS = new RedisStrictCommand<List<Long>>("BITFIELD", new ObjectListReplayDecoder<Long>());
 
     RedisStrictCommand<Void> CLIENT_REPLY = new RedisStrictCommand<Void>("CLIENT", "REPLY", new VoidReplayConvertor());
     RedisStrictCommand<Void> ASKING = new RedisStrictCommand<Void>("ASKING", new VoidReplayConvertor());
@@ -18,9 +18,7 @@ package org.redisson.client.protocol.decoder;
 import java.net.InetSocketAddress;
 import java.util.List;
 
-import org.redisson.RedisClientResult;
-
-public class ListScanResult<V> implements RedisClientResult {
+public class ListScanResult<V> implements ScanResult {
 
     private final Long pos;
     private final List<V> values;
@@ -31,6 +29,7 @@ public class ListScanResult<V> implements RedisClientResult {
         this.values = values;
     }
 
+    @Override
     public Long getPos() {
         return pos;
     }
@@ -44,6 +43,7 @@ public class ListScanResult<V> implements RedisClientResult {
         this.addr = addr;
     }
 
+    @Override
     public InetSocketAddress getRedisClient() {
         return addr;
     }
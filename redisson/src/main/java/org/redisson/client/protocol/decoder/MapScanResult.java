@@ -18,9 +18,7 @@ package org.redisson.client.protocol.decoder;
 import java.net.InetSocketAddress;
 import java.util.Map;
 
-import org.redisson.RedisClientResult;
-
-public class MapScanResult<K, V> implements RedisClientResult {
+public class MapScanResult<K, V> implements ScanResult {
 
     private final Long pos;
     private final Map<K, V> values;
@@ -32,6 +30,7 @@ public class MapScanResult<K, V> implements RedisClientResult {
         this.values = values;
     }
 
+    @Override
     public Long getPos() {
         return pos;
     }
@@ -45,6 +44,7 @@ public class MapScanResult<K, V> implements RedisClientResult {
         this.client = client;
     }
 
+    @Override
     public InetSocketAddress getRedisClient() {
         return client;
     }
@@ -30,6 +30,7 @@ import org.redisson.client.RedisPubSubListener;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommand;
 import org.redisson.config.MasterSlaveServersConfig;
+import org.redisson.misc.CacheTimer;
 import org.redisson.misc.InfinitySemaphoreLatch;
 import org.redisson.misc.RPromise;
 import org.redisson.pubsub.AsyncSemaphore;
@@ -123,6 +124,14 @@ public interface ConnectionManager {
 
     Timeout newTimeout(TimerTask task, long delay, TimeUnit unit);
 
+    /**
+     * Returns timer of local caches. 
+     * It's created on first invocation and stopped on shutdown.
+     * 
+     * @return timer
+     */
+    CacheTimer getCacheTimer();
+
     InfinitySemaphoreLatch getShutdownLatch();
     
     RFuture<Boolean> getShutdownPromise();
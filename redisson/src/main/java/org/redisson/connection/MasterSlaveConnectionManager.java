@@ -50,6 +50,7 @@ import org.redisson.config.Config;
 import org.redisson.config.MasterSlaveServersConfig;
 import org.redisson.config.ReadMode;
 import org.redisson.connection.ClientConnectionsEntry.FreezeReason;
+import org.redisson.misc.CacheTimer;
 import org.redisson.misc.InfinitySemaphoreLatch;
 import org.redisson.misc.RPromise;
 import org.redisson.misc.RedissonPromise;
@@ -116,6 +117,8 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     private HashedWheelTimer timer;
 
+    private CacheTimer cacheTimer;
+
     protected Codec codec;
 
     protected EventLoopGroup group;
@@ -705,6 +708,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
             entry.shutdown();
         }
         timer.stop();
+        stopCacheTimer();
         
         executor.shutdown();
         try {
@@ -760,6 +764,23 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
         }
     }
 
+    @Override
+    public synchronized CacheTimer getCacheTimer() {
+        if (cacheTimer == null) {
+            cacheTimer = new CacheTimer();
+            if (isShuttingDown()) {
+                cacheTimer.stop();
+            }
+        }
+        return cacheTimer;
+    }
+
+    private synchronized void stopCacheTimer() {
+        if (cacheTimer != null) {
+            cacheTimer.stop();
+        }
+    }
+
     @Override
     public InfinitySemaphoreLatch getShutdownLatch() {
         return shutdownLatch;
@@ -777,6 +798,7 @@ public class MasterSlaveConnectionManager implements ConnectionManager {
 
     protected void stopThreads() {
         timer.stop();
+        stopCacheTimer();
         executor.shutdown();
         try {
             executor.awaitTermination(15, TimeUnit.SECONDS);
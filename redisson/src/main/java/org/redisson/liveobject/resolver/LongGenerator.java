@@ -0,0 +1,68 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.liveobject.resolver;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.redisson.api.RIdGenerator;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.annotation.RId;
+
+import io.netty.util.internal.PlatformDependent;
+
+/**
+ * Generates ids using {@link RIdGenerator}, 
+ * so Redis is requested once per allocated range of ids.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class LongGenerator implements RIdResolver<RId, Long> {
+
+    public static final LongGenerator INSTANCE = new LongGenerator();
+
+    private final Map<RedissonClient, ConcurrentMap<String, RIdGenerator>> generators = 
+                    Collections.synchronizedMap(new WeakHashMap<RedissonClient, ConcurrentMap<String, RIdGenerator>>());
+
+    @Override
+    public Long resolve(Class value, RId id, String idFieldName, RedissonClient redisson) {
+        ConcurrentMap<String, RIdGenerator> map = generators.get(redisson);
+        if (map == null) {
+            synchronized (generators) {
+                map = generators.get(redisson);
+                if (map == null) {
+                    map = PlatformDependent.newConcurrentHashMap();
+                    generators.put(redisson, map);
+                }
+            }
+        }
+
+        String name = getClass().getCanonicalName() + ":" + value.getCanonicalName() + ":" + idFieldName;
+        RIdGenerator generator = map.get(name);
+        if (generator == null) {
+            generator = redisson.getIdGenerator(name);
+            RIdGenerator oldGenerator = map.putIfAbsent(name, generator);
+            if (oldGenerator != null) {
+                generator = oldGenerator;
+            }
+        }
+        return generator.nextId();
+    }
+
+}
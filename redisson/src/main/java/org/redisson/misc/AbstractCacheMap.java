@@ -26,6 +26,9 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.internal.LongCounter;
 import io.netty.util.internal.PlatformDependent;
 
 /**
@@ -41,25 +44,29 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
 
         private final Object key;
         private final Object value;
+        private final CacheTimer timer;
         
         long ttl;
         long maxIdleTime;
         
         long creationTime;
         long lastAccess;
+        
+        volatile Timeout expirationTimeout;
 
-        public CachedValue(Object key, Object value, long ttl, long maxIdleTime) {
+        public CachedValue(Object key, Object value, long ttl, long maxIdleTime, CacheTimer timer) {
             this.value = value;
+            this.timer = timer;
             this.ttl = ttl;
             this.key = key;
             this.maxIdleTime = maxIdleTime;
-            creationTime = System.currentTimeMillis();
+            creationTime = timer.currentTimeMillis();
             lastAccess = creationTime;
         }
         
         public boolean isExpired() {
             boolean result = false;
-            long currentTime = System.currentTimeMillis();
+            long currentTime = timer.currentTimeMillis();
             if (ttl != 0 && creationTime + ttl < currentTime) {
                 result = true;
             }
@@ -69,12 +76,23 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
             return result;
         }
         
+        long getExpirationTime() {
+            long result = Long.MAX_VALUE;
+            if (ttl != 0) {
+                result = creationTime + ttl;
+            }
+            if (maxIdleTime != 0) {
+                result = Math.min(result, lastAccess + maxIdleTime);
+            }
+            return result;
+        }
+        
         public Object getKey() {
             return key;
         }
         
         public Object getValue() {
-            lastAccess = System.currentTimeMillis();
+            lastAccess = timer.currentTimeMillis();
             return value;
         }
 
@@ -87,15 +105,23 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
 
     final int size;
     final ConcurrentMap<K, CachedValue> map = PlatformDependent.newConcurrentHashMap();
+    final CacheTimer timer;
     private final long timeToLiveInMillis;
     private final long maxIdleInMillis;
+    
+    private final LongCounter sizeEvictions = PlatformDependent.newLongCounter();
+    private final LongCounter timeToLiveExpirations = PlatformDependent.newLongCounter();
+    private final LongCounter maxIdleExpirations = PlatformDependent.newLongCounter();
 
-
-    public AbstractCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
+    public AbstractCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis, CacheTimer timer) {
         if (size < 0) {
             throw new IllegalArgumentException("Size can't be " + size);
         }
+        if (timer == null) {
+            throw new NullPointerException("timer can't be null");
+        }
         this.size = size;
+        this.timer = timer;
         this.maxIdleInMillis = maxIdleInMillis;
         this.timeToLiveInMillis = timeToLiveInMillis;
     }
@@ -107,6 +133,35 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
     protected void onValueRemove(CachedValue value) {
         
     }
+    
+    void onValueEvict(CachedValue value) {
+        cancelExpiration(value);
+        sizeEvictions.increment();
+    }
+    
+    private void onValueExpire(CachedValue value) {
+        cancelExpiration(value);
+        if (value.ttl != 0 && value.creationTime + value.ttl < timer.currentTimeMillis()) {
+            timeToLiveExpirations.increment();
+        } else {
+            maxIdleExpirations.increment();
+        }
+    }
+    
+    @Override
+    public long getSizeEvictions() {
+        return sizeEvictions.value();
+    }
+    
+    @Override
+    public long getTimeToLiveExpirations() {
+        return timeToLiveExpirations.value();
+    }
+    
+    @Override
+    public long getMaxIdleExpirations() {
+        return maxIdleExpirations.value();
+    }
 
     
     /*
@@ -144,6 +199,7 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         if (entry.isExpired()) {
             if (map.remove(key, entry)) {
                 onValueRemove(entry);
+                onValueExpire(entry);
                 return false;
             }
             return containsKey(key);
@@ -167,6 +223,7 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
                 if (cachedValue.isExpired()) {
                     if (map.remove(cachedValue.getKey(), cachedValue)) {
                         onValueRemove(cachedValue);
+                        onValueExpire(cachedValue);
                     }
                 } else {
                     readValue(cachedValue);
@@ -194,6 +251,7 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         if (entry.isExpired()) {
             if (map.remove(key, entry)) {
                 onValueRemove(entry);
+                onValueExpire(entry);
                 return null;
             }
             return get(key);
@@ -227,8 +285,10 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         }
         onValueCreate(entry);
         CachedValue prevCachedValue = map.put(key, entry);
+        scheduleExpiration(entry);
         if (prevCachedValue != null) {
             onValueRemove(prevCachedValue);
+            cancelExpiration(prevCachedValue);
             if (!prevCachedValue.isExpired()) {
                 return (V) prevCachedValue.getValue();
             }
@@ -236,8 +296,46 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         return null;
     }
 
+    /*
+     * Expired entry is removed in background even if it's not accessed anymore.
+     * Entry with max idle time is checked again on timeout 
+     * since its last access time could be updated.
+     */
+    private void scheduleExpiration(final CachedValue value) {
+        if (value.ttl == 0 && value.maxIdleTime == 0) {
+            return;
+        }
+        
+        long delay = value.getExpirationTime() - timer.currentTimeMillis() + 1;
+        value.expirationTimeout = timer.newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                if (map.get(value.getKey()) != value) {
+                    return;
+                }
+                
+                if (value.isExpired()) {
+                    if (map.remove(value.getKey(), value)) {
+                        onValueRemove(value);
+                        onValueExpire(value);
+                    }
+                    return;
+                }
+                
+                scheduleExpiration(value);
+            }
+        }, Math.max(delay, 1));
+    }
+    
+    private void cancelExpiration(CachedValue value) {
+        Timeout timeout = value.expirationTimeout;
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+    
     protected CachedValue create(K key, V value, long ttl, long maxIdleTime) {
-        return new CachedValue(key, value, ttl, maxIdleTime);        
+        return new CachedValue(key, value, ttl, maxIdleTime, timer);        
     }
     
     protected void onValueCreate(CachedValue entry) {
@@ -249,7 +347,8 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         for (CachedValue value : map.values()) {
             if (value.isExpired()) {
                 if (map.remove(value.getKey(), value)) {
-                    onValueRemove(value);                    
+                    onValueRemove(value);
+                    onValueExpire(value);
                     removed = true;
                 }
             }
@@ -286,6 +385,7 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
         CachedValue entry = map.remove(key);
         if (entry != null) {
             onValueRemove(entry);
+            cancelExpiration(entry);
             if (!entry.isExpired()) {
                 return (V) entry.getValue();
             }
@@ -311,6 +411,9 @@ public abstract class AbstractCacheMap<K, V> implements Cache<K, V> {
      */
     @Override
     public void clear() {
+        for (CachedValue value : map.values()) {
+            cancelExpiration(value);
+        }
         map.clear();
     }
 
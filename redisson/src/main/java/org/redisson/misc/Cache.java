@@ -29,4 +29,25 @@ public interface Cache<K, V> extends Map<K, V> {
     
     V put(K key, V value, long ttl, TimeUnit ttlUnit, long maxIdleTime, TimeUnit maxIdleUnit);
     
+    /**
+     * Returns amount of entries evicted due to cache size limit
+     * 
+     * @return amount of entries
+     */
+    long getSizeEvictions();
+    
+    /**
+     * Returns amount of entries removed due to expired time to live
+     * 
+     * @return amount of entries
+     */
+    long getTimeToLiveExpirations();
+    
+    /**
+     * Returns amount of entries removed due to expired max idle time
+     * 
+     * @return amount of entries
+     */
+    long getMaxIdleExpirations();
+    
 }
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.misc;
+
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.TimerTask;
+import io.netty.util.concurrent.DefaultThreadFactory;
+
+/**
+ * Timer shared by local caches of one Redisson instance. 
+ * Provides coarse clock updated each tick 
+ * and executes expiration tasks of cache entries.
+ * Owned by connection manager and stopped on its shutdown.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public final class CacheTimer {
+
+    static final long TICK_DURATION = 10;
+    
+    private final HashedWheelTimer timer = 
+            new HashedWheelTimer(new DefaultThreadFactory("redisson-cache-timer", true), TICK_DURATION, TimeUnit.MILLISECONDS, 1024);
+    
+    private volatile long currentTime = System.currentTimeMillis();
+    
+    public CacheTimer() {
+        newTimeout(new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                currentTime = System.currentTimeMillis();
+                newTimeout(this, 1);
+            }
+        }, 1);
+    }
+
+    /**
+     * Returns current time with precision of timer tick.
+     * 
+     * @return time in milliseconds
+     */
+    long currentTimeMillis() {
+        return currentTime;
+    }
+    
+    /**
+     * Schedules task. Task is not executed if timer has been stopped.
+     * 
+     * @param task - task
+     * @param delayInMillis - delay
+     * @return timeout or <code>null</code> if timer has been stopped
+     */
+    Timeout newTimeout(TimerTask task, long delayInMillis) {
+        try {
+            return timer.newTimeout(task, delayInMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // timer is stopped
+            return null;
+        }
+    }
+    
+    public void stop() {
+        timer.stop();
+    }
+    
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.misc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.redisson.api.RFuture;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+
+/**
+ * Executes bulk operation split into chunks.
+ * Chunks are pipelined but no more than <code>MAX_IN_FLIGHT_CHUNKS</code> 
+ * chunks are executed at the same time. So large bulk operation doesn't block
+ * Redis for a long time and doesn't create huge outbound buffer.
+ * 
+ * @author Nikita Koksharov
+ *
+ * @param <C> chunk type
+ * @param <R> chunk result type
+ */
+public abstract class ChunkedOperation<C, R> {
+
+    public static final int MAX_IN_FLIGHT_CHUNKS = 4;
+    
+    private final List<C> chunks;
+    private final RPromise<Void> result;
+    private final AtomicInteger nextChunk = new AtomicInteger();
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    
+    public ChunkedOperation(List<C> chunks, RPromise<Void> result) {
+        this.chunks = chunks;
+        this.result = result;
+    }
+    
+    /**
+     * Splits map into chunks with <code>chunkSize</code> entries at most.
+     * 
+     * @param <K> key type
+     * @param <V> value type
+     * @param map - source map
+     * @param chunkSize - max size of chunk
+     * @return list of chunks
+     */
+    public static <K, V> List<Map<K, V>> split(Map<? extends K, ? extends V> map, int chunkSize) {
+        List<Map<K, V>> chunks = new ArrayList<Map<K, V>>(map.size() / chunkSize + 1);
+        Map<K, V> chunk = null;
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            if (chunk == null || chunk.size() == chunkSize) {
+                chunk = new LinkedHashMap<K, V>(Math.min(chunkSize, map.size()) * 2);
+                chunks.add(chunk);
+            }
+            chunk.put(entry.getKey(), entry.getValue());
+        }
+        return chunks;
+    }
+
+    /**
+     * Splits collection into chunks with <code>chunkSize</code> elements at most.
+     * 
+     * @param <V> element type
+     * @param values - source collection
+     * @param chunkSize - max size of chunk
+     * @return list of chunks
+     */
+    public static <V> List<List<V>> split(Collection<V> values, int chunkSize) {
+        List<List<V>> chunks = new ArrayList<List<V>>(values.size() / chunkSize + 1);
+        Iterator<V> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            List<V> chunk = new ArrayList<V>(Math.min(chunkSize, values.size()));
+            while (iterator.hasNext() && chunk.size() < chunkSize) {
+                chunk.add(iterator.next());
+            }
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+    
+    /**
+     * Executes operation for chunk.
+     * 
+     * @param chunk - chunk
+     * @return future object
+     */
+    protected abstract RFuture<R> execute(C chunk);
+    
+    /**
+     * Handles result of chunk. Invoked by one thread at a time.
+     * 
+     * @param chunkResult - result of chunk operation
+     */
+    protected void onResult(R chunkResult) {
+    }
+    
+    public RPromise<Void> execute() {
+        if (chunks.isEmpty()) {
+            result.trySuccess(null);
+            return result;
+        }
+        
+        int workers = Math.min(MAX_IN_FLIGHT_CHUNKS, chunks.size());
+        activeWorkers.set(workers);
+        for (int i = 0; i < workers; i++) {
+            executeNext();
+        }
+        return result;
+    }
+
+    private void executeNext() {
+        if (result.isDone()) {
+            return;
+        }
+        
+        int index = nextChunk.getAndIncrement();
+        if (index >= chunks.size()) {
+            if (activeWorkers.decrementAndGet() == 0) {
+                result.trySuccess(null);
+            }
+            return;
+        }
+        
+        execute(chunks.get(index)).addListener(new FutureListener<R>() {
+            @Override
+            public void operationComplete(Future<R> future) throws Exception {
+                if (!future.isSuccess()) {
+                    result.tryFailure(future.cause());
+                    return;
+                }
+                
+                synchronized (ChunkedOperation.this) {
+                    onResult(future.getNow());
+                }
+                executeNext();
+            }
+        });
+    }
+    
+}
@@ -0,0 +1,270 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.misc;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * HyperLogLog sketch compatible with Redis implementation.
+ * Uses the same hash function and precision, 
+ * so serialized sketch can be merged into Redis key using <code>PFMERGE</code>.
+ * <p>
+ * {@link #count()} uses Ertl's improved estimator, which is used by Redis since 5.0. 
+ * Earlier Redis versions apply bias correction and linear counting, 
+ * so their <code>PFCOUNT</code> result may slightly differ.
+ * <p>
+ * Not thread-safe.
+ * 
+ * @author Nikita Koksharov
+ *
+ */
+public class HyperLogLogSketch {
+
+    private static final int P = 14;
+    private static final int Q = 64 - P;
+    private static final int REGISTERS = 1 << P;
+    private static final int BITS = 6;
+    private static final int HEADER_SIZE = 16;
+    private static final int DENSE_SIZE = HEADER_SIZE + (REGISTERS * BITS + 7) / 8;
+    private static final int SPARSE_VAL_MAX_VALUE = 32;
+    private static final int SPARSE_VAL_MAX_LEN = 4;
+    private static final int SPARSE_ZERO_MAX_LEN = 64;
+    private static final int SPARSE_XZERO_MAX_LEN = 16384;
+    private static final double ALPHA_INF = 0.721347520444481703680;
+    private static final long SEED = 0xadc83b19L;
+
+    private final byte[] registers = new byte[REGISTERS];
+
+    /**
+     * Adds element to sketch.
+     * 
+     * @param element - encoded element
+     * @return <code>true</code> if sketch has been changed
+     */
+    public boolean add(byte[] element) {
+        long hash = murmurHash64A(element, SEED);
+        int index = (int) (hash & (REGISTERS - 1));
+        hash >>>= P;
+        hash |= 1L << Q;
+        byte count = (byte) (Long.numberOfTrailingZeros(hash) + 1);
+        if (registers[index] < count) {
+            registers[index] = count;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Merges other sketch into this sketch.
+     * 
+     * @param sketch - other sketch
+     */
+    public void merge(HyperLogLogSketch sketch) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (registers[i] < sketch.registers[i]) {
+                registers[i] = sketch.registers[i];
+            }
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < REGISTERS; i++) {
+            registers[i] = 0;
+        }
+    }
+
+    /**
+     * Returns cardinality estimation.
+     * 
+     * @return estimated amount of distinct elements
+     */
+    public long count() {
+        int[] histogram = new int[64];
+        for (byte register : registers) {
+            histogram[register]++;
+        }
+
+        double m = REGISTERS;
+        double z = m * tau((m - histogram[Q + 1]) / m);
+        for (int j = Q; j >= 1; --j) {
+            z += histogram[j];
+            z *= 0.5;
+        }
+        z += m * sigma(histogram[0] / m);
+        return Math.round(ALPHA_INF * m * m / z);
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double zPrime;
+        double y = 1;
+        double z = x;
+        do {
+            x *= x;
+            zPrime = z;
+            z += x * y;
+            y += y;
+        } while (zPrime != z);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double zPrime;
+        double y = 1;
+        double z = 1 - x;
+        do {
+            x = Math.sqrt(x);
+            zPrime = z;
+            y *= 0.5;
+            z -= Math.pow(1 - x, 2) * y;
+        } while (zPrime != z);
+        return z / 3;
+    }
+
+    /**
+     * Serializes sketch in Redis format. 
+     * Sparse representation is used if it's smaller than dense one.
+     * 
+     * @return serialized sketch
+     */
+    public byte[] toByteArray() {
+        byte[] sparse = toSparse();
+        if (sparse != null) {
+            return sparse;
+        }
+        return toDense();
+    }
+
+    private byte[] toDense() {
+        // one more byte allows to write last register without bounds check
+        byte[] result = new byte[DENSE_SIZE + 1];
+        writeHeader(result, 0);
+        for (int i = 0; i < REGISTERS; i++) {
+            int value = registers[i];
+            int bit = i * BITS;
+            int index = HEADER_SIZE + bit / 8;
+            int shift = bit & 7;
+            result[index] |= (byte) (value << shift);
+            result[index + 1] |= (byte) (value >>> (8 - shift));
+        }
+        byte[] dense = new byte[DENSE_SIZE];
+        System.arraycopy(result, 0, dense, 0, DENSE_SIZE);
+        return dense;
+    }
+
+    private byte[] toSparse() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] header = new byte[HEADER_SIZE];
+        writeHeader(header, 1);
+        out.write(header, 0, header.length);
+
+        int i = 0;
+        while (i < REGISTERS) {
+            int value = registers[i];
+            int len = 1;
+            if (value == 0) {
+                while (i + len < REGISTERS && registers[i + len] == 0) {
+                    len++;
+                }
+                i += len;
+                while (len > 0) {
+                    if (len > SPARSE_ZERO_MAX_LEN) {
+                        int xzero = Math.min(len, SPARSE_XZERO_MAX_LEN);
+                        out.write(0x40 | ((xzero - 1) >>> 8));
+                        out.write((xzero - 1) & 0xff);
+                        len -= xzero;
+                    } else {
+                        out.write(len - 1);
+                        len = 0;
+                    }
+                }
+            } else {
+                if (value > SPARSE_VAL_MAX_VALUE) {
+                    return null;
+                }
+                while (len < SPARSE_VAL_MAX_LEN && i + len < REGISTERS && registers[i + len] == value) {
+                    len++;
+                }
+                i += len;
+                out.write(0x80 | ((value - 1) << 2) | (len - 1));
+            }
+
+            if (out.size() >= DENSE_SIZE) {
+                return null;
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private void writeHeader(byte[] bytes, int encoding) {
+        bytes[0] = 'H';
+        bytes[1] = 'Y';
+        bytes[2] = 'L';
+        bytes[3] = 'L';
+        bytes[4] = (byte) encoding;
+        // cached cardinality is invalid
+        bytes[15] = (byte) 0x80;
+    }
+
+    /*
+     * MurmurHash2, 64-bit version used by Redis
+     */
+    static long murmurHash64A(byte[] key, long seed) {
+        final long m = 0xc6a4a7935bd1e995L;
+        final int r = 47;
+        int len = key.length;
+        long h = seed ^ (len * m);
+
+        int end = len - (len & 7);
+        for (int i = 0; i < end; i += 8) {
+            long k = (key[i] & 0xffL)
+                    | (key[i + 1] & 0xffL) << 8
+                    | (key[i + 2] & 0xffL) << 16
+                    | (key[i + 3] & 0xffL) << 24
+                    | (key[i + 4] & 0xffL) << 32
+                    | (key[i + 5] & 0xffL) << 40
+                    | (key[i + 6] & 0xffL) << 48
+                    | (key[i + 7] & 0xffL) << 56;
+            k *= m;
+            k ^= k >>> r;
+            k *= m;
+            h ^= k;
+            h *= m;
+        }
+
+        switch (len & 7) {
+        case 7: h ^= (key[end + 6] & 0xffL) << 48;
+        case 6: h ^= (key[end + 5] & 0xffL) << 40;
+        case 5: h ^= (key[end + 4] & 0xffL) << 32;
+        case 4: h ^= (key[end + 3] & 0xffL) << 24;
+        case 3: h ^= (key[end + 2] & 0xffL) << 16;
+        case 2: h ^= (key[end + 1] & 0xffL) << 8;
+        case 1: h ^= key[end] & 0xffL;
+                h *= m;
+        }
+
+        h ^= h >>> r;
+        h *= m;
+        h ^= h >>> r;
+        return h;
+    }
+
+}
@@ -62,8 +62,8 @@ public class LFUCacheMap<K, V> extends AbstractCacheMap<K, V> {
         Long id;
         long accessCount;
         
-        public LFUCachedValue(long id, Object key, Object value, long ttl, long maxIdleTime) {
-            super(key, value, ttl, maxIdleTime);
+        public LFUCachedValue(long id, Object key, Object value, long ttl, long maxIdleTime, CacheTimer timer) {
+            super(key, value, ttl, maxIdleTime, timer);
             this.id = id;
         }
 
@@ -76,13 +76,13 @@ public class LFUCacheMap<K, V> extends AbstractCacheMap<K, V> {
     private final AtomicLong idGenerator = new AtomicLong();
     private final ConcurrentNavigableMap<MapKey, LFUCachedValue> accessMap = new ConcurrentSkipListMap<MapKey, LFUCachedValue>();
     
-    public LFUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
-        super(size, timeToLiveInMillis, maxIdleInMillis);
+    public LFUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis, CacheTimer timer) {
+        super(size, timeToLiveInMillis, maxIdleInMillis, timer);
     }
     
     @Override
     protected CachedValue create(K key, V value, long ttl, long maxIdleTime) {
-        return new LFUCachedValue(idGenerator.incrementAndGet(), key, value, ttl, maxIdleTime);
+        return new LFUCachedValue(idGenerator.incrementAndGet(), key, value, ttl, maxIdleTime, timer);
     }
     
     @Override
@@ -135,7 +135,9 @@ public class LFUCacheMap<K, V> extends AbstractCacheMap<K, V> {
         if (entry == null) {
             return;
         }
-        map.remove(entry.getValue().getKey(), entry.getValue());
+        if (map.remove(entry.getValue().getKey(), entry.getValue())) {
+            onValueEvict(entry.getValue());
+        }
         
         if (entry.getValue().accessCount == 0) {
             return;
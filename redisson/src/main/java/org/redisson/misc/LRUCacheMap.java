@@ -30,8 +30,8 @@ public class LRUCacheMap<K, V> extends AbstractCacheMap<K, V> {
 
     private final Queue<CachedValue> queue = new ConcurrentLinkedQueue<CachedValue>();
     
-    public LRUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis) {
-        super(size, timeToLiveInMillis, maxIdleInMillis);
+    public LRUCacheMap(int size, long timeToLiveInMillis, long maxIdleInMillis, CacheTimer timer) {
+        super(size, timeToLiveInMillis, maxIdleInMillis, timer);
     }
 
     @Override
@@ -55,8 +55,8 @@ public class LRUCacheMap<K, V> extends AbstractCacheMap<K, V> {
     @Override
     protected void onMapFull() {
         CachedValue value = queue.poll();
-        if (value != null) {
-            map.remove(value.getKey(), value);
+        if (value != null && map.remove(value.getKey(), value)) {
+            onValueEvict(value);
         }
     }
     
@@ -24,8 +24,8 @@ package org.redisson.misc;
  */
 public class NoneCacheMap<K, V> extends AbstractCacheMap<K, V> {
 
-    public NoneCacheMap(long timeToLiveInMillis, long maxIdleInMillis) {
-        super(0, timeToLiveInMillis, maxIdleInMillis);
+    public NoneCacheMap(long timeToLiveInMillis, long maxIdleInMillis, CacheTimer timer) {
+        super(0, timeToLiveInMillis, maxIdleInMillis, timer);
     }
 
     @Override
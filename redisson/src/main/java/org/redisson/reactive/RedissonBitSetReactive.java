@@ -121,6 +121,51 @@ public class RedissonBitSetReactive extends RedissonExpirableReactive implements
         return reactive(instance.xorAsync(bitSetNames));
     }
 
+    @Override
+    public Publisher<boolean[]> get(long[] bitIndexes) {
+        return reactive(instance.getAsync(bitIndexes));
+    }
+
+    @Override
+    public Publisher<Void> set(long[] bitIndexes) {
+        return reactive(instance.setAsync(bitIndexes));
+    }
+
+    @Override
+    public Publisher<Void> clear(long[] bitIndexes) {
+        return reactive(instance.clearAsync(bitIndexes));
+    }
+
+    @Override
+    public Publisher<Long> getSigned(int size, long offset) {
+        return reactive(instance.getSignedAsync(size, offset));
+    }
+
+    @Override
+    public Publisher<Long> getUnsigned(int size, long offset) {
+        return reactive(instance.getUnsignedAsync(size, offset));
+    }
+
+    @Override
+    public Publisher<Long> setSigned(int size, long offset, long value) {
+        return reactive(instance.setSignedAsync(size, offset, value));
+    }
+
+    @Override
+    public Publisher<Long> setUnsigned(int size, long offset, long value) {
+        return reactive(instance.setUnsignedAsync(size, offset, value));
+    }
+
+    @Override
+    public Publisher<Long> incrementAndGetSigned(int size, long offset, long increment) {
+        return reactive(instance.incrementAndGetSignedAsync(size, offset, increment));
+    }
+
+    @Override
+    public Publisher<Long> incrementAndGetUnsigned(int size, long offset, long increment) {
+        return reactive(instance.incrementAndGetUnsignedAsync(size, offset, increment));
+    }
+
     @Override
     public String toString() {
         return Streams.create(asBitSet()).next().poll().toString();
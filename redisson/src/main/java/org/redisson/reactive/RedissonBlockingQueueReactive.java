@@ -22,6 +22,7 @@ import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import org.reactivestreams.Publisher;
+import org.redisson.RedissonBlockingQueue;
 import org.redisson.api.RBlockingQueueReactive;
 import org.redisson.client.codec.Codec;
 import org.redisson.client.protocol.RedisCommand;
@@ -39,12 +40,16 @@ import org.redisson.connection.decoder.ListDrainToDecoder;
  */
 public class RedissonBlockingQueueReactive<V> extends RedissonQueueReactive<V> implements RBlockingQueueReactive<V> {
 
+    private final RedissonBlockingQueue<V> instance;
+
     public RedissonBlockingQueueReactive(CommandReactiveExecutor commandExecutor, String name) {
         super(commandExecutor, name);
+        instance = new RedissonBlockingQueue<V>(commandExecutor, name);
     }
 
     public RedissonBlockingQueueReactive(Codec codec, CommandReactiveExecutor commandExecutor, String name) {
         super(codec, commandExecutor, name);
+        instance = new RedissonBlockingQueue<V>(codec, commandExecutor, name);
     }
 
     @Override
@@ -57,6 +62,11 @@ public class RedissonBlockingQueueReactive<V> extends RedissonQueueReactive<V> i
         return commandExecutor.writeReactive(getName(), codec, RedisCommands.BLPOP_VALUE, getName(), 0);
     }
 
+    @Override
+    public Publisher<List<V>> take(int maxElements, long timeout, TimeUnit unit) {
+        return reactive(instance.takeAsync(maxElements, timeout, unit));
+    }
+
     @Override
     public Publisher<V> poll(long timeout, TimeUnit unit) {
         return commandExecutor.writeReactive(getName(), codec, RedisCommands.BLPOP_VALUE, getName(), unit.toSeconds(timeout));
@@ -15,6 +15,9 @@
  */
 package org.redisson.reactive;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.reactivestreams.Publisher;
 import org.redisson.api.RQueueReactive;
 import org.redisson.client.codec.Codec;
@@ -48,6 +51,19 @@ public class RedissonQueueReactive<V> extends RedissonListReactive<V> implements
         return commandExecutor.writeReactive(getName(), codec, RedisCommands.LPOP, getName());
     }
 
+    @Override
+    public Publisher<List<V>> poll(int limit) {
+        if (limit <= 0) {
+            return reactive(commandExecutor.getConnectionManager().newSucceededFuture(Collections.<V>emptyList()));
+        }
+
+        return commandExecutor.evalWriteReactive(getName(), codec, RedisCommands.EVAL_LIST,
+                "local result = redis.call('lrange', KEYS[1], 0, ARGV[1] - 1); "
+              + "redis.call('ltrim', KEYS[1], ARGV[1], -1); "
+              + "return result;",
+                Collections.<Object>singletonList(getName()), limit);
+    }
+
     @Override
     public Publisher<V> peek() {
         return get(0);
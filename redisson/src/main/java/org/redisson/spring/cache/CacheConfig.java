@@ -34,6 +34,10 @@ public class CacheConfig {
 
     private long maxIdleTime;
 
+    private LocalCacheConfig localCache;
+
+    private boolean loadLock = true;
+
     /**
      * Creates config object with
      * <code>ttl = 0</code> and <code>maxIdleTime = 0</code>.
@@ -86,6 +90,39 @@ public class CacheConfig {
         this.maxIdleTime = maxIdleTime;
     }
 
+    public LocalCacheConfig getLocalCache() {
+        return localCache;
+    }
+
+    /**
+     * Set local cache settings. Cache is backed by
+     * {@link org.redisson.api.RLocalCachedMap} if defined.
+     *
+     * @param localCache - local cache settings.
+     *              If <code>null</code> then entries aren't cached locally.
+     */
+    public void setLocalCache(LocalCacheConfig localCache) {
+        this.localCache = localCache;
+    }
+
+    public boolean isLoadLock() {
+        return loadLock;
+    }
+
+    /**
+     * Defines whether <code>Cache.get(key, valueLoader)</code> acquires distributed lock
+     * per key before value loading. Concurrent calls within the same JVM share
+     * single value loading in both cases.
+     *
+     * @param loadLock - <code>true</code> means only one JVM loads value at a time.
+     *              <code>false</code> means value is loaded without lock traffic and
+     *              stored only if absent, so value loaded first is returned to all JVMs.
+     *              Default is <code>true</code>
+     */
+    public void setLoadLock(boolean loadLock) {
+        this.loadLock = loadLock;
+    }
+
     /**
      * Read config objects stored in JSON format from <code>String</code>
      *
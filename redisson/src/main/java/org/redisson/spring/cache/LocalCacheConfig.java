@@ -0,0 +1,140 @@
+/**
+ * Copyright 2016 Nikita Koksharov
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.redisson.spring.cache;
+
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.LocalCachedMapOptions.ReconnectionStrategy;
+
+/**
+ * Local (near) cache settings of Spring cache.
+ * <p>
+ * Cache with this config is backed by {@link org.redisson.api.RLocalCachedMap}
+ * or by {@link org.redisson.api.RLocalCachedMapCache} if <code>ttl</code> or
+ * <code>maxIdleTime</code> of {@link CacheConfig} is defined.
+ *
+ * @author Nikita Koksharov
+ *
+ */
+public class LocalCacheConfig {
+
+    private EvictionPolicy evictionPolicy = EvictionPolicy.NONE;
+
+    private int cacheSize;
+
+    private long timeToLive;
+
+    private long maxIdleTime;
+
+    private boolean invalidateEntryOnChange = true;
+
+    private ReconnectionStrategy reconnectionStrategy = ReconnectionStrategy.NONE;
+
+    public EvictionPolicy getEvictionPolicy() {
+        return evictionPolicy;
+    }
+
+    /**
+     * Set eviction policy of local cache.
+     *
+     * @param evictionPolicy - <code>LRU</code>, <code>LFU</code> or <code>NONE</code>.
+     *              <code>NONE</code> is used by default.
+     */
+    public void setEvictionPolicy(EvictionPolicy evictionPolicy) {
+        this.evictionPolicy = evictionPolicy;
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * Set max size of local cache.
+     *
+     * @param cacheSize - max amount of entries stored locally.
+     *              If <code>0</code> then local cache is unbounded.
+     */
+    public void setCacheSize(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public long getTimeToLive() {
+        return timeToLive;
+    }
+
+    /**
+     * Set time to live for entry stored in local cache in milliseconds.
+     *
+     * @param timeToLive - time to live in milliseconds.
+     *              If <code>0</code> then time to live doesn't affect local entry expiration.
+     */
+    public void setTimeToLive(long timeToLive) {
+        this.timeToLive = timeToLive;
+    }
+
+    public long getMaxIdleTime() {
+        return maxIdleTime;
+    }
+
+    /**
+     * Set max idle time for entry stored in local cache in milliseconds.
+     *
+     * @param maxIdleTime - max idle time in milliseconds.
+     *              If <code>0</code> then max idle time doesn't affect local entry expiration.
+     */
+    public void setMaxIdleTime(long maxIdleTime) {
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    public boolean isInvalidateEntryOnChange() {
+        return invalidateEntryOnChange;
+    }
+
+    /**
+     * Set invalidation mode of local cache.
+     *
+     * @param invalidateEntryOnChange - if <code>true</code> then entry is invalidated
+     *              in local caches of all instances on change. <code>true</code> by default.
+     */
+    public void setInvalidateEntryOnChange(boolean invalidateEntryOnChange) {
+        this.invalidateEntryOnChange = invalidateEntryOnChange;
+    }
+
+    public ReconnectionStrategy getReconnectionStrategy() {
+        return reconnectionStrategy;
+    }
+
+    /**
+     * Set behavior of local cache after reconnection to Redis.
+     *
+     * @param reconnectionStrategy - <code>NONE</code>, <code>CLEAR</code> or <code>LOAD</code>.
+     *              <code>NONE</code> is used by default.
+     */
+    public void setReconnectionStrategy(ReconnectionStrategy reconnectionStrategy) {
+        this.reconnectionStrategy = reconnectionStrategy;
+    }
+
+    LocalCachedMapOptions<Object, Object> toOptions() {
+        return LocalCachedMapOptions.<Object, Object>defaults()
+                .evictionPolicy(evictionPolicy)
+                .cacheSize(cacheSize)
+                .timeToLive(timeToLive)
+                .maxIdle(maxIdleTime)
+                .invalidateEntryOnChange(invalidateEntryOnChange)
+                .reconnectionStrategy(reconnectionStrategy);
+    }
+
+}
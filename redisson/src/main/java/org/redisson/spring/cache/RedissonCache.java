@@ -18,6 +18,10 @@ package org.redisson.spring.cache;
 import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
 
 import org.redisson.api.RLock;
@@ -43,6 +47,8 @@ public class RedissonCache implements Cache {
     
     private final RedissonClient redisson;
 
+    private final ConcurrentMap<Object, FutureTask<Object>> loadingTasks = new ConcurrentHashMap<Object, FutureTask<Object>>();
+
     public RedissonCache(RedissonClient redisson, RMapCache<Object, Object> mapCache, CacheConfig config) {
         this.mapCache = mapCache;
         this.map = mapCache;
@@ -51,7 +57,12 @@ public class RedissonCache implements Cache {
     }
 
     public RedissonCache(RedissonClient redisson, RMap<Object, Object> map) {
+        this(redisson, map, new CacheConfig());
+    }
+
+    public RedissonCache(RedissonClient redisson, RMap<Object, Object> map, CacheConfig config) {
         this.map = map;
+        this.config = config;
         this.redisson = redisson;
     }
 
@@ -86,6 +97,7 @@ public class RedissonCache implements Cache {
 
     @Override
     public void put(Object key, Object value) {
+        value = toPutValue(value);
         if (mapCache != null) {
             mapCache.fastPut(key, value, config.getTTL(), TimeUnit.MILLISECONDS, config.getMaxIdleTime(), TimeUnit.MILLISECONDS);
         } else {
@@ -95,6 +107,7 @@ public class RedissonCache implements Cache {
 
     public ValueWrapper putIfAbsent(Object key, Object value) {
         Object prevValue;
+        value = toPutValue(value);
         if (mapCache != null) {
             prevValue = mapCache.putIfAbsent(key, value, config.getTTL(), TimeUnit.MILLISECONDS, config.getMaxIdleTime(), TimeUnit.MILLISECONDS);
         } else {
@@ -113,6 +126,14 @@ public class RedissonCache implements Cache {
         map.clear();
     }
 
+    private Object toPutValue(Object value) {
+        // local cached map doesn't accept null values
+        if (config.getLocalCache() != null) {
+            return toStoreValue(value);
+        }
+        return value;
+    }
+
     private ValueWrapper toValueWrapper(Object value) {
         if (value == null) {
             return null;
@@ -123,37 +144,89 @@ public class RedissonCache implements Cache {
         return new SimpleValueWrapper(value);
     }
 
-    public <T> T get(Object key, Callable<T> valueLoader) {
+    public <T> T get(final Object key, final Callable<T> valueLoader) {
         Object value = map.get(key);
         if (value == null) {
-            String lockName = getLockName(key);
-            RLock lock = redisson.getLock(lockName);
-            lock.lock();
-            try {
-                value = map.get(key);
-                if (value == null) {
-                    try {
-                        value = toStoreValue(valueLoader.call());
-                    } catch (Exception ex) {
-                        try {
-                            Class<?> c = Class.forName("org.springframework.cache.Cache$ValueRetrievalException");
-                            Constructor<?> constructor = c.getConstructor(Object.class, Callable.class, Throwable.class);
-                            RuntimeException exception = (RuntimeException) constructor.newInstance(key, valueLoader, ex.getCause());
-                            throw exception;                
-                        } catch (Exception e) {
-                            throw new IllegalStateException(e);
-                        }
-                    }
-                    map.put(key, value);
+            FutureTask<Object> task = new FutureTask<Object>(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    return loadValue(key, valueLoader);
+                }
+            });
+            // only one thread per key loads value, others wait for its result
+            FutureTask<Object> loadingTask = loadingTasks.putIfAbsent(key, task);
+            if (loadingTask == null) {
+                loadingTask = task;
+                try {
+                    task.run();
+                } finally {
+                    loadingTasks.remove(key, task);
                 }
-            } finally {
-                lock.unlock();
             }
+            value = awaitValue(loadingTask);
         }
         
         return (T) fromStoreValue(value);
     }
 
+    private <T> Object loadValue(Object key, Callable<T> valueLoader) {
+        if (!config.isLoadLock()) {
+            Object value = callLoader(key, valueLoader);
+            // value could be loaded by other JVM meanwhile
+            ValueWrapper prevValue = putIfAbsent(key, value);
+            if (prevValue != null) {
+                return prevValue.get();
+            }
+            return value;
+        }
+
+        String lockName = getLockName(key);
+        RLock lock = redisson.getLock(lockName);
+        lock.lock();
+        try {
+            Object value = map.get(key);
+            if (value == null) {
+                value = callLoader(key, valueLoader);
+                put(key, value);
+            }
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private <T> Object callLoader(Object key, Callable<T> valueLoader) {
+        try {
+            return toStoreValue(valueLoader.call());
+        } catch (Exception ex) {
+            try {
+                Class<?> c = Class.forName("org.springframework.cache.Cache$ValueRetrievalException");
+                Constructor<?> constructor = c.getConstructor(Object.class, Callable.class, Throwable.class);
+                RuntimeException exception = (RuntimeException) constructor.newInstance(key, valueLoader, ex.getCause());
+                throw exception;                
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private Object awaitValue(FutureTask<Object> task) {
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
     private String getLockName(Object key) {
         try {
             byte[] keyState = redisson.getConfig().getCodec().getMapKeyEncoder().encode(key);
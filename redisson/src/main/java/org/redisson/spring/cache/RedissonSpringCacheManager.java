@@ -20,8 +20,12 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.redisson.api.LocalCachedMapOptions;
 import org.redisson.api.RMap;
+import org.redisson.api.RDestroyable;
 import org.redisson.api.RMapCache;
 import org.redisson.api.RedissonClient;
 import org.redisson.client.codec.Codec;
@@ -52,6 +56,8 @@ public class RedissonSpringCacheManager implements CacheManager, ResourceLoaderA
 
     private String configLocation;
 
+    private final ConcurrentMap<String, Cache> instanceMap = new ConcurrentHashMap<String, Cache>();
+
     public RedissonSpringCacheManager() {
     }
 
@@ -153,22 +159,62 @@ public class RedissonSpringCacheManager implements CacheManager, ResourceLoaderA
 
     @Override
     public Cache getCache(String name) {
+        Cache cache = instanceMap.get(name);
+        if (cache != null) {
+            return cache;
+        }
+
+        cache = createCache(name);
+        Cache oldCache = instanceMap.putIfAbsent(name, cache);
+        if (oldCache != null) {
+            if (cache.getNativeCache() instanceof RDestroyable) {
+                ((RDestroyable) cache.getNativeCache()).destroy();
+            }
+            return oldCache;
+        }
+        return cache;
+    }
+
+    private Cache createCache(String name) {
         CacheConfig config = configMap.get(name);
         if (config == null) {
             config = new CacheConfig();
             configMap.put(name, config);
 
             RMap<Object, Object> map = createMap(name);
-            return new RedissonCache(redisson, map);
+            return new RedissonCache(redisson, map, config);
+        }
+        if (config.getLocalCache() != null) {
+            LocalCachedMapOptions<Object, Object> options = config.getLocalCache().toOptions();
+            if (config.getMaxIdleTime() == 0 && config.getTTL() == 0) {
+                RMap<Object, Object> map = createLocalCachedMap(name, options);
+                return new RedissonCache(redisson, map, config);
+            }
+            RMapCache<Object, Object> map = createLocalCachedMapCache(name, options);
+            return new RedissonCache(redisson, map, config);
         }
         if (config.getMaxIdleTime() == 0 && config.getTTL() == 0) {
             RMap<Object, Object> map = createMap(name);
-            return new RedissonCache(redisson, map);
+            return new RedissonCache(redisson, map, config);
         }
         RMapCache<Object, Object> map = createMapCache(name);
         return new RedissonCache(redisson, map, config);
     }
 
+    private RMap<Object, Object> createLocalCachedMap(String name, LocalCachedMapOptions<Object, Object> options) {
+        if (codec != null) {
+            return redisson.getLocalCachedMap(name, codec, options);
+        }
+        return redisson.getLocalCachedMap(name, options);
+    }
+
+    private RMapCache<Object, Object> createLocalCachedMapCache(String name, LocalCachedMapOptions<Object, Object> options) {
+        if (codec != null) {
+            return redisson.getLocalCachedMapCache(name, codec, options);
+        }
+        return redisson.getLocalCachedMapCache(name, options);
+    }
+
     private RMap<Object, Object> createMap(String name) {
         if (codec != null) {
             return redisson.getMap(name, codec);
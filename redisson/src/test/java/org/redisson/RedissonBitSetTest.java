@@ -8,6 +8,40 @@ import org.redisson.api.RBitSet;
 
 public class RedissonBitSetTest extends BaseTest {
 
+    @Test
+    public void testBulkGetSet() {
+        RBitSet bs = redisson.getBitSet("testbitset");
+        bs.set(new long[] {1, 5, 100, 5});
+        assertThat(bs.cardinality()).isEqualTo(3);
+        assertThat(bs.get(new long[] {0, 1, 5, 99, 100})).containsExactly(false, true, true, false, true);
+
+        bs.clear(new long[] {5, 100});
+        assertThat(bs.get(new long[] {1, 5, 100})).containsExactly(true, false, false);
+        assertThat(bs.get(new long[0])).isEmpty();
+    }
+
+    @Test
+    public void testNumbers() {
+        RBitSet bs = redisson.getBitSet("testbitset");
+        assertThat(bs.setUnsigned(8, 16, 200)).isZero();
+        assertThat(bs.getUnsigned(8, 16)).isEqualTo(200);
+        assertThat(bs.getSigned(8, 16)).isEqualTo(-56);
+        assertThat(bs.incrementAndGetUnsigned(8, 16, 100)).isEqualTo(44);
+
+        assertThat(bs.setSigned(64, 64, Long.MIN_VALUE)).isZero();
+        assertThat(bs.getSigned(64, 64)).isEqualTo(Long.MIN_VALUE);
+        assertThat(bs.incrementAndGetSigned(64, 64, -1)).isEqualTo(Long.MAX_VALUE);
+
+        assertThat(bs.incrementAndGetUnsigned(4, 200, 3)).isEqualTo(3);
+        assertThat(bs.incrementAndGetUnsigned(4, 200, 3)).isEqualTo(6);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnsignedSize() {
+        RBitSet bs = redisson.getBitSet("testbitset");
+        bs.getUnsigned(64, 0);
+    }
+
     @Test
     public void testIndexRange() {
         RBitSet bs = redisson.getBitSet("testbitset");
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -35,6 +36,15 @@ public class RedissonBlockingQueueReactiveTest extends BaseReactiveTest {
         Assert.assertTrue(System.currentTimeMillis() - s > 2000);
     }
 
+    @Test
+    public void testTakeMany() throws InterruptedException {
+        RBlockingQueueReactive<Integer> queue = redisson.getBlockingQueue("queue");
+        sync(queue.addAll(Arrays.asList(1, 2, 3)));
+        assertThat(sync(queue.poll(2))).containsExactly(1, 2);
+        assertThat(sync(queue.take(2, 1, TimeUnit.SECONDS))).containsExactly(3);
+        assertThat(sync(queue.take(2, 1, TimeUnit.SECONDS))).isEmpty();
+    }
+
     @Test
     public void testTake() throws InterruptedException {
         RBlockingQueueReactive<Integer> queue1 = redisson.getBlockingQueue("queue:take");
@@ -5,6 +5,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
@@ -261,6 +262,52 @@ public class RedissonBlockingQueueTest extends BaseTest {
         Assert.assertNull(queue1.poll(5, TimeUnit.SECONDS));
         Assert.assertTrue(System.currentTimeMillis() - s > 5000);
     }
+
+    @Test
+    public void testTakeMany() throws InterruptedException {
+        RBlockingQueue<Integer> queue = redisson.getBlockingQueue("queue");
+        queue.addAll(Arrays.asList(1, 2, 3));
+        assertThat(queue.take(2, 1, TimeUnit.SECONDS)).containsExactly(1, 2);
+        assertThat(queue.take(2, 1, TimeUnit.SECONDS)).containsExactly(3);
+
+        Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+            RBlockingQueue<Integer> queue2 = redisson.getBlockingQueue("queue");
+            queue2.addAll(Arrays.asList(4, 5, 6));
+        }, 1, TimeUnit.SECONDS);
+
+        long s = System.currentTimeMillis();
+        assertThat(queue.take(5, 5, TimeUnit.SECONDS)).containsExactly(4, 5, 6);
+        assertThat(System.currentTimeMillis() - s).isGreaterThan(900);
+
+        s = System.currentTimeMillis();
+        assertThat(queue.take(5, 1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(System.currentTimeMillis() - s).isGreaterThan(900);
+    }
+
+    @Test
+    public void testTakeManyShortTimeout() throws InterruptedException {
+        RBlockingQueue<Integer> queue = redisson.getBlockingQueue("queue");
+
+        long s = System.currentTimeMillis();
+        assertThat(queue.take(5, 0, TimeUnit.SECONDS)).isEmpty();
+        assertThat(System.currentTimeMillis() - s).isLessThan(500);
+
+        s = System.currentTimeMillis();
+        assertThat(queue.take(5, 300, TimeUnit.MILLISECONDS)).isEmpty();
+        assertThat(System.currentTimeMillis() - s).isBetween(900L, 3000L);
+    }
+
+    @Test
+    public void testTakeManyMaxTimeout() throws InterruptedException {
+        RBlockingQueue<Integer> queue = redisson.getBlockingQueue("queue");
+        Executors.newSingleThreadScheduledExecutor().schedule(() -> {
+            RBlockingQueue<Integer> queue2 = redisson.getBlockingQueue("queue");
+            queue2.add(1);
+        }, 1, TimeUnit.SECONDS);
+
+        assertThat(queue.take(5, Long.MAX_VALUE, TimeUnit.MILLISECONDS)).containsExactly(1);
+    }
+
     @Test
     public void testAwait() throws InterruptedException {
         RBlockingQueue<Integer> queue1 = redisson.getBlockingQueue("queue1");
@@ -1,7 +1,12 @@
 package org.redisson;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.junit.Test;
 import org.redisson.api.RBloomFilter;
+import org.redisson.client.RedisException;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -17,6 +22,19 @@ public class RedissonBloomFilterTest extends BaseTest {
         assertThat(filter.getSize()).isEqualTo(729);
     }
 
+    @Test
+    public void testConfigChangedError() {
+        RedisException assertError = new RedisException("ERR Error running script (call to f_6b3c1a): "
+                + "@user_script:1: user_script:1: Bloom filter config has been changed");
+        assertThat(RedissonBloomFilter.isConfigChanged(assertError)).isTrue();
+
+        RedisException otherError = new RedisException("ERR Error running script, command: EVAL, params: "
+                + "[local size = redis.call('hget', KEYS[2], 'size'); assert(size == ARGV[1], 'Bloom filter config has been changed'); "
+                + "return redis.call('setbit', KEYS[1], ARGV[3], 1, 1)]: @user_script:1: wrong number of arguments");
+        assertThat(RedissonBloomFilter.isConfigChanged(otherError)).isFalse();
+        assertThat(RedissonBloomFilter.isConfigChanged(new RedisException())).isFalse();
+    }
+
     @Test
     public void testInit() {
         RBloomFilter<String> filter = redisson.getBloomFilter("filter");
@@ -66,4 +84,45 @@ public class RedissonBloomFilterTest extends BaseTest {
         assertThat(filter.count()).isEqualTo(2);
     }
 
+    @Test
+    public void testAddAllContainsEach() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(550000000L, 0.03);
+
+        assertThat(filter.addAll(Arrays.asList("1", "2", "3"))).isEqualTo(3);
+        assertThat(filter.addAll(Arrays.asList("3", "4", "4"))).isEqualTo(1);
+        assertThat(filter.containsEach(Arrays.asList("1", "5", "4"))).containsExactly(true, false, true);
+        assertThat(filter.containsAll(Arrays.asList("1", "2", "3", "4"))).isTrue();
+        assertThat(filter.containsAll(Arrays.asList("1", "5"))).isFalse();
+    }
+
+    @Test
+    public void testAddAllChunked() {
+        RBloomFilter<Integer> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(100000L, 0.01);
+
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 2500; i++) {
+            values.add(i);
+        }
+        assertThat(filter.addAllAsync(values).syncUninterruptibly().getNow()).isGreaterThan(2450);
+        assertThat(filter.containsAllAsync(values).syncUninterruptibly().getNow()).isTrue();
+        assertThat(filter.containsEach(values)).hasSize(2500).containsOnly(true);
+    }
+
+    @Test
+    public void testReinitialized() {
+        RBloomFilter<String> filter = redisson.getBloomFilter("filter");
+        filter.tryInit(1000, 0.03);
+        assertThat(filter.add("1")).isTrue();
+
+        RBloomFilter<String> filter2 = redisson.getBloomFilter("filter");
+        filter2.delete();
+        filter2.tryInit(2000, 0.01);
+
+        assertThat(filter.contains("1")).isFalse();
+        assertThat(filter.addAsync("1").syncUninterruptibly().getNow()).isTrue();
+        assertThat(filter2.contains("1")).isTrue();
+    }
+
 }
@@ -71,6 +71,23 @@ public class RedissonBoundedBlockingQueueTest extends BaseTest {
         assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
     }
     
+    @Test
+    public void testPollLimit() throws InterruptedException {
+        RBoundedBlockingQueue<Integer> queue = redisson.getBoundedBlockingQueue("bounded-queue");
+        queue.trySetCapacity(5);
+        queue.addAll(Arrays.asList(1, 2, 3, 4, 5));
+        assertThat(queue.remainingCapacity()).isZero();
+
+        assertThat(queue.poll(2)).containsExactly(1, 2);
+        assertThat(queue.remainingCapacity()).isEqualTo(2);
+
+        assertThat(queue.take(5, 1, TimeUnit.SECONDS)).containsExactly(3, 4, 5);
+        assertThat(queue.remainingCapacity()).isEqualTo(5);
+
+        assertThat(queue.take(5, 1, TimeUnit.SECONDS)).isEmpty();
+        assertThat(queue.remainingCapacity()).isEqualTo(5);
+    }
+
     @Test
     public void testAddAll() {
         RBoundedBlockingQueue<Integer> queue = redisson.getBoundedBlockingQueue("bounded-queue");
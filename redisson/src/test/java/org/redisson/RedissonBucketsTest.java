@@ -63,6 +63,18 @@ public class RedissonBucketsTest extends BaseTest {
         assertThat(r2.get()).isEqualTo(2);
     }
 
+    @Test
+    public void testSetBatched() {
+        Map<String, Integer> buckets = new HashMap<String, Integer>();
+        for (int i = 0; i < 1000; i++) {
+            buckets.put("{bucket}" + i, i);
+        }
+        redisson.getBuckets().set(buckets, 64);
+
+        Map<String, Integer> result = redisson.getBuckets().get(buckets.keySet().toArray(new String[buckets.size()]));
+        assertThat(result).isEqualTo(buckets);
+    }
+
     @Test
     public void testTrySet() {
         redisson.getBucket("12").set("341");
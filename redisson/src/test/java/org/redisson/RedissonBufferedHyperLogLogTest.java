@@ -0,0 +1,120 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.withinPercentage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.api.RBufferedHyperLogLog;
+import org.redisson.api.RHyperLogLog;
+import org.redisson.client.codec.StringCodec;
+
+public class RedissonBufferedHyperLogLogTest extends BaseTest {
+
+    private void checkCompatibility(int amount) {
+        RBufferedHyperLogLog<String> log = redisson.getBufferedHyperLogLog("log", StringCodec.INSTANCE, 0, TimeUnit.SECONDS);
+        RHyperLogLog<String> plainLog = redisson.getHyperLogLog("plainLog", StringCodec.INSTANCE);
+        List<String> elements = new ArrayList<String>();
+        for (int i = 0; i < amount; i++) {
+            elements.add("element" + i);
+            if (elements.size() == 1000) {
+                log.addAll(elements);
+                plainLog.addAll(elements);
+                elements.clear();
+            }
+        }
+        log.addAll(elements);
+        plainLog.addAll(elements);
+
+        assertThat(redisson.getKeys().count()).isEqualTo(1);
+        long count = plainLog.count();
+        // estimator of Redis depends on its version
+        assertThat(log.countApprox()).isCloseTo(count, withinPercentage(2));
+        assertThat(log.count()).isEqualTo(count);
+        assertThat(log.countWith("plainLog")).isEqualTo(count);
+        assertThat(redisson.getKeys().count()).isEqualTo(2);
+        log.destroy();
+    }
+
+    @Test
+    public void testSparse() {
+        checkCompatibility(100);
+    }
+
+    @Test
+    public void testDense() {
+        checkCompatibility(200000);
+    }
+
+    @Test
+    public void testAdd() {
+        RBufferedHyperLogLog<Integer> log = redisson.getBufferedHyperLogLog("log");
+        assertThat(log.add(1)).isTrue();
+        assertThat(log.add(2)).isTrue();
+        assertThat(log.add(2)).isFalse();
+        assertThat(log.add(3)).isTrue();
+        assertThat(log.countApprox()).isEqualTo(3);
+
+        RHyperLogLog<Integer> log2 = redisson.getHyperLogLog("log");
+        log2.add(4);
+        assertThat(log.count()).isEqualTo(4);
+        log.destroy();
+    }
+
+    @Test
+    public void testFlushInterval() throws InterruptedException {
+        RBufferedHyperLogLog<String> log = redisson.getBufferedHyperLogLog("log", StringCodec.INSTANCE, 100, TimeUnit.MILLISECONDS);
+        log.add("foo");
+        log.add("bar");
+        assertThat(log.isExists()).isFalse();
+
+        Thread.sleep(500);
+        assertThat(redisson.getHyperLogLog("log").count()).isEqualTo(2);
+        log.destroy();
+    }
+
+    @Test
+    public void testMergeWith() {
+        RHyperLogLog<String> hll1 = redisson.getHyperLogLog("hll1");
+        hll1.add("foo");
+        hll1.add("bar");
+
+        RBufferedHyperLogLog<String> hll2 = redisson.getBufferedHyperLogLog("hll2");
+        hll2.add("bar");
+        hll2.add("zap");
+        hll2.mergeWith("hll1");
+        assertThat(hll2.count()).isEqualTo(3);
+        hll2.destroy();
+    }
+
+    @Test
+    public void testFlushAfterRemoteDelete() {
+        RBufferedHyperLogLog<String> log = redisson.getBufferedHyperLogLog("log", StringCodec.INSTANCE, 0, TimeUnit.SECONDS);
+        log.add("foo");
+        log.add("bar");
+        log.flush();
+        assertThat(redisson.getHyperLogLog("log").count()).isEqualTo(2);
+
+        redisson.getKeys().delete("log");
+        log.add("zap");
+        log.flush();
+        assertThat(redisson.getHyperLogLog("log").count()).isEqualTo(1);
+        assertThat(log.countApprox()).isEqualTo(3);
+        log.destroy();
+    }
+
+    @Test
+    public void testDelete() {
+        RBufferedHyperLogLog<String> log = redisson.getBufferedHyperLogLog("log");
+        log.add("foo");
+        log.flush();
+        assertThat(log.delete()).isTrue();
+        assertThat(log.countApprox()).isZero();
+        assertThat(log.count()).isZero();
+        log.destroy();
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.api.RClusteredBloomFilter;
+
+public class RedissonClusteredBloomFilterTest extends BaseTest {
+
+    @Test
+    public void testConfig() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        assertThat(filter.tryInit(100, 0.03, 4)).isTrue();
+        assertThat(filter.tryInit(100, 0.03, 4)).isFalse();
+        assertThat(filter.getExpectedInsertions()).isEqualTo(100);
+        assertThat(filter.getFalseProbability()).isEqualTo(0.03);
+        assertThat(filter.getHashIterations()).isEqualTo(5);
+        assertThat(filter.getSize()).isEqualTo(729);
+        assertThat(filter.getSegments()).isEqualTo(4);
+    }
+
+    @Test
+    public void testDefaultSegments() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        assertThat(filter.tryInit(10000000000L, 0.03)).isTrue();
+        assertThat(filter.getSegments()).isEqualTo(17);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotInitializedOnAdd() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        filter.add("123");
+    }
+
+    @Test
+    public void test() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        filter.tryInit(100000, 0.01, 8);
+
+        assertThat(filter.contains("123")).isFalse();
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.add("123")).isFalse();
+        assertThat(filter.count()).isEqualTo(1);
+
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 2500; i++) {
+            values.add(i);
+        }
+        RClusteredBloomFilter<Integer> filter2 = redisson.getClusteredBloomFilter("filter2");
+        filter2.tryInit(100000, 0.01, 8);
+        assertThat(filter2.addAll(values)).isGreaterThan(2450);
+        assertThat(filter2.containsEach(values)).hasSize(2500).containsOnly(true);
+        assertThat(filter2.containsEach(Arrays.asList(1, -1, 2))).containsExactly(true, false, true);
+        assertThat(filter2.count()).isBetween(2450, 2550);
+        assertThat(redisson.getKeys().findKeysByPattern("{filter2*")).hasSize(1 + 2 * 8);
+    }
+
+    @Test
+    public void testFalseProbability() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        filter.tryInit(20000, 0.01, 4);
+
+        List<String> added = new ArrayList<String>();
+        List<String> absent = new ArrayList<String>();
+        for (int i = 0; i < 20000; i++) {
+            added.add("value" + i);
+            absent.add("absent" + i);
+        }
+        filter.addAll(added);
+
+        int falsePositives = 0;
+        for (Boolean contains : filter.containsEach(absent)) {
+            if (contains) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / absent.size()).isLessThan(0.015);
+    }
+
+    @Test
+    public void testDeleteExpire() throws InterruptedException {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        filter.tryInit(1000, 0.01, 4);
+        filter.addAll(Arrays.asList("1", "2", "3", "4", "5", "6"));
+
+        assertThat(filter.expire(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(filter.remainTimeToLive()).isGreaterThan(0);
+        Thread.sleep(1100);
+        assertThat(filter.isExists()).isFalse();
+        assertThat(redisson.getKeys().count()).isZero();
+
+        filter.tryInit(1000, 0.01, 4);
+        filter.add("1");
+        assertThat(filter.delete()).isTrue();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testReinitialized() {
+        RClusteredBloomFilter<String> filter = redisson.getClusteredBloomFilter("filter");
+        filter.tryInit(1000, 0.03, 2);
+        assertThat(filter.add("1")).isTrue();
+
+        RClusteredBloomFilter<String> filter2 = redisson.getClusteredBloomFilter("filter");
+        filter2.delete();
+        filter2.tryInit(2000, 0.01, 3);
+
+        assertThat(filter.contains("1")).isFalse();
+        assertThat(filter.addAsync("1").syncUninterruptibly().getNow()).isTrue();
+        assertThat(filter2.contains("1")).isTrue();
+    }
+
+}
@@ -0,0 +1,70 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.redisson.api.RCountingBloomFilter;
+
+public class RedissonCountingBloomFilterTest extends BaseTest {
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotInitializedOnRemove() {
+        RCountingBloomFilter<String> filter = redisson.getCountingBloomFilter("filter");
+        filter.remove("123");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLarge() {
+        RCountingBloomFilter<String> filter = redisson.getCountingBloomFilter("filter");
+        filter.tryInit(550000000L, 0.03);
+    }
+
+    @Test
+    public void testAddRemove() {
+        RCountingBloomFilter<String> filter = redisson.getCountingBloomFilter("filter");
+        filter.tryInit(10000, 0.01);
+
+        assertThat(filter.remove("1")).isFalse();
+        assertThat(filter.add("1")).isTrue();
+        assertThat(filter.add("1")).isFalse();
+        assertThat(filter.add("2")).isTrue();
+        assertThat(filter.count()).isEqualTo(3);
+
+        assertThat(filter.remove("1")).isTrue();
+        assertThat(filter.contains("1")).isTrue();
+        assertThat(filter.remove("1")).isTrue();
+        assertThat(filter.contains("1")).isFalse();
+        assertThat(filter.contains("2")).isTrue();
+        assertThat(filter.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testBulk() {
+        RCountingBloomFilter<String> filter = redisson.getCountingBloomFilter("filter");
+        filter.tryInit(10000, 0.01);
+
+        assertThat(filter.addAll(Arrays.asList("1", "2", "3"))).isEqualTo(3);
+        assertThat(filter.removeAll(Arrays.asList("1", "3", "4"))).isEqualTo(2);
+        assertThat(filter.containsEach(Arrays.asList("1", "2", "3"))).containsExactly(false, true, false);
+        assertThat(filter.removeAsync("2").syncUninterruptibly().getNow()).isTrue();
+        assertThat(filter.containsAll(Arrays.asList("2"))).isFalse();
+        assertThat(filter.count()).isZero();
+    }
+
+    @Test
+    public void testSaturatedCounters() {
+        RCountingBloomFilter<String> filter = redisson.getCountingBloomFilter("filter");
+        filter.tryInit(10000, 0.01);
+
+        for (int i = 0; i < 20; i++) {
+            filter.add("1");
+        }
+        for (int i = 0; i < 20; i++) {
+            assertThat(filter.remove("1")).isTrue();
+        }
+        assertThat(filter.contains("1")).isTrue();
+    }
+
+}
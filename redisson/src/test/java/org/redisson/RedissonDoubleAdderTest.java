@@ -0,0 +1,60 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.api.RDoubleAdder;
+import org.redisson.api.RedissonClient;
+
+public class RedissonDoubleAdderTest extends BaseTest {
+
+    @Test
+    public void testSum() {
+        RedissonClient redisson2 = createInstance();
+        try {
+            RDoubleAdder adder1 = redisson.getDoubleAdder("test", 0, TimeUnit.SECONDS);
+            RDoubleAdder adder2 = redisson2.getDoubleAdder("test", 0, TimeUnit.SECONDS);
+
+            adder1.add(2.5);
+            adder1.increment();
+            adder2.add(1.25);
+            adder2.decrement();
+
+            assertThat(redisson.getAtomicDouble("test").get()).isZero();
+            assertThat(adder1.sum()).isEqualTo(3.75);
+            assertThat(adder2.sum()).isEqualTo(3.75);
+
+            adder1.reset();
+            adder2.add(0.5);
+            assertThat(adder1.sum()).isEqualTo(0.5);
+
+            adder1.destroy();
+            adder2.destroy();
+        } finally {
+            redisson2.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrency() throws InterruptedException {
+        RDoubleAdder adder = redisson.getDoubleAdder("test", 50, TimeUnit.MILLISECONDS);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    adder.add(0.5);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(adder.sum()).isEqualTo(40000);
+        adder.destroy();
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.redisson;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.redisson.api.RHyperLogLog;
@@ -16,6 +18,15 @@ public class RedissonHyperLogLogTest extends BaseTest {
         Assert.assertEquals(3L, log.count());
     }
 
+    @Test
+    public void testAddAll() {
+        RHyperLogLog<Integer> log = redisson.getHyperLogLog("log");
+        Assert.assertTrue(log.addAll(Arrays.asList(1, 2, 3)));
+        Assert.assertFalse(log.addAll(Arrays.asList(1, 2)));
+
+        Assert.assertEquals(3L, log.count());
+    }
+
     @Test
     public void testMerge() {
         RHyperLogLog<String> hll1 = redisson.getHyperLogLog("hll1");
@@ -0,0 +1,77 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.api.RIdGenerator;
+import org.redisson.api.RedissonClient;
+
+public class RedissonIdGeneratorTest extends BaseTest {
+
+    @Test
+    public void testEmpty() {
+        RIdGenerator generator = redisson.getIdGenerator("test");
+        for (int i = 1; i <= 12000; i++) {
+            assertThat(generator.nextId()).isEqualTo(i);
+        }
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(15000);
+    }
+
+    @Test
+    public void testTryInit() {
+        RIdGenerator generator = redisson.getIdGenerator("test");
+        assertThat(generator.tryInit(12, 10)).isTrue();
+        assertThat(generator.tryInit(1, 10)).isFalse();
+
+        for (int i = 12; i < 42; i++) {
+            assertThat(generator.nextId()).isEqualTo(i);
+        }
+
+        RIdGenerator generator2 = redisson.getIdGenerator("test2");
+        generator2.nextId();
+        assertThat(generator2.tryInit(1, 10)).isFalse();
+    }
+
+    @Test
+    public void testDelete() {
+        RIdGenerator generator = redisson.getIdGenerator("test");
+        assertThat(generator.tryInit(1, 10)).isTrue();
+        assertThat(redisson.getKeys().count()).isEqualTo(2);
+        generator.delete();
+        assertThat(redisson.getKeys().count()).isZero();
+    }
+
+    @Test
+    public void testUnique() throws InterruptedException {
+        RedissonClient redisson2 = createInstance();
+        try {
+            redisson.getIdGenerator("test").tryInit(1, 100);
+            RIdGenerator generator1 = redisson.getIdGenerator("test");
+            RIdGenerator generator2 = redisson2.getIdGenerator("test");
+
+            Set<Long> ids = ConcurrentHashMap.newKeySet();
+            ExecutorService executor = Executors.newFixedThreadPool(8);
+            for (int i = 0; i < 8; i++) {
+                RIdGenerator generator = i % 2 == 0 ? generator1 : generator2;
+                executor.execute(() -> {
+                    for (int j = 0; j < 5000; j++) {
+                        assertThat(ids.add(generator.nextId())).isTrue();
+                    }
+                });
+            }
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+            assertThat(ids).hasSize(40000);
+        } finally {
+            redisson2.shutdown();
+        }
+    }
+
+}
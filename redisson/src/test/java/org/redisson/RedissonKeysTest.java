@@ -5,7 +5,10 @@ import static org.assertj.core.api.Assertions.*;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -37,6 +40,55 @@ public class RedissonKeysTest extends BaseTest {
         }
     }
 
+    @Test
+    public void testKeysIterablePrefetch() {
+        Set<String> keys = new HashSet<String>();
+        for (int i = 0; i < 115; i++) {
+            String key = "key" + i;
+            redisson.getBucket(key).set("someValue");
+            keys.add(key);
+        }
+
+        for (String key : redisson.getKeys().getKeysByPattern("key*", 10, 2)) {
+            keys.remove(key);
+        }
+        assertThat(keys).isEmpty();
+    }
+
+    @Test
+    public void testKeysPerNodeParallelStream() {
+        Set<String> keys = new HashSet<String>();
+        for (int i = 0; i < 115; i++) {
+            String key = "key" + i;
+            redisson.getBucket(key).set("someValue");
+            keys.add(key);
+        }
+
+        List<Iterable<String>> nodes = redisson.getKeys().getKeysByPatternPerNode("key*", 10);
+        assertThat(nodes).hasSize(1);
+        Set<String> result = nodes.parallelStream()
+                .flatMap(node -> StreamSupport.stream(node.spliterator(), false))
+                .collect(Collectors.toSet());
+        assertThat(result).isEqualTo(keys);
+    }
+
+    @Test
+    public void testKeysPartitionsParallelStream() {
+        Set<String> keys = new HashSet<String>();
+        for (int i = 0; i < 1000; i++) {
+            String key = "key" + i;
+            redisson.getBucket(key).set("someValue");
+            keys.add(key);
+        }
+
+        List<Iterable<String>> partitions = redisson.getKeys().getKeysByPatternPartitions("key*", 10, 4);
+        assertThat(partitions).hasSize(4);
+        Set<String> result = partitions.parallelStream()
+                .flatMap(part -> StreamSupport.stream(part.spliterator(), false))
+                .collect(Collectors.toSet());
+        assertThat(result).isEqualTo(keys);
+    }
+
     @Test
     public void testKeysIterable() throws InterruptedException {
         Set<String> keys = new HashSet<String>();
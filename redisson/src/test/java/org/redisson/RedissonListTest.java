@@ -495,6 +495,63 @@ public class RedissonListTest extends BaseTest {
         assertThat(subList).containsExactly(1, 3);
     }
 
+    @Test
+    public void testSubListIteratorRemoveVisitsAll() {
+        RList<Integer> list = redisson.getList("list");
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        List<Integer> subList = list.subList(2, 8);
+        List<Integer> visited = new ArrayList<Integer>();
+        for (Iterator<Integer> iterator = subList.iterator(); iterator.hasNext();) {
+            Integer num = iterator.next();
+            visited.add(num);
+            if (num == 4) {
+                iterator.remove();
+            }
+        }
+        assertThat(visited).containsExactly(2, 3, 4, 5, 6, 7);
+        assertThat(list).containsExactly(0, 1, 2, 3, 5, 6, 7, 8, 9);
+    }
+
+    @Test
+    public void testListIteratorChunked() {
+        RList<Integer> list = redisson.getList("list");
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+            expected.add(i);
+        }
+
+        List<Integer> values = new ArrayList<Integer>();
+        for (ListIterator<Integer> iterator = list.listIterator(0, 64); iterator.hasNext();) {
+            values.add(iterator.next());
+        }
+        assertThat(values).isEqualTo(expected);
+
+        expected.clear();
+        for (ListIterator<Integer> iterator = list.listIterator(0, 64); iterator.hasNext();) {
+            Integer value = iterator.next();
+            if (value % 2 == 0) {
+                iterator.remove();
+            } else if (value % 3 == 0) {
+                iterator.set(value * 10);
+                expected.add(value * 10);
+            } else {
+                expected.add(value);
+            }
+        }
+        assertThat(list.readAll()).isEqualTo(expected);
+
+        List<Integer> reversed = new ArrayList<Integer>();
+        for (ListIterator<Integer> iterator = list.listIterator(list.size(), 64); iterator.hasPrevious();) {
+            reversed.add(iterator.previous());
+        }
+        Collections.reverse(reversed);
+        assertThat(reversed).isEqualTo(expected);
+    }
+
     @Test
     public void testSubListMiddleIterator() {
         List<Integer> list = redisson.getList("list");
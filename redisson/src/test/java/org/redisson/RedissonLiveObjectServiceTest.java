@@ -43,6 +43,7 @@ import org.redisson.api.annotation.RFieldAccessor;
 import org.redisson.api.annotation.RId;
 import org.redisson.liveobject.resolver.DefaultNamingScheme;
 import org.redisson.liveobject.resolver.DistributedAtomicLongIdGenerator;
+import org.redisson.liveobject.resolver.LongGenerator;
 
 /**
  *
@@ -732,6 +733,30 @@ public class RedissonLiveObjectServiceTest extends BaseTest {
 
     }
 
+    @REntity
+    public static class TestClassID3 {
+
+        @RId(generator = LongGenerator.class)
+        private Long name;
+
+        public TestClassID3() {
+        }
+
+        public Long getName() {
+            return name;
+        }
+
+    }
+
+    @Test
+    public void testCreateWithLongGenerator() {
+        RLiveObjectService service = redisson.getLiveObjectService();
+        TestClassID3 tc1 = service.persist(new TestClassID3());
+        TestClassID3 tc2 = service.persist(new TestClassID3());
+        assertEquals(new Long(1), tc1.getName());
+        assertEquals(new Long(2), tc2.getName());
+    }
+
     @Test
     public void testCreate() {
         RLiveObjectService service = redisson.getLiveObjectService();
@@ -0,0 +1,174 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.RedissonLocalCachedMap.CacheKey;
+import org.redisson.RedissonLocalCachedMap.CacheValue;
+import org.redisson.api.LocalCachedMapOptions;
+import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.RLocalCachedMapCache;
+import org.redisson.misc.Cache;
+
+import mockit.Deencapsulation;
+
+public class RedissonLocalCachedMapCacheTest extends BaseTest {
+
+    @Test
+    public void testGetCached() throws InterruptedException {
+        RLocalCachedMapCache<String, Integer> map = redisson.getLocalCachedMapCache("test", LocalCachedMapOptions.defaults());
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+        
+        map.put("1", 1);
+        map.put("2", 2);
+        Thread.sleep(50);
+        assertThat(cache.size()).isEqualTo(0);
+        
+        assertThat(map.get("1")).isEqualTo(1);
+        assertThat(map.get("2")).isEqualTo(2);
+        assertThat(map.get("3")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        
+        map.put("1", 3);
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(map.get("1")).isEqualTo(3);
+        
+        Map<String, Integer> all = map.getAll(new HashSet<String>(Arrays.asList("1", "2", "3")));
+        assertThat(all).hasSize(2).containsEntry("1", 3).containsEntry("2", 2);
+    }
+    
+    @Test
+    public void testGetAllCached() {
+        RLocalCachedMapCache<String, Integer> map = redisson.getLocalCachedMapCache("test", LocalCachedMapOptions.defaults());
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+        
+        map.put("1", 1);
+        map.put("2", 2, 1, TimeUnit.MINUTES);
+        map.put("3", 3);
+        assertThat(cache.size()).isEqualTo(0);
+        
+        Map<String, Integer> all = map.getAll(new HashSet<String>(Arrays.asList("1", "2", "4")));
+        assertThat(all).hasSize(2).containsEntry("1", 1).containsEntry("2", 2);
+        assertThat(cache.size()).isEqualTo(2);
+        
+        redisson.getMapCache("test").fastRemove("1");
+        assertThat(map.get("1")).isEqualTo(1);
+    }
+    
+    @Test
+    public void testInvalidationOnBulkUpdate() throws InterruptedException {
+        LocalCachedMapOptions options = LocalCachedMapOptions.defaults().invalidateEntryOnChange(true);
+        RLocalCachedMapCache<String, Integer> map1 = redisson.getLocalCachedMapCache("test", options);
+        RLocalCachedMapCache<String, Integer> map2 = redisson.getLocalCachedMapCache("test", options);
+        Cache<CacheKey, CacheValue> cache2 = Deencapsulation.getField(map2, "cache");
+        
+        Map<String, Integer> values = new HashMap<String, Integer>();
+        for (int i = 0; i < 10; i++) {
+            values.put("" + i, i);
+        }
+        map1.putAll(values);
+        map2.getAll(values.keySet());
+        assertThat(cache2.size()).isEqualTo(10);
+        
+        values.put("1", 11);
+        values.put("2", 12);
+        map1.putAll(values);
+        Thread.sleep(50);
+        assertThat(cache2.size()).isEqualTo(0);
+        
+        map2.getAll(values.keySet());
+        map1.fastRemove("1", "2", "3");
+        Thread.sleep(50);
+        assertThat(cache2.size()).isEqualTo(7);
+        assertThat(map2.get("1")).isNull();
+        
+        map1.clear();
+        Thread.sleep(50);
+        assertThat(cache2.size()).isEqualTo(0);
+        
+        map1.destroy();
+        map2.destroy();
+    }
+    
+    @Test
+    public void testLocalEntryExpiration() throws InterruptedException {
+        RLocalCachedMapCache<String, Integer> map = redisson.getLocalCachedMapCache("test", LocalCachedMapOptions.defaults());
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+        
+        map.put("1", 1, 1, TimeUnit.SECONDS);
+        map.put("2", 2, 0, TimeUnit.SECONDS, 2, TimeUnit.SECONDS);
+        map.put("3", 3);
+        Thread.sleep(50);
+        assertThat(map.get("1")).isEqualTo(1);
+        assertThat(map.get("2")).isEqualTo(2);
+        assertThat(map.get("3")).isEqualTo(3);
+        assertThat(cache.size()).isEqualTo(3);
+        
+        Thread.sleep(1100);
+        
+        assertThat(map.get("1")).isNull();
+        assertThat(map.get("3")).isEqualTo(3);
+        assertThat(map.get("2")).isEqualTo(2);
+        
+        Thread.sleep(1100);
+        
+        // local entry is refreshed before idle timeout
+        assertThat(map.get("2")).isEqualTo(2);
+    }
+    
+    @Test
+    public void testMapExpiration() throws InterruptedException {
+        RLocalCachedMapCache<String, Integer> map = redisson.getLocalCachedMapCache("test", LocalCachedMapOptions.defaults());
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+        
+        map.put("1", 1);
+        map.expire(2, TimeUnit.SECONDS);
+        Thread.sleep(50);
+        assertThat(map.get("1")).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+        
+        Thread.sleep(2100);
+        
+        assertThat(map.get("1")).isNull();
+    }
+    
+    @Test
+    public void testInvalidationOnUpdate() throws InterruptedException {
+        LocalCachedMapOptions options = LocalCachedMapOptions.defaults().evictionPolicy(EvictionPolicy.LFU).cacheSize(5).invalidateEntryOnChange(true);
+        RLocalCachedMapCache<String, Integer> map1 = redisson.getLocalCachedMapCache("test", options);
+        Cache<CacheKey, CacheValue> cache1 = Deencapsulation.getField(map1, "cache");
+        
+        RLocalCachedMapCache<String, Integer> map2 = redisson.getLocalCachedMapCache("test", options);
+        Cache<CacheKey, CacheValue> cache2 = Deencapsulation.getField(map2, "cache");
+        
+        map1.put("1", 1);
+        map1.put("2", 2, 1, TimeUnit.MINUTES);
+        Thread.sleep(50);
+        
+        assertThat(map2.get("1")).isEqualTo(1);
+        assertThat(map2.get("2")).isEqualTo(2);
+        assertThat(cache2.size()).isEqualTo(2);
+        
+        map1.put("1", 3);
+        map1.fastRemove("2");
+        Thread.sleep(50);
+        assertThat(cache1.size()).isEqualTo(0);
+        assertThat(cache2.size()).isEqualTo(0);
+        assertThat(map2.get("1")).isEqualTo(3);
+        assertThat(map2.get("2")).isNull();
+        
+        map1.delete();
+        Thread.sleep(50);
+        assertThat(cache2.size()).isEqualTo(0);
+        
+        map1.destroy();
+        map2.destroy();
+    }
+    
+}
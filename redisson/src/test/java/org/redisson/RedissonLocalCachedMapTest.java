@@ -1,8 +1,10 @@
 package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -16,9 +18,12 @@ import org.redisson.RedissonMapTest.SimpleKey;
 import org.redisson.RedissonMapTest.SimpleValue;
 import org.redisson.api.LocalCachedMapOptions;
 import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.LocalCachedMapOptions.ReconnectionStrategy;
+import org.redisson.api.LocalCachedMapStats;
 import org.redisson.api.RLocalCachedMap;
 import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.map.MapWriter;
 import org.redisson.misc.Cache;
 
 import mockit.Deencapsulation;
@@ -47,6 +52,73 @@ public class RedissonLocalCachedMapTest extends BaseTest {
 
     }
     
+    @Test
+    public void testPreloadCache() {
+        RMap<String, Integer> map = redisson.getMap("test");
+        for (int i = 0; i < 250; i++) {
+            map.put("" + i, i);
+        }
+        
+        RLocalCachedMap<String, Integer> localMap = redisson.getLocalCachedMap("test", LocalCachedMapOptions.defaults());
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(localMap, "cache");
+        assertThat(cache.size()).isEqualTo(0);
+        
+        localMap.preloadCache(30);
+        assertThat(cache.size()).isEqualTo(250);
+        assertThat(localMap.get("125")).isEqualTo(125);
+        
+        RLocalCachedMap<String, Integer> limitedMap = redisson.getLocalCachedMap("test", 
+                LocalCachedMapOptions.defaults().evictionPolicy(EvictionPolicy.LRU).cacheSize(50));
+        Cache<CacheKey, CacheValue> limitedCache = Deencapsulation.getField(limitedMap, "cache");
+        limitedMap.preloadCache(10);
+        assertThat(limitedCache.size()).isEqualTo(50);
+    }
+    
+    @Test
+    public void testPreloadCacheOnCreation() throws InterruptedException {
+        RMap<String, Integer> map = redisson.getMap("test");
+        for (int i = 0; i < 250; i++) {
+            map.put("" + i, i);
+        }
+        
+        RLocalCachedMap<String, Integer> localMap = redisson.getLocalCachedMap("test", LocalCachedMapOptions.defaults().preloadCache(true));
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(localMap, "cache");
+        
+        Thread.sleep(500);
+        assertThat(cache.size()).isEqualTo(250);
+    }
+    
+    @Test
+    public void testCacheStats() throws InterruptedException {
+        LocalCachedMapOptions options = LocalCachedMapOptions.defaults().evictionPolicy(EvictionPolicy.LRU).cacheSize(2);
+        RLocalCachedMap<String, Integer> map1 = redisson.getLocalCachedMap("test", options);
+        RLocalCachedMap<String, Integer> map2 = redisson.getLocalCachedMap("test", options);
+        
+        RMap<String, Integer> map = redisson.getMap("test");
+        map.put("1", 1);
+        map.put("2", 2);
+        map.put("3", 3);
+        
+        assertThat(map2.get("1")).isEqualTo(1);
+        assertThat(map2.get("1")).isEqualTo(1);
+        assertThat(map2.get("2")).isEqualTo(2);
+        assertThat(map2.get("3")).isEqualTo(3);
+        assertThat(map2.get("4")).isNull();
+        
+        map1.put("3", 4);
+        Thread.sleep(50);
+        
+        LocalCachedMapStats stats = map2.getCacheStats();
+        assertThat(stats.getHits()).isEqualTo(1);
+        assertThat(stats.getMisses()).isEqualTo(4);
+        assertThat(stats.getHitRate()).isEqualTo(0.2);
+        assertThat(stats.getLoads()).isEqualTo(4);
+        assertThat(stats.getTotalLoadTimeInNanos()).isPositive();
+        assertThat(stats.getSizeEvictions()).isEqualTo(1);
+        assertThat(stats.getInvalidations()).isEqualTo(1);
+        assertThat(stats.getInvalidationMessages()).isEqualTo(1);
+    }
+    
     @Test
     public void testClearEmpty() {
         RLocalCachedMap<Object, Object> localCachedMap = redisson.getLocalCachedMap("udi-test",
@@ -203,6 +275,66 @@ public class RedissonLocalCachedMapTest extends BaseTest {
         assertThat(cache2.size()).isEqualTo(0);
     }
     
+    @Test
+    public void testInvalidationLogOnReconnect() throws InterruptedException {
+        LocalCachedMapOptions options = LocalCachedMapOptions.defaults().reconnectionStrategy(ReconnectionStrategy.LOAD);
+        RLocalCachedMap<String, Integer> map1 = redisson.getLocalCachedMap("test", options);
+        
+        RLocalCachedMap<String, Integer> map2 = redisson.getLocalCachedMap("test", options);
+        Cache<CacheKey, CacheValue> cache2 = Deencapsulation.getField(map2, "cache");
+        
+        map1.put("1", 1);
+        map1.put("2", 2);
+        
+        assertThat(map2.get("1")).isEqualTo(1);
+        assertThat(map2.get("2")).isEqualTo(2);
+        assertThat(cache2.size()).isEqualTo(2);
+        
+        // emulate invalidation message lost during disconnection
+        Map<CacheKey, CacheValue> staleEntries = new HashMap<CacheKey, CacheValue>(cache2);
+        long lastInvalidate = System.currentTimeMillis();
+        Thread.sleep(5);
+        map1.put("1", 3);
+        Thread.sleep(50);
+        cache2.putAll(staleEntries);
+        Deencapsulation.setField(map2, "lastInvalidate", lastInvalidate);
+        
+        Deencapsulation.invoke(map2, "loadInvalidationLog");
+        Thread.sleep(50);
+        
+        assertThat(cache2.size()).isEqualTo(1);
+        assertThat(map2.get("1")).isEqualTo(3);
+        assertThat(map2.get("2")).isEqualTo(2);
+    }
+    
+    @Test
+    public void testInvalidationLogExpiredOnReconnect() throws InterruptedException {
+        LocalCachedMapOptions options = LocalCachedMapOptions.defaults()
+                .reconnectionStrategy(ReconnectionStrategy.LOAD)
+                .invalidationLogTimeToLive(100);
+        RLocalCachedMap<String, Integer> map1 = redisson.getLocalCachedMap("test", options);
+        
+        RLocalCachedMap<String, Integer> map2 = redisson.getLocalCachedMap("test", options);
+        Cache<CacheKey, CacheValue> cache2 = Deencapsulation.getField(map2, "cache");
+        
+        map1.put("1", 1);
+        map1.put("2", 2);
+        
+        assertThat(map2.get("1")).isEqualTo(1);
+        assertThat(map2.get("2")).isEqualTo(2);
+        
+        map1.put("1", 3);
+        Thread.sleep(50);
+        map2.get("1");
+        assertThat(cache2.size()).isEqualTo(2);
+        Deencapsulation.setField(map2, "lastInvalidate", System.currentTimeMillis() - 1000);
+        
+        Deencapsulation.invoke(map2, "loadInvalidationLog");
+        Thread.sleep(50);
+        
+        assertThat(cache2.size()).isZero();
+    }
+    
     @Test
     public void testLFU() {
         RLocalCachedMap<String, Integer> map = redisson.getLocalCachedMap("test", LocalCachedMapOptions.defaults().evictionPolicy(EvictionPolicy.LFU).cacheSize(5));
@@ -298,6 +430,24 @@ public class RedissonLocalCachedMapTest extends BaseTest {
         assertThat(filtered1).isEqualTo(expectedMap);
     }
 
+    @Test
+    public void testGetAllFromLocalCache() {
+        RMap<String, Integer> map = redisson.getLocalCachedMap("getAll", LocalCachedMapOptions.defaults());
+        map.put("1", 100);
+        map.put("2", 200);
+
+        // changed without invalidation message, so cached values stay
+        RMap<String, Integer> redisMap = redisson.getMap("getAll");
+        redisMap.put("1", 101);
+        redisMap.put("3", 300);
+
+        Map<String, Integer> expectedMap = new HashMap<String, Integer>();
+        expectedMap.put("1", 100);
+        expectedMap.put("2", 200);
+        expectedMap.put("3", 300);
+        assertThat(map.getAll(new HashSet<String>(Arrays.asList("1", "2", "3")))).isEqualTo(expectedMap);
+    }
+
     @Test
     public void testPutAll() {
         Map<Integer, String> map = redisson.getLocalCachedMap("simple", LocalCachedMapOptions.defaults());
@@ -554,5 +704,37 @@ public class RedissonLocalCachedMapTest extends BaseTest {
         Assert.assertEquals(1, map.size());
     }
 
-    
+    @Test
+    public void testMapLoaderWriter() {
+        Map<String, Integer> store = new HashMap<>();
+        store.put("1", 1);
+        LocalCachedMapOptions<String, Integer> options = LocalCachedMapOptions.<String, Integer>defaults()
+                .loader(key -> store.get(key))
+                .writer(new MapWriter<String, Integer>() {
+                    @Override
+                    public void write(Map<String, Integer> map) {
+                        store.putAll(map);
+                    }
+
+                    @Override
+                    public void delete(Collection<String> keys) {
+                        store.keySet().removeAll(keys);
+                    }
+                });
+        RLocalCachedMap<String, Integer> map = redisson.getLocalCachedMap("test", options);
+        Cache<CacheKey, CacheValue> cache = Deencapsulation.getField(map, "cache");
+
+        assertThat(map.get("1")).isEqualTo(1);
+        assertThat(map.get("1")).isEqualTo(1);
+        assertThat(cache.size()).isEqualTo(1);
+
+        map.put("2", 2);
+        map.fastPut("3", 3);
+        assertThat(store).containsOnly(entry("1", 1), entry("2", 2), entry("3", 3));
+
+        map.remove("2");
+        map.fastRemove("3");
+        assertThat(store).containsOnly(entry("1", 1));
+    }
+
 }
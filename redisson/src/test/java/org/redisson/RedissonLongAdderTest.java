@@ -0,0 +1,113 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.redisson.api.RLongAdder;
+import org.redisson.api.RedissonClient;
+
+public class RedissonLongAdderTest extends BaseTest {
+
+    @Test
+    public void testSum() {
+        RedissonClient redisson2 = createInstance();
+        try {
+            RLongAdder adder1 = redisson.getLongAdder("test", 0, TimeUnit.SECONDS);
+            RLongAdder adder2 = redisson2.getLongAdder("test", 0, TimeUnit.SECONDS);
+
+            adder1.add(12);
+            adder1.increment();
+            adder2.add(5);
+            adder2.decrement();
+
+            assertThat(redisson.getAtomicLong("test").get()).isZero();
+            assertThat(adder1.sum()).isEqualTo(17);
+            assertThat(adder2.sum()).isEqualTo(17);
+            assertThat(redisson.getAtomicLong("test").get()).isEqualTo(17);
+
+            adder1.destroy();
+            adder2.destroy();
+        } finally {
+            redisson2.shutdown();
+        }
+    }
+
+    @Test
+    public void testSumSameClient() {
+        RLongAdder adder1 = redisson.getLongAdder("test", 0, TimeUnit.SECONDS);
+        RLongAdder adder2 = redisson.getLongAdder("test", 0, TimeUnit.SECONDS);
+
+        adder1.add(10);
+        adder2.add(7);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(adder1.sum()).isEqualTo(17);
+        }
+        for (String key : redisson.getKeys().getKeysByPattern("redisson__adder__semaphore__*")) {
+            assertThat(redisson.getBucket(key).remainTimeToLive()).isNotEqualTo(-1);
+        }
+
+        adder2.destroy();
+        adder1.add(3);
+        assertThat(adder1.sum()).isEqualTo(20);
+        adder1.destroy();
+    }
+
+    @Test
+    public void testReset() {
+        RedissonClient redisson2 = createInstance();
+        try {
+            RLongAdder adder1 = redisson.getLongAdder("test", 0, TimeUnit.SECONDS);
+            RLongAdder adder2 = redisson2.getLongAdder("test", 0, TimeUnit.SECONDS);
+
+            adder1.add(10);
+            adder1.flush();
+            adder2.add(7);
+
+            adder1.reset();
+            assertThat(adder2.sum()).isZero();
+
+            adder2.add(3);
+            assertThat(adder1.sum()).isEqualTo(3);
+
+            adder1.destroy();
+            adder2.destroy();
+        } finally {
+            redisson2.shutdown();
+        }
+    }
+
+    @Test
+    public void testFlushInterval() throws InterruptedException {
+        RLongAdder adder = redisson.getLongAdder("test", 100, TimeUnit.MILLISECONDS);
+        adder.add(5);
+        assertThat(redisson.getAtomicLong("test").get()).isZero();
+
+        Thread.sleep(500);
+        assertThat(redisson.getAtomicLong("test").get()).isEqualTo(5);
+        adder.destroy();
+    }
+
+    @Test
+    public void testConcurrency() throws InterruptedException {
+        RLongAdder adder = redisson.getLongAdder("test");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.execute(() -> {
+                for (int j = 0; j < 10000; j++) {
+                    adder.increment();
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(adder.sum()).isEqualTo(80000);
+        adder.destroy();
+    }
+
+}
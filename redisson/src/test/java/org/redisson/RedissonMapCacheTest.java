@@ -1,12 +1,17 @@
 package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentMap;
@@ -16,12 +21,18 @@ import java.util.concurrent.TimeUnit;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.redisson.api.EvictionMode;
+import org.redisson.api.MapOptions;
 import org.redisson.api.RFuture;
 import org.redisson.api.RMapCache;
+import org.redisson.api.RScoredSortedSet;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.map.MapWriter;
 import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.codec.MsgPackJacksonCodec;
 
 import io.netty.util.concurrent.Future;
+import mockit.Deencapsulation;
 
 public class RedissonMapCacheTest extends BaseTest {
 
@@ -127,6 +138,53 @@ public class RedissonMapCacheTest extends BaseTest {
 
     }
     
+    @Test
+    public void testEvictionSweeper() throws InterruptedException {
+        List<RMapCache<String, String>> maps = new ArrayList<RMapCache<String, String>>();
+        for (int i = 0; i < 50; i++) {
+            RMapCache<String, String> map = redisson.getMapCache("evictionSweeper" + i);
+            map.put("1", "1", 1, TimeUnit.SECONDS);
+            map.put("2", "2");
+            maps.add(map);
+        }
+        
+        Thread.sleep(12000);
+        
+        for (RMapCache<String, String> map : maps) {
+            assertThat(map.size()).isEqualTo(1);
+        }
+    }
+    
+    @Test
+    public void testEvictionLease() throws InterruptedException {
+        RMapCache<String, String> map = redisson.getMapCache("evictionLease");
+        map.put("1", "1", 100, TimeUnit.MILLISECONDS);
+        RedissonMapCache<String, String> mapCache = (RedissonMapCache<String, String>) map;
+        
+        RedissonClient redisson2 = createInstance();
+        EvictionScheduler scheduler1 = Deencapsulation.getField(redisson, "evictionScheduler");
+        EvictionScheduler scheduler2 = Deencapsulation.getField(redisson2, "evictionScheduler");
+        
+        Thread.sleep(150);
+        scheduler1.new RedissonCacheTask(map.getName(), mapCache.getTimeoutSetName(), mapCache.getIdleSetName(), mapCache.getLastAccessSetName(), false).run();
+        Thread.sleep(100);
+        assertThat(map.size()).isEqualTo(0);
+        
+        map.put("2", "2", 100, TimeUnit.MILLISECONDS);
+        Thread.sleep(150);
+        // lease is held by first scheduler
+        scheduler2.new RedissonCacheTask(map.getName(), mapCache.getTimeoutSetName(), mapCache.getIdleSetName(), mapCache.getLastAccessSetName(), false).run();
+        Thread.sleep(100);
+        assertThat(map.size()).isEqualTo(1);
+        
+        redisson.getKeys().delete(EvictionScheduler.getLeaseName(map.getName()));
+        scheduler2.new RedissonCacheTask(map.getName(), mapCache.getTimeoutSetName(), mapCache.getIdleSetName(), mapCache.getLastAccessSetName(), false).run();
+        Thread.sleep(100);
+        assertThat(map.size()).isEqualTo(0);
+        
+        redisson2.shutdown();
+    }
+
     @Test
     public void testCacheValues() {
         final RMapCache<String, String> map = redisson.getMapCache("testRMapCacheValues");
@@ -155,6 +213,123 @@ public class RedissonMapCacheTest extends BaseTest {
         Assert.assertTrue(filteredAgain.isEmpty());
     }
 
+    @Test
+    public void testMaxIdleRefreshedByRead() throws InterruptedException {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxIdleRefresh");
+        map.put(1, 100, 0, TimeUnit.SECONDS, 1, TimeUnit.SECONDS);
+        map.put(2, 200, 0, TimeUnit.SECONDS, 1, TimeUnit.SECONDS);
+        map.put(3, 300);
+
+        for (int i = 0; i < 4; i++) {
+            Thread.sleep(500);
+            assertThat(map.get(1)).isEqualTo(100);
+            assertThat(map.getAll(new HashSet<Integer>(Arrays.asList(2, 3)))).containsOnlyKeys(2, 3);
+        }
+
+        Thread.sleep(1500);
+        assertThat(map.get(1)).isNull();
+        assertThat(map.getAll(new HashSet<Integer>(Arrays.asList(1, 2, 3)))).containsOnlyKeys(3);
+    }
+
+    @Test
+    public void testMaxSizeLRU() throws InterruptedException {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxSizeLRU");
+        map.setMaxSize(2);
+        map.put(1, 100);
+        map.fastPut(2, 200, 1, TimeUnit.MINUTES);
+        assertThat(map.get(1)).isEqualTo(100);
+        // wait for access update
+        Thread.sleep(300);
+
+        map.put(3, 300);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.readAllKeySet()).containsOnly(1, 3);
+
+        map.putAll(Collections.singletonMap(4, 400));
+        assertThat(map.readAllKeySet()).containsOnly(3, 4);
+        
+        map.setMaxSize(0);
+        map.put(5, 500);
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testMaxSizeLFU() throws InterruptedException {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxSizeLFU");
+        map.setMaxSize(2, EvictionMode.LFU);
+        map.put(1, 100);
+        map.put(2, 200);
+        map.put(2, 201);
+        for (int i = 0; i < 3; i++) {
+            assertThat(map.get(1)).isEqualTo(100);
+        }
+        Thread.sleep(300);
+
+        map.fastPutIfAbsent(3, 300);
+        assertThat(map.readAllKeySet()).containsOnly(1, 3);
+    }
+
+    @Test
+    public void testMaxSizeAfterClear() {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxSizeClear");
+        map.setMaxSize(2);
+        map.put(1, 100);
+        map.clear();
+        assertThat(map.size()).isZero();
+
+        for (int i = 0; i < 5; i++) {
+            map.put(i, i);
+        }
+        assertThat(map.size()).isEqualTo(2);
+
+        map.delete();
+        for (int i = 0; i < 5; i++) {
+            map.put(i, i);
+        }
+        assertThat(map.size()).isEqualTo(5);
+    }
+
+    @Test
+    public void testMaxSizeWithExpire() {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxSizeExpire");
+        map.put(1, 100);
+        map.expire(1, TimeUnit.MINUTES);
+        RScoredSortedSet<Object> lastAccess = redisson.getScoredSortedSet("redisson__last_access__set__{maxSizeExpire}");
+        assertThat(lastAccess.isExists()).isFalse();
+
+        map.setMaxSize(2);
+        assertThat(lastAccess.remainTimeToLive()).isPositive();
+        for (int i = 0; i < 5; i++) {
+            map.put(i, i);
+        }
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(lastAccess.remainTimeToLive()).isPositive();
+    }
+
+    @Test
+    public void testMaxSizeOfExistingMap() throws InterruptedException {
+        RMapCache<Integer, Integer> map = redisson.getMapCache("maxSizeExisting");
+        Map<Integer, Integer> values = new HashMap<Integer, Integer>();
+        for (int i = 0; i < 10; i++) {
+            values.put(i, i);
+        }
+        map.putAll(values);
+        
+        map.setMaxSize(5);
+        assertThat(map.size()).isEqualTo(5);
+        
+        map.putAll(values);
+        assertThat(map.size()).isEqualTo(5);
+        
+        map.remove(map.keySet().iterator().next());
+        Thread.sleep(10);
+        map.put(100, 100, 1, TimeUnit.MINUTES, 1, TimeUnit.MINUTES);
+        map.putIfAbsent(101, 101);
+        assertThat(map.size()).isEqualTo(5);
+        assertThat(map.containsKey(100)).isTrue();
+        assertThat(map.containsKey(101)).isTrue();
+    }
+
     @Test
     public void testGetAllWithStringKeys() {
         RMapCache<String, Integer> map = redisson.getMapCache("getAllStrings");
@@ -798,4 +973,49 @@ public class RedissonMapCacheTest extends BaseTest {
             this.testField = testField;
         }
     }
+
+    @Test
+    public void testPutAllBatched() {
+        Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            source.put(i, "value" + i);
+        }
+
+        RMapCache<Integer, String> map = redisson.getMapCache("testPutAllBatched");
+        map.putAll(source, 100);
+        assertThat(map.size()).isEqualTo(2000);
+        assertThat(map.getAll(source.keySet(), 150)).isEqualTo(source);
+    }
+
+    @Test
+    public void testMapLoaderWriter() {
+        Map<String, String> store = new HashMap<>();
+        store.put("1", "11");
+        MapOptions<String, String> options = MapOptions.<String, String>defaults()
+                .loader(key -> store.get(key))
+                .writer(new MapWriter<String, String>() {
+                    @Override
+                    public void write(Map<String, String> map) {
+                        store.putAll(map);
+                    }
+
+                    @Override
+                    public void delete(Collection<String> keys) {
+                        store.keySet().removeAll(keys);
+                    }
+                });
+        RMapCache<String, String> map = redisson.getMapCache("testMapLoaderWriter", options);
+
+        assertThat(map.get("1")).isEqualTo("11");
+        assertThat(map.containsKey("1")).isTrue();
+
+        map.put("2", "22", 1, TimeUnit.MINUTES);
+        map.fastPut("3", "33", 1, TimeUnit.MINUTES, 30, TimeUnit.SECONDS);
+        assertThat(map.putIfAbsent("3", "34", 1, TimeUnit.MINUTES)).isEqualTo("33");
+        assertThat(store).containsOnly(entry("1", "11"), entry("2", "22"), entry("3", "33"));
+
+        map.fastRemove("1", "2");
+        assertThat(store).containsOnly(entry("3", "33"));
+    }
+
 }
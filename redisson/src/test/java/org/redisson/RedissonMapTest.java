@@ -1,25 +1,39 @@
 package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 
 import java.io.Serializable;
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.redisson.api.MapOptions;
+import org.redisson.api.MapOptions.WriteMode;
 import org.redisson.api.RFuture;
 import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
+import org.redisson.api.map.MapWriter;
 import org.redisson.client.codec.StringCodec;
 import org.redisson.codec.JsonJacksonCodec;
 import org.redisson.config.Config;
@@ -262,6 +276,52 @@ public class RedissonMapTest extends BaseTest {
     }
 
     
+    @Test
+    public void testIteratorPrefetch() {
+        RMap<Integer, Integer> map = redisson.getMap("simpleMap");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i*10);
+        }
+
+        assertThat(new HashSet<Integer>(map.keySet(50, 3))).hasSize(1000);
+        assertThat(map.values(50, 3)).hasSize(1000);
+        int counter = 0;
+        for (Entry<Integer, Integer> entry : map.entrySet(50, 3)) {
+            assertThat(entry.getValue()).isEqualTo(entry.getKey()*10);
+            counter++;
+        }
+        assertThat(counter).isEqualTo(1000);
+    }
+
+    @Test
+    public void testEntrySetPartitions() {
+        RMap<Integer, Integer> map = redisson.getMap("simpleMap");
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.put(i, i);
+        }
+        map.putAll(expected);
+
+        List<Iterable<Entry<Integer, Integer>>> partitions = map.entrySetPartitions(10, 8);
+        assertThat(partitions).hasSize(8);
+        Map<Integer, Integer> result = partitions.parallelStream()
+                .flatMap(part -> StreamSupport.stream(part.spliterator(), false))
+                .collect(Collectors.toMap(e -> e.getKey(), e -> e.getValue(), (a, b) -> a));
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testEntrySetPartitionsSmallMap() {
+        RMap<Integer, Integer> map = redisson.getMap("simpleMap");
+        for (int i = 0; i < 10; i++) {
+            map.put(i, i);
+        }
+
+        List<Iterable<Entry<Integer, Integer>>> partitions = map.entrySetPartitions(100, 8);
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.get(0)).hasSize(10);
+    }
+
     @Test
     public void testIterator() {
         RMap<Integer, Integer> rMap = redisson.getMap("123");
@@ -763,6 +823,175 @@ public class RedissonMapTest extends BaseTest {
         }
     }
 
+    private MapWriter<String, String> createMapWriter(Map<String, String> store) {
+        return new MapWriter<String, String>() {
+
+            @Override
+            public void write(Map<String, String> map) {
+                store.putAll(map);
+            }
+
+            @Override
+            public void delete(Collection<String> keys) {
+                for (String key : keys) {
+                    store.remove(key);
+                }
+            }
+
+        };
+    }
+
+    @Test
+    public void testPutAllGetAllBatched() {
+        Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < 10000; i++) {
+            source.put(i, "value" + i);
+        }
+
+        RMap<Integer, String> map = redisson.getMap("simple");
+        map.putAll(source, 333);
+        assertThat(map.size()).isEqualTo(10000);
+
+        Set<Integer> keys = new HashSet<>(source.keySet());
+        keys.add(-1);
+        assertThat(map.getAll(keys, 250)).isEqualTo(source);
+        assertThat(map.getAll(Collections.singleton(1), 250)).containsOnly(entry(1, "value1"));
+    }
+
+    @Test
+    public void testMapLoaderGet() {
+        Map<String, String> store = new HashMap<>();
+        store.put("1", "11");
+        store.put("2", "22");
+        MapOptions<String, String> options = MapOptions.<String, String>defaults().loader(key -> store.get(key));
+        RMap<String, String> map = redisson.getMap("test", options);
+
+        assertThat(map.get("1")).isEqualTo("11");
+        assertThat(map.get("3")).isNull();
+        assertThat(map.readAllKeySet()).containsOnly("1");
+
+        Map<String, String> all = map.getAll(new HashSet<>(Arrays.asList("1", "2", "3")));
+        assertThat(all).containsOnly(entry("1", "11"), entry("2", "22"));
+        assertThat(map.readAllKeySet()).containsOnly("1", "2");
+    }
+
+    @Test
+    public void testMapWriterWriteThrough() {
+        Map<String, String> store = new HashMap<>();
+        MapOptions<String, String> options = MapOptions.<String, String>defaults().writer(createMapWriter(store));
+        RMap<String, String> map = redisson.getMap("test", options);
+
+        map.put("1", "11");
+        map.fastPut("2", "22");
+        assertThat(map.putIfAbsent("1", "111")).isEqualTo("11");
+        map.putAll(Collections.singletonMap("3", "33"));
+        assertThat(store).containsOnly(entry("1", "11"), entry("2", "22"), entry("3", "33"));
+
+        assertThat(map.replace("1", "12")).isEqualTo("11");
+        assertThat(map.replace("5", "55")).isNull();
+        assertThat(map.remove("2", "23")).isFalse();
+        map.remove("3");
+        map.fastRemove("4");
+        assertThat(store).containsOnly(entry("1", "12"), entry("2", "22"));
+    }
+
+    @Test
+    public void testMapWriterWriteBehind() throws InterruptedException {
+        List<Map<String, String>> batches = Collections.synchronizedList(new ArrayList<>());
+        Map<String, String> store = new ConcurrentHashMap<>();
+        MapOptions<String, String> options = MapOptions.<String, String>defaults()
+                                    .writer(new MapWriter<String, String>() {
+                                        @Override
+                                        public void write(Map<String, String> map) {
+                                            batches.add(map);
+                                            store.putAll(map);
+                                        }
+
+                                        @Override
+                                        public void delete(Collection<String> keys) {
+                                            store.keySet().removeAll(keys);
+                                        }
+                                    })
+                                    .writeMode(WriteMode.WRITE_BEHIND)
+                                    .writeBehindBatchSize(100)
+                                    .writeBehindDelay(300);
+        RMap<String, String> map = redisson.getMap("test", options);
+
+        for (int i = 0; i < 10; i++) {
+            map.put("1", "1" + i);
+        }
+        map.put("2", "22");
+        map.put("3", "33");
+        map.remove("3");
+        assertThat(store).isEmpty();
+
+        Thread.sleep(600);
+        assertThat(store).containsOnly(entry("1", "19"), entry("2", "22"));
+        assertThat(batches).hasSize(1);
+    }
+
+    private MapOptions<String, String> createWriteBehindOptions(Map<String, String> store) {
+        return MapOptions.<String, String>defaults()
+                    .writer(new MapWriter<String, String>() {
+                        @Override
+                        public void write(Map<String, String> map) {
+                            store.putAll(map);
+                        }
+
+                        @Override
+                        public void delete(Collection<String> keys) {
+                            store.keySet().removeAll(keys);
+                        }
+                    })
+                    .writeMode(WriteMode.WRITE_BEHIND)
+                    .writeBehindDelay(1, TimeUnit.HOURS);
+    }
+
+    @Test
+    public void testMapWriterWriteBehindFlush() {
+        Map<String, String> store = new ConcurrentHashMap<>();
+        RMap<String, String> map = redisson.getMap("test", createWriteBehindOptions(store));
+
+        map.put("1", "11");
+        map.put("2", "22");
+        map.remove("2");
+        assertThat(store).isEmpty();
+
+        map.flush();
+        assertThat(store).containsOnly(entry("1", "11"));
+    }
+
+    @Test
+    public void testMapWriterWriteBehindShutdown() {
+        Map<String, String> store = new ConcurrentHashMap<>();
+        RedissonClient redisson2 = createInstance();
+        RMap<String, String> map = redisson2.getMap("test", createWriteBehindOptions(store));
+
+        map.put("1", "11");
+        map.put("2", "22");
+        assertThat(store).isEmpty();
+
+        redisson2.shutdown();
+        assertThat(store).containsOnly(entry("1", "11"), entry("2", "22"));
+    }
+
+    @Test
+    public void testMapWriterWriteBehindExecutor() throws InterruptedException {
+        Map<String, String> store = new ConcurrentHashMap<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        MapOptions<String, String> options = createWriteBehindOptions(store)
+                                                .writeBehindBatchSize(2)
+                                                .writeBehindExecutor(executor);
+        RMap<String, String> map = redisson.getMap("test", options);
+
+        map.put("1", "11");
+        map.put("2", "22");
+
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(store).containsOnly(entry("1", "11"), entry("2", "22"));
+    }
+
     public static class SimpleObjectWithoutDefaultConstructor {
 
         private String testField;
@@ -2,6 +2,7 @@ package org.redisson;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.NoSuchElementException;
 import java.util.Queue;
@@ -26,6 +27,18 @@ public class RedissonQueueTest extends BaseTest {
         Assert.assertEquals((Integer)2, queue.element());
     }
 
+    @Test
+    public void testPollLimit() {
+        RQueue<Integer> queue = redisson.getQueue("queue");
+        assertThat(queue.poll(3)).isEmpty();
+        queue.addAll(Arrays.asList(1, 2, 3, 4, 5));
+
+        assertThat(queue.poll(0)).isEmpty();
+        assertThat(queue.poll(2)).containsExactly(1, 2);
+        assertThat(queue.poll(10)).containsExactly(3, 4, 5);
+        assertThat(queue.isExists()).isFalse();
+    }
+
     @Test
     public void testAddOffer() {
         RQueue<Integer> queue = redisson.getQueue("queue");
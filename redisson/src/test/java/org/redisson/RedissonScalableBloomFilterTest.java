@@ -0,0 +1,102 @@
+package org.redisson;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.redisson.api.RScalableBloomFilter;
+
+public class RedissonScalableBloomFilterTest extends BaseTest {
+
+    @Test
+    public void testConfig() {
+        RScalableBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        assertThat(filter.tryInit(100, 0.03)).isTrue();
+        assertThat(filter.tryInit(200, 0.03)).isFalse();
+        assertThat(filter.getExpectedInsertions()).isEqualTo(100);
+        assertThat(filter.getFalseProbability()).isEqualTo(0.03);
+        assertThat(filter.getLayers()).isEqualTo(1);
+        assertThat(filter.getHashIterations()).isEqualTo(6);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotInitializedOnAdd() {
+        RScalableBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        filter.add("123");
+    }
+
+    @Test
+    public void test() {
+        RScalableBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        filter.tryInit(100, 0.01);
+
+        assertThat(filter.contains("123")).isFalse();
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.add("123")).isFalse();
+        assertThat(filter.count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testGrowth() {
+        RScalableBloomFilter<Integer> filter = redisson.getScalableBloomFilter("filter");
+        filter.tryInit(100, 0.01);
+
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(i);
+        }
+        int added = filter.addAll(values);
+        assertThat(added).isGreaterThan(4900);
+        assertThat(filter.count()).isEqualTo(added);
+        // 100 + 200 + 400 + 800 + 1600 + 3200
+        assertThat(filter.getLayers()).isEqualTo(6);
+        assertThat(filter.containsEach(values)).containsOnly(true);
+
+        int falsePositives = 0;
+        for (int i = 5000; i < 15000; i++) {
+            if (filter.contains(i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(250);
+
+        RScalableBloomFilter<Integer> filter2 = redisson.getScalableBloomFilter("filter");
+        assertThat(filter2.add(5000 + 15000)).isTrue();
+        assertThat(filter2.getLayers()).isEqualTo(6);
+    }
+
+    @Test
+    public void testMaxSize() {
+        RedissonScalableBloomFilter.Config config = new RedissonScalableBloomFilter.Config(200000000, 0.01, 1);
+        assertThat(config.hasLayer(0)).isTrue();
+        assertThat(config.hasLayer(1)).isFalse();
+        assertThat(config.getAddLayers()).isEqualTo(1);
+
+        RScalableBloomFilter<String> filter = redisson.getScalableBloomFilter("filter");
+        assertThat(filter.tryInit(200000000, 0.01)).isTrue();
+        assertThat(filter.contains("123")).isFalse();
+        assertThat(filter.add("123")).isTrue();
+        assertThat(filter.contains("123")).isTrue();
+        assertThat(filter.getLayers()).isEqualTo(1);
+    }
+
+    @Test
+    public void testDelete() {
+        RScalableBloomFilter<Integer> filter = redisson.getScalableBloomFilter("filter");
+        filter.tryInit(10, 0.01);
+        for (int i = 0; i < 100; i++) {
+            filter.add(i);
+        }
+        assertThat(filter.getLayers()).isEqualTo(4);
+        assertThat(filter.delete()).isTrue();
+        assertThat(redisson.getKeys().count()).isZero();
+
+        filter.tryInit(10, 0.01);
+        assertThat(filter.add(1)).isTrue();
+        assertThat(filter.getLayers()).isEqualTo(1);
+    }
+
+}
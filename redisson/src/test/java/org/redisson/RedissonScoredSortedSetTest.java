@@ -289,6 +289,20 @@ public class RedissonScoredSortedSetTest extends BaseTest {
         checkIterator(set, setCopy);
     }
 
+    @Test
+    public void testIteratorPrefetch() {
+        RScoredSortedSet<Integer> set = redisson.getScoredSortedSet("simple");
+        for (int i = 0; i < 1000; i++) {
+            set.add(i, Integer.valueOf(i));
+        }
+
+        Set<Integer> values = new HashSet<Integer>();
+        for (Iterator<Integer> iterator = set.iterator(50, 3); iterator.hasNext();) {
+            values.add(iterator.next());
+        }
+        assertThat(values).hasSize(1000);
+    }
+
     private void checkIterator(RScoredSortedSet<Integer> set, Set<Integer> setCopy) {
         for (Iterator<Integer> iterator = set.iterator(); iterator.hasNext();) {
             Integer value = iterator.next();
@@ -8,10 +8,13 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -33,6 +36,35 @@ public class RedissonSetCacheTest extends BaseTest {
         }
 
     }
+
+    @Test
+    public void testPartitions() {
+        RSetCache<String> set = redisson.getSetCache("simple");
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("value" + i);
+        }
+        set.addAll(expected);
+
+        List<Iterable<String>> partitions = set.partitions(10, 8);
+        assertThat(partitions).hasSize(8);
+        Set<String> result = partitions.parallelStream()
+                .flatMap(part -> StreamSupport.stream(part.spliterator(), false))
+                .collect(Collectors.toSet());
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPartitionsSmallSet() {
+        RSetCache<String> set = redisson.getSetCache("simple");
+        set.add("1");
+        set.add("2");
+        set.add("3");
+
+        List<Iterable<String>> partitions = set.partitions(10, 8);
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.get(0)).containsOnly("1", "2", "3");
+    }
     
     @Test
     public void testRemoveAll() {
@@ -7,8 +7,11 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -31,6 +34,35 @@ public class RedissonSetTest extends BaseTest {
 
     }
 
+    @Test
+    public void testPartitions() {
+        RSet<String> set = redisson.getSet("simple");
+        Set<String> expected = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("value" + i);
+        }
+        set.addAll(expected);
+
+        List<Iterable<String>> partitions = set.partitions(10, 8);
+        assertThat(partitions).hasSize(8);
+        Set<String> result = partitions.parallelStream()
+                .flatMap(part -> StreamSupport.stream(part.spliterator(), false))
+                .collect(Collectors.toSet());
+        assertThat(result).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPartitionsSmallSet() {
+        RSet<String> set = redisson.getSet("simple");
+        set.add("1");
+        set.add("2");
+        set.add("3");
+
+        List<Iterable<String>> partitions = set.partitions(10, 8);
+        assertThat(partitions).hasSize(1);
+        assertThat(partitions.get(0)).containsOnly("1", "2", "3");
+    }
+
     @Test
     public void testRemoveRandom() {
         RSet<Integer> set = redisson.getSet("simple");
@@ -158,6 +190,29 @@ public class RedissonSetTest extends BaseTest {
         checkIterator(set, setCopy);
     }
 
+    @Test
+    public void testIteratorPrefetch() {
+        RSet<Integer> set = redisson.getSet("set");
+        for (int i = 0; i < 1000; i++) {
+            set.add(i);
+        }
+
+        Set<Integer> values = new HashSet<Integer>();
+        for (Iterator<Integer> iterator = set.iterator(50, 3); iterator.hasNext();) {
+            values.add(iterator.next());
+        }
+        assertThat(values).hasSize(1000);
+
+        int cnt = 0;
+        for (Iterator<Integer> iterator = set.iterator(50, 3); iterator.hasNext();) {
+            iterator.next();
+            iterator.remove();
+            cnt++;
+        }
+        assertThat(cnt).isEqualTo(1000);
+        assertThat(set).isEmpty();
+    }
+
     private void checkIterator(Set<Long> set, Set<Long> setCopy) {
         for (Iterator<Long> iterator = set.iterator(); iterator.hasNext();) {
             Long value = iterator.next();
@@ -8,15 +8,128 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.*;
 import org.junit.Assert;
 import org.junit.Test;
 import org.redisson.api.RFuture;
 import org.redisson.api.RSortedSet;
+import org.redisson.api.SortKeyEncoder;
 
 public class RedissonSortedSetTest extends BaseTest {
 
+    private static final SortKeyEncoder<Integer> PADDED_KEY = new SortKeyEncoder<Integer>() {
+        @Override
+        public String encode(Integer value) {
+            return String.format("%010d", value);
+        }
+    };
+
+    @Test
+    public void testSortKeyAddRemove() {
+        RSortedSet<Integer> set = redisson.getSortedSet("simple", PADDED_KEY);
+        Assert.assertTrue(set.add(20));
+        Assert.assertTrue(set.add(3));
+        Assert.assertTrue(set.add(100));
+        Assert.assertFalse(set.add(3));
+        Assert.assertTrue(set.addAll(Arrays.asList(7, 3, 50)));
+
+        assertThat(set).containsExactly(3, 7, 20, 50, 100);
+        assertThat(set.size()).isEqualTo(5);
+        assertThat(set.first()).isEqualTo(3);
+        assertThat(set.last()).isEqualTo(100);
+        Assert.assertTrue(set.contains(50));
+        Assert.assertFalse(set.contains(51));
+
+        Assert.assertTrue(set.remove(20));
+        Assert.assertFalse(set.remove(20));
+        assertThat(set).containsExactly(3, 7, 50, 100);
+
+        for (Iterator<Integer> iterator = set.iterator(); iterator.hasNext();) {
+            if (iterator.next() < 10) {
+                iterator.remove();
+            }
+        }
+        assertThat(set).containsExactly(50, 100);
+
+        set.clear();
+        assertThat(set).isEmpty();
+        assertThat(redisson.getKeys().findKeysByPattern("*simple*")).isEmpty();
+    }
+
+    @Test
+    public void testSortKeyHeadTailSet() {
+        RSortedSet<Integer> set = redisson.getSortedSet("simple", PADDED_KEY);
+        for (int i = 0; i < 30; i++) {
+            set.add(i);
+        }
+
+        SortedSet<Integer> headSet = set.headSet(5);
+        assertThat(headSet).containsExactly(0, 1, 2, 3, 4);
+        assertThat(headSet.size()).isEqualTo(5);
+        assertThat(headSet.last()).isEqualTo(4);
+        Assert.assertFalse(headSet.contains(5));
+
+        SortedSet<Integer> tailSet = set.tailSet(25);
+        assertThat(tailSet).containsExactly(25, 26, 27, 28, 29);
+        assertThat(tailSet.first()).isEqualTo(25);
+
+        SortedSet<Integer> subSet = set.subSet(10, 15);
+        assertThat(subSet).containsExactly(10, 11, 12, 13, 14);
+        subSet.clear();
+        assertThat(set.size()).isEqualTo(25);
+        Assert.assertFalse(set.contains(12));
+
+        try {
+            headSet.add(10);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            // skip
+        }
+    }
+
+    @Test
+    public void testSortKeyIteratorPages() {
+        RSortedSet<Integer> set = redisson.getSortedSet("simple", PADDED_KEY);
+        for (int i = 0; i < 350; i++) {
+            set.add(i);
+        }
+
+        SortedSet<Integer> tailSet = set.tailSet(120);
+        int expected = 120;
+        for (Iterator<Integer> iterator = tailSet.iterator(); iterator.hasNext();) {
+            Integer value = iterator.next();
+            assertThat(value).isEqualTo(expected++);
+            if (value % 2 == 0) {
+                iterator.remove();
+            }
+        }
+        assertThat(expected).isEqualTo(350);
+        assertThat(set.size()).isEqualTo(350 - 115);
+    }
+
+    @Test
+    public void testSortKeyConcurrentAdd() throws InterruptedException {
+        RSortedSet<Integer> set = redisson.getSortedSet("simple", PADDED_KEY);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            final int value = i;
+            executor.execute(() -> set.add(value));
+        }
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertThat(set.size()).isEqualTo(1000);
+        Integer prev = -1;
+        for (Integer value : set) {
+            assertThat(value).isEqualTo(prev + 1);
+            prev = value;
+        }
+    }
+
     @Test
     public void testAddAsync() throws InterruptedException, ExecutionException {
         RSortedSet<Integer> set = redisson.getSortedSet("simple");
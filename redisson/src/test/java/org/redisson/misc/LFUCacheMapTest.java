@@ -4,13 +4,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Test;
 
 public class LFUCacheMapTest {
 
+    private final CacheTimer timer = new CacheTimer();
+
+    @After
+    public void after() {
+        timer.stop();
+    }
+
     @Test
     public void testMaxIdleTimeEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0, 0, TimeUnit.MILLISECONDS, 400, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(200);
@@ -25,7 +33,7 @@ public class LFUCacheMapTest {
 
     @Test
     public void testTTLEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0, 500, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(100);
@@ -37,7 +45,7 @@ public class LFUCacheMapTest {
     
     @Test
     public void testSizeLFUEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(3, 0, 0);
+        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(3, 0, 0, timer);
         
         map.put(1, 0);
         map.put(2, 0);
@@ -56,7 +64,7 @@ public class LFUCacheMapTest {
     
     @Test
     public void testSizeEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LFUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0);
         map.put(2, 0);
         
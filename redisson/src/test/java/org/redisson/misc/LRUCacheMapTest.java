@@ -4,13 +4,21 @@ import static org.assertj.core.api.Assertions.*;
 
 import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Test;
 
 public class LRUCacheMapTest {
 
+    private final CacheTimer timer = new CacheTimer();
+
+    @After
+    public void after() {
+        timer.stop();
+    }
+
     @Test
     public void testMaxIdleTimeEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0, 0, TimeUnit.MILLISECONDS, 400, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(200);
@@ -23,9 +31,27 @@ public class LRUCacheMapTest {
         assertThat(map.keySet()).isEmpty();
     }
 
+    @Test
+    public void testEvictionCounters() throws InterruptedException {
+        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0, timer);
+        map.put(1, 0, 100, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+        map.put(2, 0, 0, TimeUnit.MILLISECONDS, 100, TimeUnit.MILLISECONDS);
+        Thread.sleep(150);
+        assertThat(map.get(1)).isNull();
+        assertThat(map.get(2)).isNull();
+        
+        map.put(3, 0);
+        map.put(4, 0);
+        map.put(5, 0);
+        
+        assertThat(map.getTimeToLiveExpirations()).isEqualTo(1);
+        assertThat(map.getMaxIdleExpirations()).isEqualTo(1);
+        assertThat(map.getSizeEvictions()).isEqualTo(1);
+    }
+
     @Test
     public void testTTLEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0, 500, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(100);
@@ -37,7 +63,7 @@ public class LRUCacheMapTest {
 
     @Test
     public void testSizeLRUEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(3, 0, 0);
+        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(3, 0, 0, timer);
         map.put(1, 0);
         map.put(2, 0);
         map.put(5, 0);
@@ -55,7 +81,7 @@ public class LRUCacheMapTest {
     
     @Test
     public void testSizeEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0);
+        Cache<Integer, Integer> map = new LRUCacheMap<Integer, Integer>(2, 0, 0, timer);
         map.put(1, 0);
         map.put(2, 0);
         
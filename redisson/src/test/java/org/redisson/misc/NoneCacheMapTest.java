@@ -4,13 +4,21 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.util.concurrent.TimeUnit;
 
+import org.junit.After;
 import org.junit.Test;
 
 public class NoneCacheMapTest {
 
+    private final CacheTimer timer = new CacheTimer();
+
+    @After
+    public void after() {
+        timer.stop();
+    }
+
     @Test
     public void testMaxIdleTimeEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0);
+        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0, timer);
         map.put(1, 0, 0, TimeUnit.MILLISECONDS, 400, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(200);
@@ -25,7 +33,7 @@ public class NoneCacheMapTest {
 
     @Test
     public void testTTLEviction() throws InterruptedException {
-        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0);
+        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0, timer);
         map.put(1, 0, 500, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
         assertThat(map.get(1)).isEqualTo(0);
         Thread.sleep(100);
@@ -35,9 +43,29 @@ public class NoneCacheMapTest {
         assertThat(map.keySet()).isEmpty();
     }
     
+    @Test
+    public void testBackgroundExpiration() throws InterruptedException {
+        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0, timer);
+        map.put(1, 0, 200, TimeUnit.MILLISECONDS, 0, TimeUnit.MILLISECONDS);
+        map.put(2, 0, 0, TimeUnit.MILLISECONDS, 200, TimeUnit.MILLISECONDS);
+        map.put(3, 0);
+        assertThat(map.size()).isEqualTo(3);
+        
+        Thread.sleep(150);
+        assertThat(map.get(2)).isEqualTo(0);
+        Thread.sleep(150);
+        // expired entries are removed without access
+        assertThat(map.size()).isEqualTo(2);
+        
+        Thread.sleep(150);
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.getTimeToLiveExpirations()).isEqualTo(1);
+        assertThat(map.getMaxIdleExpirations()).isEqualTo(1);
+    }
+    
     @Test
     public void testSizeEviction() {
-        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0);
+        Cache<Integer, Integer> map = new NoneCacheMap<Integer, Integer>(0, 0, timer);
         map.put(1, 0);
         map.put(2, 0);
         
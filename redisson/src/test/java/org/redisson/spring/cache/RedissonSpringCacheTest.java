@@ -3,9 +3,17 @@ package org.redisson.spring.cache;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.AfterClass;
 import org.junit.Test;
@@ -14,6 +22,9 @@ import org.junit.runners.Parameterized;
 import org.redisson.BaseTest;
 import org.redisson.RedisRunner;
 import org.redisson.RedisRunner.RedisProcess;
+import org.redisson.api.LocalCachedMapOptions.EvictionPolicy;
+import org.redisson.api.RLocalCachedMap;
+import org.redisson.api.RLocalCachedMapCache;
 import org.redisson.api.RedissonClient;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
@@ -119,6 +130,48 @@ public class RedissonSpringCacheTest {
 
     }
 
+    @Configuration
+    @ComponentScan
+    @EnableCaching
+    public static class LocalCacheApplication {
+
+        @Bean(destroyMethod = "shutdown")
+        RedissonClient redisson() {
+            return BaseTest.createInstance();
+        }
+
+        @Bean
+        CacheManager cacheManager(RedissonClient redissonClient) throws IOException {
+            LocalCacheConfig localCache = new LocalCacheConfig();
+            localCache.setEvictionPolicy(EvictionPolicy.LFU);
+            localCache.setCacheSize(100);
+            CacheConfig cacheConfig = new CacheConfig();
+            cacheConfig.setLocalCache(localCache);
+
+            Map<String, CacheConfig> config = new HashMap<String, CacheConfig>();
+            config.put("testMap", cacheConfig);
+            return new RedissonSpringCacheManager(redissonClient, config);
+        }
+
+    }
+
+    @Configuration
+    @ComponentScan
+    @EnableCaching
+    public static class LocalCacheJsonConfigApplication {
+
+        @Bean(destroyMethod = "shutdown")
+        RedissonClient redisson() {
+            return BaseTest.createInstance();
+        }
+
+        @Bean
+        CacheManager cacheManager(RedissonClient redissonClient) throws IOException {
+            return new RedissonSpringCacheManager(redissonClient, "classpath:/org/redisson/spring/cache/local-cache-config.json");
+        }
+
+    }
+
     private static RedisProcess p;
 
     @Parameterized.Parameters(name = "{index} - {0}")
@@ -128,7 +181,9 @@ public class RedissonSpringCacheTest {
         }
         return Arrays.asList(new Object[][]{
             {new AnnotationConfigApplicationContext(Application.class)},
-            {new AnnotationConfigApplicationContext(JsonConfigApplication.class)}
+            {new AnnotationConfigApplicationContext(JsonConfigApplication.class)},
+            {new AnnotationConfigApplicationContext(LocalCacheApplication.class)},
+            {new AnnotationConfigApplicationContext(LocalCacheJsonConfigApplication.class)}
         });
     }
 
@@ -150,6 +205,20 @@ public class RedissonSpringCacheTest {
         assertThat(bean.readNull("object1")).isNull();
     }
 
+    @Test
+    public void testNullStoredAsNullValueOnlyInLocalCache() {
+        RedissonCache cache = (RedissonCache) context.getBean(CacheManager.class).getCache("testMap");
+        cache.put("nullKey", null);
+        Object storedValue = cache.getNativeCache().get("nullKey");
+        if (cache.getNativeCache() instanceof RLocalCachedMap || cache.getNativeCache() instanceof RLocalCachedMapCache) {
+            assertThat(storedValue).isInstanceOf(NullValue.class);
+        } else {
+            assertThat(storedValue).isNull();
+        }
+        assertThat(cache.get("nullKey", String.class)).isNull();
+        cache.evict("nullKey");
+    }
+
     @Test
     public void testRemove() {
         SampleBean bean = context.getBean(SampleBean.class);
@@ -168,6 +237,95 @@ public class RedissonSpringCacheTest {
         assertThat(s.getValue()).isEqualTo("value1");
     }
 
+    @Test
+    public void testCacheInstanceReused() {
+        CacheManager manager = context.getBean(CacheManager.class);
+        assertThat(manager.getCache("testMap")).isSameAs(manager.getCache("testMap"));
+    }
+
+    @Test
+    public void testGetValueLoaderCalledOnce() throws InterruptedException {
+        RedissonCache cache = (RedissonCache) context.getBean(CacheManager.class).getCache("testMap");
+        AtomicInteger calls = new AtomicInteger();
+        Callable<String> loader = () -> {
+            calls.incrementAndGet();
+            Thread.sleep(200);
+            return "value";
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<String> results = Collections.synchronizedList(new ArrayList<String>());
+        for (int i = 0; i < 10; i++) {
+            executor.execute(() -> results.add(cache.get("loaderKey", loader)));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(results).hasSize(10).containsOnly("value");
+        cache.evict("loaderKey");
+    }
+
+    @Test
+    public void testGetValueLoaderWithoutLock() throws InterruptedException {
+        RedissonClient redisson = context.getBean(RedissonClient.class);
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setLoadLock(false);
+        Map<String, CacheConfig> config = Collections.singletonMap("noLockMap", cacheConfig);
+        RedissonCache cache1 = (RedissonCache) new RedissonSpringCacheManager(redisson, config).getCache("noLockMap");
+        RedissonCache cache2 = (RedissonCache) new RedissonSpringCacheManager(redisson, config).getCache("noLockMap");
+
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        List<String> results = Collections.synchronizedList(new ArrayList<String>());
+        for (int i = 0; i < 10; i++) {
+            RedissonCache cache = i % 2 == 0 ? cache1 : cache2;
+            String value = "value" + (i % 2);
+            executor.execute(() -> results.add(cache.get("loaderKey", () -> {
+                calls.incrementAndGet();
+                Thread.sleep(200);
+                return value;
+            })));
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // loader is called once per cache instance and the first stored value wins
+        assertThat(calls.get()).isEqualTo(2);
+        assertThat(results).hasSize(10);
+        assertThat(results).containsOnly(results.get(0));
+        assertThat(cache1.get("loaderKey").get()).isEqualTo(results.get(0));
+        cache1.clear();
+    }
+
+    @Test
+    public void testLoadLockConfigReadWrite() throws IOException {
+        CacheConfig cacheConfig = new CacheConfig();
+        assertThat(cacheConfig.isLoadLock()).isTrue();
+        cacheConfig.setLoadLock(false);
+
+        Map<String, CacheConfig> config = CacheConfig.fromJSON(CacheConfig.toJSON(Collections.singletonMap("test", cacheConfig)));
+        assertThat(config.get("test").isLoadLock()).isFalse();
+    }
+
+    @Test
+    public void testLocalCacheConfigReadWrite() throws IOException {
+        LocalCacheConfig localCache = new LocalCacheConfig();
+        localCache.setEvictionPolicy(EvictionPolicy.LRU);
+        localCache.setCacheSize(10);
+        localCache.setTimeToLive(1000);
+        CacheConfig cacheConfig = new CacheConfig(2000, 0);
+        cacheConfig.setLocalCache(localCache);
+
+        Map<String, CacheConfig> config = CacheConfig.fromYAML(CacheConfig.toYAML(Collections.singletonMap("test", cacheConfig)));
+        CacheConfig readConfig = config.get("test");
+        assertThat(readConfig.getTTL()).isEqualTo(2000);
+        assertThat(readConfig.getLocalCache().getEvictionPolicy()).isEqualTo(EvictionPolicy.LRU);
+        assertThat(readConfig.getLocalCache().getCacheSize()).isEqualTo(10);
+        assertThat(readConfig.getLocalCache().getTimeToLive()).isEqualTo(1000);
+        assertThat(readConfig.getLocalCache().isInvalidateEntryOnChange()).isTrue();
+    }
+
     @Test(expected = IllegalStateException.class)
     public void testGet() {
         SampleBean bean = context.getBean(SampleBean.class);